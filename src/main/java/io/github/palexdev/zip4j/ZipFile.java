@@ -17,14 +17,21 @@
 package io.github.palexdev.zip4j;
 
 import io.github.palexdev.zip4j.exception.ZipException;
+import io.github.palexdev.zip4j.headers.FileNameIndex;
 import io.github.palexdev.zip4j.headers.HeaderReader;
 import io.github.palexdev.zip4j.headers.HeaderUtil;
 import io.github.palexdev.zip4j.headers.HeaderWriter;
+import io.github.palexdev.zip4j.headers.ZipIndex;
+import io.github.palexdev.zip4j.headers.ZipModelCache;
 import io.github.palexdev.zip4j.io.inputstream.NumberedSplitRandomAccessFile;
 import io.github.palexdev.zip4j.io.inputstream.ZipInputStream;
+import io.github.palexdev.zip4j.io.outputstream.AsyncZipWriter;
+import io.github.palexdev.zip4j.jfr.JfrSupport;
+import io.github.palexdev.zip4j.jfr.ZipFileOpenEvent;
 import io.github.palexdev.zip4j.model.*;
 import io.github.palexdev.zip4j.model.enums.RandomAccessFileMode;
 import io.github.palexdev.zip4j.progress.ProgressMonitor;
+import io.github.palexdev.zip4j.progress.Zip4jMetrics;
 import io.github.palexdev.zip4j.tasks.*;
 import io.github.palexdev.zip4j.tasks.AddFilesToZipTask.AddFilesToZipTaskParameters;
 import io.github.palexdev.zip4j.tasks.AddFolderToZipTask.AddFolderToZipTaskParameters;
@@ -35,6 +42,7 @@ import io.github.palexdev.zip4j.tasks.MergeSplitZipFileTask.MergeSplitZipFileTas
 import io.github.palexdev.zip4j.tasks.RemoveFilesFromZipTask.RemoveFilesFromZipTaskParameters;
 import io.github.palexdev.zip4j.tasks.RenameFilesTask.RenameFilesTaskParameters;
 import io.github.palexdev.zip4j.tasks.SetCommentTask.SetCommentTaskTaskParameters;
+import io.github.palexdev.zip4j.tasks.VerifyZipFileTask.VerifyZipFileTaskParameters;
 import io.github.palexdev.zip4j.util.FileUtils;
 import io.github.palexdev.zip4j.util.InternalZipConstants;
 import io.github.palexdev.zip4j.util.RawIO;
@@ -46,9 +54,15 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static io.github.palexdev.zip4j.util.FileUtils.isNumberedSplitFile;
 import static io.github.palexdev.zip4j.util.InternalZipConstants.CHARSET_UTF_8;
@@ -80,7 +94,19 @@ public class ZipFile implements Closeable {
 	private Charset charset = null;
 	private ThreadFactory threadFactory;
 	private ExecutorService executorService;
+	private boolean sharedExecutorService;
+	private CompletableFuture<Void> taskFuture;
+	private ZipModelCache zipModelCache;
+	private boolean zipModelFromCache;
+	private boolean useIndexFile;
+	private ZipIndex zipIndex;
+	private boolean zipIndexMissing;
+	private long zipIndexMissingLength;
+	private long zipIndexMissingLastModified;
+	private FileNameIndex fileNameIndex;
+	private ZipModel fileNameIndexZipModel;
 	private int bufferSize = InternalZipConstants.BUFF_SIZE;
+	private Zip4jMetrics metrics = Zip4jMetrics.NO_OP;
 	private final List<InputStream> openInputStreams = new ArrayList<>();
 	private boolean useUtf8CharsetForPasswords = InternalZipConstants.USE_UTF8_FOR_PASSWORD_ENCODING_DECODING;
 
@@ -167,8 +193,9 @@ public class ZipFile implements Closeable {
 		zipModel.setSplitArchive(splitArchive);
 		zipModel.setSplitLength(splitLength);
 
-		new AddFilesToZipTask(zipModel, password, headerWriter, buildAsyncParameters()).execute(
+		taskFuture = new AddFilesToZipTask(zipModel, password, headerWriter, buildAsyncParameters()).execute(
 				new AddFilesToZipTaskParameters(filesToAdd, parameters, buildConfig()));
+		updateIndexes();
 	}
 
 	/**
@@ -291,7 +318,7 @@ public class ZipFile implements Closeable {
 			throw new ZipException("input parameters are null");
 		}
 
-		readZipInfo();
+		readZipInfoForModification();
 
 		if (zipModel == null) {
 			throw new ZipException("internal error: zip model is null");
@@ -301,8 +328,71 @@ public class ZipFile implements Closeable {
 			throw new ZipException("Zip file already exists. Zip file format does not allow updating split/spanned files");
 		}
 
-		new AddFilesToZipTask(zipModel, password, headerWriter, buildAsyncParameters()).execute(
+		taskFuture = new AddFilesToZipTask(zipModel, password, headerWriter, buildAsyncParameters()).execute(
 				new AddFilesToZipTaskParameters(filesToAdd, parameters, buildConfig()));
+		updateIndexes();
+	}
+
+	/**
+	 * Creates a new zip file with the list of input files, overlapping the reading of the files, their compression and
+	 * the writing of the zip file. See {@link AsyncZipWriter} for details. Progress is reported to the progress monitor
+	 * of this instance, regardless of the runInThread flag.
+	 * <p>
+	 * The zip file is written sequentially and can therefore not already exist. Split zip files are not supported.
+	 *
+	 * @param filesToAdd files to be added to the zip file, folders are not added recursively
+	 * @param parameters zip parameters for the files
+	 * @return a future which completes when the zip file is written, or completes exceptionally with a ZipException
+	 * @throws ZipException if the zip file already exists or if the input parameters are invalid
+	 */
+	public CompletableFuture<Void> createZipFileAsync(List<File> filesToAdd, ZipParameters parameters) throws ZipException {
+		if (filesToAdd == null || filesToAdd.size() == 0) {
+			throw new ZipException("input file List is null or empty");
+		}
+
+		if (parameters == null) {
+			throw new ZipException("input parameters are null");
+		}
+
+		if (zipFile.exists()) {
+			throw new ZipException("zip file: " + zipFile + " already exists. To add files to existing zip file use addFiles method");
+		}
+
+		if (parameters.isEncryptFiles() && (password == null || password.length <= 0)) {
+			throw new ZipException("input password is empty or null");
+		}
+
+		if (ProgressMonitor.State.BUSY.equals(progressMonitor.getState())) {
+			throw new ZipException("invalid operation - Zip4j is in busy state");
+		}
+
+		ExecutorService asyncExecutorService = sharedExecutorService ? executorService : Executors.newSingleThreadExecutor(
+				threadFactory == null ? Executors.defaultThreadFactory() : threadFactory);
+		AsyncZipWriter asyncZipWriter = new AsyncZipWriter(zipFile, password, buildConfig(), asyncExecutorService);
+		ZipModelCache cache = zipModelCache;
+		taskFuture = asyncZipWriter.write(filesToAdd, parameters, progressMonitor).whenComplete((result, exception) -> {
+			zipModel = null;
+			if (!sharedExecutorService) {
+				asyncExecutorService.shutdown();
+			}
+
+			if (cache != null) {
+				try {
+					cache.invalidate(zipFile);
+				} catch (IOException e) {
+					throw new CompletionException(new ZipException(e));
+				}
+			}
+
+			if (exception == null && useIndexFile) {
+				try {
+					writeIndexFile();
+				} catch (ZipException e) {
+					throw new CompletionException(e);
+				}
+			}
+		});
+		return taskFuture;
 	}
 
 	/**
@@ -361,7 +451,7 @@ public class ZipFile implements Closeable {
 	 */
 	private void addFolder(File folderToAdd, ZipParameters zipParameters, boolean checkSplitArchive) throws ZipException {
 
-		readZipInfo();
+		readZipInfoForModification();
 
 		if (zipModel == null) {
 			throw new ZipException("internal error: zip model is null");
@@ -373,8 +463,9 @@ public class ZipFile implements Closeable {
 			}
 		}
 
-		new AddFolderToZipTask(zipModel, password, headerWriter, buildAsyncParameters()).execute(
+		taskFuture = new AddFolderToZipTask(zipModel, password, headerWriter, buildAsyncParameters()).execute(
 				new AddFolderToZipTaskParameters(folderToAdd, zipParameters, buildConfig()));
+		updateIndexes();
 	}
 
 	/**
@@ -400,7 +491,7 @@ public class ZipFile implements Closeable {
 
 		this.setRunInThread(false);
 
-		readZipInfo();
+		readZipInfoForModification();
 
 		if (zipModel == null) {
 			throw new ZipException("internal error: zip model is null");
@@ -410,8 +501,9 @@ public class ZipFile implements Closeable {
 			throw new ZipException("Zip file already exists. Zip file format does not allow updating split/spanned files");
 		}
 
-		new AddStreamToZipTask(zipModel, password, headerWriter, buildAsyncParameters()).execute(
+		taskFuture = new AddStreamToZipTask(zipModel, password, headerWriter, buildAsyncParameters()).execute(
 				new AddStreamToZipTaskParameters(inputStream, parameters, buildConfig()));
+		updateIndexes();
 	}
 
 	/**
@@ -452,7 +544,7 @@ public class ZipFile implements Closeable {
 			throw new ZipException("Internal error occurred when extracting zip file");
 		}
 
-		new ExtractAllFilesTask(zipModel, password, unzipParameters, buildAsyncParameters()).execute(
+		taskFuture = new ExtractAllFilesTask(zipModel, password, unzipParameters, buildAsyncParameters()).execute(
 				new ExtractAllFilesTaskParameters(destinationPath, buildConfig()));
 	}
 
@@ -655,7 +747,7 @@ public class ZipFile implements Closeable {
 
 		readZipInfo();
 
-		new ExtractFileTask(zipModel, password, unzipParameters, buildAsyncParameters()).execute(
+		taskFuture = new ExtractFileTask(zipModel, password, unzipParameters, buildAsyncParameters()).execute(
 				new ExtractFileTaskParameters(destinationPath, fileName, newFileName, buildConfig()));
 	}
 
@@ -686,6 +778,11 @@ public class ZipFile implements Closeable {
 			throw new ZipException("input file name is emtpy or null, cannot get FileHeader");
 		}
 
+		ZipIndex index = readZipIndex();
+		if (index != null) {
+			return index.getFileHeader(fileName);
+		}
+
 		readZipInfo();
 		if (zipModel == null || zipModel.getCentralDirectory() == null) {
 			return null;
@@ -694,6 +791,38 @@ public class ZipFile implements Closeable {
 		return HeaderUtil.getFileHeader(zipModel, fileName);
 	}
 
+	/**
+	 * Lists the immediate children of a directory in the zip file, sorted by name. Directories which have no entry in the
+	 * zip file, but are implied by the names of the entries under them, are listed as well. The listing is computed
+	 * lazily from an index of the file names, which is built once and reused by all listings until this zip file is
+	 * modified, so that listing a directory does not go through all file headers.
+	 *
+	 * @param directory name of the directory, with or without trailing separator, or null or an empty string for the
+	 *                  root of the zip file
+	 * @return stream of the children of the directory, which is empty if the directory does not exist
+	 * @throws ZipException if the headers of the zip file cannot be read
+	 */
+	public Stream<ArchiveEntry> list(String directory) throws ZipException {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+				getFileNameIndex().listDirectory(normalizeDirectoryName(directory)), Spliterator.ORDERED | Spliterator.NONNULL),
+				false);
+	}
+
+	/**
+	 * Lists all entries under a directory in the zip file at any depth, like {@link #list(String)}. Entries are sorted
+	 * by name, so that every directory comes before the entries under it.
+	 *
+	 * @param directory name of the directory, with or without trailing separator, or null or an empty string for the
+	 *                  root of the zip file
+	 * @return stream of the entries under the directory, which is empty if the directory does not exist
+	 * @throws ZipException if the headers of the zip file cannot be read
+	 */
+	public Stream<ArchiveEntry> walk(String directory) throws ZipException {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+				getFileNameIndex().walkDirectory(normalizeDirectoryName(directory)), Spliterator.ORDERED | Spliterator.NONNULL),
+				false);
+	}
+
 	/**
 	 * Checks to see if the zip file is encrypted
 	 *
@@ -806,16 +935,15 @@ public class ZipFile implements Closeable {
 			return;
 		}
 
-		if (zipModel == null) {
-			readZipInfo();
-		}
+		readZipInfoForModification();
 
 		if (zipModel.isSplitArchive()) {
 			throw new ZipException("Zip file format does not allow updating split/spanned files");
 		}
 
-		new RemoveFilesFromZipTask(zipModel, headerWriter, buildAsyncParameters()).execute(
+		taskFuture = new RemoveFilesFromZipTask(zipModel, headerWriter, buildAsyncParameters()).execute(
 				new RemoveFilesFromZipTaskParameters(fileNames, buildConfig()));
+		updateIndexes();
 	}
 
 	/**
@@ -889,15 +1017,16 @@ public class ZipFile implements Closeable {
 			return;
 		}
 
-		readZipInfo();
+		readZipInfoForModification();
 
 		if (zipModel.isSplitArchive()) {
 			throw new ZipException("Zip file format does not allow updating split/spanned files");
 		}
 
 		AsyncZipTask.AsyncTaskParameters asyncTaskParameters = buildAsyncParameters();
-		new RenameFilesTask(zipModel, headerWriter, new RawIO(), asyncTaskParameters).execute(
+		taskFuture = new RenameFilesTask(zipModel, headerWriter, new RawIO(), asyncTaskParameters).execute(
 				new RenameFilesTaskParameters(fileNamesMap, buildConfig()));
+		updateIndexes();
 	}
 
 	/**
@@ -916,14 +1045,15 @@ public class ZipFile implements Closeable {
 			throw new ZipException("output Zip File already exists");
 		}
 
-		readZipInfo();
+		readZipInfoForModification();
 
 		if (this.zipModel == null) {
 			throw new ZipException("zip model is null, corrupt zip file?");
 		}
 
-		new MergeSplitZipFileTask(zipModel, buildAsyncParameters()).execute(
+		taskFuture = new MergeSplitZipFileTask(zipModel, buildAsyncParameters()).execute(
 				new MergeSplitZipFileTaskParameters(outputZipFile, buildConfig()));
+		invalidateCachedZipModel(outputZipFile);
 	}
 
 	/**
@@ -941,7 +1071,7 @@ public class ZipFile implements Closeable {
 			throw new ZipException("zip file does not exist, cannot set comment for zip file");
 		}
 
-		readZipInfo();
+		readZipInfoForModification();
 
 		if (zipModel == null) {
 			throw new ZipException("zipModel is null, cannot update zip file");
@@ -951,8 +1081,9 @@ public class ZipFile implements Closeable {
 			throw new ZipException("end of central directory is null, cannot set comment");
 		}
 
-		new SetCommentTask(zipModel, buildAsyncParameters()).execute(
+		taskFuture = new SetCommentTask(zipModel, buildAsyncParameters()).execute(
 				new SetCommentTaskTaskParameters(comment, buildConfig()));
+		updateIndexes();
 	}
 
 	/**
@@ -993,13 +1124,21 @@ public class ZipFile implements Closeable {
 			throw new ZipException("FileHeader is null, cannot get InputStream");
 		}
 
-		readZipInfo();
+		ZipModel zipModelToReadFrom;
+		if (readZipIndex() != null) {
+			// Index files are only written for zip files which are not split, so the entry can be read without the headers
+			zipModelToReadFrom = new ZipModel();
+			zipModelToReadFrom.setZipFile(zipFile);
+		} else {
+			readZipInfo();
+			zipModelToReadFrom = zipModel;
+		}
 
-		if (zipModel == null) {
+		if (zipModelToReadFrom == null) {
 			throw new ZipException("zip model is null, cannot get inputstream");
 		}
 
-		ZipInputStream zipInputStream = createZipInputStream(zipModel, fileHeader, password);
+		ZipInputStream zipInputStream = createZipInputStream(zipModelToReadFrom, fileHeader, password);
 		openInputStreams.add(zipInputStream);
 		return zipInputStream;
 	}
@@ -1034,6 +1173,62 @@ public class ZipFile implements Closeable {
 		}
 	}
 
+	/**
+	 * Tests the integrity of the zip file without extracting it, on as many threads as there are processors. See
+	 * {@link #verify(int)}.
+	 *
+	 * @return the entries which failed verification, or an empty list if the zip file is valid
+	 * @throws ZipException if the zip file cannot be read, or the task was cancelled
+	 */
+	public List<VerificationFailure> verify() throws ZipException {
+		return verify(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Tests the integrity of the zip file without extracting it. Every entry is decrypted with the password of this
+	 * instance and decompressed, and its data is discarded. This checks the CRC of each entry, or its authentication
+	 * code for AES, and that its local file header matches its file header in the central directory.
+	 * <p>
+	 * Unlike extraction, verification does not stop at the first invalid entry, all entries are verified and all the
+	 * failures are returned. Entries are verified concurrently, each thread reading the zip file on its own. This
+	 * method always runs in the calling thread, even if run in thread mode is set, but progress can be followed and
+	 * the task can be cancelled through the progress monitor. The task future is set to an already completed future.
+	 * <p>
+	 * If an executor service is set with {@link #setExecutorService(ExecutorService)}, entries are verified on it,
+	 * and it must then not be the one running the caller when it has a bounded number of threads, as the caller waits
+	 * for the entries. Otherwise a thread pool is created for the verification and shut down once it is done.
+	 *
+	 * @param numberOfThreads number of threads to verify entries with. Use 1 to verify them in the calling thread
+	 * @return the entries which failed verification, in the order of the central directory, or an empty list if the
+	 * zip file is valid
+	 * @throws ZipException if the zip file cannot be read, or the task was cancelled
+	 */
+	public List<VerificationFailure> verify(int numberOfThreads) throws ZipException {
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("number of threads must be at least 1");
+		}
+
+		if (ProgressMonitor.State.BUSY.equals(progressMonitor.getState())) {
+			throw new ZipException("invalid operation - Zip4j is in busy state");
+		}
+
+		if (!zipFile.exists()) {
+			throw new ZipException("zip file does not exist: " + zipFile, ZipException.Type.FILE_NOT_FOUND);
+		}
+
+		readZipInfo();
+
+		if (zipModel == null || zipModel.getCentralDirectory() == null) {
+			throw new ZipException("Zip Model is null");
+		}
+
+		VerifyZipFileTask verifyZipFileTask = new VerifyZipFileTask(zipModel, password,
+				new AsyncZipTask.AsyncTaskParameters(null, false, progressMonitor));
+		taskFuture = verifyZipFileTask.execute(new VerifyZipFileTaskParameters(numberOfThreads,
+				sharedExecutorService ? executorService : null, buildConfig()));
+		return verifyZipFileTask.getFailures();
+	}
+
 	/**
 	 * Returns the full file path+names of all split zip files
 	 * in an ArrayList. For example: If a split zip file(abc.zip) has a 10 split parts
@@ -1094,18 +1289,112 @@ public class ZipFile implements Closeable {
 		this.bufferSize = bufferSize;
 	}
 
+	public ZipModelCache getZipModelCache() {
+		return zipModelCache;
+	}
+
+	/**
+	 * Sets the cache to take the zip model of this zip file from, so that the headers of a zip file are only read
+	 * once when it is opened by several ZipFile instances. The cache is only used for read operations, and the headers
+	 * are always read from the zip file before modifying it. Cached models are shared, so the file headers returned
+	 * by this instance must not be modified when a cache is set.
+	 *
+	 * @param zipModelCache cache to use, or null to always read the headers from the zip file
+	 */
+	public void setZipModelCache(ZipModelCache zipModelCache) {
+		this.zipModelCache = zipModelCache;
+	}
+
+	public boolean isUseIndexFile() {
+		return useIndexFile;
+	}
+
+	/**
+	 * Sets whether an index file is kept next to the zip file, see {@link ZipIndex}. When enabled, the index file is
+	 * written whenever this instance creates or modifies a zip file which is not split, and file headers are looked up
+	 * by name from the index, if it matches the zip file, as long as the headers of the zip file have not been read.
+	 * This allows to read single entries of a huge zip file with {@link #getFileHeader(String)} and
+	 * {@link #getInputStream(FileHeader)} without parsing its central directory.
+	 *
+	 * @param useIndexFile true to write and use an index file
+	 */
+	public void setUseIndexFile(boolean useIndexFile) {
+		this.useIndexFile = useIndexFile;
+		this.zipIndex = null;
+		this.zipIndexMissing = false;
+	}
+
+	/**
+	 * Writes the index file of this zip file, reading the headers of the zip file if needed. This can be used to create
+	 * the index file of an existing zip file.
+	 *
+	 * @throws ZipException if the zip file does not exist, is split, or the index file cannot be written
+	 */
+	public void writeIndexFile() throws ZipException {
+		if (!zipFile.exists()) {
+			throw new ZipException("zip file does not exist, cannot write index file");
+		}
+
+		readZipInfo();
+
+		try {
+			ZipIndex.write(zipModel, ZipIndex.getIndexFile(zipFile), charset);
+			zipIndexMissing = false;
+		} catch (ZipException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new ZipException(e);
+		}
+	}
+
+	public Zip4jMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Sets the listener to report timings and byte counts of all subsequent operations on this zip file to
+	 *
+	 * @param metrics listener for timings and byte counts, or null to disable metrics
+	 */
+	public void setMetrics(Zip4jMetrics metrics) {
+		this.metrics = metrics == null ? Zip4jMetrics.NO_OP : metrics;
+	}
+
 	/**
 	 * Reads the zip header information for this zip file. If the zip file
-	 * does not exist, it creates an empty zip model.<br><br>
+	 * does not exist, it creates an empty zip model. If a zip model cache is set, the zip model
+	 * is taken from the cache, and must therefore not be modified.<br><br>
 	 * <b>Note:</b> This method does not read local file header information
 	 *
 	 * @throws ZipException
 	 */
 	private void readZipInfo() throws ZipException {
+		readZipInfo(true);
+	}
+
+	/**
+	 * Reads the zip header information for this zip file like {@link #readZipInfo()}, but makes sure that the zip model
+	 * is not shared through the zip model cache, so that it can be modified
+	 *
+	 * @throws ZipException
+	 */
+	private void readZipInfoForModification() throws ZipException {
+		if (zipModelFromCache) {
+			zipModel = null;
+		}
+
+		zipIndex = null;
+		zipIndexMissing = false;
+		readZipInfo(false);
+	}
+
+	private void readZipInfo(boolean useCache) throws ZipException {
 		if (zipModel != null) {
 			return;
 		}
 
+		zipModelFromCache = false;
+
 		if (!zipFile.exists()) {
 			createNewZipModel();
 			return;
@@ -1115,10 +1404,40 @@ public class ZipFile implements Closeable {
 			throw new ZipException("no read access for the input zip file");
 		}
 
+		if (!useCache || zipModelCache == null) {
+			zipModel = readZipModel();
+			return;
+		}
+
+		try {
+			zipModel = zipModelCache.get(zipFile, charset, this::readZipModel);
+			zipModelFromCache = true;
+		} catch (ZipException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new ZipException(e);
+		}
+	}
+
+	private ZipModel readZipModel() throws ZipException {
+		ZipFileOpenEvent zipFileOpenEvent = JfrSupport.isAvailable() ? new ZipFileOpenEvent() : null;
+		if (zipFileOpenEvent != null) {
+			zipFileOpenEvent.begin();
+		}
+
 		try (RandomAccessFile randomAccessFile = initializeRandomAccessFileForHeaderReading()) {
 			HeaderReader headerReader = new HeaderReader();
-			zipModel = headerReader.readAllHeaders(randomAccessFile, buildConfig());
+			ZipModel zipModel = headerReader.readAllHeaders(randomAccessFile, buildConfig());
 			zipModel.setZipFile(zipFile);
+
+			if (zipFileOpenEvent != null && zipFileOpenEvent.shouldCommit()) {
+				zipFileOpenEvent.zipFile = zipFile.getPath();
+				zipFileOpenEvent.zipFileSize = zipFile.length();
+				zipFileOpenEvent.numberOfEntries = zipModel.getCentralDirectory().getFileHeaders().size();
+				zipFileOpenEvent.commit();
+			}
+
+			return zipModel;
 		} catch (ZipException e) {
 			throw e;
 		} catch (IOException e) {
@@ -1126,7 +1445,117 @@ public class ZipFile implements Closeable {
 		}
 	}
 
+	private FileNameIndex getFileNameIndex() throws ZipException {
+		readZipInfo();
+
+		if (fileNameIndex == null || fileNameIndexZipModel != zipModel) {
+			fileNameIndex = new FileNameIndex(zipModel.getCentralDirectory().getFileHeaders());
+			fileNameIndexZipModel = zipModel;
+		}
+
+		return fileNameIndex;
+	}
+
+	private String normalizeDirectoryName(String directory) {
+		if (!isStringNotNullAndNotEmpty(directory)) {
+			return "";
+		}
+
+		String directoryName = directory.replaceAll("\\\\", InternalZipConstants.ZIP_FILE_SEPARATOR);
+		if (directoryName.equals(InternalZipConstants.ZIP_FILE_SEPARATOR)) {
+			return "";
+		}
+
+		return directoryName.endsWith(InternalZipConstants.ZIP_FILE_SEPARATOR) ? directoryName
+				: directoryName + InternalZipConstants.ZIP_FILE_SEPARATOR;
+	}
+
+	private ZipIndex readZipIndex() throws ZipException {
+		if (!useIndexFile || zipModel != null) {
+			return null;
+		}
+
+		if (zipIndex != null) {
+			return zipIndex;
+		}
+
+		// A missing or outdated index file is only checked again once the zip file has changed, instead of on every lookup
+		long zipFileLength = zipFile.length();
+		long zipFileLastModified = zipFile.lastModified();
+		if (zipIndexMissing && zipIndexMissingLength == zipFileLength
+				&& zipIndexMissingLastModified == zipFileLastModified) {
+			return null;
+		}
+
+		try {
+			zipIndex = ZipIndex.open(zipFile, ZipIndex.getIndexFile(zipFile), charset);
+		} catch (IOException e) {
+			throw new ZipException(e);
+		}
+
+		zipIndexMissing = zipIndex == null;
+		zipIndexMissingLength = zipFileLength;
+		zipIndexMissingLastModified = zipFileLastModified;
+		return zipIndex;
+	}
+
+	private void updateIndexes() throws ZipException {
+		invalidateCachedZipModel(zipFile);
+
+		// Headers are modified in place, so the file name index can be outdated even if the zip model is the same
+		fileNameIndex = null;
+
+		if (!useIndexFile || zipModel.isSplitArchive()) {
+			return;
+		}
+
+		if (!runInThread) {
+			writeIndexFile();
+			return;
+		}
+
+		taskFuture = taskFuture.thenRun(() -> {
+			fileNameIndex = null;
+			try {
+				writeIndexFile();
+			} catch (ZipException e) {
+				throw new CompletionException(e);
+			}
+		});
+	}
+
+	/**
+	 * Removes the model of a modified zip file from the zip model cache. A modification does not always change the size
+	 * of the zip file, and its last modified time can stay the same within the granularity of the file system, so the
+	 * cache cannot be relied on to notice it. When running in thread mode, the model is removed once the operation is
+	 * done, even if it failed.
+	 */
+	private void invalidateCachedZipModel(File modifiedZipFile) throws ZipException {
+		if (zipModelCache == null) {
+			return;
+		}
+
+		ZipModelCache cache = zipModelCache;
+		if (!runInThread) {
+			try {
+				cache.invalidate(modifiedZipFile);
+			} catch (IOException e) {
+				throw new ZipException(e);
+			}
+			return;
+		}
+
+		taskFuture = taskFuture.whenComplete((result, exception) -> {
+			try {
+				cache.invalidate(modifiedZipFile);
+			} catch (IOException e) {
+				throw new CompletionException(new ZipException(e));
+			}
+		});
+	}
+
 	private void createNewZipModel() {
+		zipModelFromCache = false;
 		zipModel = new ZipModel();
 		zipModel.setZipFile(zipFile);
 	}
@@ -1144,14 +1573,14 @@ public class ZipFile implements Closeable {
 	}
 
 	private AsyncZipTask.AsyncTaskParameters buildAsyncParameters() {
-		if (runInThread) {
+		if (runInThread && !sharedExecutorService) {
 			if (threadFactory == null) {
 				threadFactory = Executors.defaultThreadFactory();
 			}
 			executorService = Executors.newSingleThreadExecutor(threadFactory);
 		}
 
-		return new AsyncZipTask.AsyncTaskParameters(executorService, runInThread, progressMonitor);
+		return new AsyncZipTask.AsyncTaskParameters(executorService, runInThread, progressMonitor, !sharedExecutorService);
 	}
 
 	private boolean verifyAllSplitFilesOfZipExists(List<File> allSplitFiles) {
@@ -1203,6 +1632,8 @@ public class ZipFile implements Closeable {
 			throw new IllegalArgumentException("charset cannot be null");
 		}
 		this.charset = charset;
+		this.zipIndex = null;
+		this.zipIndexMissing = false;
 	}
 
 	public void setThreadFactory(ThreadFactory threadFactory) {
@@ -1213,13 +1644,38 @@ public class ZipFile implements Closeable {
 		return executorService;
 	}
 
+	/**
+	 * Sets the executor service on which operations are run when running in thread mode, and on which
+	 * {@link #createZipFileAsync(List, ZipParameters)} runs. The executor service is shared by all operations and is
+	 * never shut down by zip4j, so that a single executor service, for example a virtual thread per task executor on
+	 * newer JDKs, can be used for any number of operations and ZipFile instances. If set to null, a new single thread
+	 * executor is created from the thread factory for each operation and shut down once the operation is done.
+	 *
+	 * @param executorService executor service to run operations on, or null
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+		this.sharedExecutorService = executorService != null;
+	}
+
+	/**
+	 * Returns the future of the last operation started on this instance. When running in thread mode, the future
+	 * completes when the operation is done, or completes exceptionally with a ZipException if the operation fails.
+	 * Otherwise the operation has already finished when the method that started it returns, and so has the future.
+	 *
+	 * @return future of the last operation, or null if no operation was started yet
+	 */
+	public CompletableFuture<Void> getTaskFuture() {
+		return taskFuture;
+	}
+
 	@Override
 	public String toString() {
 		return zipFile.toString();
 	}
 
 	private Zip4jConfig buildConfig() {
-		return new Zip4jConfig(charset, bufferSize, useUtf8CharsetForPasswords);
+		return new Zip4jConfig(charset, bufferSize, useUtf8CharsetForPasswords, metrics);
 	}
 
 	public boolean isUseUtf8CharsetForPasswords() {
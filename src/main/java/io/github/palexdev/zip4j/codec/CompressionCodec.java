@@ -0,0 +1,105 @@
+package io.github.palexdev.zip4j.codec;
+
+import io.github.palexdev.zip4j.model.LocalFileHeader;
+import io.github.palexdev.zip4j.model.ZipParameters;
+import io.github.palexdev.zip4j.model.enums.CompressionMethod;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A compressor and decompressor for a compression method, which is used instead of the one built into zip4j, or
+ * adds support for a method zip4j has no implementation for, like compressing with {@link CompressionMethod#DEFLATE64}.
+ * <p>
+ * Codecs are found with {@link java.util.ServiceLoader}, so they are registered by listing the implementation in
+ * {@code META-INF/services/io.github.palexdev.zip4j.codec.CompressionCodec}, or with a {@code provides} clause when
+ * the codec is a module. Encryption, checksums and headers are still handled by zip4j, codecs only transform the
+ * data of an entry.
+ *
+ * @see CompressionCodecs
+ */
+public interface CompressionCodec {
+
+	/**
+	 * @return the compression method implemented by this codec
+	 */
+	CompressionMethod getCompressionMethod();
+
+	/**
+	 * When more than one codec is found for the same compression method, the one with the highest priority is used
+	 *
+	 * @return the priority of this codec, 0 by default
+	 */
+	default int getPriority() {
+		return 0;
+	}
+
+	/**
+	 * @return false if this codec can only extract entries, in which case entries are compressed by the built-in
+	 * compressor of the method, if there is one
+	 */
+	default boolean canCompress() {
+		return true;
+	}
+
+	/**
+	 * @return false if this codec can only compress entries, in which case entries are extracted by the built-in
+	 * decompressor of the method, if there is one
+	 */
+	default boolean canDecompress() {
+		return true;
+	}
+
+	/**
+	 * Tells whether an entry is extracted by this codec, so that a codec can leave the entries it cannot read to the
+	 * built-in decompressor of the method. Only called when {@link #canDecompress()} returns true.
+	 *
+	 * @param localFileHeader local file header of the entry
+	 * @return false to extract the entry with the built-in decompressor of the method, true by default
+	 */
+	default boolean canDecompress(LocalFileHeader localFileHeader) {
+		return true;
+	}
+
+	/**
+	 * Creates a compressor for one entry. Closing the returned stream has to write whatever is left of the compressed
+	 * data, the given stream is not closed by it.
+	 *
+	 * @param outputStream    stream the compressed data is written to
+	 * @param zipParameters   parameters of the entry
+	 * @param executorService threads to compress with, when more than one compression thread is set in the zip
+	 *                        parameters, or null otherwise. The threads are shared between entries and must not be
+	 *                        shut down by the codec
+	 * @return stream the uncompressed data of the entry is written to
+	 * @throws IOException if the compressor cannot be created
+	 */
+	OutputStream createCompressor(OutputStream outputStream, ZipParameters zipParameters,
+	                              ExecutorService executorService) throws IOException;
+
+	/**
+	 * Creates a decompressor for one entry. The returned stream has to return -1 once the end of the compressed data is
+	 * reached, as the given stream may have more bytes after it.
+	 *
+	 * @param inputStream      stream the compressed data is read from
+	 * @param localFileHeader  local file header of the entry, which has the extra data records of the entry
+	 * @return stream the uncompressed data of the entry is read from
+	 * @throws IOException if the decompressor cannot be created
+	 */
+	InputStream createDecompressor(InputStream inputStream, LocalFileHeader localFileHeader) throws IOException;
+
+	/**
+	 * Entries with a data descriptor are followed by it, so when their compressed size is not known in advance the
+	 * bytes a decompressor read past the end of the compressed data are given back to read the data descriptor.
+	 * Decompressors which buffer their input, like an {@link java.util.zip.Inflater}, have to tell how many bytes
+	 * they did not use.
+	 *
+	 * @param decompressor a stream created by {@link #createDecompressor(InputStream, LocalFileHeader)}, which reached
+	 *                     the end of the compressed data
+	 * @return number of bytes read from the input but not used, 0 by default
+	 */
+	default int getUnusedInputLength(InputStream decompressor) {
+		return 0;
+	}
+}
@@ -0,0 +1,111 @@
+package io.github.palexdev.zip4j.codec;
+
+import io.github.palexdev.zip4j.model.enums.CompressionMethod;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Registry of the {@link CompressionCodec}s found with {@link ServiceLoader}, and of the compression methods which can
+ * be used to compress and extract entries. Codecs are loaded once, the first time one is looked up.
+ * <p>
+ * {@link CompressionMethod#STORE} is not a compression, so codecs for it are ignored.
+ */
+public final class CompressionCodecs {
+
+	private static final Set<CompressionMethod> BUILT_IN_COMPRESSORS = Collections.unmodifiableSet(EnumSet.of(
+			CompressionMethod.STORE, CompressionMethod.DEFLATE, CompressionMethod.BZIP2, CompressionMethod.LZ4));
+	private static final Set<CompressionMethod> BUILT_IN_DECOMPRESSORS = Collections.unmodifiableSet(EnumSet.of(
+			CompressionMethod.STORE, CompressionMethod.DEFLATE, CompressionMethod.DEFLATE64, CompressionMethod.BZIP2,
+			CompressionMethod.LZ4));
+
+	private CompressionCodecs() {
+
+	}
+
+	/**
+	 * @param compressionMethod compression method to look up
+	 * @return the codec with the highest priority that compresses with the given method, or null if entries are
+	 * compressed by zip4j
+	 */
+	public static CompressionCodec getCompressor(CompressionMethod compressionMethod) {
+		return Holder.COMPRESSORS.get(compressionMethod);
+	}
+
+	/**
+	 * @param compressionMethod compression method to look up
+	 * @return the codec with the highest priority that extracts the given method, or null if entries are extracted
+	 * by zip4j
+	 */
+	public static CompressionCodec getDecompressor(CompressionMethod compressionMethod) {
+		return Holder.DECOMPRESSORS.get(compressionMethod);
+	}
+
+	/**
+	 * @param compressionMethod compression method to check
+	 * @return true if entries can be compressed with the given method, by zip4j or by a codec
+	 */
+	public static boolean isCompressionSupported(CompressionMethod compressionMethod) {
+		return BUILT_IN_COMPRESSORS.contains(compressionMethod) || getCompressor(compressionMethod) != null;
+	}
+
+	/**
+	 * @param compressionMethod compression method to check
+	 * @return true if entries compressed with the given method can be extracted, by zip4j or by a codec
+	 */
+	public static boolean isDecompressionSupported(CompressionMethod compressionMethod) {
+		return BUILT_IN_DECOMPRESSORS.contains(compressionMethod) || getDecompressor(compressionMethod) != null;
+	}
+
+	/**
+	 * @return all the codecs found, in no particular order
+	 */
+	public static List<CompressionCodec> getCodecs() {
+		return Holder.CODECS;
+	}
+
+	private static Map<CompressionMethod, CompressionCodec> selectCodecs(List<CompressionCodec> codecs,
+	                                                                   boolean compressors) {
+		Map<CompressionMethod, CompressionCodec> selectedCodecs = new EnumMap<>(CompressionMethod.class);
+
+		for (CompressionCodec codec : codecs) {
+			CompressionMethod compressionMethod = codec.getCompressionMethod();
+			if (compressionMethod == null || compressionMethod == CompressionMethod.STORE
+					|| compressionMethod == CompressionMethod.AES_INTERNAL_ONLY
+					|| !(compressors ? codec.canCompress() : codec.canDecompress())) {
+				continue;
+			}
+
+			CompressionCodec selectedCodec = selectedCodecs.get(compressionMethod);
+			if (selectedCodec == null || codec.getPriority() > selectedCodec.getPriority()) {
+				selectedCodecs.put(compressionMethod, codec);
+			}
+		}
+
+		return selectedCodecs;
+	}
+
+	private static class Holder {
+
+		private static final List<CompressionCodec> CODECS;
+		private static final Map<CompressionMethod, CompressionCodec> COMPRESSORS;
+		private static final Map<CompressionMethod, CompressionCodec> DECOMPRESSORS;
+
+		static {
+			List<CompressionCodec> codecs = new ArrayList<>();
+			for (CompressionCodec codec : ServiceLoader.load(CompressionCodec.class)) {
+				codecs.add(codec);
+			}
+
+			CODECS = Collections.unmodifiableList(codecs);
+			COMPRESSORS = selectCodecs(codecs, true);
+			DECOMPRESSORS = selectCodecs(codecs, false);
+		}
+	}
+}
@@ -5,6 +5,8 @@ import io.github.palexdev.zip4j.crypto.PBKDF2.PBKDF2Engine;
 import io.github.palexdev.zip4j.crypto.PBKDF2.PBKDF2Parameters;
 import io.github.palexdev.zip4j.crypto.engine.AESEngine;
 import io.github.palexdev.zip4j.exception.ZipException;
+import io.github.palexdev.zip4j.jfr.JfrSupport;
+import io.github.palexdev.zip4j.jfr.KeyDerivationEvent;
 import io.github.palexdev.zip4j.model.enums.AesKeyStrength;
 
 import static io.github.palexdev.zip4j.util.InternalZipConstants.*;
@@ -24,6 +26,11 @@ public class AesCipherUtil {
 	public static byte[] derivePasswordBasedKey(final byte[] salt, final char[] password,
 	                                            final AesKeyStrength aesKeyStrength,
 	                                            final boolean useUtf8ForPassword) throws ZipException {
+		final KeyDerivationEvent keyDerivationEvent = JfrSupport.isAvailable() ? new KeyDerivationEvent() : null;
+		if (keyDerivationEvent != null) {
+			keyDerivationEvent.begin();
+		}
+
 		final PBKDF2Parameters parameters = new PBKDF2Parameters(AES_MAC_ALGORITHM, AES_HASH_CHARSET, salt, AES_HASH_ITERATIONS);
 		final PBKDF2Engine engine = new PBKDF2Engine(parameters);
 
@@ -31,6 +38,13 @@ public class AesCipherUtil {
 		final int macLength = aesKeyStrength.getMacLength();
 		final int derivedKeyLength = keyLength + macLength + AES_PASSWORD_VERIFIER_LENGTH;
 		final byte[] derivedKey = engine.deriveKey(password, derivedKeyLength, useUtf8ForPassword);
+
+		if (keyDerivationEvent != null && keyDerivationEvent.shouldCommit()) {
+			keyDerivationEvent.aesKeyStrength = aesKeyStrength.name();
+			keyDerivationEvent.iterations = AES_HASH_ITERATIONS;
+			keyDerivationEvent.commit();
+		}
+
 		if (derivedKey != null && derivedKey.length == derivedKeyLength) {
 			return derivedKey;
 		} else {
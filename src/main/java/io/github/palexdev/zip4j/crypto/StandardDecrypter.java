@@ -37,13 +37,7 @@ public class StandardDecrypter implements Decrypter {
 			throw new ZipException("one of the input parameters were null in standard decrypt data");
 		}
 
-		for (int i = start; i < start + len; i++) {
-			int val = buff[i] & 0xff;
-			val = (val ^ zipCryptoEngine.decryptByte()) & 0xff;
-			zipCryptoEngine.updateKeys((byte) val);
-			buff[i] = (byte) val;
-		}
-
+		zipCryptoEngine.decryptData(buff, start, len);
 		return len;
 	}
 
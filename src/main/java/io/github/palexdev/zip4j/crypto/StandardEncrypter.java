@@ -59,9 +59,7 @@ public class StandardEncrypter implements Encrypter {
 			throw new ZipException("invalid length specified to decrpyt data");
 		}
 
-		for (int i = start; i < start + len; i++) {
-			buff[i] = encryptByte(buff[i]);
-		}
+		zipCryptoEngine.encryptData(buff, start, len);
 		return len;
 	}
 
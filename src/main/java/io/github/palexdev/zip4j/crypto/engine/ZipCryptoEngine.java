@@ -16,8 +16,16 @@
 
 package io.github.palexdev.zip4j.crypto.engine;
 
+import java.util.Objects;
+
 import static io.github.palexdev.zip4j.util.Zip4jUtil.convertCharArrayToByteArray;
 
+/**
+ * The traditional PKWARE encryption. Each key depends on the previous plain byte, so bytes can only be processed one
+ * after the other. {@link #encryptData(byte[], int, int)} and {@link #decryptData(byte[], int, int)} process a whole
+ * range with the keys in local variables, which is much faster than going through {@link #updateKeys(byte)} and
+ * {@link #decryptByte()} for every byte.
+ */
 public class ZipCryptoEngine {
 
 	private final int[] keys = new int[3];
@@ -62,4 +70,52 @@ public class ZipCryptoEngine {
 		int temp = keys[2] | 2;
 		return (byte) ((temp * (temp ^ 1)) >>> 8);
 	}
+
+	/**
+	 * Encrypts len bytes of buff starting at start in place
+	 */
+	public void encryptData(byte[] buff, int start, int len) {
+		Objects.checkFromIndexSize(start, len, buff.length);
+		int key0 = keys[0];
+		int key1 = keys[1];
+		int key2 = keys[2];
+
+		for (int i = start, end = start + len; i < end; i++) {
+			int val = buff[i] & 0xff;
+			int temp = key2 | 2;
+			buff[i] = (byte) (val ^ ((temp * (temp ^ 1)) >>> 8));
+
+			key0 = (key0 >>> 8) ^ CRC_TABLE[(key0 ^ val) & 0xff];
+			key1 = (key1 + (key0 & 0xff)) * 134775813 + 1;
+			key2 = (key2 >>> 8) ^ CRC_TABLE[(key2 ^ (key1 >>> 24)) & 0xff];
+		}
+
+		keys[0] = key0;
+		keys[1] = key1;
+		keys[2] = key2;
+	}
+
+	/**
+	 * Decrypts len bytes of buff starting at start in place
+	 */
+	public void decryptData(byte[] buff, int start, int len) {
+		Objects.checkFromIndexSize(start, len, buff.length);
+		int key0 = keys[0];
+		int key1 = keys[1];
+		int key2 = keys[2];
+
+		for (int i = start, end = start + len; i < end; i++) {
+			int temp = key2 | 2;
+			int val = (buff[i] ^ ((temp * (temp ^ 1)) >>> 8)) & 0xff;
+			buff[i] = (byte) val;
+
+			key0 = (key0 >>> 8) ^ CRC_TABLE[(key0 ^ val) & 0xff];
+			key1 = (key1 + (key0 & 0xff)) * 134775813 + 1;
+			key2 = (key2 >>> 8) ^ CRC_TABLE[(key2 ^ (key1 >>> 24)) & 0xff];
+		}
+
+		keys[0] = key0;
+		keys[1] = key1;
+		keys[2] = key2;
+	}
 }
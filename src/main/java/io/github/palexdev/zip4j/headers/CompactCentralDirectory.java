@@ -0,0 +1,337 @@
+package io.github.palexdev.zip4j.headers;
+
+import io.github.palexdev.zip4j.exception.ZipException;
+import io.github.palexdev.zip4j.model.ExtraDataRecord;
+import io.github.palexdev.zip4j.model.FileHeader;
+import io.github.palexdev.zip4j.model.Zip64ExtendedInfo;
+import io.github.palexdev.zip4j.model.enums.CompressionMethod;
+import io.github.palexdev.zip4j.model.enums.EncryptionMethod;
+import io.github.palexdev.zip4j.util.RawIO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import static io.github.palexdev.zip4j.util.InternalZipConstants.ZIP_64_NUMBER_OF_ENTRIES_LIMIT;
+import static io.github.palexdev.zip4j.util.InternalZipConstants.ZIP_64_SIZE_LIMIT;
+
+/**
+ * A compact, read-only form of the file headers of a central directory.
+ * <p>
+ * The fields of the file headers are kept in parallel arrays of primitives, one element per file header, and the file
+ * names and extra fields of all file headers are kept in one byte array each. This takes about 60 bytes per file
+ * header plus the length of its file name and extra field, instead of several hundred bytes for a file header with its
+ * byte arrays, strings and extra data records. The offsets, sizes, CRCs and other fields can be read without creating
+ * a file header, and {@link #getFileHeader(int)} creates a new file header with the same fields as the original one on
+ * demand.
+ * <p>
+ * This is meant for file headers which were read from a zip file, like the ones of a cached zip model, see
+ * {@link ZipModelCache#ZipModelCache(long, boolean)}. The extra field of a file header is stored as it is in the zip
+ * file, and the Zip64 extended info and AES extra data record are parsed from it again when a file header is created.
+ */
+public class CompactCentralDirectory {
+
+	private static final int DIRECTORY = 1 << 16;
+	private static final int ENCRYPTED = 1 << 17;
+	private static final int DATA_DESCRIPTOR_EXISTS = 1 << 18;
+	private static final int FILE_NAME_UTF8_ENCODED = 1 << 19;
+	private static final int ZIP64_UNCOMPRESSED_SIZE = 1 << 20;
+	private static final int ZIP64_COMPRESSED_SIZE = 1 << 21;
+	private static final int ZIP64_OFFSET_LOCAL_HEADER = 1 << 22;
+	private static final int ZIP64_DISK_NUMBER_START = 1 << 23;
+
+	private static final CompressionMethod[] COMPRESSION_METHODS = CompressionMethod.values();
+	private static final EncryptionMethod[] ENCRYPTION_METHODS = EncryptionMethod.values();
+
+	private final int size;
+	private final long[] offsetsLocalHeader;
+	private final long[] compressedSizes;
+	private final long[] uncompressedSizes;
+	private final int[] crcs;
+	private final int[] lastModifiedTimes;
+	private final int[] externalFileAttributes;
+	private final int[] diskNumbersStart;
+	// version made by in the high 16 bits, version needed to extract in the low 16 bits
+	private final int[] versions;
+	// general purpose flag in the high 16 bits, internal file attributes in the low 16 bits
+	private final int[] flags;
+	// file name length in the high 16 bits, extra field length in the low 16 bits
+	private final int[] lengths;
+	// ordinals of the compression and encryption methods plus one in the lowest two bytes, followed by the bits above
+	private final int[] properties;
+	private final int[] fileNameOffsets;
+	private final byte[] fileNames;
+	private final int[] extraFieldOffsets;
+	private final byte[] extraFields;
+	// Only created if at least one file header has a comment, as file comments are rarely used
+	private int[] fileCommentLengths;
+	private String[] fileComments;
+
+	/**
+	 * Packs the file headers into their compact form. The file headers are not referenced afterwards.
+	 *
+	 * @param fileHeaders file headers read from a zip file
+	 */
+	public CompactCentralDirectory(List<FileHeader> fileHeaders) {
+		size = fileHeaders.size();
+		offsetsLocalHeader = new long[size];
+		compressedSizes = new long[size];
+		uncompressedSizes = new long[size];
+		crcs = new int[size];
+		lastModifiedTimes = new int[size];
+		externalFileAttributes = new int[size];
+		diskNumbersStart = new int[size];
+		versions = new int[size];
+		flags = new int[size];
+		lengths = new int[size];
+		properties = new int[size];
+		fileNameOffsets = new int[size + 1];
+		extraFieldOffsets = new int[size + 1];
+
+		RawIO rawIO = new RawIO();
+		ByteArrayOutputStream fileNamesOutputStream = new ByteArrayOutputStream();
+		ByteArrayOutputStream extraFieldsOutputStream = new ByteArrayOutputStream();
+
+		for (int i = 0; i < size; i++) {
+			FileHeader fileHeader = fileHeaders.get(i);
+			offsetsLocalHeader[i] = fileHeader.getOffsetLocalHeader();
+			compressedSizes[i] = fileHeader.getCompressedSize();
+			uncompressedSizes[i] = fileHeader.getUncompressedSize();
+			crcs[i] = (int) fileHeader.getCrc();
+			lastModifiedTimes[i] = (int) fileHeader.getLastModifiedTime();
+			externalFileAttributes[i] = readInt(rawIO, fileHeader.getExternalFileAttributes());
+			diskNumbersStart[i] = fileHeader.getDiskNumberStart();
+			versions[i] = fileHeader.getVersionMadeBy() << 16 | (fileHeader.getVersionNeededToExtract() & 0xFFFF);
+			flags[i] = readShort(rawIO, fileHeader.getGeneralPurposeFlag()) << 16
+					| readShort(rawIO, fileHeader.getInternalFileAttributes());
+			lengths[i] = fileHeader.getFileNameLength() << 16 | (fileHeader.getExtraFieldLength() & 0xFFFF);
+			properties[i] = getProperties(fileHeader);
+
+			byte[] fileName = fileHeader.getFileName().getBytes(StandardCharsets.UTF_8);
+			fileNamesOutputStream.write(fileName, 0, fileName.length);
+			fileNameOffsets[i + 1] = fileNamesOutputStream.size();
+
+			writeExtraDataRecords(rawIO, fileHeader.getExtraDataRecords(), extraFieldsOutputStream);
+			extraFieldOffsets[i + 1] = extraFieldsOutputStream.size();
+
+			if (fileHeader.getFileCommentLength() != 0 || fileHeader.getFileComment() != null) {
+				setFileComment(i, fileHeader.getFileCommentLength(), fileHeader.getFileComment());
+			}
+		}
+
+		fileNames = fileNamesOutputStream.toByteArray();
+		extraFields = extraFieldsOutputStream.toByteArray();
+	}
+
+	/**
+	 * @return number of file headers
+	 */
+	public int size() {
+		return size;
+	}
+
+	public String getFileName(int index) {
+		return new String(fileNames, fileNameOffsets[index], fileNameOffsets[index + 1] - fileNameOffsets[index],
+				StandardCharsets.UTF_8);
+	}
+
+	public long getOffsetLocalHeader(int index) {
+		return offsetsLocalHeader[index];
+	}
+
+	public long getCompressedSize(int index) {
+		return compressedSizes[index];
+	}
+
+	public long getUncompressedSize(int index) {
+		return uncompressedSizes[index];
+	}
+
+	public long getCrc(int index) {
+		return crcs[index] & 0xFFFFFFFFL;
+	}
+
+	public long getLastModifiedTime(int index) {
+		return lastModifiedTimes[index];
+	}
+
+	public CompressionMethod getCompressionMethod(int index) {
+		int ordinal = properties[index] & 0xFF;
+		return ordinal == 0 ? null : COMPRESSION_METHODS[ordinal - 1];
+	}
+
+	public boolean isDirectory(int index) {
+		return (properties[index] & DIRECTORY) != 0;
+	}
+
+	/**
+	 * Creates a new file header with the same fields as the file header at the given index had when it was packed. Each
+	 * call creates a new file header, so changes to it are not reflected in this central directory.
+	 *
+	 * @param index index of the file header
+	 * @return a new file header
+	 * @throws ZipException if the AES extra data record of the file header is corrupt
+	 */
+	public FileHeader getFileHeader(int index) throws ZipException {
+		RawIO rawIO = new RawIO();
+		int properties = this.properties[index];
+
+		FileHeader fileHeader = new FileHeader();
+		fileHeader.setVersionMadeBy(versions[index] >>> 16);
+		fileHeader.setVersionNeededToExtract(versions[index] & 0xFFFF);
+		fileHeader.setGeneralPurposeFlag(toShortBytes(rawIO, flags[index] >>> 16));
+		fileHeader.setInternalFileAttributes(toShortBytes(rawIO, flags[index] & 0xFFFF));
+		byte[] externalFileAttributes = new byte[4];
+		rawIO.writeIntLittleEndian(externalFileAttributes, 0, this.externalFileAttributes[index]);
+		fileHeader.setExternalFileAttributes(externalFileAttributes);
+		fileHeader.setEncrypted((properties & ENCRYPTED) != 0);
+		fileHeader.setDataDescriptorExists((properties & DATA_DESCRIPTOR_EXISTS) != 0);
+		fileHeader.setFileNameUTF8Encoded((properties & FILE_NAME_UTF8_ENCODED) != 0);
+		fileHeader.setCompressionMethod(getCompressionMethod(index));
+		fileHeader.setLastModifiedTime(lastModifiedTimes[index]);
+		fileHeader.setCrc(getCrc(index));
+		fileHeader.setFileNameLength(lengths[index] >>> 16);
+		fileHeader.setExtraFieldLength(lengths[index] & 0xFFFF);
+		fileHeader.setFileName(getFileName(index));
+
+		// The sizes, offset and disk number are set to the values in the central directory first, so that the Zip64
+		// extended info is parsed from the extra field exactly like it was when the file header was read
+		fileHeader.setUncompressedSize((properties & ZIP64_UNCOMPRESSED_SIZE) != 0
+				? ZIP_64_SIZE_LIMIT : uncompressedSizes[index]);
+		fileHeader.setCompressedSize((properties & ZIP64_COMPRESSED_SIZE) != 0
+				? ZIP_64_SIZE_LIMIT : compressedSizes[index]);
+		fileHeader.setOffsetLocalHeader((properties & ZIP64_OFFSET_LOCAL_HEADER) != 0
+				? ZIP_64_SIZE_LIMIT : offsetsLocalHeader[index]);
+		fileHeader.setDiskNumberStart((properties & ZIP64_DISK_NUMBER_START) != 0
+				? ZIP_64_NUMBER_OF_ENTRIES_LIMIT : diskNumbersStart[index]);
+
+		if (extraFieldOffsets[index + 1] > extraFieldOffsets[index]) {
+			new HeaderReader().readExtraField(fileHeader,
+					Arrays.copyOfRange(extraFields, extraFieldOffsets[index], extraFieldOffsets[index + 1]));
+		}
+
+		int encryptionMethodOrdinal = (properties >>> 8) & 0xFF;
+		fileHeader.setEncryptionMethod(encryptionMethodOrdinal == 0
+				? null : ENCRYPTION_METHODS[encryptionMethodOrdinal - 1]);
+		fileHeader.setDirectory((properties & DIRECTORY) != 0);
+
+		if (fileComments != null) {
+			fileHeader.setFileCommentLength(fileCommentLengths[index]);
+			fileHeader.setFileComment(fileComments[index]);
+		}
+
+		return fileHeader;
+	}
+
+	/**
+	 * Returns an unmodifiable list view of the file headers, which creates a new file header with
+	 * {@link #getFileHeader(int)} every time an element is accessed
+	 *
+	 * @return list of the file headers
+	 */
+	public List<FileHeader> asFileHeaders() {
+		return new FileHeaderList();
+	}
+
+	private int getProperties(FileHeader fileHeader) {
+		int properties = 0;
+		if (fileHeader.getCompressionMethod() != null) {
+			properties |= fileHeader.getCompressionMethod().ordinal() + 1;
+		}
+		if (fileHeader.getEncryptionMethod() != null) {
+			properties |= (fileHeader.getEncryptionMethod().ordinal() + 1) << 8;
+		}
+		if (fileHeader.isDirectory()) {
+			properties |= DIRECTORY;
+		}
+		if (fileHeader.isEncrypted()) {
+			properties |= ENCRYPTED;
+		}
+		if (fileHeader.isDataDescriptorExists()) {
+			properties |= DATA_DESCRIPTOR_EXISTS;
+		}
+		if (fileHeader.isFileNameUTF8Encoded()) {
+			properties |= FILE_NAME_UTF8_ENCODED;
+		}
+
+		Zip64ExtendedInfo zip64ExtendedInfo = fileHeader.getZip64ExtendedInfo();
+		if (zip64ExtendedInfo != null) {
+			if (zip64ExtendedInfo.getUncompressedSize() != -1) {
+				properties |= ZIP64_UNCOMPRESSED_SIZE;
+			}
+			if (zip64ExtendedInfo.getCompressedSize() != -1) {
+				properties |= ZIP64_COMPRESSED_SIZE;
+			}
+			if (zip64ExtendedInfo.getOffsetLocalHeader() != -1) {
+				properties |= ZIP64_OFFSET_LOCAL_HEADER;
+			}
+			if (zip64ExtendedInfo.getDiskNumberStart() != -1) {
+				properties |= ZIP64_DISK_NUMBER_START;
+			}
+		}
+
+		return properties;
+	}
+
+	private void writeExtraDataRecords(RawIO rawIO, List<ExtraDataRecord> extraDataRecords,
+	                                   ByteArrayOutputStream outputStream) {
+		if (extraDataRecords == null) {
+			return;
+		}
+
+		byte[] recordHeader = new byte[4];
+		for (ExtraDataRecord extraDataRecord : extraDataRecords) {
+			rawIO.writeShortLittleEndian(recordHeader, 0, (int) extraDataRecord.getHeader());
+			rawIO.writeShortLittleEndian(recordHeader, 2, extraDataRecord.getSizeOfData());
+			outputStream.write(recordHeader, 0, recordHeader.length);
+			if (extraDataRecord.getSizeOfData() > 0) {
+				outputStream.write(extraDataRecord.getData(), 0, extraDataRecord.getSizeOfData());
+			}
+		}
+	}
+
+	private void setFileComment(int index, int fileCommentLength, String fileComment) {
+		if (fileComments == null) {
+			fileCommentLengths = new int[size];
+			fileComments = new String[size];
+		}
+
+		fileCommentLengths[index] = fileCommentLength;
+		fileComments[index] = fileComment;
+	}
+
+	private int readShort(RawIO rawIO, byte[] bytes) {
+		return bytes == null ? 0 : rawIO.readShortLittleEndian(bytes, 0);
+	}
+
+	private int readInt(RawIO rawIO, byte[] bytes) {
+		return bytes == null ? 0 : rawIO.readIntLittleEndian(bytes, 0);
+	}
+
+	private byte[] toShortBytes(RawIO rawIO, int value) {
+		byte[] bytes = new byte[2];
+		rawIO.writeShortLittleEndian(bytes, 0, value);
+		return bytes;
+	}
+
+	private class FileHeaderList extends AbstractList<FileHeader> implements RandomAccess {
+
+		@Override
+		public FileHeader get(int index) {
+			try {
+				return getFileHeader(index);
+			} catch (ZipException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
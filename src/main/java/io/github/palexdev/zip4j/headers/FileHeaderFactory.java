@@ -2,6 +2,7 @@ package io.github.palexdev.zip4j.headers;
 
 import io.github.palexdev.zip4j.exception.ZipException;
 import io.github.palexdev.zip4j.model.AESExtraDataRecord;
+import io.github.palexdev.zip4j.model.ExtraDataRecord;
 import io.github.palexdev.zip4j.model.FileHeader;
 import io.github.palexdev.zip4j.model.LocalFileHeader;
 import io.github.palexdev.zip4j.model.ZipParameters;
@@ -11,10 +12,13 @@ import io.github.palexdev.zip4j.model.enums.CompressionMethod;
 import io.github.palexdev.zip4j.model.enums.EncryptionMethod;
 import io.github.palexdev.zip4j.util.FileUtils;
 import io.github.palexdev.zip4j.util.InternalZipConstants;
+import io.github.palexdev.zip4j.util.Lz4Constants;
 import io.github.palexdev.zip4j.util.RawIO;
 import io.github.palexdev.zip4j.util.Zip4jUtil;
 
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
 
 import static io.github.palexdev.zip4j.util.BitUtils.setBit;
 import static io.github.palexdev.zip4j.util.BitUtils.unsetBit;
@@ -41,6 +45,13 @@ public class FileHeaderFactory {
 			fileHeader.setCompressionMethod(zipParameters.getCompressionMethod());
 		}
 
+		if (zipParameters.getCompressionMethod() == CompressionMethod.LZ4) {
+			List<ExtraDataRecord> extraDataRecords = new ArrayList<>();
+			extraDataRecords.add(generateLz4ExtraDataRecord());
+			fileHeader.setExtraDataRecords(extraDataRecords);
+			fileHeader.setExtraFieldLength(fileHeader.getExtraFieldLength() + 4 + Lz4Constants.EXTRA_DATA_RECORD_SIZE);
+		}
+
 		if (zipParameters.isEncryptFiles()) {
 			if (zipParameters.getEncryptionMethod() == null || zipParameters.getEncryptionMethod() == EncryptionMethod.NONE) {
 				throw new ZipException("Encryption method has to be set when encryptFiles flag is set in zip parameters");
@@ -88,6 +99,7 @@ public class FileHeaderFactory {
 		localFileHeader.setEncrypted(fileHeader.isEncrypted());
 		localFileHeader.setEncryptionMethod(fileHeader.getEncryptionMethod());
 		localFileHeader.setAesExtraDataRecord(fileHeader.getAesExtraDataRecord());
+		localFileHeader.setExtraDataRecords(fileHeader.getExtraDataRecords());
 		localFileHeader.setCrc(fileHeader.getCrc());
 		localFileHeader.setCompressedSize(fileHeader.getCompressedSize());
 		localFileHeader.setGeneralPurposeFlag(fileHeader.getGeneralPurposeFlag().clone());
@@ -166,6 +178,18 @@ public class FileHeaderFactory {
 		return aesExtraDataRecord;
 	}
 
+	/**
+	 * The record marks the data as compressed with the LZ4 compression method of zip4j, as other tools may use the same
+	 * private compression method id for something else
+	 */
+	private ExtraDataRecord generateLz4ExtraDataRecord() {
+		ExtraDataRecord extraDataRecord = new ExtraDataRecord();
+		extraDataRecord.setHeader(HeaderSignature.LZ4_EXTRA_DATA_RECORD.getValue());
+		extraDataRecord.setSizeOfData(Lz4Constants.EXTRA_DATA_RECORD_SIZE);
+		extraDataRecord.setData(new byte[]{Lz4Constants.FORMAT_VERSION, Lz4Constants.BLOCK_SIZE_LOG});
+		return extraDataRecord;
+	}
+
 	private int determineFileNameLength(String fileName, Charset charset) {
 		return HeaderUtil.getBytesFromString(fileName, charset).length;
 	}
@@ -0,0 +1,284 @@
+package io.github.palexdev.zip4j.headers;
+
+import io.github.palexdev.zip4j.model.ArchiveEntry;
+import io.github.palexdev.zip4j.model.FileHeader;
+import io.github.palexdev.zip4j.util.InternalZipConstants;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An index of the file names of a list of file headers, for exact and prefix lookups in logarithmic time instead of a
+ * scan over all file headers.
+ * <p>
+ * File names are kept sorted, so that all names with a common prefix, like all entries under a directory, are next to
+ * each other. Lookups return file headers in the order of the list the index was built from. The index is a snapshot
+ * of the file names at the time it was built, and has to be rebuilt once file headers are added, removed or renamed.
+ * <p>
+ * Directory listings are computed from the sorted names while they are iterated, and include the directories which are
+ * implied by the names of entries under them, even if the zip file has no entry for them.
+ */
+public class FileNameIndex {
+
+	private final List<FileHeader> fileHeaders;
+	private final String[] sortedFileNames;
+	private final int[] sortedPositions;
+
+	public FileNameIndex(List<FileHeader> fileHeaders) {
+		this.fileHeaders = new ArrayList<>(fileHeaders);
+
+		Integer[] positions = new Integer[fileHeaders.size()];
+		for (int i = 0; i < positions.length; i++) {
+			positions[i] = i;
+		}
+		// The sort is stable, so file headers with the same name stay in the order of the list
+		Arrays.sort(positions, (first, second) -> getFileName(first).compareTo(getFileName(second)));
+
+		sortedFileNames = new String[positions.length];
+		sortedPositions = new int[positions.length];
+		for (int i = 0; i < positions.length; i++) {
+			sortedPositions[i] = positions[i];
+			sortedFileNames[i] = getFileName(positions[i]);
+		}
+	}
+
+	/**
+	 * @param fileName name of the entry
+	 * @return the first file header with exactly the given name, or null if there is none
+	 */
+	public FileHeader getFileHeader(String fileName) {
+		int index = lowerBound(fileName);
+		if (index < sortedFileNames.length && sortedFileNames[index].equals(fileName)) {
+			return fileHeaders.get(sortedPositions[index]);
+		}
+		return null;
+	}
+
+	/**
+	 * @param fileName name of the entries
+	 * @return all file headers with exactly the given name, which is more than one only for zip files with duplicate
+	 * entries
+	 */
+	public List<FileHeader> getFileHeadersWithName(String fileName) {
+		int from = lowerBound(fileName);
+		int to = from;
+		while (to < sortedFileNames.length && sortedFileNames[to].equals(fileName)) {
+			to++;
+		}
+		return getFileHeaders(from, to);
+	}
+
+	/**
+	 * Returns all file headers whose name starts with the given prefix. If the prefix is the name of a directory
+	 * including the trailing separator, these are the directory itself and all entries under it, at any depth.
+	 *
+	 * @param prefix prefix of the file names
+	 * @return file headers whose name starts with the prefix
+	 */
+	public List<FileHeader> getFileHeadersWithPrefix(String prefix) {
+		int from = lowerBound(prefix);
+		int to = from;
+		while (to < sortedFileNames.length && sortedFileNames[to].startsWith(prefix)) {
+			to++;
+		}
+		return getFileHeaders(from, to);
+	}
+
+	/**
+	 * Returns an iterator over the immediate children of a directory, sorted by name. Sub-directories are listed once,
+	 * whether they are stored in the zip file or only implied by the entries under them, and without going through the
+	 * entries under them.
+	 *
+	 * @param directory name of the directory with a trailing separator, or an empty string for the root of the zip file
+	 * @return iterator over the children of the directory, which is empty if the directory does not exist
+	 */
+	public Iterator<ArchiveEntry> listDirectory(String directory) {
+		return new ListDirectoryIterator(directory);
+	}
+
+	/**
+	 * Returns an iterator over all entries under a directory at any depth, including implied directories, sorted by
+	 * name, so that every directory comes before the entries under it.
+	 *
+	 * @param directory name of the directory with a trailing separator, or an empty string for the root of the zip file
+	 * @return iterator over the entries under the directory, which is empty if the directory does not exist
+	 */
+	public Iterator<ArchiveEntry> walkDirectory(String directory) {
+		return new WalkDirectoryIterator(directory);
+	}
+
+	/**
+	 * @return number of file headers in this index
+	 */
+	public int size() {
+		return sortedFileNames.length;
+	}
+
+	private List<FileHeader> getFileHeaders(int from, int to) {
+		if (from == to) {
+			return Collections.emptyList();
+		}
+
+		int[] positions = Arrays.copyOfRange(sortedPositions, from, to);
+		Arrays.sort(positions);
+
+		List<FileHeader> result = new ArrayList<>(positions.length);
+		for (int position : positions) {
+			result.add(fileHeaders.get(position));
+		}
+		return result;
+	}
+
+	private int lowerBound(String fileName) {
+		int low = 0;
+		int high = sortedFileNames.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (sortedFileNames[middle].compareTo(fileName) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private int endOfDirectory(String directory, int from) {
+		if (directory.isEmpty()) {
+			return sortedFileNames.length;
+		}
+
+		// All names starting with the directory name sort before the directory name with its separator incremented
+		int lastCharacter = directory.length() - 1;
+		String upperBound = directory.substring(0, lastCharacter) + (char) (directory.charAt(lastCharacter) + 1);
+		int low = from;
+		int high = sortedFileNames.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (sortedFileNames[middle].compareTo(upperBound) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private ArchiveEntry createArchiveEntry(int position) {
+		return new ArchiveEntry(sortedFileNames[position], fileHeaders.get(sortedPositions[position]));
+	}
+
+	private String getFileName(int position) {
+		String fileName = fileHeaders.get(position).getFileName();
+		return fileName == null ? "" : fileName;
+	}
+
+	private abstract static class AbstractDirectoryIterator implements Iterator<ArchiveEntry> {
+		private ArchiveEntry next;
+
+		@Override
+		public boolean hasNext() {
+			if (next == null) {
+				next = computeNext();
+			}
+			return next != null;
+		}
+
+		@Override
+		public ArchiveEntry next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			ArchiveEntry archiveEntry = next;
+			next = null;
+			return archiveEntry;
+		}
+
+		abstract ArchiveEntry computeNext();
+	}
+
+	private class ListDirectoryIterator extends AbstractDirectoryIterator {
+		private final String directory;
+		private final int end;
+		private int position;
+
+		private ListDirectoryIterator(String directory) {
+			this.directory = directory;
+			this.position = lowerBound(directory);
+			this.end = endOfDirectory(directory, position);
+		}
+
+		@Override
+		ArchiveEntry computeNext() {
+			while (position < end) {
+				String fileName = sortedFileNames[position];
+				String remainingName = fileName.substring(directory.length());
+				int separatorIndex = remainingName.indexOf(InternalZipConstants.ZIP_FILE_SEPARATOR);
+
+				if (remainingName.isEmpty()) {
+					// The directory itself
+					position++;
+				} else if (separatorIndex == -1) {
+					return createArchiveEntry(position++);
+				} else if (separatorIndex == remainingName.length() - 1) {
+					ArchiveEntry archiveEntry = createArchiveEntry(position);
+					position = endOfDirectory(fileName, position);
+					return archiveEntry;
+				} else {
+					String impliedDirectory = fileName.substring(0, directory.length() + separatorIndex + 1);
+					position = endOfDirectory(impliedDirectory, position);
+					return new ArchiveEntry(impliedDirectory, null);
+				}
+			}
+			return null;
+		}
+	}
+
+	private class WalkDirectoryIterator extends AbstractDirectoryIterator {
+		private final Deque<String> openDirectories = new ArrayDeque<>();
+		private final int end;
+		private int position;
+
+		private WalkDirectoryIterator(String directory) {
+			this.openDirectories.push(directory);
+			this.position = lowerBound(directory);
+			this.end = endOfDirectory(directory, position);
+		}
+
+		@Override
+		ArchiveEntry computeNext() {
+			while (position < end) {
+				String fileName = sortedFileNames[position];
+				while (!fileName.startsWith(openDirectories.peek())) {
+					openDirectories.pop();
+				}
+
+				String parentDirectory = openDirectories.peek();
+				String remainingName = fileName.substring(parentDirectory.length());
+				int separatorIndex = remainingName.indexOf(InternalZipConstants.ZIP_FILE_SEPARATOR);
+
+				if (remainingName.isEmpty()) {
+					// The directory the walk started from, or a duplicate of a directory
+					position++;
+				} else if (separatorIndex == -1) {
+					return createArchiveEntry(position++);
+				} else if (separatorIndex == remainingName.length() - 1) {
+					openDirectories.push(fileName);
+					return createArchiveEntry(position++);
+				} else {
+					// The entry is listed once all its parent directories have been listed
+					String impliedDirectory = fileName.substring(0, parentDirectory.length() + separatorIndex + 1);
+					openDirectories.push(impliedDirectory);
+					return new ArchiveEntry(impliedDirectory, null);
+				}
+			}
+			return null;
+		}
+	}
+}
@@ -48,6 +48,7 @@ public class HeaderReader {
 	private final byte[] intBuff = new byte[4];
 
 	public ZipModel readAllHeaders(RandomAccessFile zip4jRaf, Zip4jConfig zip4jConfig) throws IOException {
+		long startTime = System.nanoTime();
 
 		if (zip4jRaf.length() < ENDHDR) {
 			throw new ZipException("Zip file size less than minimum expected zip file size. " +
@@ -66,6 +67,7 @@ public class HeaderReader {
 		}
 
 		if (zipModel.getEndOfCentralDirectoryRecord().getTotalNumberOfEntriesInCentralDirectory() == 0) {
+			zip4jConfig.getMetrics().headersRead(0, System.nanoTime() - startTime);
 			return zipModel;
 		}
 
@@ -85,6 +87,8 @@ public class HeaderReader {
 
 		zipModel.setCentralDirectory(readCentralDirectory(zip4jRaf, rawIO, zip4jConfig.getCharset()));
 
+		zip4jConfig.getMetrics().headersRead(zipModel.getCentralDirectory().getFileHeaders().size(),
+				System.nanoTime() - startTime);
 		return zipModel;
 	}
 
@@ -240,6 +244,25 @@ public class HeaderReader {
 
 	}
 
+	/**
+	 * Parses the extra field of a file header the same way it is parsed when reading the central directory. The sizes,
+	 * offset and disk number of the file header have to be set to the values in the central directory, so that the
+	 * fields in the Zip64 extended info can be told apart.
+	 *
+	 * @param fileHeader file header to set the extra data records, Zip64 extended info and AES extra data record of
+	 * @param extraField raw extra field of the file header
+	 * @throws ZipException if the AES extra data record is corrupt
+	 */
+	void readExtraField(FileHeader fileHeader, byte[] extraField) throws ZipException {
+		if (extraField.length < 4) {
+			return;
+		}
+
+		fileHeader.setExtraDataRecords(parseExtraDataRecords(extraField, extraField.length));
+		readZip64ExtendedInfo(fileHeader, rawIO);
+		readAesExtraDataRecord(fileHeader, rawIO);
+	}
+
 	private List<ExtraDataRecord> readExtraDataRecords(RandomAccessFile zip4jRaf, int extraFieldLength)
 			throws IOException {
 
@@ -13,7 +13,8 @@ public enum HeaderSignature {
 	ZIP64_END_CENTRAL_DIRECTORY_LOCATOR(0x07064b50L),
 	ZIP64_END_CENTRAL_DIRECTORY_RECORD(0x06064b50),
 	ZIP64_EXTRA_FIELD_SIGNATURE(0x0001),
-	AES_EXTRA_DATA_RECORD(0x9901);
+	AES_EXTRA_DATA_RECORD(0x9901),
+	LZ4_EXTRA_DATA_RECORD(0x5A34);
 
 	private long value;
 
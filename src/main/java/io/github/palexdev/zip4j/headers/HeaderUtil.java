@@ -32,6 +32,34 @@ public class HeaderUtil {
 		return fileHeader;
 	}
 
+	/**
+	 * Same as {@link #getFileHeader(ZipModel, String)}, but looks the file name up in an index of the file headers
+	 *
+	 * @param fileNameIndex index of the file headers of the zip model
+	 * @param fileName      name of the entry
+	 * @return the file header, or null if there is no entry with the given name
+	 * @throws ZipException if the file name is empty
+	 */
+	public static FileHeader getFileHeader(FileNameIndex fileNameIndex, String fileName) throws ZipException {
+		if (!isStringNotNullAndNotEmpty(fileName)) {
+			throw new ZipException("file name is null, cannot determine file header for fileName: " + fileName);
+		}
+
+		FileHeader fileHeader = fileNameIndex.getFileHeader(fileName);
+
+		if (fileHeader == null) {
+			fileName = fileName.replaceAll("\\\\", "/");
+			fileHeader = fileNameIndex.getFileHeader(fileName);
+
+			if (fileHeader == null) {
+				fileName = fileName.replaceAll("/", "\\\\");
+				fileHeader = fileNameIndex.getFileHeader(fileName);
+			}
+		}
+
+		return fileHeader;
+	}
+
 	public static String decodeStringWithCharset(byte[] data, boolean isUtf8Encoded, Charset charset) {
 		if (charset != null) {
 			return new String(data, charset);
@@ -64,6 +92,11 @@ public class HeaderUtil {
 		return zipModel.getEndOfCentralDirectoryRecord().getOffsetOfStartOfCentralDirectory();
 	}
 
+	/**
+	 * Returns all file headers whose name starts with the given name. This is a scan over all file headers, which is the
+	 * fastest way for a single query. Use {@link #getFileHeadersUnderDirectory(FileNameIndex, String)} for repeated
+	 * queries on the same file headers.
+	 */
 	public static List<FileHeader> getFileHeadersUnderDirectory(List<FileHeader> allFileHeaders, String fileName) {
 		List<FileHeader> fileHeadersUnderDirectory = new ArrayList<>();
 		for (FileHeader fileHeader : allFileHeaders) {
@@ -74,6 +107,14 @@ public class HeaderUtil {
 		return fileHeadersUnderDirectory;
 	}
 
+	/**
+	 * Same as {@link #getFileHeadersUnderDirectory(List, String)}, but finds the file headers in an index of the file
+	 * headers in logarithmic time
+	 */
+	public static List<FileHeader> getFileHeadersUnderDirectory(FileNameIndex fileNameIndex, String fileName) {
+		return fileNameIndex.getFileHeadersWithPrefix(fileName);
+	}
+
 	public static long getTotalUncompressedSizeOfAllFileHeaders(List<FileHeader> fileHeaders) {
 		long totalUncompressedSize = 0;
 		for (FileHeader fileHeader : fileHeaders) {
@@ -42,6 +42,11 @@ public class HeaderWriter {
 	private static final short ZIP64_EXTRA_DATA_RECORD_SIZE_LFH = 16;
 	private static final short ZIP64_EXTRA_DATA_RECORD_SIZE_FH = 28;
 	private static final short AES_EXTRA_DATA_RECORD_SIZE = 11;
+	private static final int CENTRAL_DIRECTORY_FILE_HEADER_SIZE = 46;
+	private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_RECORD_SIZE = 56;
+	private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE = 20;
+	private static final int END_OF_CENTRAL_DIRECTORY_RECORD_SIZE = 22;
+	private static final int CENTRAL_DIRECTORY_CHUNK_SIZE = 64 * 1024;
 
 	private final RawIO rawIO = new RawIO();
 	private final byte[] longBuff = new byte[8];
@@ -98,6 +103,7 @@ public class HeaderWriter {
 			if (localFileHeader.getAesExtraDataRecord() != null) {
 				extraFieldLength += AES_EXTRA_DATA_RECORD_SIZE;
 			}
+			extraFieldLength += calculateRemainingExtraDataRecordsSize(localFileHeader);
 			rawIO.writeShortLittleEndian(byteArrayOutputStream, extraFieldLength);
 
 			if (fileNameBytes.length > 0) {
@@ -130,6 +136,7 @@ public class HeaderWriter {
 				rawIO.writeShortLittleEndian(byteArrayOutputStream, aesExtraDataRecord.getCompressionMethod().getCode());
 			}
 
+			writeRemainingExtraDataRecordsIfPresent(localFileHeader, byteArrayOutputStream);
 			outputStream.write(byteArrayOutputStream.toByteArray());
 		}
 	}
@@ -162,50 +169,24 @@ public class HeaderWriter {
 		}
 	}
 
+	/**
+	 * Writes the central directory, the Zip64 end of central directory records if needed, and the end of central
+	 * directory record at the current position of the output stream. The central directory is written in chunks of
+	 * bounded size while it is serialized, so that the memory needed does not grow with the number of entries.
+	 */
 	public void finalizeZipFile(ZipModel zipModel, OutputStream outputStream, Charset charset) throws IOException {
 		if (zipModel == null || outputStream == null) {
 			throw new ZipException("input parameters is null, cannot finalize zip file");
 		}
 
-		try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream()) {
-			processHeaderData(zipModel, outputStream);
-			long offsetCentralDir = getOffsetOfCentralDirectory(zipModel);
-			writeCentralDirectory(zipModel, byteArrayOutputStream, rawIO, charset);
-			int sizeOfCentralDir = byteArrayOutputStream.size();
-
-			if (zipModel.isZip64Format() || offsetCentralDir >= InternalZipConstants.ZIP_64_SIZE_LIMIT
-					|| zipModel.getCentralDirectory().getFileHeaders().size() >= InternalZipConstants.ZIP_64_NUMBER_OF_ENTRIES_LIMIT) {
-
-				if (zipModel.getZip64EndOfCentralDirectoryRecord() == null) {
-					zipModel.setZip64EndOfCentralDirectoryRecord(new Zip64EndOfCentralDirectoryRecord());
-				}
-				if (zipModel.getZip64EndOfCentralDirectoryLocator() == null) {
-					zipModel.setZip64EndOfCentralDirectoryLocator(new Zip64EndOfCentralDirectoryLocator());
-				}
-
-				zipModel.getZip64EndOfCentralDirectoryLocator().setOffsetZip64EndOfCentralDirectoryRecord(offsetCentralDir
-						+ sizeOfCentralDir);
-
-				if (isSplitZipFile(outputStream)) {
-					int currentSplitFileCounter = getCurrentSplitFileCounter(outputStream);
-					zipModel.getZip64EndOfCentralDirectoryLocator().setNumberOfDiskStartOfZip64EndOfCentralDirectoryRecord(
-							currentSplitFileCounter);
-					zipModel.getZip64EndOfCentralDirectoryLocator().setTotalNumberOfDiscs(currentSplitFileCounter + 1);
-				} else {
-					zipModel.getZip64EndOfCentralDirectoryLocator().setNumberOfDiskStartOfZip64EndOfCentralDirectoryRecord(0);
-					zipModel.getZip64EndOfCentralDirectoryLocator().setTotalNumberOfDiscs(1);
-				}
-
-				Zip64EndOfCentralDirectoryRecord zip64EndOfCentralDirectoryRecord = buildZip64EndOfCentralDirectoryRecord(zipModel,
-						sizeOfCentralDir, offsetCentralDir);
-				zipModel.setZip64EndOfCentralDirectoryRecord(zip64EndOfCentralDirectoryRecord);
-				writeZip64EndOfCentralDirectoryRecord(zip64EndOfCentralDirectoryRecord, byteArrayOutputStream, rawIO);
-				writeZip64EndOfCentralDirectoryLocator(zipModel.getZip64EndOfCentralDirectoryLocator(), byteArrayOutputStream, rawIO);
-			}
-
-			writeEndOfCentralDirectoryRecord(zipModel, sizeOfCentralDir, offsetCentralDir, byteArrayOutputStream, rawIO, charset);
-			writeZipHeaderBytes(zipModel, outputStream, byteArrayOutputStream.toByteArray(), charset);
+		processHeaderData(zipModel, outputStream);
+		long offsetCentralDir = getOffsetOfCentralDirectory(zipModel);
+		if (startNextSplitFileIfZipHeadersDoNotFit(zipModel, outputStream, offsetCentralDir, charset)) {
+			finalizeZipFile(zipModel, outputStream, charset);
+			return;
 		}
+
+		writeZipHeaders(zipModel, outputStream, offsetCentralDir, true, charset);
 	}
 
 	public void finalizeZipFileWithoutValidations(ZipModel zipModel, OutputStream outputStream, Charset charset) throws IOException {
@@ -214,13 +195,21 @@ public class HeaderWriter {
 			throw new ZipException("input parameters is null, cannot finalize zip file without validations");
 		}
 
+		long offsetCentralDir = getOffsetOfCentralDirectory(zipModel);
+		if (startNextSplitFileIfZipHeadersDoNotFit(zipModel, outputStream, offsetCentralDir, charset)) {
+			finalizeZipFile(zipModel, outputStream, charset);
+			return;
+		}
+
+		writeZipHeaders(zipModel, outputStream, offsetCentralDir, false, charset);
+	}
+
+	private void writeZipHeaders(ZipModel zipModel, OutputStream outputStream, long offsetCentralDir,
+	                             boolean updateSplitInfo, Charset charset) throws IOException {
 		try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream()) {
-			long offsetCentralDir = getOffsetOfCentralDirectory(zipModel);
-			writeCentralDirectory(zipModel, byteArrayOutputStream, rawIO, charset);
-			int sizeOfCentralDir = byteArrayOutputStream.size();
+			long sizeOfCentralDir = writeCentralDirectory(zipModel, outputStream, byteArrayOutputStream, rawIO, charset);
 
-			if (zipModel.isZip64Format() || offsetCentralDir >= InternalZipConstants.ZIP_64_SIZE_LIMIT
-					|| zipModel.getCentralDirectory().getFileHeaders().size() >= InternalZipConstants.ZIP_64_NUMBER_OF_ENTRIES_LIMIT) {
+			if (isZip64EndOfCentralDirectoryRequired(zipModel, offsetCentralDir, sizeOfCentralDir)) {
 
 				if (zipModel.getZip64EndOfCentralDirectoryRecord() == null) {
 					zipModel.setZip64EndOfCentralDirectoryRecord(new Zip64EndOfCentralDirectoryRecord());
@@ -232,6 +221,18 @@ public class HeaderWriter {
 				zipModel.getZip64EndOfCentralDirectoryLocator().setOffsetZip64EndOfCentralDirectoryRecord(offsetCentralDir
 						+ sizeOfCentralDir);
 
+				if (updateSplitInfo) {
+					if (isSplitZipFile(outputStream)) {
+						int currentSplitFileCounter = getCurrentSplitFileCounter(outputStream);
+						zipModel.getZip64EndOfCentralDirectoryLocator().setNumberOfDiskStartOfZip64EndOfCentralDirectoryRecord(
+								currentSplitFileCounter);
+						zipModel.getZip64EndOfCentralDirectoryLocator().setTotalNumberOfDiscs(currentSplitFileCounter + 1);
+					} else {
+						zipModel.getZip64EndOfCentralDirectoryLocator().setNumberOfDiskStartOfZip64EndOfCentralDirectoryRecord(0);
+						zipModel.getZip64EndOfCentralDirectoryLocator().setTotalNumberOfDiscs(1);
+					}
+				}
+
 				Zip64EndOfCentralDirectoryRecord zip64EndOfCentralDirectoryRecord = buildZip64EndOfCentralDirectoryRecord(zipModel,
 						sizeOfCentralDir, offsetCentralDir);
 				zipModel.setZip64EndOfCentralDirectoryRecord(zip64EndOfCentralDirectoryRecord);
@@ -240,10 +241,59 @@ public class HeaderWriter {
 			}
 
 			writeEndOfCentralDirectoryRecord(zipModel, sizeOfCentralDir, offsetCentralDir, byteArrayOutputStream, rawIO, charset);
-			writeZipHeaderBytes(zipModel, outputStream, byteArrayOutputStream.toByteArray(), charset);
+			byteArrayOutputStream.writeTo(outputStream);
 		}
 	}
 
+	private boolean isZip64EndOfCentralDirectoryRequired(ZipModel zipModel, long offsetCentralDir, long sizeOfCentralDir) {
+		return zipModel.isZip64Format() || offsetCentralDir >= InternalZipConstants.ZIP_64_SIZE_LIMIT
+				|| sizeOfCentralDir >= InternalZipConstants.ZIP_64_SIZE_LIMIT
+				|| zipModel.getCentralDirectory().getFileHeaders().size() >= InternalZipConstants.ZIP_64_NUMBER_OF_ENTRIES_LIMIT;
+	}
+
+	/**
+	 * All headers are written to the same split file. As they are written in chunks, their size is calculated up front,
+	 * and the next split file is started if they do not fit in the current one.
+	 *
+	 * @return true if the next split file was started, and the headers have to be written from the start again
+	 */
+	private boolean startNextSplitFileIfZipHeadersDoNotFit(ZipModel zipModel, OutputStream outputStream,
+	                                                       long offsetCentralDir, Charset charset) throws ZipException {
+		if (!(outputStream instanceof CountingOutputStream) || !isSplitZipFile(outputStream)) {
+			return false;
+		}
+
+		long sizeOfZipHeaders = calculateSizeOfZipHeaders(zipModel, offsetCentralDir, charset);
+		return ((CountingOutputStream) outputStream).checkBuffSizeAndStartNextSplitFile(
+				(int) Math.min(sizeOfZipHeaders, Integer.MAX_VALUE));
+	}
+
+	private long calculateSizeOfZipHeaders(ZipModel zipModel, long offsetCentralDir, Charset charset) {
+		long sizeOfCentralDir = 0;
+		boolean zip64Entries = false;
+
+		if (zipModel.getCentralDirectory() != null && zipModel.getCentralDirectory().getFileHeaders() != null) {
+			for (FileHeader fileHeader : zipModel.getCentralDirectory().getFileHeaders()) {
+				boolean zip64Entry = isZip64Entry(fileHeader);
+				zip64Entries |= zip64Entry;
+				sizeOfCentralDir += CENTRAL_DIRECTORY_FILE_HEADER_SIZE + getEncodedLength(fileHeader.getFileName(), charset)
+						+ calculateExtraDataRecordsSize(fileHeader, zip64Entry)
+						+ getEncodedLength(fileHeader.getFileComment(), charset);
+			}
+		}
+
+		long sizeOfZipHeaders = sizeOfCentralDir + END_OF_CENTRAL_DIRECTORY_RECORD_SIZE
+				+ getEncodedLength(zipModel.getEndOfCentralDirectoryRecord().getComment(), charset);
+		if (zip64Entries || isZip64EndOfCentralDirectoryRequired(zipModel, offsetCentralDir, sizeOfCentralDir)) {
+			sizeOfZipHeaders += ZIP64_END_OF_CENTRAL_DIRECTORY_RECORD_SIZE + ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE;
+		}
+		return sizeOfZipHeaders;
+	}
+
+	private int getEncodedLength(String string, Charset charset) {
+		return isStringNotNullAndNotEmpty(string) ? getBytesFromString(string, charset).length : 0;
+	}
+
 	public void updateLocalFileHeader(FileHeader fileHeader, ZipModel zipModel, SplitOutputStream outputStream)
 			throws IOException {
 
@@ -334,23 +384,6 @@ public class HeaderWriter {
 		return ((CountingOutputStream) outputStream).getCurrentSplitFileCounter();
 	}
 
-	private void writeZipHeaderBytes(ZipModel zipModel, OutputStream outputStream, byte[] buff, Charset charset)
-			throws IOException {
-
-		if (buff == null) {
-			throw new ZipException("invalid buff to write as zip headers");
-		}
-
-		if (outputStream instanceof CountingOutputStream) {
-			if (((CountingOutputStream) outputStream).checkBuffSizeAndStartNextSplitFile(buff.length)) {
-				finalizeZipFile(zipModel, outputStream, charset);
-				return;
-			}
-		}
-
-		outputStream.write(buff);
-	}
-
 	private void processHeaderData(ZipModel zipModel, OutputStream outputStream) throws IOException {
 		int currentSplitFileCounter = 0;
 		if (outputStream instanceof OutputStreamWithSplitZipSupport) {
@@ -377,17 +410,30 @@ public class HeaderWriter {
 		zipModel.getEndOfCentralDirectoryRecord().setNumberOfThisDiskStartOfCentralDir(currentSplitFileCounter);
 	}
 
-	private void writeCentralDirectory(ZipModel zipModel, ByteArrayOutputStream byteArrayOutputStream, RawIO rawIO,
-	                                   Charset charset) throws ZipException {
+	private long writeCentralDirectory(ZipModel zipModel, OutputStream outputStream,
+	                                   ByteArrayOutputStream byteArrayOutputStream, RawIO rawIO, Charset charset)
+			throws IOException {
 
 		if (zipModel.getCentralDirectory() == null || zipModel.getCentralDirectory().getFileHeaders() == null
 				|| zipModel.getCentralDirectory().getFileHeaders().size() <= 0) {
-			return;
+			return 0;
 		}
 
+		long sizeOfCentralDir = 0;
 		for (FileHeader fileHeader : zipModel.getCentralDirectory().getFileHeaders()) {
 			writeFileHeader(zipModel, fileHeader, byteArrayOutputStream, rawIO, charset);
+
+			if (byteArrayOutputStream.size() >= CENTRAL_DIRECTORY_CHUNK_SIZE) {
+				sizeOfCentralDir += byteArrayOutputStream.size();
+				byteArrayOutputStream.writeTo(outputStream);
+				byteArrayOutputStream.reset();
+			}
 		}
+
+		sizeOfCentralDir += byteArrayOutputStream.size();
+		byteArrayOutputStream.writeTo(outputStream);
+		byteArrayOutputStream.reset();
+		return sizeOfCentralDir;
 	}
 
 	private void writeFileHeader(ZipModel zipModel, FileHeader fileHeader, ByteArrayOutputStream byteArrayOutputStream,
@@ -520,6 +566,13 @@ public class HeaderWriter {
 			extraFieldLength += AES_EXTRA_DATA_RECORD_SIZE;
 		}
 
+		extraFieldLength += calculateRemainingExtraDataRecordsSize(fileHeader);
+		return extraFieldLength;
+	}
+
+	private int calculateRemainingExtraDataRecordsSize(AbstractFileHeader fileHeader) {
+		int extraFieldLength = 0;
+
 		if (fileHeader.getExtraDataRecords() != null) {
 			for (ExtraDataRecord extraDataRecord : fileHeader.getExtraDataRecords()) {
 				if (extraDataRecord.getHeader() == HeaderSignature.AES_EXTRA_DATA_RECORD.getValue()
@@ -534,7 +587,7 @@ public class HeaderWriter {
 		return extraFieldLength;
 	}
 
-	private void writeRemainingExtraDataRecordsIfPresent(FileHeader fileHeader, OutputStream outputStream)
+	private void writeRemainingExtraDataRecordsIfPresent(AbstractFileHeader fileHeader, OutputStream outputStream)
 			throws IOException {
 		if (fileHeader.getExtraDataRecords() == null || fileHeader.getExtraDataRecords().size() == 0) {
 			return;
@@ -582,7 +635,7 @@ public class HeaderWriter {
 
 	}
 
-	private void writeEndOfCentralDirectoryRecord(ZipModel zipModel, int sizeOfCentralDir, long offsetCentralDir,
+	private void writeEndOfCentralDirectoryRecord(ZipModel zipModel, long sizeOfCentralDir, long offsetCentralDir,
 	                                              ByteArrayOutputStream byteArrayOutputStream, RawIO rawIO,
 	                                              Charset charset)
 			throws IOException {
@@ -611,7 +664,8 @@ public class HeaderWriter {
 		}
 		rawIO.writeShortLittleEndian(byteArrayOutputStream, (int) numEntries);
 
-		rawIO.writeIntLittleEndian(byteArrayOutputStream, sizeOfCentralDir);
+		rawIO.writeLongLittleEndian(longByte, 0, Math.min(sizeOfCentralDir, ZIP_64_SIZE_LIMIT));
+		byteArrayOutputStream.write(longByte, 0, 4);
 		if (offsetCentralDir > ZIP_64_SIZE_LIMIT) {
 			rawIO.writeLongLittleEndian(longByte, 0, ZIP_64_SIZE_LIMIT);
 			byteArrayOutputStream.write(longByte, 0, 4);
@@ -661,7 +715,7 @@ public class HeaderWriter {
 		return zipModel.getEndOfCentralDirectoryRecord().getOffsetOfStartOfCentralDirectory();
 	}
 
-	private Zip64EndOfCentralDirectoryRecord buildZip64EndOfCentralDirectoryRecord(ZipModel zipModel, int sizeOfCentralDir,
+	private Zip64EndOfCentralDirectoryRecord buildZip64EndOfCentralDirectoryRecord(ZipModel zipModel, long sizeOfCentralDir,
 	                                                                               long offsetCentralDir) throws ZipException {
 
 		Zip64EndOfCentralDirectoryRecord zip64EndOfCentralDirectoryRecord = new Zip64EndOfCentralDirectoryRecord();
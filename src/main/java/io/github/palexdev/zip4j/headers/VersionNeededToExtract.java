@@ -4,7 +4,9 @@ public enum VersionNeededToExtract {
 
 	DEFAULT(10),
 	DEFLATE_COMPRESSED(20),
+	DEFLATE64_COMPRESSED(21),
 	ZIP_64_FORMAT(45),
+	BZIP2_COMPRESSED(46),
 	AES_ENCRYPTED(51);
 
 	private final int code;
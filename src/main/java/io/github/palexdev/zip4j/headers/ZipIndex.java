@@ -0,0 +1,490 @@
+package io.github.palexdev.zip4j.headers;
+
+import io.github.palexdev.zip4j.exception.ZipException;
+import io.github.palexdev.zip4j.model.AESExtraDataRecord;
+import io.github.palexdev.zip4j.model.FileHeader;
+import io.github.palexdev.zip4j.model.ZipModel;
+import io.github.palexdev.zip4j.model.enums.AesKeyStrength;
+import io.github.palexdev.zip4j.model.enums.AesVersion;
+import io.github.palexdev.zip4j.model.enums.CompressionMethod;
+import io.github.palexdev.zip4j.model.enums.EncryptionMethod;
+import io.github.palexdev.zip4j.util.InternalZipConstants;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static io.github.palexdev.zip4j.util.Zip4jUtil.isStringNotNullAndNotEmpty;
+
+/**
+ * A sidecar index of the central directory of a zip file, which can be memory mapped and queried by file name without
+ * parsing the central directory.
+ * <p>
+ * The index file stores, for every entry, the fields of its file header needed to locate and extract it, in fixed size
+ * records sorted by the UTF-8 bytes of the file name, followed by a block with all file names. Lookups are binary
+ * searches over the mapped records, and a {@link FileHeader} is only created for the entry found.
+ * <p>
+ * An index is only used if it still matches its zip file: the length and last modified time of the zip file and the
+ * bytes of its end of central directory records (including the Zip64 ones) have to be the same as when the index was
+ * written, and the file names have to be decoded with the same charset. Index files can only be written for zip files
+ * which are not split, and are limited to 2GB, which is enough for several million entries.
+ */
+public class ZipIndex {
+
+	public static final String INDEX_FILE_EXTENSION = ".idx";
+
+	private static final int MAGIC = 0x5A34494E;
+	private static final int VERSION = 1;
+	private static final int ENTRY_SIZE = 64;
+	private static final int MAX_VALIDATION_LENGTH = 4096;
+	private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE = 20;
+
+	private static final int FLAG_DIRECTORY = 1;
+	private static final int FLAG_ENCRYPTED = 1 << 1;
+	private static final int FLAG_AES = 1 << 2;
+	private static final int FLAG_FILE_NAME_UTF8_ENCODED = 1 << 3;
+	private static final int FLAG_DATA_DESCRIPTOR_EXISTS = 1 << 4;
+
+	private final File zipFile;
+	private final ByteBuffer buffer;
+	private final int numberOfEntries;
+	private final int entriesOffset;
+	private final int namesOffset;
+
+	private ZipIndex(File zipFile, ByteBuffer buffer, int numberOfEntries, int entriesOffset, int namesOffset) {
+		this.zipFile = zipFile;
+		this.buffer = buffer;
+		this.numberOfEntries = numberOfEntries;
+		this.entriesOffset = entriesOffset;
+		this.namesOffset = namesOffset;
+	}
+
+	/**
+	 * @param zipFile the zip file
+	 * @return the index file which belongs to the zip file
+	 */
+	public static File getIndexFile(File zipFile) {
+		return new File(zipFile.getPath() + INDEX_FILE_EXTENSION);
+	}
+
+	/**
+	 * Writes the index file of a zip file from the headers of its zip model. The zip model has to be read from or
+	 * written to the zip file, which must not be split.
+	 *
+	 * @param zipModel  zip model of the zip file, with the zip file set
+	 * @param indexFile file to write the index to
+	 * @param charset   charset with which file names were decoded, or null if the default charset was used
+	 * @throws IOException if the zip file or the index file cannot be read or written, or if there are too many
+	 *                     entries to index
+	 */
+	public static void write(ZipModel zipModel, File indexFile, Charset charset) throws IOException {
+		if (zipModel == null || zipModel.getZipFile() == null || indexFile == null) {
+			throw new ZipException("input parameters are null, cannot write index file");
+		}
+
+		if (zipModel.isSplitArchive()) {
+			throw new ZipException("index files cannot be written for split zip files");
+		}
+
+		File zipFile = zipModel.getZipFile();
+		List<FileHeader> fileHeaders = zipModel.getCentralDirectory() == null ? Collections.emptyList()
+				: zipModel.getCentralDirectory().getFileHeaders();
+
+		IndexedName[] indexedNames = new IndexedName[fileHeaders.size()];
+		long namesLength = 0;
+		for (int i = 0; i < indexedNames.length; i++) {
+			FileHeader fileHeader = fileHeaders.get(i);
+			indexedNames[i] = new IndexedName(fileHeader.getFileName().getBytes(InternalZipConstants.CHARSET_UTF_8),
+					fileHeader);
+			namesLength += indexedNames[i].name.length;
+		}
+		// Arrays.sort is stable, so for duplicate names the first entry of the central directory is found first
+		Arrays.sort(indexedNames, (first, second) -> Arrays.compareUnsigned(first.name, second.name));
+
+		long validationOffset;
+		byte[] validationBytes;
+		long zipFileLength;
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(zipFile, "r")) {
+			zipFileLength = randomAccessFile.length();
+			validationOffset = locateStartOfEndOfCentralDirectoryRecords(randomAccessFile);
+			validationBytes = new byte[(int) (locateOffsetOfEndOfCentralDirectory(randomAccessFile)
+					+ InternalZipConstants.ENDHDR - validationOffset)];
+			randomAccessFile.seek(validationOffset);
+			randomAccessFile.readFully(validationBytes);
+		}
+
+		byte[] charsetName = charset == null ? new byte[0] : charset.name().getBytes(InternalZipConstants.CHARSET_UTF_8);
+		long headerLength = 44L + charsetName.length + validationBytes.length;
+		if (headerLength + (long) indexedNames.length * ENTRY_SIZE + namesLength > Integer.MAX_VALUE) {
+			throw new ZipException("zip file has too many entries to be indexed");
+		}
+
+		// The index is written to a temporary file which then replaces the index file, as truncating an index file which
+		// is mapped by another instance would make its reads fail, and is not possible at all on Windows
+		Path temporaryIndexFile = Files.createTempFile(indexFile.getAbsoluteFile().getParentFile().toPath(),
+				indexFile.getName(), ".tmp");
+		try {
+			writeIndex(temporaryIndexFile, zipFile, zipFileLength, charsetName, validationOffset, validationBytes,
+					indexedNames, namesLength);
+			Files.move(temporaryIndexFile, indexFile.toPath(), StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(temporaryIndexFile);
+		}
+	}
+
+	private static void writeIndex(Path indexFile, File zipFile, long zipFileLength, byte[] charsetName,
+	                               long validationOffset, byte[] validationBytes, IndexedName[] indexedNames,
+	                               long namesLength) throws IOException {
+		try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(
+				Files.newOutputStream(indexFile), InternalZipConstants.BUFF_SIZE))) {
+			outputStream.writeInt(MAGIC);
+			outputStream.writeInt(VERSION);
+			outputStream.writeLong(zipFileLength);
+			outputStream.writeLong(zipFile.lastModified());
+			outputStream.writeShort(charsetName.length);
+			outputStream.write(charsetName);
+			outputStream.writeLong(validationOffset);
+			outputStream.writeShort(validationBytes.length);
+			outputStream.write(validationBytes);
+			outputStream.writeInt(indexedNames.length);
+			outputStream.writeInt((int) namesLength);
+
+			int nameOffset = 0;
+			for (IndexedName indexedName : indexedNames) {
+				writeEntry(outputStream, indexedName.fileHeader, nameOffset, indexedName.name.length);
+				nameOffset += indexedName.name.length;
+			}
+
+			for (IndexedName indexedName : indexedNames) {
+				outputStream.write(indexedName.name);
+			}
+		}
+	}
+
+	/**
+	 * Opens the index file of a zip file, if it exists and still matches the zip file
+	 *
+	 * @param zipFile   the zip file
+	 * @param indexFile the index file of the zip file
+	 * @param charset   charset with which file names are decoded, or null if the default charset is used
+	 * @return the index, or null if the index file does not exist, is corrupt or does not match the zip file
+	 * @throws IOException if the zip file or the index file cannot be read
+	 */
+	public static ZipIndex open(File zipFile, File indexFile, Charset charset) throws IOException {
+		if (!zipFile.exists() || !indexFile.exists()) {
+			return null;
+		}
+
+		ByteBuffer buffer;
+		try (FileChannel fileChannel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+			if (fileChannel.size() > Integer.MAX_VALUE) {
+				return null;
+			}
+			buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+		}
+
+		try {
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+					|| buffer.getLong() != zipFile.length() || buffer.getLong() != zipFile.lastModified()) {
+				return null;
+			}
+
+			byte[] charsetName = new byte[buffer.getShort() & 0xFFFF];
+			buffer.get(charsetName);
+			String expectedCharsetName = charset == null ? "" : charset.name();
+			if (!expectedCharsetName.equals(new String(charsetName, InternalZipConstants.CHARSET_UTF_8))) {
+				return null;
+			}
+
+			long validationOffset = buffer.getLong();
+			byte[] validationBytes = new byte[buffer.getShort() & 0xFFFF];
+			buffer.get(validationBytes);
+			if (!matchesZipFile(zipFile, validationOffset, validationBytes)) {
+				return null;
+			}
+
+			int numberOfEntries = buffer.getInt();
+			int namesLength = buffer.getInt();
+			int entriesOffset = buffer.position();
+			long namesOffset = entriesOffset + (long) numberOfEntries * ENTRY_SIZE;
+			if (numberOfEntries < 0 || namesLength < 0 || namesOffset + namesLength != buffer.capacity()) {
+				return null;
+			}
+
+			return new ZipIndex(zipFile, buffer, numberOfEntries, entriesOffset, (int) namesOffset);
+		} catch (RuntimeException e) {
+			// A truncated or otherwise corrupt index is treated like a missing one
+			return null;
+		}
+	}
+
+	/**
+	 * @return the zip file this index belongs to
+	 */
+	public File getZipFile() {
+		return zipFile;
+	}
+
+	/**
+	 * @return number of entries in the zip file
+	 */
+	public int size() {
+		return numberOfEntries;
+	}
+
+	/**
+	 * Returns the file header with the given file name, trying the same variations of path separators as
+	 * {@link HeaderUtil#getFileHeader(ZipModel, String)}. The returned file header has all the fields needed to locate
+	 * and extract the entry, but no extra data records except for the AES one, and no file comment.
+	 *
+	 * @param fileName name of the entry
+	 * @return the file header, or null if there is no entry with the given name
+	 * @throws ZipException if the file name is empty or the index contains invalid values
+	 */
+	public FileHeader getFileHeader(String fileName) throws ZipException {
+		if (!isStringNotNullAndNotEmpty(fileName)) {
+			throw new ZipException("file name is null, cannot get file header from index");
+		}
+
+		int entry = findEntry(fileName);
+
+		if (entry < 0) {
+			fileName = fileName.replaceAll("\\\\", "/");
+			entry = findEntry(fileName);
+
+			if (entry < 0) {
+				fileName = fileName.replaceAll("/", "\\\\");
+				entry = findEntry(fileName);
+			}
+		}
+
+		return entry < 0 ? null : readFileHeader(entry);
+	}
+
+	/**
+	 * @return names of all entries, sorted by their UTF-8 bytes
+	 */
+	public List<String> getFileNames() {
+		List<String> fileNames = new ArrayList<>(numberOfEntries);
+		for (int i = 0; i < numberOfEntries; i++) {
+			fileNames.add(new String(readName(i), InternalZipConstants.CHARSET_UTF_8));
+		}
+		return fileNames;
+	}
+
+	private int findEntry(String fileName) {
+		byte[] name = fileName.getBytes(InternalZipConstants.CHARSET_UTF_8);
+		int low = 0;
+		int high = numberOfEntries - 1;
+
+		// Finds the first entry with the name, so that duplicates resolve like a scan of the central directory
+		int found = -1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int comparison = compareName(middle, name);
+			if (comparison < 0) {
+				low = middle + 1;
+			} else {
+				if (comparison == 0) {
+					found = middle;
+				}
+				high = middle - 1;
+			}
+		}
+		return found;
+	}
+
+	private int compareName(int entry, byte[] name) {
+		int entryOffset = entriesOffset + entry * ENTRY_SIZE;
+		int nameOffset = namesOffset + buffer.getInt(entryOffset);
+		int nameLength = buffer.getInt(entryOffset + 4);
+
+		int length = Math.min(nameLength, name.length);
+		for (int i = 0; i < length; i++) {
+			int comparison = Integer.compare(buffer.get(nameOffset + i) & 0xFF, name[i] & 0xFF);
+			if (comparison != 0) {
+				return comparison;
+			}
+		}
+		return Integer.compare(nameLength, name.length);
+	}
+
+	private byte[] readName(int entry) {
+		int entryOffset = entriesOffset + entry * ENTRY_SIZE;
+		byte[] name = new byte[buffer.getInt(entryOffset + 4)];
+		ByteBuffer nameBuffer = buffer.duplicate();
+		nameBuffer.position(namesOffset + buffer.getInt(entryOffset));
+		nameBuffer.get(name);
+		return name;
+	}
+
+	private FileHeader readFileHeader(int entry) throws ZipException {
+		int offset = entriesOffset + entry * ENTRY_SIZE;
+		byte[] name = readName(entry);
+
+		FileHeader fileHeader = new FileHeader();
+		fileHeader.setFileName(new String(name, InternalZipConstants.CHARSET_UTF_8));
+		fileHeader.setFileNameLength(name.length);
+		fileHeader.setOffsetLocalHeader(buffer.getLong(offset + 8));
+		fileHeader.setCompressedSize(buffer.getLong(offset + 16));
+		fileHeader.setUncompressedSize(buffer.getLong(offset + 24));
+		fileHeader.setCrc(buffer.getInt(offset + 32) & 0xFFFFFFFFL);
+		fileHeader.setLastModifiedTime(buffer.getInt(offset + 36) & 0xFFFFFFFFL);
+		fileHeader.setExternalFileAttributes(readBytes(offset + 40, 4));
+		fileHeader.setInternalFileAttributes(readBytes(offset + 44, 2));
+		fileHeader.setGeneralPurposeFlag(readBytes(offset + 46, 2));
+		fileHeader.setCompressionMethod(CompressionMethod.getCompressionMethodFromCode(buffer.getShort(offset + 48) & 0xFFFF));
+		fileHeader.setVersionMadeBy(buffer.getShort(offset + 50) & 0xFFFF);
+		fileHeader.setVersionNeededToExtract(buffer.getShort(offset + 52) & 0xFFFF);
+
+		int flags = buffer.get(offset + 54);
+		fileHeader.setDirectory((flags & FLAG_DIRECTORY) != 0);
+		fileHeader.setEncrypted((flags & FLAG_ENCRYPTED) != 0);
+		fileHeader.setFileNameUTF8Encoded((flags & FLAG_FILE_NAME_UTF8_ENCODED) != 0);
+		fileHeader.setDataDescriptorExists((flags & FLAG_DATA_DESCRIPTOR_EXISTS) != 0);
+
+		if ((flags & FLAG_AES) != 0) {
+			AESExtraDataRecord aesExtraDataRecord = new AESExtraDataRecord();
+			aesExtraDataRecord.setAesKeyStrength(AesKeyStrength.getAesKeyStrengthFromRawCode(buffer.get(offset + 55)));
+			aesExtraDataRecord.setAesVersion(AesVersion.getFromVersionNumber(buffer.getShort(offset + 56) & 0xFFFF));
+			aesExtraDataRecord.setCompressionMethod(CompressionMethod.getCompressionMethodFromCode(
+					buffer.getShort(offset + 58) & 0xFFFF));
+			fileHeader.setAesExtraDataRecord(aesExtraDataRecord);
+		}
+
+		if (fileHeader.isEncrypted()) {
+			fileHeader.setEncryptionMethod(fileHeader.getAesExtraDataRecord() != null ? EncryptionMethod.AES
+					: EncryptionMethod.ZIP_STANDARD);
+		}
+
+		fileHeader.setDiskNumberStart(buffer.getInt(offset + 60));
+		return fileHeader;
+	}
+
+	private byte[] readBytes(int offset, int length) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = buffer.get(offset + i);
+		}
+		return bytes;
+	}
+
+	private static void writeEntry(DataOutputStream outputStream, FileHeader fileHeader, int nameOffset,
+	                               int nameLength) throws IOException {
+		outputStream.writeInt(nameOffset);
+		outputStream.writeInt(nameLength);
+		outputStream.writeLong(fileHeader.getOffsetLocalHeader());
+		outputStream.writeLong(fileHeader.getCompressedSize());
+		outputStream.writeLong(fileHeader.getUncompressedSize());
+		outputStream.writeInt((int) fileHeader.getCrc());
+		outputStream.writeInt((int) fileHeader.getLastModifiedTime());
+		writeBytes(outputStream, fileHeader.getExternalFileAttributes(), 4);
+		writeBytes(outputStream, fileHeader.getInternalFileAttributes(), 2);
+		writeBytes(outputStream, fileHeader.getGeneralPurposeFlag(), 2);
+		outputStream.writeShort(fileHeader.getCompressionMethod().getCode());
+		outputStream.writeShort(fileHeader.getVersionMadeBy());
+		outputStream.writeShort(fileHeader.getVersionNeededToExtract());
+
+		AESExtraDataRecord aesExtraDataRecord = fileHeader.getAesExtraDataRecord();
+		int flags = 0;
+		flags |= fileHeader.isDirectory() ? FLAG_DIRECTORY : 0;
+		flags |= fileHeader.isEncrypted() ? FLAG_ENCRYPTED : 0;
+		flags |= aesExtraDataRecord != null ? FLAG_AES : 0;
+		flags |= fileHeader.isFileNameUTF8Encoded() ? FLAG_FILE_NAME_UTF8_ENCODED : 0;
+		flags |= fileHeader.isDataDescriptorExists() ? FLAG_DATA_DESCRIPTOR_EXISTS : 0;
+		outputStream.writeByte(flags);
+
+		if (aesExtraDataRecord != null) {
+			outputStream.writeByte(aesExtraDataRecord.getAesKeyStrength().getRawCode());
+			outputStream.writeShort(aesExtraDataRecord.getAesVersion().getVersionNumber());
+			outputStream.writeShort(aesExtraDataRecord.getCompressionMethod().getCode());
+		} else {
+			outputStream.writeByte(0);
+			outputStream.writeShort(0);
+			outputStream.writeShort(0);
+		}
+
+		outputStream.writeInt(fileHeader.getDiskNumberStart());
+	}
+
+	private static void writeBytes(DataOutputStream outputStream, byte[] bytes, int length) throws IOException {
+		for (int i = 0; i < length; i++) {
+			outputStream.writeByte(bytes != null && i < bytes.length ? bytes[i] : 0);
+		}
+	}
+
+	private static boolean matchesZipFile(File zipFile, long validationOffset, byte[] validationBytes)
+			throws IOException {
+		byte[] actualBytes = new byte[validationBytes.length];
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(zipFile, "r")) {
+			if (validationOffset < 0 || validationOffset + actualBytes.length > randomAccessFile.length()) {
+				return false;
+			}
+			randomAccessFile.seek(validationOffset);
+			randomAccessFile.readFully(actualBytes);
+		}
+		return Arrays.equals(validationBytes, actualBytes);
+	}
+
+	private static long locateStartOfEndOfCentralDirectoryRecords(RandomAccessFile randomAccessFile)
+			throws IOException {
+		long offsetOfEndOfCentralDirectory = locateOffsetOfEndOfCentralDirectory(randomAccessFile);
+		long offsetOfZip64Locator = offsetOfEndOfCentralDirectory - ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE;
+		if (offsetOfZip64Locator < 0) {
+			return offsetOfEndOfCentralDirectory;
+		}
+
+		randomAccessFile.seek(offsetOfZip64Locator);
+		if (Integer.reverseBytes(randomAccessFile.readInt())
+				!= HeaderSignature.ZIP64_END_CENTRAL_DIRECTORY_LOCATOR.getValue()) {
+			return offsetOfEndOfCentralDirectory;
+		}
+
+		randomAccessFile.skipBytes(4);
+		long offsetOfZip64Record = Long.reverseBytes(randomAccessFile.readLong());
+		if (offsetOfZip64Record < 0 || offsetOfZip64Record > offsetOfZip64Locator
+				|| offsetOfEndOfCentralDirectory - offsetOfZip64Record + InternalZipConstants.ENDHDR
+				> MAX_VALIDATION_LENGTH) {
+			return offsetOfEndOfCentralDirectory;
+		}
+		return offsetOfZip64Record;
+	}
+
+	private static long locateOffsetOfEndOfCentralDirectory(RandomAccessFile randomAccessFile) throws IOException {
+		long length = randomAccessFile.length();
+		long minimumOffset = Math.max(0, length - InternalZipConstants.ENDHDR - InternalZipConstants.MAX_COMMENT_SIZE);
+
+		for (long offset = length - InternalZipConstants.ENDHDR; offset >= minimumOffset; offset--) {
+			randomAccessFile.seek(offset);
+			if (Integer.reverseBytes(randomAccessFile.readInt()) == HeaderSignature.END_OF_CENTRAL_DIRECTORY.getValue()) {
+				return offset;
+			}
+		}
+
+		throw new ZipException("Zip headers not found. Probably not a zip file");
+	}
+
+	private static class IndexedName {
+		private final byte[] name;
+		private final FileHeader fileHeader;
+
+		private IndexedName(byte[] name, FileHeader fileHeader) {
+			this.name = name;
+			this.fileHeader = fileHeader;
+		}
+	}
+}
@@ -0,0 +1,213 @@
+package io.github.palexdev.zip4j.headers;
+
+import io.github.palexdev.zip4j.model.CentralDirectory;
+import io.github.palexdev.zip4j.model.ZipModel;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A cache of parsed zip models which can be shared by any number of ZipFile instances, see
+ * {@link io.github.palexdev.zip4j.ZipFile#setZipModelCache(ZipModelCache)}.
+ * <p>
+ * Models are cached by the canonical path of the zip file and the charset used to read the headers. Every lookup
+ * compares the size, last modified time and file key of the zip file with the ones it had when the model was read, and
+ * drops the cached model if any of them changed. The cache is bounded by the total number of entries of the cached
+ * models, and the least recently used models are evicted first.
+ * <p>
+ * Cached models are shared and must not be modified. ZipFile only uses cached models for read operations, and reads
+ * the headers again before modifying a zip file.
+ * <p>
+ * For zip files with many entries, the file headers of cached models can be kept in a {@link CompactCentralDirectory},
+ * which takes a fraction of the memory at the cost of creating a new file header every time one is accessed.
+ */
+public class ZipModelCache {
+
+	private final long maxNumberOfEntries;
+	private final boolean compactFileHeaders;
+	private final Map<Key, CachedZipModel> cachedZipModels = new LinkedHashMap<>(16, 0.75f, true);
+	private long numberOfEntries;
+
+	/**
+	 * @param maxNumberOfEntries maximum total number of entries of all cached zip models
+	 */
+	public ZipModelCache(long maxNumberOfEntries) {
+		this(maxNumberOfEntries, false);
+	}
+
+	/**
+	 * @param maxNumberOfEntries maximum total number of entries of all cached zip models
+	 * @param compactFileHeaders if true, the file headers of cached models are kept in a
+	 *                           {@link CompactCentralDirectory} and the list of file headers of a cached model is an
+	 *                           unmodifiable view which creates file headers on demand
+	 */
+	public ZipModelCache(long maxNumberOfEntries, boolean compactFileHeaders) {
+		if (maxNumberOfEntries <= 0) {
+			throw new IllegalArgumentException("maximum number of entries has to be positive");
+		}
+
+		this.maxNumberOfEntries = maxNumberOfEntries;
+		this.compactFileHeaders = compactFileHeaders;
+	}
+
+	/**
+	 * Returns the cached model for the zip file, or loads it with the given loader and caches it if there is no up to
+	 * date model in the cache. Loading happens outside of any lock, so concurrent lookups of other zip files are not
+	 * blocked.
+	 *
+	 * @param zipFile zip file to get the model for
+	 * @param charset charset used to read the headers, can be null
+	 * @param loader  reads the headers of the zip file if they are not cached
+	 * @return the cached or loaded zip model
+	 * @throws IOException if the attributes of the zip file cannot be read or the loader throws an exception
+	 */
+	public ZipModel get(File zipFile, Charset charset, ZipModelLoader loader) throws IOException {
+		Key key = new Key(zipFile.getCanonicalPath(), charset);
+		BasicFileAttributes attributes = Files.readAttributes(zipFile.toPath(), BasicFileAttributes.class);
+
+		synchronized (this) {
+			CachedZipModel cachedZipModel = cachedZipModels.get(key);
+			if (cachedZipModel != null) {
+				if (cachedZipModel.isUpToDate(attributes)) {
+					return cachedZipModel.zipModel;
+				}
+				remove(key);
+			}
+		}
+
+		ZipModel zipModel = loader.load();
+		if (compactFileHeaders) {
+			CentralDirectory centralDirectory = zipModel.getCentralDirectory();
+			centralDirectory.setFileHeaders(new CompactCentralDirectory(centralDirectory.getFileHeaders()).asFileHeaders());
+		}
+		put(key, new CachedZipModel(zipModel, attributes));
+		return zipModel;
+	}
+
+	/**
+	 * Removes the cached models of the zip file for all charsets
+	 *
+	 * @param zipFile zip file to remove the models of
+	 * @throws IOException if the canonical path of the zip file cannot be determined
+	 */
+	public synchronized void invalidate(File zipFile) throws IOException {
+		String canonicalPath = zipFile.getCanonicalPath();
+		Iterator<Map.Entry<Key, CachedZipModel>> iterator = cachedZipModels.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Key, CachedZipModel> entry = iterator.next();
+			if (entry.getKey().canonicalPath.equals(canonicalPath)) {
+				numberOfEntries -= entry.getValue().numberOfEntries;
+				iterator.remove();
+			}
+		}
+	}
+
+	public synchronized void clear() {
+		cachedZipModels.clear();
+		numberOfEntries = 0;
+	}
+
+	/**
+	 * @return number of cached zip models
+	 */
+	public synchronized int size() {
+		return cachedZipModels.size();
+	}
+
+	/**
+	 * @return total number of entries of all cached zip models
+	 */
+	public synchronized long getNumberOfEntries() {
+		return numberOfEntries;
+	}
+
+	private synchronized void put(Key key, CachedZipModel cachedZipModel) {
+		if (cachedZipModel.numberOfEntries > maxNumberOfEntries) {
+			return;
+		}
+
+		remove(key);
+		cachedZipModels.put(key, cachedZipModel);
+		numberOfEntries += cachedZipModel.numberOfEntries;
+
+		Iterator<CachedZipModel> leastRecentlyUsed = cachedZipModels.values().iterator();
+		while (numberOfEntries > maxNumberOfEntries) {
+			numberOfEntries -= leastRecentlyUsed.next().numberOfEntries;
+			leastRecentlyUsed.remove();
+		}
+	}
+
+	private void remove(Key key) {
+		CachedZipModel removed = cachedZipModels.remove(key);
+		if (removed != null) {
+			numberOfEntries -= removed.numberOfEntries;
+		}
+	}
+
+	/**
+	 * Reads the zip model of a zip file which is not in the cache
+	 */
+	public interface ZipModelLoader {
+		ZipModel load() throws IOException;
+	}
+
+	private static class Key {
+		private final String canonicalPath;
+		private final Charset charset;
+
+		private Key(String canonicalPath, Charset charset) {
+			this.canonicalPath = canonicalPath;
+			this.charset = charset;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+
+			if (!(o instanceof Key)) {
+				return false;
+			}
+
+			Key key = (Key) o;
+			return canonicalPath.equals(key.canonicalPath) && Objects.equals(charset, key.charset);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(canonicalPath, charset);
+		}
+	}
+
+	private static class CachedZipModel {
+		private final ZipModel zipModel;
+		private final long size;
+		private final FileTime lastModifiedTime;
+		private final Object fileKey;
+		private final long numberOfEntries;
+
+		private CachedZipModel(ZipModel zipModel, BasicFileAttributes attributes) {
+			this.zipModel = zipModel;
+			this.size = attributes.size();
+			this.lastModifiedTime = attributes.lastModifiedTime();
+			this.fileKey = attributes.fileKey();
+			// Models without entries still take up some memory, so they are counted as one entry
+			this.numberOfEntries = Math.max(1, zipModel.getCentralDirectory().getFileHeaders().size());
+		}
+
+		private boolean isUpToDate(BasicFileAttributes attributes) {
+			return size == attributes.size()
+					&& lastModifiedTime.equals(attributes.lastModifiedTime())
+					&& Objects.equals(fileKey, attributes.fileKey());
+		}
+	}
+}
@@ -125,8 +125,8 @@ class AesCipherInputStream extends CipherInputStream<AESDecrypter> {
 
 	private void verifyContent(byte[] storedMac) throws IOException {
 		if (getLocalFileHeader().isDataDescriptorExists()
-				&& CompressionMethod.DEFLATE.equals(Zip4jUtil.getCompressionMethod(getLocalFileHeader()))) {
-			// Skip content verification in case of Deflate compression and if data descriptor exists.
+				&& !CompressionMethod.STORE.equals(Zip4jUtil.getCompressionMethod(getLocalFileHeader()))) {
+			// Skip content verification in case of compressed data and if data descriptor exists.
 			// In this case, we do not know the exact size of compressed data before hand and it is possible that we read
 			// and pass more than required data into inflater, thereby corrupting the aes mac bytes.
 			// See usage of PushBackInputStream in the project for how this push back of data is done
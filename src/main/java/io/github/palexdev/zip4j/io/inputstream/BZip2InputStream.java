@@ -0,0 +1,486 @@
+package io.github.palexdev.zip4j.io.inputstream;
+
+import io.github.palexdev.zip4j.exception.ZipException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PushbackInputStream;
+
+import static io.github.palexdev.zip4j.util.BZip2Constants.*;
+
+/**
+ * Decompresses data compressed with BZip2, which is compression method 12.
+ * <p>
+ * Each block is decoded completely, undoing the huffman coding and the move to front transform, before its bytes are
+ * returned by undoing the Burrows-Wheeler transform and the run length encoding on the fly. Blocks are decompressed
+ * one after the other, as they are not aligned to bytes and their start can only be found by decoding the previous
+ * block. The CRC of each block and of the whole stream is checked.
+ */
+class BZip2InputStream extends DecompressedInputStream {
+
+	private enum State {
+		STREAM_HEADER, BLOCK_HEADER, BLOCK_DATA, FINISHED
+	}
+
+	private final byte[] buff;
+	private int len;
+	private int pos;
+
+	// Bits which were read from the input but not consumed yet, the next bit is the highest of the bitCount lowest bits
+	private long bitBuffer;
+	private int bitCount;
+
+	private State state = State.STREAM_HEADER;
+	private int maxBlockLength;
+	private int combinedCrc;
+
+	// Symbols of the current block in the low byte, and the index of the next symbol in the upper bytes
+	private int[] tt;
+	private int storedBlockCrc;
+	private int blockCrc;
+	private int nextIndex;
+	private int symbolsRemaining;
+	private int lastByte;
+	private int runLength;
+	private int repeatsRemaining;
+
+	// Huffman tables, with the arrays reused for each block
+	private final int[][] codeLengths = new int[MAX_HUFFMAN_TABLES][MAX_ALPHABET_SIZE];
+	private final int[][] limits = new int[MAX_HUFFMAN_TABLES][MAX_CODE_LENGTH + 2];
+	private final int[][] bases = new int[MAX_HUFFMAN_TABLES][MAX_CODE_LENGTH + 2];
+	private final int[][] permutations = new int[MAX_HUFFMAN_TABLES][MAX_ALPHABET_SIZE];
+	private final int[] minCodeLengths = new int[MAX_HUFFMAN_TABLES];
+	private final int[] maxCodeLengths = new int[MAX_HUFFMAN_TABLES];
+	private final byte[] selectors = new byte[MAX_SELECTORS];
+	private int alphabetSize;
+
+	public BZip2InputStream(CipherInputStream<?> cipherInputStream, int bufferSize) {
+		super(cipherInputStream);
+		this.buff = new byte[bufferSize];
+	}
+
+	@Override
+	public int read() throws IOException {
+		int readLen = read(oneByteBuffer);
+		if (readLen == -1) {
+			return -1;
+		}
+		return oneByteBuffer[0] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b) throws IOException {
+		return read(b, 0, b.length);
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+
+		long startTime = startTimer();
+		int n = decode(b, off, len);
+		stopTimer(startTime);
+		return n == 0 ? -1 : n;
+	}
+
+	@Override
+	public void pushBackInputStreamIfNecessary(PushbackInputStream pushbackInputStream) throws IOException {
+		// Whole bytes left in the bit buffer were read from the input but are not part of the compressed data
+		int n = (len - pos) + bitCount / 8;
+		if (n > 0 && len > 0) {
+			byte[] rawDataCache = getLastReadRawDataCache();
+			n = Math.min(n, len);
+			pushbackInputStream.unread(rawDataCache, len - n, n);
+		}
+	}
+
+	private int decode(byte[] b, int off, int len) throws IOException {
+		int n = 0;
+		while (n < len) {
+			switch (state) {
+				case STREAM_HEADER:
+					readStreamHeader();
+					break;
+				case BLOCK_HEADER:
+					readBlock();
+					break;
+				case BLOCK_DATA:
+					int count = writeBlockBytes(b, off + n, len - n);
+					n += count;
+					if (count == 0) {
+						endBlock();
+					}
+					break;
+				case FINISHED:
+					return n;
+			}
+		}
+		return n;
+	}
+
+	private void readStreamHeader() throws IOException {
+		if (readBits(8) != 'B' || readBits(8) != 'Z' || readBits(8) != 'h') {
+			throw new ZipException("Invalid bzip2 stream header");
+		}
+
+		int blockSizeLevel = readBits(8) - '0';
+		if (blockSizeLevel < MIN_BLOCK_SIZE_LEVEL || blockSizeLevel > MAX_BLOCK_SIZE_LEVEL) {
+			throw new ZipException("Invalid bzip2 block size: " + blockSizeLevel);
+		}
+
+		maxBlockLength = blockSizeLevel * BASE_BLOCK_SIZE;
+		tt = new int[maxBlockLength];
+		state = State.BLOCK_HEADER;
+	}
+
+	private void readBlock() throws IOException {
+		long magic = ((long) readBits(24) << 24) | readBits(24);
+		if (magic == END_OF_STREAM_MAGIC) {
+			if (readBits(32) != combinedCrc) {
+				throw new ZipException("Invalid bzip2 stream CRC", ZipException.Type.CHECKSUM_MISMATCH);
+			}
+			// The stream is padded to a whole byte
+			bitCount -= bitCount % 8;
+			state = State.FINISHED;
+			return;
+		} else if (magic != BLOCK_HEADER_MAGIC) {
+			throw new ZipException("Invalid bzip2 block header");
+		}
+
+		storedBlockCrc = readBits(32);
+		if (readBits(1) != 0) {
+			throw new ZipException("Randomised bzip2 blocks are not supported");
+		}
+		int originalPointer = readBits(24);
+
+		int[] symbols = new int[256];
+		int numberOfSymbolsInUse = readSymbolMap(symbols);
+		alphabetSize = numberOfSymbolsInUse + 2;
+
+		int numberOfTables = readBits(3);
+		int numberOfSelectors = readBits(15);
+		if (numberOfTables < MIN_HUFFMAN_TABLES || numberOfTables > MAX_HUFFMAN_TABLES || numberOfSelectors < 1) {
+			throw new ZipException("Invalid bzip2 huffman tables");
+		}
+		numberOfSelectors = readSelectors(numberOfSelectors, numberOfTables);
+		readHuffmanTables(numberOfTables);
+
+		int blockLength = readSymbols(symbols, numberOfSymbolsInUse, numberOfSelectors);
+		if (originalPointer >= blockLength) {
+			throw new ZipException("Invalid bzip2 block");
+		}
+
+		// Undoes the Burrows-Wheeler transform by linking each symbol to the next one of the original data
+		int[] firstIndexes = new int[256];
+		for (int i = 0; i < blockLength; i++) {
+			firstIndexes[tt[i] & 0xFF]++;
+		}
+		for (int i = 0, sum = 0; i < 256; i++) {
+			int count = firstIndexes[i];
+			firstIndexes[i] = sum;
+			sum += count;
+		}
+		for (int i = 0; i < blockLength; i++) {
+			tt[firstIndexes[tt[i] & 0xFF]++] |= i << 8;
+		}
+
+		nextIndex = tt[originalPointer] >>> 8;
+		symbolsRemaining = blockLength;
+		blockCrc = -1;
+		lastByte = -1;
+		runLength = 0;
+		repeatsRemaining = 0;
+		state = State.BLOCK_DATA;
+	}
+
+	/**
+	 * @return number of symbols in use, which are written to symbols in increasing order
+	 */
+	private int readSymbolMap(int[] symbols) throws IOException {
+		int numberOfSymbolsInUse = 0;
+		int rangesInUse = readBits(16);
+		for (int i = 0; i < 16; i++) {
+			if ((rangesInUse & (1 << (15 - i))) != 0) {
+				int symbolsInUse = readBits(16);
+				for (int j = 0; j < 16; j++) {
+					if ((symbolsInUse & (1 << (15 - j))) != 0) {
+						symbols[numberOfSymbolsInUse++] = i * 16 + j;
+					}
+				}
+			}
+		}
+
+		if (numberOfSymbolsInUse == 0) {
+			throw new ZipException("Invalid bzip2 block without symbols");
+		}
+		return numberOfSymbolsInUse;
+	}
+
+	/**
+	 * Reads the selectors, which are move to front transformed and written as unary numbers. Selectors beyond
+	 * {@link io.github.palexdev.zip4j.util.BZip2Constants#MAX_SELECTORS} can not be used by a valid block and are
+	 * ignored.
+	 *
+	 * @return number of selectors kept
+	 */
+	private int readSelectors(int numberOfSelectors, int numberOfTables) throws IOException {
+		byte[] order = new byte[numberOfTables];
+		for (int i = 0; i < numberOfTables; i++) {
+			order[i] = (byte) i;
+		}
+
+		for (int i = 0; i < numberOfSelectors; i++) {
+			int position = 0;
+			while (readBits(1) == 1) {
+				position++;
+				if (position >= numberOfTables) {
+					throw new ZipException("Invalid bzip2 selector");
+				}
+			}
+
+			byte selector = order[position];
+			System.arraycopy(order, 0, order, 1, position);
+			order[0] = selector;
+			if (i < MAX_SELECTORS) {
+				selectors[i] = selector;
+			}
+		}
+		return Math.min(numberOfSelectors, MAX_SELECTORS);
+	}
+
+	private void readHuffmanTables(int numberOfTables) throws IOException {
+		for (int table = 0; table < numberOfTables; table++) {
+			int[] tableCodeLengths = codeLengths[table];
+			int codeLength = readBits(5);
+			for (int symbol = 0; symbol < alphabetSize; symbol++) {
+				while (true) {
+					if (codeLength < 1 || codeLength > MAX_CODE_LENGTH) {
+						throw new ZipException("Invalid bzip2 code length: " + codeLength);
+					}
+					if (readBits(1) == 0) {
+						break;
+					}
+					codeLength += readBits(1) == 0 ? 1 : -1;
+				}
+				tableCodeLengths[symbol] = codeLength;
+			}
+			createDecodeTable(table);
+		}
+	}
+
+	/**
+	 * Creates the tables to decode the canonical huffman code, where the codes of each length are consecutive numbers.
+	 * A code of a given length is valid if it is at most the limit of that length, and its symbol is found in the
+	 * permutation at the code minus the base of that length.
+	 */
+	private void createDecodeTable(int table) {
+		int[] tableCodeLengths = codeLengths[table];
+		int[] limit = limits[table];
+		int[] base = bases[table];
+		int[] permutation = permutations[table];
+
+		int minCodeLength = MAX_CODE_LENGTH;
+		int maxCodeLength = 0;
+		for (int symbol = 0; symbol < alphabetSize; symbol++) {
+			minCodeLength = Math.min(minCodeLength, tableCodeLengths[symbol]);
+			maxCodeLength = Math.max(maxCodeLength, tableCodeLengths[symbol]);
+		}
+		minCodeLengths[table] = minCodeLength;
+		maxCodeLengths[table] = maxCodeLength;
+
+		int index = 0;
+		for (int codeLength = minCodeLength; codeLength <= maxCodeLength; codeLength++) {
+			for (int symbol = 0; symbol < alphabetSize; symbol++) {
+				if (tableCodeLengths[symbol] == codeLength) {
+					permutation[index++] = symbol;
+				}
+			}
+		}
+
+		int[] counts = new int[MAX_CODE_LENGTH + 2];
+		for (int symbol = 0; symbol < alphabetSize; symbol++) {
+			counts[tableCodeLengths[symbol]]++;
+		}
+
+		int code = 0;
+		int firstIndex = 0;
+		for (int codeLength = minCodeLength; codeLength <= maxCodeLength; codeLength++) {
+			base[codeLength] = code - firstIndex;
+			code += counts[codeLength];
+			firstIndex += counts[codeLength];
+			limit[codeLength] = code - 1;
+			code <<= 1;
+		}
+	}
+
+	/**
+	 * Decodes the symbols of the block, undoing the huffman coding, the run length coding of zeros and the move to
+	 * front transform, and writes them to the low byte of tt
+	 *
+	 * @return length of the block
+	 */
+	private int readSymbols(int[] symbols, int numberOfSymbolsInUse, int numberOfSelectors) throws IOException {
+		int endOfBlock = numberOfSymbolsInUse + 1;
+		int[] order = new int[numberOfSymbolsInUse];
+		for (int i = 0; i < numberOfSymbolsInUse; i++) {
+			order[i] = i;
+		}
+
+		int blockLength = 0;
+		int selector = 0;
+		int groupRemaining = GROUP_SIZE;
+		int table = selectors[0];
+		int zeroRunLength = 0;
+		int runBit = 1;
+
+		while (true) {
+			if (groupRemaining == 0) {
+				selector++;
+				if (selector >= numberOfSelectors) {
+					throw new ZipException("Invalid bzip2 block, selectors exhausted");
+				}
+				table = selectors[selector];
+				groupRemaining = GROUP_SIZE;
+			}
+			groupRemaining--;
+
+			int mtfValue = decodeSymbol(table);
+			if (mtfValue == RUN_A || mtfValue == RUN_B) {
+				if (runBit > maxBlockLength) {
+					throw new ZipException("Invalid bzip2 block, run of zeros is too long");
+				}
+				zeroRunLength += mtfValue == RUN_A ? runBit : runBit << 1;
+				runBit <<= 1;
+				continue;
+			}
+
+			if (zeroRunLength > 0) {
+				if (zeroRunLength > maxBlockLength - blockLength) {
+					throw new ZipException("Invalid bzip2 block, block is too long");
+				}
+				int symbol = symbols[order[0]];
+				for (int i = 0; i < zeroRunLength; i++) {
+					tt[blockLength++] = symbol;
+				}
+				zeroRunLength = 0;
+				runBit = 1;
+			}
+
+			if (mtfValue == endOfBlock) {
+				return blockLength;
+			}
+			if (blockLength >= maxBlockLength) {
+				throw new ZipException("Invalid bzip2 block, block is too long");
+			}
+
+			int position = mtfValue - 1;
+			int symbolIndex = order[position];
+			System.arraycopy(order, 0, order, 1, position);
+			order[0] = symbolIndex;
+			tt[blockLength++] = symbols[symbolIndex];
+		}
+	}
+
+	private int decodeSymbol(int table) throws IOException {
+		int minCodeLength = minCodeLengths[table];
+		int maxCodeLength = maxCodeLengths[table];
+		int[] limit = limits[table];
+
+		needBits(maxCodeLength);
+		int bits = (int) (bitBuffer >>> (bitCount - maxCodeLength)) & ((1 << maxCodeLength) - 1);
+		for (int codeLength = minCodeLength; codeLength <= maxCodeLength; codeLength++) {
+			int code = bits >>> (maxCodeLength - codeLength);
+			if (code <= limit[codeLength]) {
+				bitCount -= codeLength;
+				int index = code - bases[table][codeLength];
+				if (index >= alphabetSize) {
+					throw new ZipException("Invalid bzip2 huffman code");
+				}
+				return permutations[table][index];
+			}
+		}
+		throw new ZipException("Invalid bzip2 huffman code");
+	}
+
+	/**
+	 * Writes bytes of the current block, following the links created when undoing the Burrows-Wheeler transform and
+	 * expanding the runs of 4 to 255 equal bytes
+	 *
+	 * @return number of bytes written, 0 if the block is finished
+	 */
+	private int writeBlockBytes(byte[] b, int off, int len) {
+		int n = 0;
+		int crc = blockCrc;
+		while (n < len) {
+			if (repeatsRemaining > 0) {
+				b[off + n++] = (byte) lastByte;
+				crc = updateCrc(crc, lastByte);
+				repeatsRemaining--;
+				continue;
+			}
+
+			if (symbolsRemaining == 0) {
+				break;
+			}
+
+			int entry = tt[nextIndex];
+			int value = entry & 0xFF;
+			nextIndex = entry >>> 8;
+			symbolsRemaining--;
+
+			if (runLength == 4) {
+				repeatsRemaining = value;
+				runLength = 0;
+				continue;
+			}
+
+			if (value == lastByte) {
+				runLength++;
+			} else {
+				lastByte = value;
+				runLength = 1;
+			}
+			b[off + n++] = (byte) value;
+			crc = updateCrc(crc, value);
+		}
+		blockCrc = crc;
+		return n;
+	}
+
+	private void endBlock() throws ZipException {
+		int finalBlockCrc = ~blockCrc;
+		if (finalBlockCrc != storedBlockCrc) {
+			throw new ZipException("Invalid bzip2 block CRC", ZipException.Type.CHECKSUM_MISMATCH);
+		}
+		combinedCrc = Integer.rotateLeft(combinedCrc, 1) ^ finalBlockCrc;
+		state = State.BLOCK_HEADER;
+	}
+
+	private int readBits(int count) throws IOException {
+		needBits(count);
+		bitCount -= count;
+		return (int) (bitBuffer >>> bitCount) & (int) ((1L << count) - 1);
+	}
+
+	private void needBits(int count) throws IOException {
+		while (bitCount < count) {
+			if (pos == len) {
+				fill();
+			}
+			bitBuffer = (bitBuffer << 8) | (buff[pos++] & 0xFF);
+			bitCount += 8;
+		}
+	}
+
+	private void fill() throws IOException {
+		int readLen = super.read(buff, 0, buff.length);
+		if (readLen <= 0) {
+			throw new EOFException("Unexpected end of bzip2 data");
+		}
+
+		len = readLen;
+		pos = 0;
+	}
+}
@@ -17,6 +17,8 @@ abstract class CipherInputStream<T extends Decrypter> extends InputStream {
 	private byte[] lastReadRawDataCache;
 	private byte[] singleByteBuffer = new byte[1];
 	private LocalFileHeader localFileHeader;
+	private boolean timed;
+	private long decryptionTime;
 
 	public CipherInputStream(ZipEntryInputStream zipEntryInputStream, LocalFileHeader localFileHeader,
 	                         char[] password, int bufferSize, boolean useUtf8ForPassword) throws IOException {
@@ -24,7 +26,7 @@ abstract class CipherInputStream<T extends Decrypter> extends InputStream {
 		this.decrypter = initializeDecrypter(localFileHeader, password, useUtf8ForPassword);
 		this.localFileHeader = localFileHeader;
 
-		if (Zip4jUtil.getCompressionMethod(localFileHeader).equals(CompressionMethod.DEFLATE)) {
+		if (!Zip4jUtil.getCompressionMethod(localFileHeader).equals(CompressionMethod.STORE)) {
 			lastReadRawDataCache = new byte[bufferSize];
 		}
 	}
@@ -51,7 +53,13 @@ abstract class CipherInputStream<T extends Decrypter> extends InputStream {
 
 		if (readLen > 0) {
 			cacheRawData(b, readLen);
-			decrypter.decryptData(b, off, readLen);
+			if (timed) {
+				long startTime = System.nanoTime();
+				decrypter.decryptData(b, off, readLen);
+				decryptionTime += System.nanoTime() - startTime;
+			} else {
+				decrypter.decryptData(b, off, readLen);
+			}
 		}
 
 		return readLen;
@@ -84,6 +92,20 @@ abstract class CipherInputStream<T extends Decrypter> extends InputStream {
 		// is optional but useful for AES
 	}
 
+	/**
+	 * Enables measuring the time spent decrypting, see {@link #getDecryptionTime()}
+	 */
+	void setTimed(boolean timed) {
+		this.timed = timed;
+	}
+
+	/**
+	 * @return nanoseconds spent decrypting this entry, or 0 if timing is not enabled
+	 */
+	long getDecryptionTime() {
+		return decryptionTime;
+	}
+
 	protected long getNumberOfBytesReadForThisEntry() {
 		return zipEntryInputStream.getNumberOfBytesRead();
 	}
@@ -0,0 +1,116 @@
+package io.github.palexdev.zip4j.io.inputstream;
+
+import io.github.palexdev.zip4j.codec.CompressionCodec;
+import io.github.palexdev.zip4j.model.LocalFileHeader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+
+/**
+ * Decompresses data with a {@link CompressionCodec}. The codec reads the compressed data from a buffer which is filled
+ * with reads of the buffer size, so that whatever follows the compressed data can be pushed back like with the
+ * built-in decompressors. The decompression time includes reading the compressed data.
+ */
+class CodecInputStream extends DecompressedInputStream {
+
+	private final CompressionCodec compressionCodec;
+	private final InputStream decompressor;
+	private final byte[] buff;
+	private int len;
+	private int pos;
+
+	public CodecInputStream(CipherInputStream<?> cipherInputStream, CompressionCodec compressionCodec,
+	                        LocalFileHeader localFileHeader, int bufferSize) throws IOException {
+		super(cipherInputStream);
+		this.compressionCodec = compressionCodec;
+		this.buff = new byte[bufferSize];
+		this.decompressor = compressionCodec.createDecompressor(new CompressedDataInputStream(), localFileHeader);
+	}
+
+	@Override
+	public int read() throws IOException {
+		int readLen = read(oneByteBuffer);
+		if (readLen == -1) {
+			return -1;
+		}
+		return oneByteBuffer[0] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+
+		long startTime = startTimer();
+		int readLen = decompressor.read(b, off, len);
+		stopTimer(startTime);
+		return readLen;
+	}
+
+	@Override
+	public void pushBackInputStreamIfNecessary(PushbackInputStream pushbackInputStream) throws IOException {
+		int n = (len - pos) + compressionCodec.getUnusedInputLength(decompressor);
+		if (n > 0 && len > 0) {
+			byte[] rawDataCache = getLastReadRawDataCache();
+			n = Math.min(n, len);
+			pushbackInputStream.unread(rawDataCache, len - n, n);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			decompressor.close();
+		} finally {
+			super.close();
+		}
+	}
+
+	private boolean fill() throws IOException {
+		int readLen = super.read(buff, 0, buff.length);
+		if (readLen <= 0) {
+			return false;
+		}
+
+		len = readLen;
+		pos = 0;
+		return true;
+	}
+
+	/**
+	 * The compressed data given to the codec. Closing it does nothing, the entry is closed by the zip input stream
+	 */
+	private class CompressedDataInputStream extends InputStream {
+
+		@Override
+		public int read() throws IOException {
+			if (pos == len && !fill()) {
+				return -1;
+			}
+			return buff[pos++] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int length) throws IOException {
+			if (length == 0) {
+				return 0;
+			}
+
+			if (pos == len && !fill()) {
+				return -1;
+			}
+
+			int count = Math.min(length, len - pos);
+			System.arraycopy(buff, pos, b, off, count);
+			pos += count;
+			return count;
+		}
+
+		@Override
+		public int available() {
+			return len - pos;
+		}
+	}
+}
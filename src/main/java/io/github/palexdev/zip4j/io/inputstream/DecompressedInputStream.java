@@ -8,6 +8,8 @@ abstract class DecompressedInputStream extends InputStream {
 
 	private CipherInputStream<?> cipherInputStream;
 	protected byte[] oneByteBuffer = new byte[1];
+	private boolean timed;
+	private long decompressionTime;
 
 	public DecompressedInputStream(CipherInputStream<?> cipherInputStream) {
 		this.cipherInputStream = cipherInputStream;
@@ -50,4 +52,28 @@ abstract class DecompressedInputStream extends InputStream {
 	protected byte[] getLastReadRawDataCache() {
 		return cipherInputStream.getLastReadRawDataCache();
 	}
+
+	/**
+	 * Enables measuring the time spent decompressing, see {@link #getDecompressionTime()}
+	 */
+	void setTimed(boolean timed) {
+		this.timed = timed;
+	}
+
+	/**
+	 * @return nanoseconds spent decompressing this entry, or 0 if timing is not enabled
+	 */
+	long getDecompressionTime() {
+		return decompressionTime;
+	}
+
+	protected long startTimer() {
+		return timed ? System.nanoTime() : 0;
+	}
+
+	protected void stopTimer(long startTime) {
+		if (timed) {
+			decompressionTime += System.nanoTime() - startTime;
+		}
+	}
 }
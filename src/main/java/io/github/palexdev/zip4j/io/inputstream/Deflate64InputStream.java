@@ -0,0 +1,471 @@
+package io.github.palexdev.zip4j.io.inputstream;
+
+import io.github.palexdev.zip4j.exception.ZipException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PushbackInputStream;
+
+/**
+ * Decompresses data compressed with Deflate64, also known as enhanced deflate, which is compression method 9 and is
+ * used for example by Windows Explorer for large files.
+ * <p>
+ * Deflate64 is deflate with a window of 64 KB instead of 32 KB, two more distance codes for distances up to 65536 and
+ * length code 285 with 16 extra bits for lengths up to 65538. As there is no implementation of it in the JDK, the data
+ * is decoded here. Huffman codes of up to {@link HuffmanTable#LOOKUP_BITS} bits, which are most of the codes in
+ * practice, are decoded with a single table lookup, and back-references and stored blocks are copied in bulk where
+ * possible.
+ */
+class Deflate64InputStream extends DecompressedInputStream {
+
+	private static final int WINDOW_SIZE = 64 * 1024;
+	private static final int WINDOW_MASK = WINDOW_SIZE - 1;
+	private static final int MAX_CODE_LENGTH = 15;
+	private static final int END_OF_BLOCK = 256;
+
+	private static final int[] LENGTH_BASE = {3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 15, 17, 19, 23, 27, 31, 35, 43, 51, 59,
+			67, 83, 99, 115, 131, 163, 195, 227, 3};
+	private static final int[] LENGTH_EXTRA_BITS = {0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4, 4,
+			4, 5, 5, 5, 5, 16};
+	private static final int[] DISTANCE_BASE = {1, 2, 3, 4, 5, 7, 9, 13, 17, 25, 33, 49, 65, 97, 129, 193, 257, 385,
+			513, 769, 1025, 1537, 2049, 3073, 4097, 6145, 8193, 12289, 16385, 24577, 32769, 49153};
+	private static final int[] DISTANCE_EXTRA_BITS = {0, 0, 0, 0, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 7, 8, 8, 9, 9,
+			10, 10, 11, 11, 12, 12, 13, 13, 14, 14};
+	private static final int[] CODE_LENGTH_ORDER = {16, 17, 18, 0, 8, 7, 9, 6, 10, 5, 11, 4, 12, 3, 13, 2, 14, 1, 15};
+
+	private static final HuffmanTable FIXED_LITERAL_LENGTH_TABLE;
+	private static final HuffmanTable FIXED_DISTANCE_TABLE;
+
+	static {
+		int[] literalLengthCodeLengths = new int[288];
+		for (int i = 0; i < literalLengthCodeLengths.length; i++) {
+			literalLengthCodeLengths[i] = i < 144 ? 8 : i < 256 ? 9 : i < 280 ? 7 : 8;
+		}
+		int[] distanceCodeLengths = new int[32];
+		for (int i = 0; i < distanceCodeLengths.length; i++) {
+			distanceCodeLengths[i] = 5;
+		}
+
+		try {
+			FIXED_LITERAL_LENGTH_TABLE = new HuffmanTable(literalLengthCodeLengths, literalLengthCodeLengths.length);
+			FIXED_DISTANCE_TABLE = new HuffmanTable(distanceCodeLengths, distanceCodeLengths.length);
+		} catch (ZipException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private enum State {
+		BLOCK_HEADER, STORED_BLOCK, COMPRESSED_BLOCK, FINISHED
+	}
+
+	private final byte[] window = new byte[WINDOW_SIZE];
+	private int windowPosition;
+
+	private final byte[] buff;
+	private int len;
+	private int pos;
+
+	// Bits which were read from the input but not consumed yet, the next bit is the lowest one
+	private long bitBuffer;
+	private int bitCount;
+	// Number of zero bits added to the bit buffer after the end of the input, see needBits
+	private int paddingBitCount;
+
+	private State state = State.BLOCK_HEADER;
+	private boolean lastBlock;
+	private int storedBytesRemaining;
+	private HuffmanTable literalLengthTable;
+	private HuffmanTable distanceTable;
+	private int copyLength;
+	private int copyDistance;
+
+	public Deflate64InputStream(CipherInputStream<?> cipherInputStream, int bufferSize) {
+		super(cipherInputStream);
+		buff = new byte[bufferSize];
+	}
+
+	@Override
+	public int read() throws IOException {
+		int readLen = read(oneByteBuffer);
+		if (readLen == -1) {
+			return -1;
+		}
+		return oneByteBuffer[0] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b) throws IOException {
+		return read(b, 0, b.length);
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+
+		long startTime = startTimer();
+		int n = decode(b, off, len);
+		stopTimer(startTime);
+		return n == 0 ? -1 : n;
+	}
+
+	@Override
+	public void pushBackInputStreamIfNecessary(PushbackInputStream pushbackInputStream) throws IOException {
+		// Whole bytes left in the bit buffer were read from the input but are not part of the compressed data
+		int n = (len - pos) + (bitCount - paddingBitCount) / 8;
+		if (n > 0 && len > 0) {
+			byte[] rawDataCache = getLastReadRawDataCache();
+			n = Math.min(n, len);
+			pushbackInputStream.unread(rawDataCache, len - n, n);
+		}
+	}
+
+	private int decode(byte[] b, int off, int len) throws IOException {
+		int n = 0;
+		while (n < len) {
+			if (copyLength > 0) {
+				n += copyFromWindow(b, off + n, len - n);
+				continue;
+			}
+
+			switch (state) {
+				case BLOCK_HEADER:
+					if (lastBlock) {
+						state = State.FINISHED;
+					} else {
+						readBlockHeader();
+					}
+					break;
+				case STORED_BLOCK:
+					n += copyStoredBytes(b, off + n, len - n);
+					break;
+				case COMPRESSED_BLOCK:
+					n += decodeSymbols(b, off + n, len - n);
+					break;
+				case FINISHED:
+				default:
+					return n;
+			}
+		}
+		return n;
+	}
+
+	private void readBlockHeader() throws IOException {
+		needBits(3);
+		lastBlock = (bitBuffer & 1) == 1;
+		int blockType = (int) (bitBuffer >>> 1) & 3;
+		consumeBits(3);
+
+		switch (blockType) {
+			case 0:
+				consumeBits(bitCount & 7);
+				needBits(32);
+				int length = (int) bitBuffer & 0xFFFF;
+				int lengthComplement = (int) (bitBuffer >>> 16) & 0xFFFF;
+				consumeBits(32);
+				if (length != (~lengthComplement & 0xFFFF)) {
+					throw new ZipException("Invalid stored block length in deflate64 data");
+				}
+				storedBytesRemaining = length;
+				state = State.STORED_BLOCK;
+				break;
+			case 1:
+				literalLengthTable = FIXED_LITERAL_LENGTH_TABLE;
+				distanceTable = FIXED_DISTANCE_TABLE;
+				state = State.COMPRESSED_BLOCK;
+				break;
+			case 2:
+				readDynamicTables();
+				state = State.COMPRESSED_BLOCK;
+				break;
+			default:
+				throw new ZipException("Invalid block type in deflate64 data");
+		}
+	}
+
+	private void readDynamicTables() throws IOException {
+		needBits(14);
+		int literalLengthCodeCount = (int) (bitBuffer & 0x1F) + 257;
+		int distanceCodeCount = (int) ((bitBuffer >>> 5) & 0x1F) + 1;
+		int codeLengthCodeCount = (int) ((bitBuffer >>> 10) & 0xF) + 4;
+		consumeBits(14);
+
+		int[] codeLengthCodeLengths = new int[CODE_LENGTH_ORDER.length];
+		for (int i = 0; i < codeLengthCodeCount; i++) {
+			codeLengthCodeLengths[CODE_LENGTH_ORDER[i]] = readBits(3);
+		}
+		HuffmanTable codeLengthTable = new HuffmanTable(codeLengthCodeLengths, codeLengthCodeLengths.length);
+
+		int[] codeLengths = new int[literalLengthCodeCount + distanceCodeCount];
+		int i = 0;
+		while (i < codeLengths.length) {
+			int symbol = decodeSymbol(codeLengthTable);
+			if (symbol < 16) {
+				codeLengths[i++] = symbol;
+				continue;
+			}
+
+			int repeatedLength = 0;
+			int repeatCount;
+			if (symbol == 16) {
+				if (i == 0) {
+					throw new ZipException("Invalid code lengths in deflate64 data");
+				}
+				repeatedLength = codeLengths[i - 1];
+				repeatCount = 3 + readBits(2);
+			} else if (symbol == 17) {
+				repeatCount = 3 + readBits(3);
+			} else {
+				repeatCount = 11 + readBits(7);
+			}
+
+			if (i + repeatCount > codeLengths.length) {
+				throw new ZipException("Invalid code lengths in deflate64 data");
+			}
+			while (repeatCount-- > 0) {
+				codeLengths[i++] = repeatedLength;
+			}
+		}
+
+		if (codeLengths[END_OF_BLOCK] == 0) {
+			throw new ZipException("Missing end of block code in deflate64 data");
+		}
+
+		literalLengthTable = new HuffmanTable(codeLengths, literalLengthCodeCount);
+		int[] distanceCodeLengths = new int[distanceCodeCount];
+		System.arraycopy(codeLengths, literalLengthCodeCount, distanceCodeLengths, 0, distanceCodeCount);
+		distanceTable = new HuffmanTable(distanceCodeLengths, distanceCodeCount);
+	}
+
+	private int decodeSymbols(byte[] b, int off, int len) throws IOException {
+		int n = 0;
+		while (n < len) {
+			int symbol = decodeSymbol(literalLengthTable);
+			if (symbol < END_OF_BLOCK) {
+				window[windowPosition] = (byte) symbol;
+				windowPosition = (windowPosition + 1) & WINDOW_MASK;
+				b[off + n++] = (byte) symbol;
+				continue;
+			}
+
+			if (symbol == END_OF_BLOCK) {
+				state = State.BLOCK_HEADER;
+				return n;
+			}
+
+			symbol -= 257;
+			if (symbol >= LENGTH_BASE.length) {
+				throw new ZipException("Invalid length code in deflate64 data");
+			}
+			copyLength = LENGTH_BASE[symbol] + readBits(LENGTH_EXTRA_BITS[symbol]);
+
+			int distanceSymbol = decodeSymbol(distanceTable);
+			if (distanceSymbol >= DISTANCE_BASE.length) {
+				throw new ZipException("Invalid distance code in deflate64 data");
+			}
+			copyDistance = DISTANCE_BASE[distanceSymbol] + readBits(DISTANCE_EXTRA_BITS[distanceSymbol]);
+			return n;
+		}
+		return n;
+	}
+
+	private int copyFromWindow(byte[] b, int off, int len) {
+		// Lengths can be longer than the window, so a copy is done in steps of at most the window size, so that the
+		// bytes copied in a step are still in the window when they are copied to the output
+		int count = Math.min(Math.min(copyLength, len), WINDOW_SIZE);
+		int source = (windowPosition - copyDistance) & WINDOW_MASK;
+		int destination = windowPosition;
+
+		if (copyDistance >= count && source + count <= WINDOW_SIZE && destination + count <= WINDOW_SIZE) {
+			// The source and the destination do not overlap and do not wrap around the end of the window
+			System.arraycopy(window, source, window, destination, count);
+		} else {
+			for (int i = 0; i < count; i++) {
+				window[destination] = window[source];
+				source = (source + 1) & WINDOW_MASK;
+				destination = (destination + 1) & WINDOW_MASK;
+			}
+		}
+
+		copyWindowToOutput(windowPosition, b, off, count);
+		windowPosition = (windowPosition + count) & WINDOW_MASK;
+		copyLength -= count;
+		return count;
+	}
+
+	private int copyStoredBytes(byte[] b, int off, int len) throws IOException {
+		if (storedBytesRemaining == 0) {
+			state = State.BLOCK_HEADER;
+			return 0;
+		}
+
+		int count;
+		if (bitCount >= 8) {
+			// Whole bytes which are already in the bit buffer are used first
+			b[off] = (byte) bitBuffer;
+			consumeBits(8);
+			count = 1;
+		} else {
+			if (pos == this.len) {
+				fill();
+			}
+			count = Math.min(Math.min(storedBytesRemaining, len), this.len - pos);
+			System.arraycopy(buff, pos, b, off, count);
+			pos += count;
+		}
+
+		copyOutputToWindow(b, off, count);
+		storedBytesRemaining -= count;
+		return count;
+	}
+
+	private void copyWindowToOutput(int windowOffset, byte[] b, int off, int count) {
+		int firstPart = Math.min(count, WINDOW_SIZE - windowOffset);
+		System.arraycopy(window, windowOffset, b, off, firstPart);
+		System.arraycopy(window, 0, b, off + firstPart, count - firstPart);
+	}
+
+	private void copyOutputToWindow(byte[] b, int off, int count) {
+		int firstPart = Math.min(count, WINDOW_SIZE - windowPosition);
+		System.arraycopy(b, off, window, windowPosition, firstPart);
+		System.arraycopy(b, off + firstPart, window, 0, count - firstPart);
+		windowPosition = (windowPosition + count) & WINDOW_MASK;
+	}
+
+	private int decodeSymbol(HuffmanTable table) throws IOException {
+		needBits(MAX_CODE_LENGTH);
+		int entry = table.lookup[(int) bitBuffer & HuffmanTable.LOOKUP_MASK];
+		if (entry != 0) {
+			consumeBits(entry & 0xF);
+			return entry >>> 4;
+		}
+
+		// Codes longer than the lookup table are decoded bit by bit, as they are rare
+		int code = 0;
+		int first = 0;
+		int index = 0;
+		for (int length = 1; length <= MAX_CODE_LENGTH; length++) {
+			code |= (int) (bitBuffer >>> (length - 1)) & 1;
+			int count = table.counts[length];
+			if (code - count < first) {
+				consumeBits(length);
+				return table.symbols[index + (code - first)];
+			}
+			index += count;
+			first = (first + count) << 1;
+			code <<= 1;
+		}
+		throw new ZipException("Invalid huffman code in deflate64 data");
+	}
+
+	private int readBits(int count) throws IOException {
+		if (count == 0) {
+			return 0;
+		}
+
+		needBits(count);
+		int bits = (int) (bitBuffer & ((1L << count) - 1));
+		consumeBits(count);
+		return bits;
+	}
+
+	/**
+	 * Makes sure that the bit buffer has at least the given number of bits. Huffman codes are decoded by looking at the
+	 * longest possible code, even if the actual code is shorter, so zero bits are added after the end of the input
+	 * instead of failing right away. It is only an error if these bits are consumed.
+	 */
+	private void needBits(int count) throws IOException {
+		while (bitCount < count) {
+			int nextByte;
+			if (paddingBitCount > 0 || (pos == len && !fillIfAvailable())) {
+				nextByte = 0;
+				paddingBitCount += 8;
+			} else {
+				nextByte = buff[pos++] & 0xFF;
+			}
+			bitBuffer |= (long) nextByte << bitCount;
+			bitCount += 8;
+		}
+	}
+
+	private void consumeBits(int count) throws EOFException {
+		bitBuffer >>>= count;
+		bitCount -= count;
+		if (bitCount < paddingBitCount) {
+			throw new EOFException("Unexpected end of deflate64 data");
+		}
+	}
+
+	private void fill() throws IOException {
+		if (!fillIfAvailable()) {
+			throw new EOFException("Unexpected end of input stream");
+		}
+	}
+
+	private boolean fillIfAvailable() throws IOException {
+		int readLen = super.read(buff, 0, buff.length);
+		if (readLen <= 0) {
+			return false;
+		}
+
+		len = readLen;
+		pos = 0;
+		return true;
+	}
+
+	/**
+	 * A canonical Huffman code, see RFC 1951
+	 */
+	private static class HuffmanTable {
+
+		private static final int LOOKUP_BITS = 10;
+		private static final int LOOKUP_MASK = (1 << LOOKUP_BITS) - 1;
+
+		// Indexed by the next LOOKUP_BITS bits of the input, each entry holds the symbol shifted left by four and the
+		// length of its code, or zero if the code is longer than LOOKUP_BITS
+		private final int[] lookup = new int[1 << LOOKUP_BITS];
+		// Number of codes of each length, and the symbols ordered by their codes
+		private final int[] counts = new int[MAX_CODE_LENGTH + 1];
+		private final int[] symbols;
+
+		private HuffmanTable(int[] codeLengths, int numberOfSymbols) throws ZipException {
+			symbols = new int[numberOfSymbols];
+			for (int symbol = 0; symbol < numberOfSymbols; symbol++) {
+				counts[codeLengths[symbol]]++;
+			}
+			counts[0] = 0;
+
+			int left = 1;
+			for (int length = 1; length <= MAX_CODE_LENGTH; length++) {
+				left = (left << 1) - counts[length];
+				if (left < 0) {
+					throw new ZipException("Invalid huffman code lengths in deflate64 data");
+				}
+			}
+
+			int[] offsets = new int[MAX_CODE_LENGTH + 2];
+			int[] nextCodes = new int[MAX_CODE_LENGTH + 2];
+			for (int length = 1; length <= MAX_CODE_LENGTH; length++) {
+				offsets[length + 1] = offsets[length] + counts[length];
+				nextCodes[length + 1] = (nextCodes[length] + counts[length]) << 1;
+			}
+
+			for (int symbol = 0; symbol < numberOfSymbols; symbol++) {
+				int length = codeLengths[symbol];
+				if (length == 0) {
+					continue;
+				}
+
+				symbols[offsets[length]++] = symbol;
+				int code = nextCodes[length]++;
+				if (length <= LOOKUP_BITS) {
+					int reversedCode = Integer.reverse(code) >>> (32 - length);
+					for (int i = reversedCode; i < lookup.length; i += 1 << length) {
+						lookup[i] = symbol << 4 | length;
+					}
+				}
+			}
+		}
+	}
+}
@@ -40,7 +40,7 @@ public class InflaterInputStream extends DecompressedInputStream {
 	public int read(byte[] b, int off, int len) throws IOException {
 		try {
 			int n;
-			while ((n = inflater.inflate(b, off, len)) == 0) {
+			while ((n = inflate(b, off, len)) == 0) {
 				if (inflater.finished() || inflater.needsDictionary()) {
 					return -1;
 				}
@@ -54,6 +54,13 @@ public class InflaterInputStream extends DecompressedInputStream {
 		}
 	}
 
+	private int inflate(byte[] b, int off, int len) throws DataFormatException {
+		long startTime = startTimer();
+		int n = inflater.inflate(b, off, len);
+		stopTimer(startTime);
+		return n;
+	}
+
 	@Override
 	public void endOfEntryReached(InputStream inputStream) throws IOException {
 		if (inflater != null) {
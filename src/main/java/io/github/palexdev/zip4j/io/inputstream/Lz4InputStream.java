@@ -0,0 +1,212 @@
+package io.github.palexdev.zip4j.io.inputstream;
+
+import io.github.palexdev.zip4j.exception.ZipException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PushbackInputStream;
+
+import static io.github.palexdev.zip4j.util.Lz4Constants.*;
+
+/**
+ * Decompresses data compressed with the LZ4 compression method of zip4j. The input is read in chunks of the buffer
+ * size, and whatever follows the end of the compressed data is pushed back when the entry has a data descriptor.
+ */
+class Lz4InputStream extends DecompressedInputStream {
+
+	private final byte[] blockHeader = new byte[BLOCK_HEADER_SIZE];
+	private final byte[] compressedBlock;
+	private final byte[] block;
+	private int blockLength;
+	private int blockPosition;
+	private boolean finished;
+
+	private final byte[] buff;
+	private int len;
+	private int pos;
+
+	public Lz4InputStream(CipherInputStream<?> cipherInputStream, int bufferSize, int blockSize) {
+		super(cipherInputStream);
+		this.buff = new byte[bufferSize];
+		this.compressedBlock = new byte[getMaxCompressedBlockSize(blockSize)];
+		this.block = new byte[blockSize];
+	}
+
+	@Override
+	public int read() throws IOException {
+		int readLen = read(oneByteBuffer);
+		if (readLen == -1) {
+			return -1;
+		}
+		return oneByteBuffer[0] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b) throws IOException {
+		return read(b, 0, b.length);
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+
+		if (blockPosition == blockLength && !readBlock()) {
+			return -1;
+		}
+
+		int count = Math.min(len, blockLength - blockPosition);
+		System.arraycopy(block, blockPosition, b, off, count);
+		blockPosition += count;
+		return count;
+	}
+
+	private boolean readBlock() throws IOException {
+		if (finished) {
+			return false;
+		}
+
+		readFully(blockHeader, BLOCK_HEADER_SIZE);
+		int header = (blockHeader[0] & 0xFF) | (blockHeader[1] & 0xFF) << 8 | (blockHeader[2] & 0xFF) << 16
+				| (blockHeader[3] & 0xFF) << 24;
+		if (header == 0) {
+			finished = true;
+			return false;
+		}
+
+		int length = header & ~STORED_BLOCK_FLAG;
+		if ((header & STORED_BLOCK_FLAG) != 0) {
+			if (length > block.length) {
+				throw new ZipException("Invalid LZ4 stored block length: " + length);
+			}
+			readFully(block, length);
+			blockLength = length;
+		} else {
+			if (length > compressedBlock.length) {
+				throw new ZipException("Invalid LZ4 block length: " + length);
+			}
+			readFully(compressedBlock, length);
+			long startTime = startTimer();
+			blockLength = decompressBlock(compressedBlock, length, block);
+			stopTimer(startTime);
+		}
+
+		blockPosition = 0;
+		return true;
+	}
+
+	@Override
+	public void pushBackInputStreamIfNecessary(PushbackInputStream pushbackInputStream) throws IOException {
+		int n = len - pos;
+		if (n > 0) {
+			byte[] rawDataCache = getLastReadRawDataCache();
+			pushbackInputStream.unread(rawDataCache, pos, n);
+		}
+	}
+
+	private void readFully(byte[] b, int length) throws IOException {
+		int n = 0;
+		while (n < length) {
+			if (pos == len) {
+				fill();
+			}
+			int count = Math.min(length - n, len - pos);
+			System.arraycopy(buff, pos, b, n, count);
+			pos += count;
+			n += count;
+		}
+	}
+
+	private void fill() throws IOException {
+		int readLen = super.read(buff, 0, buff.length);
+		if (readLen <= 0) {
+			throw new EOFException("Unexpected end of LZ4 data");
+		}
+
+		len = readLen;
+		pos = 0;
+	}
+
+	/**
+	 * Decompresses a block in the LZ4 block format, checking all lengths and offsets so that a corrupt block fails
+	 * with an exception
+	 *
+	 * @return length of the decompressed data written to dst
+	 */
+	static int decompressBlock(byte[] src, int length, byte[] dst) throws ZipException {
+		int ip = 0;
+		int op = 0;
+
+		while (true) {
+			if (ip >= length) {
+				throw new ZipException("Invalid LZ4 block, unexpected end of block");
+			}
+			int token = src[ip++] & 0xFF;
+
+			int literalLength = token >>> 4;
+			if (literalLength == RUN_MASK) {
+				int lengthByte;
+				do {
+					if (ip >= length) {
+						throw new ZipException("Invalid LZ4 block, unexpected end of block");
+					}
+					lengthByte = src[ip++] & 0xFF;
+					literalLength += lengthByte;
+				} while (lengthByte == 255);
+			}
+
+			if (literalLength > length - ip || literalLength > dst.length - op) {
+				throw new ZipException("Invalid LZ4 block, literals out of bounds");
+			}
+			System.arraycopy(src, ip, dst, op, literalLength);
+			ip += literalLength;
+			op += literalLength;
+
+			// The last sequence has no match
+			if (ip == length) {
+				return op;
+			}
+
+			if (length - ip < 2) {
+				throw new ZipException("Invalid LZ4 block, unexpected end of block");
+			}
+			int offset = (src[ip] & 0xFF) | (src[ip + 1] & 0xFF) << 8;
+			ip += 2;
+			if (offset == 0 || offset > op) {
+				throw new ZipException("Invalid LZ4 block, match offset out of bounds: " + offset);
+			}
+
+			int matchLength = token & RUN_MASK;
+			if (matchLength == RUN_MASK) {
+				int lengthByte;
+				do {
+					if (ip >= length) {
+						throw new ZipException("Invalid LZ4 block, unexpected end of block");
+					}
+					lengthByte = src[ip++] & 0xFF;
+					matchLength += lengthByte;
+				} while (lengthByte == 255);
+			}
+			matchLength += MIN_MATCH;
+
+			if (matchLength > dst.length - op) {
+				throw new ZipException("Invalid LZ4 block, match out of bounds");
+			}
+			int matchStart = op - offset;
+			if (offset >= matchLength) {
+				System.arraycopy(dst, matchStart, dst, op, matchLength);
+				op += matchLength;
+			} else {
+				// Overlapping match, repeating the last offset bytes. The copied bytes repeat as well, so each copy can
+				// be as long as everything copied so far
+				int matchEnd = op + matchLength;
+				while (op < matchEnd) {
+					int count = Math.min(matchEnd - op, op - matchStart);
+					System.arraycopy(dst, matchStart, dst, op, count);
+					op += count;
+				}
+			}
+		}
+	}
+}
@@ -16,14 +16,20 @@
 
 package io.github.palexdev.zip4j.io.inputstream;
 
+import io.github.palexdev.zip4j.codec.CompressionCodec;
+import io.github.palexdev.zip4j.codec.CompressionCodecs;
 import io.github.palexdev.zip4j.exception.ZipException;
 import io.github.palexdev.zip4j.headers.HeaderReader;
 import io.github.palexdev.zip4j.headers.HeaderSignature;
+import io.github.palexdev.zip4j.jfr.JfrSupport;
+import io.github.palexdev.zip4j.jfr.ZipEntryReadEvent;
 import io.github.palexdev.zip4j.model.*;
 import io.github.palexdev.zip4j.model.enums.AesVersion;
 import io.github.palexdev.zip4j.model.enums.CompressionMethod;
 import io.github.palexdev.zip4j.model.enums.EncryptionMethod;
+import io.github.palexdev.zip4j.progress.Zip4jMetrics;
 import io.github.palexdev.zip4j.util.InternalZipConstants;
+import io.github.palexdev.zip4j.util.Lz4Constants;
 import io.github.palexdev.zip4j.util.PasswordCallback;
 
 import java.io.IOException;
@@ -40,11 +46,14 @@ public class ZipInputStream extends InputStream {
 
 	private PushbackInputStream inputStream;
 	private DecompressedInputStream decompressedInputStream;
+	private CipherInputStream<?> cipherInputStream;
+	private ZipEntryReadEvent zipEntryReadEvent;
 	private HeaderReader headerReader = new HeaderReader();
 	private char[] password;
 	private PasswordCallback passwordCallback;
 	private LocalFileHeader localFileHeader;
 	private CRC32 crc32 = new CRC32();
+	private long uncompressedSizeForThisEntry;
 	private byte[] endOfEntryBuffer;
 	private boolean canSkipExtendedLocalFileHeader = false;
 	private Zip4jConfig zip4jConfig;
@@ -105,6 +114,10 @@ public class ZipInputStream extends InputStream {
 			readUntilEndOfEntry();
 		}
 
+		zipEntryReadEvent = JfrSupport.isAvailable() ? new ZipEntryReadEvent() : null;
+		if (zipEntryReadEvent != null) {
+			zipEntryReadEvent.begin();
+		}
 		localFileHeader = headerReader.readLocalFileHeader(inputStream, zip4jConfig.getCharset());
 
 		if (localFileHeader == null) {
@@ -117,6 +130,7 @@ public class ZipInputStream extends InputStream {
 
 		verifyLocalFileHeader(localFileHeader);
 		crc32.reset();
+		uncompressedSizeForThisEntry = 0;
 
 		if (fileHeader != null) {
 			localFileHeader.setCrc(fileHeader.getCrc());
@@ -180,6 +194,7 @@ public class ZipInputStream extends InputStream {
 				endOfCompressedDataReached();
 			} else {
 				crc32.update(b, off, readLen);
+				uncompressedSizeForThisEntry += readLen;
 			}
 
 			return readLen;
@@ -231,14 +246,63 @@ public class ZipInputStream extends InputStream {
 
 		readExtendedLocalFileHeaderIfPresent();
 		verifyCrc();
+		reportEntryMetrics();
+		commitZipEntryReadEvent();
 		resetFields();
 		this.entryEOFReached = true;
 	}
 
 	private DecompressedInputStream initializeEntryInputStream(LocalFileHeader localFileHeader) throws IOException {
+		Zip4jMetrics metrics = zip4jConfig.getMetrics();
+		boolean timed = metrics != Zip4jMetrics.NO_OP;
+		long startTime = timed ? System.nanoTime() : 0;
+
 		ZipEntryInputStream zipEntryInputStream = new ZipEntryInputStream(inputStream, getCompressedSize(localFileHeader));
-		CipherInputStream<?> cipherInputStream = initializeCipherInputStream(zipEntryInputStream, localFileHeader);
-		return initializeDecompressorForThisEntry(cipherInputStream, localFileHeader);
+		cipherInputStream = initializeCipherInputStream(zipEntryInputStream, localFileHeader);
+		if (timed && localFileHeader.isEncrypted() && localFileHeader.getEncryptionMethod() == EncryptionMethod.AES) {
+			// The keys are derived from the password when the cipher stream is created
+			metrics.keyDerived(System.nanoTime() - startTime);
+		}
+		cipherInputStream.setTimed(timed);
+
+		DecompressedInputStream decompressedInputStream = initializeDecompressorForThisEntry(cipherInputStream,
+				localFileHeader);
+		decompressedInputStream.setTimed(timed);
+		return decompressedInputStream;
+	}
+
+	private void commitZipEntryReadEvent() throws ZipException {
+		if (zipEntryReadEvent == null || !zipEntryReadEvent.shouldCommit()) {
+			return;
+		}
+
+		zipEntryReadEvent.entryName = localFileHeader.getFileName();
+		zipEntryReadEvent.uncompressedSize = uncompressedSizeForThisEntry;
+		zipEntryReadEvent.compressedSize = cipherInputStream.getNumberOfBytesReadForThisEntry();
+		zipEntryReadEvent.compressionMethod = getCompressionMethod(localFileHeader).name();
+		zipEntryReadEvent.encryptionMethod = localFileHeader.isEncrypted()
+				? localFileHeader.getEncryptionMethod().name() : EncryptionMethod.NONE.name();
+		zipEntryReadEvent.commit();
+	}
+
+	private void reportEntryMetrics() throws ZipException {
+		Zip4jMetrics metrics = zip4jConfig.getMetrics();
+		if (metrics == Zip4jMetrics.NO_OP) {
+			return;
+		}
+
+		long bytesRead = cipherInputStream.getNumberOfBytesReadForThisEntry();
+		CompressionMethod compressionMethod = getCompressionMethod(localFileHeader);
+		if (compressionMethod != CompressionMethod.STORE) {
+			metrics.entryDecompressed(compressionMethod, bytesRead, uncompressedSizeForThisEntry,
+					decompressedInputStream.getDecompressionTime());
+		}
+
+		if (localFileHeader.isEncrypted()) {
+			metrics.entryDecrypted(localFileHeader.getEncryptionMethod(), bytesRead, cipherInputStream.getDecryptionTime());
+		}
+
+		metrics.bytesRead(bytesRead);
 	}
 
 	private CipherInputStream<?> initializeCipherInputStream(ZipEntryInputStream zipEntryInputStream,
@@ -260,16 +324,49 @@ public class ZipInputStream extends InputStream {
 	}
 
 	private DecompressedInputStream initializeDecompressorForThisEntry(CipherInputStream<?> cipherInputStream,
-	                                                                   LocalFileHeader localFileHeader) throws ZipException {
+	                                                                   LocalFileHeader localFileHeader) throws IOException {
 		CompressionMethod compressionMethod = getCompressionMethod(localFileHeader);
 
+		CompressionCodec compressionCodec = CompressionCodecs.getDecompressor(compressionMethod);
+		if (compressionCodec != null && compressionCodec.canDecompress(localFileHeader)) {
+			return new CodecInputStream(cipherInputStream, compressionCodec, localFileHeader, zip4jConfig.getBufferSize());
+		}
+
 		if (compressionMethod == CompressionMethod.DEFLATE) {
 			return new InflaterInputStream(cipherInputStream, zip4jConfig.getBufferSize());
+		} else if (compressionMethod == CompressionMethod.DEFLATE64) {
+			return new Deflate64InputStream(cipherInputStream, zip4jConfig.getBufferSize());
+		} else if (compressionMethod == CompressionMethod.BZIP2) {
+			return new BZip2InputStream(cipherInputStream, zip4jConfig.getBufferSize());
+		} else if (compressionMethod == CompressionMethod.LZ4) {
+			return new Lz4InputStream(cipherInputStream, zip4jConfig.getBufferSize(),
+					getLz4BlockSize(localFileHeader));
 		}
 
 		return new StoreInputStream(cipherInputStream);
 	}
 
+	/**
+	 * Reads the block size from the extra data record of the LZ4 compression method of zip4j, which also makes sure that
+	 * the private compression method id is not used by another tool for something else
+	 */
+	private int getLz4BlockSize(LocalFileHeader localFileHeader) throws ZipException {
+		if (localFileHeader.getExtraDataRecords() != null) {
+			for (ExtraDataRecord extraDataRecord : localFileHeader.getExtraDataRecords()) {
+				byte[] data = extraDataRecord.getData();
+				if (extraDataRecord.getHeader() == HeaderSignature.LZ4_EXTRA_DATA_RECORD.getValue()
+						&& data != null && data.length >= Lz4Constants.EXTRA_DATA_RECORD_SIZE
+						&& data[0] == Lz4Constants.FORMAT_VERSION && data[1] > 0
+						&& data[1] <= Lz4Constants.MAX_BLOCK_SIZE_LOG) {
+					return 1 << data[1];
+				}
+			}
+		}
+
+		throw new ZipException("Entry [" + localFileHeader.getFileName() + "] is not compressed with the LZ4 "
+				+ "compression method of zip4j", ZipException.Type.UNKNOWN_COMPRESSION_METHOD);
+	}
+
 	private void readExtendedLocalFileHeaderIfPresent() throws IOException {
 		if (!localFileHeader.isDataDescriptorExists() || canSkipExtendedLocalFileHeader) {
 			return;
@@ -327,6 +424,7 @@ public class ZipInputStream extends InputStream {
 	private void resetFields() {
 		localFileHeader = null;
 		crc32.reset();
+		uncompressedSizeForThisEntry = 0;
 	}
 
 	private boolean isEntryDirectory(String entryName) {
@@ -0,0 +1,249 @@
+package io.github.palexdev.zip4j.io.inputstream;
+
+import io.github.palexdev.zip4j.model.LocalFileHeader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Flow.Publisher} which emits the entries of a {@link ZipInputStream} and their content as chunks of data.
+ * <p>
+ * Every entry is emitted as one or more {@link Chunk}s, all of which carry the local file header of the entry. The first
+ * and the last chunk of an entry are flagged as such. The last chunk of an entry can be empty, and an entry with no data
+ * (like a directory) is emitted as a single empty chunk which is both the first and the last of its entry.
+ * <p>
+ * The zip input stream is only read when the subscriber has signalled demand. Reading happens on tasks submitted to the
+ * given executor, which return as soon as the demand is satisfied, so that no thread is held while the subscriber is
+ * not requesting data. This publisher supports a single subscriber, and closes the zip input stream once the stream is
+ * completed, fails or the subscription is cancelled.
+ */
+public class ZipInputStreamPublisher implements Flow.Publisher<ZipInputStreamPublisher.Chunk> {
+
+	public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+	private final ZipInputStream zipInputStream;
+	private final Executor executor;
+	private final int chunkSize;
+	private final AtomicBoolean subscribed = new AtomicBoolean(false);
+
+	public ZipInputStreamPublisher(ZipInputStream zipInputStream, Executor executor) {
+		this(zipInputStream, executor, DEFAULT_CHUNK_SIZE);
+	}
+
+	public ZipInputStreamPublisher(ZipInputStream zipInputStream, Executor executor, int chunkSize) {
+		if (zipInputStream == null) {
+			throw new IllegalArgumentException("zip input stream is null");
+		}
+
+		if (executor == null) {
+			throw new IllegalArgumentException("executor is null");
+		}
+
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("chunk size has to be positive");
+		}
+
+		this.zipInputStream = zipInputStream;
+		this.executor = executor;
+		this.chunkSize = chunkSize;
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super Chunk> subscriber) {
+		if (subscriber == null) {
+			throw new NullPointerException("subscriber is null");
+		}
+
+		if (!subscribed.compareAndSet(false, true)) {
+			subscriber.onSubscribe(new Flow.Subscription() {
+				@Override
+				public void request(long n) {
+				}
+
+				@Override
+				public void cancel() {
+				}
+			});
+			subscriber.onError(new IllegalStateException("ZipInputStreamPublisher only supports a single subscriber"));
+			return;
+		}
+
+		ZipSubscription subscription = new ZipSubscription(subscriber);
+		subscriber.onSubscribe(subscription);
+	}
+
+	/**
+	 * A chunk of data of a zip entry
+	 */
+	public static class Chunk {
+		private final LocalFileHeader localFileHeader;
+		private final ByteBuffer data;
+		private final boolean firstChunkOfEntry;
+		private final boolean lastChunkOfEntry;
+
+		Chunk(LocalFileHeader localFileHeader, ByteBuffer data, boolean firstChunkOfEntry, boolean lastChunkOfEntry) {
+			this.localFileHeader = localFileHeader;
+			this.data = data;
+			this.firstChunkOfEntry = firstChunkOfEntry;
+			this.lastChunkOfEntry = lastChunkOfEntry;
+		}
+
+		/**
+		 * @return the local file header of the entry this chunk belongs to
+		 */
+		public LocalFileHeader getLocalFileHeader() {
+			return localFileHeader;
+		}
+
+		/**
+		 * @return the decrypted and decompressed data of this chunk, which can be empty
+		 */
+		public ByteBuffer getData() {
+			return data;
+		}
+
+		public boolean isFirstChunkOfEntry() {
+			return firstChunkOfEntry;
+		}
+
+		public boolean isLastChunkOfEntry() {
+			return lastChunkOfEntry;
+		}
+	}
+
+	private class ZipSubscription implements Flow.Subscription, Runnable {
+
+		private final Flow.Subscriber<? super Chunk> subscriber;
+		private final AtomicLong demand = new AtomicLong();
+		private final AtomicInteger workInProgress = new AtomicInteger();
+		private volatile boolean cancelled;
+		private volatile Throwable invalidRequest;
+		private boolean terminated;
+		private LocalFileHeader currentEntry;
+		private boolean firstChunkOfEntry;
+
+		private ZipSubscription(Flow.Subscriber<? super Chunk> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				invalidRequest = new IllegalArgumentException("non-positive subscription request: " + n);
+			} else {
+				demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+			}
+			schedule();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			schedule();
+		}
+
+		private void schedule() {
+			if (workInProgress.getAndIncrement() == 0) {
+				executor.execute(this);
+			}
+		}
+
+		@Override
+		public void run() {
+			int missed = 1;
+			do {
+				drain();
+				missed = workInProgress.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private void drain() {
+			if (terminated) {
+				return;
+			}
+
+			if (cancelled) {
+				terminate();
+				return;
+			}
+
+			if (invalidRequest != null) {
+				terminate();
+				subscriber.onError(invalidRequest);
+				return;
+			}
+
+			try {
+				while (demand.get() > 0 && !cancelled) {
+					Chunk chunk = readNextChunk();
+
+					if (chunk == null) {
+						terminate();
+						subscriber.onComplete();
+						return;
+					}
+
+					demand.decrementAndGet();
+					subscriber.onNext(chunk);
+				}
+			} catch (Throwable e) {
+				terminate();
+				subscriber.onError(e);
+				return;
+			}
+
+			if (cancelled) {
+				terminate();
+			}
+		}
+
+		private Chunk readNextChunk() throws IOException {
+			if (currentEntry == null) {
+				currentEntry = zipInputStream.getNextEntry();
+				if (currentEntry == null) {
+					return null;
+				}
+				firstChunkOfEntry = true;
+			}
+
+			byte[] buff = new byte[chunkSize];
+			int readLen = readFully(buff);
+			boolean first = firstChunkOfEntry;
+			firstChunkOfEntry = false;
+			LocalFileHeader entry = currentEntry;
+
+			if (readLen < buff.length) {
+				currentEntry = null;
+				return new Chunk(entry, ByteBuffer.wrap(buff, 0, readLen).slice(), first, true);
+			}
+
+			return new Chunk(entry, ByteBuffer.wrap(buff), first, false);
+		}
+
+		private int readFully(byte[] buff) throws IOException {
+			int totalRead = 0;
+			while (totalRead < buff.length) {
+				int readLen = zipInputStream.read(buff, totalRead, buff.length - totalRead);
+				if (readLen == -1) {
+					break;
+				}
+				totalRead += readLen;
+			}
+			return totalRead;
+		}
+
+		private void terminate() {
+			terminated = true;
+			try {
+				zipInputStream.close();
+			} catch (IOException e) {
+				// Nothing more can be signalled to the subscriber at this point
+			}
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package io.github.palexdev.zip4j.io.outputstream;
+
+import io.github.palexdev.zip4j.model.enums.CompressionLevel;
+
+/**
+ * Picks the deflate compression level to meet a target throughput, see
+ * {@link io.github.palexdev.zip4j.model.ZipParameters#setTargetThroughput(long)}.
+ * <p>
+ * The time spent deflating data and writing the compressed data to the underlying stream is measured over windows of
+ * uncompressed data. After each window the level is lowered by one if the throughput was below the target, and raised
+ * by one if it was well above the target, always staying between {@link CompressionLevel#FASTEST} and
+ * {@link CompressionLevel#ULTRA}. The level is kept from one entry to the next, so that each entry starts with the level
+ * the previous entries ended with.
+ */
+class AdaptiveCompressionLevel {
+
+	static final long WINDOW_SIZE = 1024 * 1024;
+
+	// The throughput has to exceed the target by this fraction before the level is raised, so that the level does not
+	// go back and forth between two levels when the throughput is close to the target
+	private static final double HEADROOM = 0.25;
+
+	private final long targetThroughput;
+	private int level;
+	private long windowBytes;
+	private long windowNanos;
+
+	AdaptiveCompressionLevel(long targetThroughput, CompressionLevel initialLevel) {
+		this.targetThroughput = targetThroughput;
+		this.level = Math.max(CompressionLevel.FASTEST.getLevel(),
+				Math.min(CompressionLevel.ULTRA.getLevel(), initialLevel.getLevel()));
+	}
+
+	/**
+	 * Records the time spent deflating and writing a chunk of data, and updates the level once a window is complete
+	 *
+	 * @param bytes number of uncompressed bytes of the chunk
+	 * @param nanos time spent on the chunk in nanoseconds
+	 */
+	void update(long bytes, long nanos) {
+		windowBytes += bytes;
+		windowNanos += nanos;
+		if (windowBytes < WINDOW_SIZE) {
+			return;
+		}
+
+		double throughput = windowBytes * 1_000_000_000d / Math.max(windowNanos, 1);
+		if (throughput < targetThroughput) {
+			level = Math.max(CompressionLevel.FASTEST.getLevel(), level - 1);
+		} else if (throughput > targetThroughput * (1 + HEADROOM)) {
+			level = Math.min(CompressionLevel.ULTRA.getLevel(), level + 1);
+		}
+
+		windowBytes = 0;
+		windowNanos = 0;
+	}
+
+	long getTargetThroughput() {
+		return targetThroughput;
+	}
+
+	int getLevel() {
+		return level;
+	}
+
+	CompressionLevel getCompressionLevel() {
+		for (CompressionLevel compressionLevel : CompressionLevel.values()) {
+			if (compressionLevel.getLevel() == level) {
+				return compressionLevel;
+			}
+		}
+		throw new IllegalStateException("No compression level for level " + level);
+	}
+}
@@ -0,0 +1,293 @@
+package io.github.palexdev.zip4j.io.outputstream;
+
+import io.github.palexdev.zip4j.exception.ZipException;
+import io.github.palexdev.zip4j.model.FileHeader;
+import io.github.palexdev.zip4j.model.Zip4jConfig;
+import io.github.palexdev.zip4j.model.ZipModel;
+import io.github.palexdev.zip4j.model.ZipParameters;
+import io.github.palexdev.zip4j.model.enums.CompressionMethod;
+import io.github.palexdev.zip4j.progress.ProgressMonitor;
+import io.github.palexdev.zip4j.util.BitUtils;
+import io.github.palexdev.zip4j.util.CompressibilityUtil;
+import io.github.palexdev.zip4j.util.FileUtils;
+import io.github.palexdev.zip4j.util.Zip4jUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+import static io.github.palexdev.zip4j.model.ZipParameters.SymbolicLinkAction.INCLUDE_LINK_ONLY;
+import static io.github.palexdev.zip4j.util.FileUtils.getRelativeFileName;
+
+/**
+ * Creates a new zip file from a list of files, overlapping the reading of the source files, the compression and the
+ * writing of the zip file.
+ * <p>
+ * Source files are read ahead with {@link AsynchronousFileChannel} reads while the previous chunk is compressed, and the
+ * compressed data is written with {@link AsynchronousChannelOutputStream}. Compression and encryption run on a single
+ * task submitted to the given executor, so the executor is never blocked by more than one thread. At most
+ * maxBuffersInFlight reads and maxBuffersInFlight writes are pending at any time, which bounds the memory in use
+ * to about 2 * maxBuffersInFlight * bufferSize bytes. When the disk cannot keep up, the compressing thread waits for
+ * the oldest pending I/O to complete before going on.
+ * <p>
+ * As the zip file is written strictly sequentially, entry sizes and checksums are always written to data descriptors,
+ * and only new zip files can be created.
+ */
+public class AsyncZipWriter {
+
+	public static final int DEFAULT_MAX_BUFFERS_IN_FLIGHT = 4;
+
+	private final File zipFile;
+	private final char[] password;
+	private final Zip4jConfig zip4jConfig;
+	private final Executor executor;
+	private final int maxBuffersInFlight;
+
+	public AsyncZipWriter(File zipFile, char[] password, Zip4jConfig zip4jConfig, Executor executor) {
+		this(zipFile, password, zip4jConfig, executor, DEFAULT_MAX_BUFFERS_IN_FLIGHT);
+	}
+
+	public AsyncZipWriter(File zipFile, char[] password, Zip4jConfig zip4jConfig, Executor executor,
+	                      int maxBuffersInFlight) {
+		if (zipFile == null) {
+			throw new IllegalArgumentException("input zip file parameter is null");
+		}
+
+		if (executor == null) {
+			throw new IllegalArgumentException("executor is null");
+		}
+
+		if (maxBuffersInFlight <= 0) {
+			throw new IllegalArgumentException("maximum number of buffers in flight has to be positive");
+		}
+
+		this.zipFile = zipFile;
+		this.password = password;
+		this.zip4jConfig = zip4jConfig;
+		this.executor = executor;
+		this.maxBuffersInFlight = maxBuffersInFlight;
+	}
+
+	/**
+	 * Creates the zip file with the given files. The returned future completes once the whole zip file, including the
+	 * central directory, has been written. If the operation fails or is cancelled through the progress monitor, the
+	 * future completes exceptionally with a {@link ZipException}.
+	 *
+	 * @param filesToAdd      files and folders to add to the zip file, folders are not added recursively. Symbolic
+	 *                        links and the exclude file filter are handled like when adding files to a zip file
+	 * @param zipParameters   parameters for the entries
+	 * @param progressMonitor progress monitor to report progress to and to check for cancellation
+	 * @return a future which completes when the zip file is written
+	 */
+	public CompletableFuture<Void> write(List<File> filesToAdd, ZipParameters zipParameters,
+	                                     ProgressMonitor progressMonitor) {
+		progressMonitor.fullReset();
+		progressMonitor.setState(ProgressMonitor.State.BUSY);
+		progressMonitor.setCurrentTask(ProgressMonitor.Task.ADD_ENTRY);
+
+		return CompletableFuture.runAsync(() -> {
+			try {
+				writeFiles(filesToAdd, zipParameters, progressMonitor);
+				progressMonitor.endProgressMonitor();
+			} catch (ZipException e) {
+				progressMonitor.endProgressMonitor(e);
+				throw new CompletionException(e);
+			} catch (Exception e) {
+				progressMonitor.endProgressMonitor(e);
+				throw new CompletionException(new ZipException(e));
+			}
+		}, executor);
+	}
+
+	private void writeFiles(List<File> filesToAdd, ZipParameters zipParameters, ProgressMonitor progressMonitor)
+			throws IOException {
+		FileUtils.assertFilesExist(filesToAdd, zipParameters.getSymbolicLinkAction());
+		List<File> actualFilesToAdd = FileUtils.getFilesToAdd(filesToAdd, zipParameters);
+		progressMonitor.setTotalWork(calculateTotalWork(actualFilesToAdd));
+
+		AsynchronousFileChannel channel = AsynchronousFileChannel.open(zipFile.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+
+		try (ZipOutputStream zipOutputStream = new ZipOutputStream(new AsynchronousChannelOutputStream(channel,
+				zip4jConfig.getBufferSize(), maxBuffersInFlight), password, zip4jConfig, new ZipModel())) {
+			for (File fileToAdd : actualFilesToAdd) {
+				verifyIfTaskIsCancelled(progressMonitor);
+				progressMonitor.setFileName(fileToAdd.getAbsolutePath());
+				ZipParameters clonedZipParameters = buildZipParameters(zipParameters, fileToAdd);
+
+				if (FileUtils.isSymbolicLink(fileToAdd) && FileUtils.isSymbolicLinkAdded(clonedZipParameters)) {
+					byte[] symLinkTarget = FileUtils.readSymbolicLink(fileToAdd).getBytes();
+					zipOutputStream.putNextEntry(FileUtils.buildSymbolicLinkZipParameters(clonedZipParameters, fileToAdd,
+							symLinkTarget));
+					zipOutputStream.write(symLinkTarget);
+					closeEntry(zipOutputStream, fileToAdd, true, progressMonitor);
+
+					if (INCLUDE_LINK_ONLY.equals(clonedZipParameters.getSymbolicLinkAction())) {
+						continue;
+					}
+				}
+
+				zipOutputStream.putNextEntry(clonedZipParameters);
+				if (!fileToAdd.isDirectory()) {
+					writeFileContent(fileToAdd, zipOutputStream, progressMonitor);
+				}
+				closeEntry(zipOutputStream, fileToAdd, false, progressMonitor);
+			}
+		} finally {
+			if (channel.isOpen()) {
+				channel.close();
+			}
+		}
+	}
+
+	private void closeEntry(ZipOutputStream zipOutputStream, File fileToAdd, boolean isSymlink,
+	                        ProgressMonitor progressMonitor) throws IOException {
+		FileHeader fileHeader = zipOutputStream.closeEntry();
+		byte[] fileAttributes = FileUtils.getFileAttributes(fileToAdd);
+
+		if (!isSymlink) {
+			// Unset the symlink byte if the entry being added is a symlink, but the original file is being added
+			fileAttributes[3] = BitUtils.unsetBit(fileAttributes[3], 5);
+		}
+
+		fileHeader.setExternalFileAttributes(fileAttributes);
+		progressMonitor.updateEntryCompleted(fileHeader.getCompressedSize(), fileHeader.getUncompressedSize());
+	}
+
+	private void writeFileContent(File fileToAdd, ZipOutputStream zipOutputStream, ProgressMonitor progressMonitor)
+			throws IOException {
+		int bufferSize = zip4jConfig.getBufferSize();
+		Deque<PendingRead> pendingReads = new ArrayDeque<>();
+
+		try (AsynchronousFileChannel source = AsynchronousFileChannel.open(fileToAdd.toPath(), StandardOpenOption.READ)) {
+			long size = source.size();
+			long nextReadPosition = 0;
+
+			while (nextReadPosition < size && pendingReads.size() < maxBuffersInFlight) {
+				pendingReads.addLast(read(source, ByteBuffer.allocate(bufferSize), nextReadPosition));
+				nextReadPosition += bufferSize;
+			}
+
+			while (!pendingReads.isEmpty()) {
+				PendingRead pendingRead = pendingReads.removeFirst();
+				ByteBuffer buffer = awaitRead(source, pendingRead, size);
+				buffer.flip();
+				zipOutputStream.write(buffer.array(), 0, buffer.limit());
+				progressMonitor.updateWorkCompleted(buffer.limit());
+				verifyIfTaskIsCancelled(progressMonitor);
+
+				if (nextReadPosition < size) {
+					buffer.clear();
+					pendingReads.addLast(read(source, buffer, nextReadPosition));
+					nextReadPosition += bufferSize;
+				}
+			}
+		} finally {
+			for (PendingRead pendingRead : pendingReads) {
+				pendingRead.future.cancel(false);
+			}
+		}
+	}
+
+	private PendingRead read(AsynchronousFileChannel source, ByteBuffer buffer, long position) {
+		return new PendingRead(buffer, position, source.read(buffer, position));
+	}
+
+	private ByteBuffer awaitRead(AsynchronousFileChannel source, PendingRead pendingRead, long size) throws IOException {
+		try {
+			pendingRead.future.get();
+
+			// Reads can return fewer bytes than requested, in which case the rest of the chunk is read synchronously
+			ByteBuffer buffer = pendingRead.buffer;
+			long chunkEnd = Math.min(pendingRead.position + buffer.capacity(), size);
+			while (pendingRead.position + buffer.position() < chunkEnd) {
+				if (source.read(buffer, pendingRead.position + buffer.position()).get() == -1) {
+					throw new ZipException("Unexpected end of file when reading file to add");
+				}
+			}
+			return buffer;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for a read to complete");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException(e.getCause());
+		}
+	}
+
+	private ZipParameters buildZipParameters(ZipParameters zipParameters, File fileToAdd) throws IOException {
+		ZipParameters clonedZipParameters = new ZipParameters(zipParameters);
+		clonedZipParameters.setWriteExtendedLocalFileHeader(true);
+
+		if (!Zip4jUtil.isStringNotNullAndNotEmpty(zipParameters.getFileNameInZip())) {
+			clonedZipParameters.setFileNameInZip(getRelativeFileName(fileToAdd, zipParameters));
+		}
+
+		if (zipParameters.getLastModifiedFileTime() <= 0) {
+			clonedZipParameters.setLastModifiedFileTime(fileToAdd.lastModified());
+		}
+
+		if (fileToAdd.isDirectory()) {
+			clonedZipParameters.setEntrySize(0);
+		} else {
+			clonedZipParameters.setEntrySize(fileToAdd.length());
+			if (fileToAdd.length() == 0 || isIncompressible(clonedZipParameters, fileToAdd)) {
+				clonedZipParameters.setCompressionMethod(CompressionMethod.STORE);
+			}
+		}
+
+		return clonedZipParameters;
+	}
+
+	private boolean isIncompressible(ZipParameters zipParameters, File fileToAdd) throws IOException {
+		return zipParameters.isStoreIncompressibleFiles() && zipParameters.getCompressionMethod() == CompressionMethod.DEFLATE
+				&& CompressibilityUtil.isIncompressible(fileToAdd, zipParameters.getCompressionLevel(),
+				zipParameters.getMinimumCompressionGain());
+	}
+
+	private long calculateTotalWork(List<File> filesToAdd) {
+		long totalWork = 0;
+		for (File fileToAdd : filesToAdd) {
+			if (fileToAdd.exists() && !fileToAdd.isDirectory()) {
+				totalWork += fileToAdd.length();
+			}
+		}
+		return totalWork;
+	}
+
+	private void verifyIfTaskIsCancelled(ProgressMonitor progressMonitor) throws ZipException {
+		if (!progressMonitor.isCancelAllTasks()) {
+			return;
+		}
+
+		progressMonitor.setResult(ProgressMonitor.Result.CANCELLED);
+		progressMonitor.setState(ProgressMonitor.State.READY);
+		throw new ZipException("Task cancelled", ZipException.Type.TASK_CANCELLED_EXCEPTION);
+	}
+
+
+	private static class PendingRead {
+		private final ByteBuffer buffer;
+		private final long position;
+		private final Future<Integer> future;
+
+		private PendingRead(ByteBuffer buffer, long position, Future<Integer> future) {
+			this.buffer = buffer;
+			this.position = position;
+			this.future = future;
+		}
+	}
+}
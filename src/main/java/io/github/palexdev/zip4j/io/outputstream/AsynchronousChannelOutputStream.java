@@ -0,0 +1,219 @@
+package io.github.palexdev.zip4j.io.outputstream;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * An output stream which writes to an {@link AsynchronousFileChannel} without waiting for each write to complete.
+ * <p>
+ * Data is collected in buffers of a fixed size and every full buffer is handed to the channel, so that the caller can
+ * go on producing data (for example compressing the next chunk) while the previous one is being written. At most
+ * maxBuffersInFlight writes can be pending at any time. When that limit is reached, the caller waits for the oldest
+ * write to complete before its buffer is reused, which bounds the memory used when the disk is slower than the
+ * producer.
+ * <p>
+ * The buffers are direct and reused, so the channel does not copy the data to a temporary direct buffer on each write.
+ * Streams which write one after the other, like the files extracted by a task, can share the buffers through a
+ * {@link BufferPool}.
+ */
+public class AsynchronousChannelOutputStream extends OutputStream {
+
+	private final AsynchronousFileChannel channel;
+	private final BufferPool bufferPool;
+	private final Deque<PendingWrite> pendingWrites = new ArrayDeque<>();
+	private ByteBuffer currentBuffer;
+	private long position;
+	private boolean closed;
+
+	public AsynchronousChannelOutputStream(AsynchronousFileChannel channel, int bufferSize, int maxBuffersInFlight) {
+		this(channel, 0, bufferSize, maxBuffersInFlight);
+	}
+
+	public AsynchronousChannelOutputStream(AsynchronousFileChannel channel, long position, int bufferSize,
+	                                       int maxBuffersInFlight) {
+		this(channel, position, new BufferPool(bufferSize, maxBuffersInFlight));
+	}
+
+	/**
+	 * @param channel    channel to write to, which is closed with this stream
+	 * @param position   position in the channel at which the first byte is written
+	 * @param bufferPool pool to take the buffers from, which are given back to it when this stream is closed
+	 */
+	public AsynchronousChannelOutputStream(AsynchronousFileChannel channel, long position, BufferPool bufferPool) {
+		if (channel == null) {
+			throw new IllegalArgumentException("channel is null");
+		}
+
+		if (bufferPool == null) {
+			throw new IllegalArgumentException("buffer pool is null");
+		}
+
+		this.channel = channel;
+		this.position = position;
+		this.bufferPool = bufferPool;
+		this.currentBuffer = bufferPool.acquire();
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[]{(byte) b});
+	}
+
+	@Override
+	public void write(byte[] b) throws IOException {
+		write(b, 0, b.length);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		ensureOpen();
+
+		while (len > 0) {
+			int toCopy = Math.min(len, currentBuffer.remaining());
+			currentBuffer.put(b, off, toCopy);
+			off += toCopy;
+			len -= toCopy;
+
+			if (!currentBuffer.hasRemaining()) {
+				submitCurrentBuffer();
+			}
+		}
+	}
+
+	/**
+	 * Hands any buffered data to the channel and waits until all pending writes are complete
+	 */
+	@Override
+	public void flush() throws IOException {
+		ensureOpen();
+		submitCurrentBuffer();
+		while (!pendingWrites.isEmpty()) {
+			awaitOldestWrite();
+		}
+	}
+
+	/**
+	 * @return the position in the channel at which the next byte will be written
+	 */
+	public long getPosition() {
+		return currentBuffer == null ? position : position + currentBuffer.position();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+
+		try {
+			flush();
+		} finally {
+			closed = true;
+			// Buffers of writes which are still pending after a failure are not given back, as they are still in use
+			if (currentBuffer != null) {
+				bufferPool.release(currentBuffer);
+				currentBuffer = null;
+			}
+			channel.close();
+		}
+	}
+
+	private void submitCurrentBuffer() throws IOException {
+		if (currentBuffer.position() == 0) {
+			return;
+		}
+
+		currentBuffer.flip();
+		long writePosition = position;
+		position += currentBuffer.remaining();
+		pendingWrites.addLast(new PendingWrite(currentBuffer, writePosition, channel.write(currentBuffer, writePosition)));
+		// The submitted buffer is replaced before waiting, so that it is never given back by close if the wait fails
+		currentBuffer = bufferPool.acquire();
+
+		if (pendingWrites.size() >= bufferPool.maxBuffersInFlight) {
+			awaitOldestWrite();
+		}
+	}
+
+	private void awaitOldestWrite() throws IOException {
+		PendingWrite pendingWrite = pendingWrites.removeFirst();
+
+		try {
+			pendingWrite.future.get();
+
+			// A write to a file channel can complete without writing the whole buffer, in which case the remaining
+			// bytes are written synchronously, as this is an unusual case
+			while (pendingWrite.buffer.hasRemaining()) {
+				long writePosition = pendingWrite.position + pendingWrite.buffer.position();
+				channel.write(pendingWrite.buffer, writePosition).get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for a write to complete");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException(e.getCause());
+		}
+
+		bufferPool.release(pendingWrite.buffer);
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException("Stream is closed");
+		}
+	}
+
+	/**
+	 * Direct buffers shared by streams which write one after the other. Direct memory is only freed once its buffers
+	 * are garbage collected, so allocating new buffers for every stream can run out of it when many large files are
+	 * written. The pool keeps the buffers given back by closed streams, which are at most maxBuffersInFlight + 1 per
+	 * stream. A pool is not thread safe and must only be used by one stream at a time.
+	 */
+	public static class BufferPool {
+
+		private final int bufferSize;
+		private final int maxBuffersInFlight;
+		private final Deque<ByteBuffer> freeBuffers = new ArrayDeque<>();
+
+		public BufferPool(int bufferSize, int maxBuffersInFlight) {
+			if (bufferSize <= 0 || maxBuffersInFlight <= 0) {
+				throw new IllegalArgumentException("buffer size and maximum number of buffers in flight have to be positive");
+			}
+
+			this.bufferSize = bufferSize;
+			this.maxBuffersInFlight = maxBuffersInFlight;
+		}
+
+		private ByteBuffer acquire() {
+			ByteBuffer buffer = freeBuffers.pollFirst();
+			return buffer == null ? ByteBuffer.allocateDirect(bufferSize) : buffer;
+		}
+
+		private void release(ByteBuffer buffer) {
+			buffer.clear();
+			freeBuffers.addLast(buffer);
+		}
+	}
+
+	private static class PendingWrite {
+		private final ByteBuffer buffer;
+		private final long position;
+		private final Future<Integer> future;
+
+		private PendingWrite(ByteBuffer buffer, long position, Future<Integer> future) {
+			this.buffer = buffer;
+			this.position = position;
+			this.future = future;
+		}
+	}
+}
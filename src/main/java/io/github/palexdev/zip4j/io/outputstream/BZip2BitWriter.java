@@ -0,0 +1,78 @@
+package io.github.palexdev.zip4j.io.outputstream;
+
+import java.util.Arrays;
+
+/**
+ * Collects bits most significant bit first, as they are written by BZip2. Blocks of a BZip2 stream are not aligned to
+ * bytes, so each block is written to its own writer and then appended bit by bit to the writer of the stream.
+ */
+class BZip2BitWriter {
+
+	private byte[] buffer;
+	private int length;
+
+	// Bits which were written but do not fill a whole byte yet, the next bit is the highest of the bitCount lowest bits
+	private long bitBuffer;
+	private int bitCount;
+
+	BZip2BitWriter(int initialCapacity) {
+		buffer = new byte[Math.max(initialCapacity, 16)];
+	}
+
+	/**
+	 * Writes the given number of lowest bits of value, at most 32
+	 */
+	void writeBits(int count, int value) {
+		bitBuffer = (bitBuffer << count) | (value & ((1L << count) - 1));
+		bitCount += count;
+		while (bitCount >= 8) {
+			bitCount -= 8;
+			if (length == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+			}
+			buffer[length++] = (byte) (bitBuffer >>> bitCount);
+		}
+	}
+
+	void writeBits(BZip2BitWriter bitWriter) {
+		if (bitCount == 0) {
+			if (length + bitWriter.length > buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + bitWriter.length));
+			}
+			System.arraycopy(bitWriter.buffer, 0, buffer, length, bitWriter.length);
+			length += bitWriter.length;
+		} else {
+			for (int i = 0; i < bitWriter.length; i++) {
+				writeBits(8, bitWriter.buffer[i]);
+			}
+		}
+		writeBits(bitWriter.bitCount, (int) bitWriter.bitBuffer);
+	}
+
+	/**
+	 * Pads the last byte with zero bits
+	 */
+	void alignToByte() {
+		if (bitCount > 0) {
+			writeBits(8 - bitCount, 0);
+		}
+	}
+
+	byte[] getBuffer() {
+		return buffer;
+	}
+
+	/**
+	 * @return number of whole bytes in the buffer
+	 */
+	int getLength() {
+		return length;
+	}
+
+	/**
+	 * Discards the whole bytes of the buffer, keeping the bits which do not fill a byte yet
+	 */
+	void clear() {
+		length = 0;
+	}
+}
@@ -0,0 +1,470 @@
+package io.github.palexdev.zip4j.io.outputstream;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+import static io.github.palexdev.zip4j.util.BZip2Constants.*;
+
+/**
+ * Compresses a single block of a BZip2 stream. The bytes of the block must already be run length encoded, as done by
+ * {@link BZip2OutputStream}. Blocks do not depend on each other, so several blocks can be compressed at the same time,
+ * each compressor writing to its own {@link BZip2BitWriter}.
+ * <p>
+ * The block goes through the Burrows-Wheeler transform, the move to front transform with the runs of zeros coded as
+ * {@link io.github.palexdev.zip4j.util.BZip2Constants#RUN_A} and
+ * {@link io.github.palexdev.zip4j.util.BZip2Constants#RUN_B}, and is then coded with up to
+ * {@link io.github.palexdev.zip4j.util.BZip2Constants#MAX_HUFFMAN_TABLES} huffman tables, picking the cheapest table
+ * for each group of {@link io.github.palexdev.zip4j.util.BZip2Constants#GROUP_SIZE} symbols.
+ */
+class BZip2BlockCompressor {
+
+	// Shorter than the maximum code length of the format, so that lowering the code lengths converges quickly
+	private static final int MAX_CREATED_CODE_LENGTH = 17;
+	private static final int TABLE_REFINEMENT_ITERATIONS = 4;
+
+	private final byte[] block;
+	private final int length;
+	private final int blockCrc;
+
+	BZip2BlockCompressor(byte[] block, int length, int blockCrc) {
+		this.block = block;
+		this.length = length;
+		this.blockCrc = blockCrc;
+	}
+
+	BZip2BitWriter compress() {
+		BZip2BitWriter bitWriter = new BZip2BitWriter(length / 2 + 1024);
+		bitWriter.writeBits(24, (int) (BLOCK_HEADER_MAGIC >>> 24));
+		bitWriter.writeBits(24, (int) BLOCK_HEADER_MAGIC);
+		bitWriter.writeBits(32, blockCrc);
+		// Blocks are never randomised, which is deprecated
+		bitWriter.writeBits(1, 0);
+
+		int[] sortedRotations = sortRotations();
+		int originalPointer = 0;
+		while (sortedRotations[originalPointer] != 0) {
+			originalPointer++;
+		}
+		bitWriter.writeBits(24, originalPointer);
+
+		boolean[] inUse = new boolean[256];
+		for (int i = 0; i < length; i++) {
+			inUse[block[i] & 0xFF] = true;
+		}
+		writeSymbolMap(bitWriter, inUse);
+
+		int[] sequenceNumbers = new int[256];
+		int numberOfSymbolsInUse = 0;
+		for (int i = 0; i < inUse.length; i++) {
+			if (inUse[i]) {
+				sequenceNumbers[i] = numberOfSymbolsInUse++;
+			}
+		}
+
+		int alphabetSize = numberOfSymbolsInUse + 2;
+		int[] frequencies = new int[alphabetSize];
+		char[] mtfValues = new char[length + 1];
+		int numberOfMtfValues = moveToFront(sortedRotations, sequenceNumbers, numberOfSymbolsInUse, mtfValues,
+				frequencies);
+
+		writeHuffmanCodedData(bitWriter, mtfValues, numberOfMtfValues, frequencies, alphabetSize);
+		return bitWriter;
+	}
+
+	/**
+	 * Sorts the rotations of the block by prefix doubling: after each pass the rotations are sorted by twice as many
+	 * bytes, using the ranks of the previous pass as the sort keys.
+	 *
+	 * @return start offsets of the rotations in sorted order
+	 */
+	private int[] sortRotations() {
+		int[] sortedRotations = new int[length];
+		int[] ranks = new int[length];
+		int[] tmp = new int[length];
+		int[] bucketStarts = new int[Math.max(256, length)];
+
+		for (int i = 0; i < length; i++) {
+			bucketStarts[block[i] & 0xFF]++;
+		}
+		for (int i = 0, sum = 0; i < 256; i++) {
+			int count = bucketStarts[i];
+			bucketStarts[i] = sum;
+			sum += count;
+		}
+		for (int i = 0; i < length; i++) {
+			sortedRotations[bucketStarts[block[i] & 0xFF]++] = i;
+		}
+
+		int numberOfRanks = 1;
+		ranks[sortedRotations[0]] = 0;
+		for (int i = 1; i < length; i++) {
+			if (block[sortedRotations[i]] != block[sortedRotations[i - 1]]) {
+				numberOfRanks++;
+			}
+			ranks[sortedRotations[i]] = numberOfRanks - 1;
+		}
+
+		for (int sortedLength = 1; numberOfRanks < length && sortedLength < length; sortedLength <<= 1) {
+			// The rotations are already sorted by their second half, when starting sortedLength bytes earlier
+			for (int i = 0; i < length; i++) {
+				int rotation = sortedRotations[i] - sortedLength;
+				tmp[i] = rotation < 0 ? rotation + length : rotation;
+			}
+
+			// Stable counting sort by the first half
+			Arrays.fill(bucketStarts, 0, numberOfRanks, 0);
+			for (int i = 0; i < length; i++) {
+				bucketStarts[ranks[i]]++;
+			}
+			for (int i = 0, sum = 0; i < numberOfRanks; i++) {
+				int count = bucketStarts[i];
+				bucketStarts[i] = sum;
+				sum += count;
+			}
+			for (int i = 0; i < length; i++) {
+				int rotation = tmp[i];
+				sortedRotations[bucketStarts[ranks[rotation]]++] = rotation;
+			}
+
+			int[] newRanks = tmp;
+			numberOfRanks = 1;
+			newRanks[sortedRotations[0]] = 0;
+			for (int i = 1; i < length; i++) {
+				int rotation = sortedRotations[i];
+				int previousRotation = sortedRotations[i - 1];
+				if (ranks[rotation] != ranks[previousRotation]
+						|| ranks[secondHalf(rotation, sortedLength)] != ranks[secondHalf(previousRotation, sortedLength)]) {
+					numberOfRanks++;
+				}
+				newRanks[rotation] = numberOfRanks - 1;
+			}
+			tmp = ranks;
+			ranks = newRanks;
+		}
+
+		return sortedRotations;
+	}
+
+	private int secondHalf(int rotation, int sortedLength) {
+		int secondHalf = rotation + sortedLength;
+		return secondHalf >= length ? secondHalf - length : secondHalf;
+	}
+
+	private void writeSymbolMap(BZip2BitWriter bitWriter, boolean[] inUse) {
+		int rangesInUse = 0;
+		for (int i = 0; i < 16; i++) {
+			for (int j = 0; j < 16; j++) {
+				if (inUse[i * 16 + j]) {
+					rangesInUse |= 1 << (15 - i);
+					break;
+				}
+			}
+		}
+
+		bitWriter.writeBits(16, rangesInUse);
+		for (int i = 0; i < 16; i++) {
+			if ((rangesInUse & (1 << (15 - i))) != 0) {
+				int symbolsInUse = 0;
+				for (int j = 0; j < 16; j++) {
+					if (inUse[i * 16 + j]) {
+						symbolsInUse |= 1 << (15 - j);
+					}
+				}
+				bitWriter.writeBits(16, symbolsInUse);
+			}
+		}
+	}
+
+	/**
+	 * Applies the move to front transform to the last column of the sorted rotations, coding runs of zeros in
+	 * bijective base 2 with {@link io.github.palexdev.zip4j.util.BZip2Constants#RUN_A} and
+	 * {@link io.github.palexdev.zip4j.util.BZip2Constants#RUN_B}, and ends the values with the end of block symbol.
+	 *
+	 * @return number of values written to mtfValues
+	 */
+	private int moveToFront(int[] sortedRotations, int[] sequenceNumbers, int numberOfSymbolsInUse, char[] mtfValues,
+	                        int[] frequencies) {
+		byte[] order = new byte[numberOfSymbolsInUse];
+		for (int i = 0; i < numberOfSymbolsInUse; i++) {
+			order[i] = (byte) i;
+		}
+
+		int numberOfMtfValues = 0;
+		int zeroRunLength = 0;
+		for (int i = 0; i < length; i++) {
+			int rotation = sortedRotations[i];
+			byte symbol = (byte) sequenceNumbers[block[(rotation == 0 ? length : rotation) - 1] & 0xFF];
+
+			if (order[0] == symbol) {
+				zeroRunLength++;
+				continue;
+			}
+
+			if (zeroRunLength > 0) {
+				numberOfMtfValues = writeZeroRun(zeroRunLength, mtfValues, numberOfMtfValues, frequencies);
+				zeroRunLength = 0;
+			}
+
+			int position = 0;
+			byte previous = order[0];
+			do {
+				position++;
+				byte current = order[position];
+				order[position] = previous;
+				previous = current;
+			} while (previous != symbol);
+			order[0] = symbol;
+
+			mtfValues[numberOfMtfValues++] = (char) (position + 1);
+			frequencies[position + 1]++;
+		}
+
+		if (zeroRunLength > 0) {
+			numberOfMtfValues = writeZeroRun(zeroRunLength, mtfValues, numberOfMtfValues, frequencies);
+		}
+
+		int endOfBlock = numberOfSymbolsInUse + 1;
+		mtfValues[numberOfMtfValues++] = (char) endOfBlock;
+		frequencies[endOfBlock]++;
+		return numberOfMtfValues;
+	}
+
+	private int writeZeroRun(int zeroRunLength, char[] mtfValues, int numberOfMtfValues, int[] frequencies) {
+		zeroRunLength--;
+		while (true) {
+			int symbol = (zeroRunLength & 1) == 0 ? RUN_A : RUN_B;
+			mtfValues[numberOfMtfValues++] = (char) symbol;
+			frequencies[symbol]++;
+			if (zeroRunLength < 2) {
+				return numberOfMtfValues;
+			}
+			zeroRunLength = (zeroRunLength - 2) >>> 1;
+		}
+	}
+
+	private void writeHuffmanCodedData(BZip2BitWriter bitWriter, char[] mtfValues, int numberOfMtfValues,
+	                                   int[] frequencies, int alphabetSize) {
+		int numberOfTables = getNumberOfTables(numberOfMtfValues);
+		int[][] codeLengths = createInitialCodeLengths(frequencies, numberOfMtfValues, numberOfTables, alphabetSize);
+		int numberOfSelectors = (numberOfMtfValues + GROUP_SIZE - 1) / GROUP_SIZE;
+		byte[] selectors = new byte[numberOfSelectors];
+
+		// Assigns each group to the cheapest table and recreates the tables from the groups assigned to them
+		int[][] tableFrequencies = new int[numberOfTables][alphabetSize];
+		for (int iteration = 0; iteration < TABLE_REFINEMENT_ITERATIONS; iteration++) {
+			for (int[] tableFrequency : tableFrequencies) {
+				Arrays.fill(tableFrequency, 0);
+			}
+
+			for (int selector = 0, groupStart = 0; groupStart < numberOfMtfValues; selector++, groupStart += GROUP_SIZE) {
+				int groupEnd = Math.min(groupStart + GROUP_SIZE, numberOfMtfValues);
+				int bestTable = 0;
+				int bestCost = Integer.MAX_VALUE;
+				for (int table = 0; table < numberOfTables; table++) {
+					int[] tableCodeLengths = codeLengths[table];
+					int cost = 0;
+					for (int i = groupStart; i < groupEnd; i++) {
+						cost += tableCodeLengths[mtfValues[i]];
+					}
+					if (cost < bestCost) {
+						bestCost = cost;
+						bestTable = table;
+					}
+				}
+
+				selectors[selector] = (byte) bestTable;
+				int[] tableFrequency = tableFrequencies[bestTable];
+				for (int i = groupStart; i < groupEnd; i++) {
+					tableFrequency[mtfValues[i]]++;
+				}
+			}
+
+			for (int table = 0; table < numberOfTables; table++) {
+				createCodeLengths(codeLengths[table], tableFrequencies[table], alphabetSize);
+			}
+		}
+
+		bitWriter.writeBits(3, numberOfTables);
+		bitWriter.writeBits(15, numberOfSelectors);
+		writeSelectors(bitWriter, selectors, numberOfTables);
+		writeCodeLengths(bitWriter, codeLengths, alphabetSize);
+
+		int[][] codes = new int[numberOfTables][];
+		for (int table = 0; table < numberOfTables; table++) {
+			codes[table] = createCodes(codeLengths[table], alphabetSize);
+		}
+
+		for (int selector = 0, groupStart = 0; groupStart < numberOfMtfValues; selector++, groupStart += GROUP_SIZE) {
+			int groupEnd = Math.min(groupStart + GROUP_SIZE, numberOfMtfValues);
+			int[] tableCodeLengths = codeLengths[selectors[selector]];
+			int[] tableCodes = codes[selectors[selector]];
+			for (int i = groupStart; i < groupEnd; i++) {
+				bitWriter.writeBits(tableCodeLengths[mtfValues[i]], tableCodes[mtfValues[i]]);
+			}
+		}
+	}
+
+	private int getNumberOfTables(int numberOfMtfValues) {
+		if (numberOfMtfValues < 200) {
+			return MIN_HUFFMAN_TABLES;
+		} else if (numberOfMtfValues < 600) {
+			return 3;
+		} else if (numberOfMtfValues < 1200) {
+			return 4;
+		} else if (numberOfMtfValues < 2400) {
+			return 5;
+		}
+		return MAX_HUFFMAN_TABLES;
+	}
+
+	/**
+	 * Splits the symbols in ranges of about the same total frequency, one for each table, and makes each table cheap
+	 * for its own range of symbols only
+	 */
+	private int[][] createInitialCodeLengths(int[] frequencies, int numberOfMtfValues, int numberOfTables,
+	                                         int alphabetSize) {
+		int[][] codeLengths = new int[numberOfTables][alphabetSize];
+		int remainingFrequency = numberOfMtfValues;
+		int rangeStart = 0;
+		for (int remainingTables = numberOfTables; remainingTables > 0; remainingTables--) {
+			int targetFrequency = remainingFrequency / remainingTables;
+			int rangeEnd = rangeStart - 1;
+			int rangeFrequency = 0;
+			while (rangeFrequency < targetFrequency && rangeEnd < alphabetSize - 1) {
+				rangeEnd++;
+				rangeFrequency += frequencies[rangeEnd];
+			}
+
+			if (rangeEnd > rangeStart && remainingTables != numberOfTables && remainingTables != 1
+					&& (numberOfTables - remainingTables) % 2 == 1) {
+				rangeFrequency -= frequencies[rangeEnd];
+				rangeEnd--;
+			}
+
+			int[] tableCodeLengths = codeLengths[remainingTables - 1];
+			for (int symbol = 0; symbol < alphabetSize; symbol++) {
+				tableCodeLengths[symbol] = symbol >= rangeStart && symbol <= rangeEnd ? 0 : 15;
+			}
+
+			rangeStart = rangeEnd + 1;
+			remainingFrequency -= rangeFrequency;
+		}
+		return codeLengths;
+	}
+
+	/**
+	 * Creates huffman code lengths of at most {@link #MAX_CREATED_CODE_LENGTH} bits for all symbols, including the
+	 * ones which do not occur, as the format has no way to leave a symbol out. If the codes get too long, the
+	 * frequencies are flattened and the codes created again.
+	 */
+	private void createCodeLengths(int[] codeLengths, int[] frequencies, int alphabetSize) {
+		int[] weights = new int[alphabetSize * 2];
+		int[] parents = new int[alphabetSize * 2];
+		for (int symbol = 0; symbol < alphabetSize; symbol++) {
+			weights[symbol] = Math.max(frequencies[symbol], 1);
+		}
+
+		while (true) {
+			PriorityQueue<Long> queue = new PriorityQueue<>(alphabetSize);
+			for (int symbol = 0; symbol < alphabetSize; symbol++) {
+				queue.add(((long) weights[symbol] << 32) | symbol);
+			}
+
+			int numberOfNodes = alphabetSize;
+			while (queue.size() > 1) {
+				int first = (int) (long) queue.poll();
+				int second = (int) (long) queue.poll();
+				weights[numberOfNodes] = weights[first] + weights[second];
+				parents[first] = numberOfNodes;
+				parents[second] = numberOfNodes;
+				queue.add(((long) weights[numberOfNodes] << 32) | numberOfNodes);
+				numberOfNodes++;
+			}
+			parents[numberOfNodes - 1] = -1;
+
+			int maxCodeLength = 0;
+			for (int symbol = 0; symbol < alphabetSize; symbol++) {
+				int codeLength = 0;
+				for (int node = symbol; parents[node] >= 0; node = parents[node]) {
+					codeLength++;
+				}
+				codeLengths[symbol] = codeLength;
+				maxCodeLength = Math.max(maxCodeLength, codeLength);
+			}
+
+			if (maxCodeLength <= MAX_CREATED_CODE_LENGTH) {
+				return;
+			}
+
+			for (int symbol = 0; symbol < alphabetSize; symbol++) {
+				weights[symbol] = 1 + weights[symbol] / 2;
+			}
+		}
+	}
+
+	/**
+	 * Assigns canonical codes, shorter codes first and symbols of the same code length in increasing order
+	 */
+	private int[] createCodes(int[] codeLengths, int alphabetSize) {
+		int[] codes = new int[alphabetSize];
+		int code = 0;
+		for (int codeLength = 1; codeLength <= MAX_CREATED_CODE_LENGTH; codeLength++) {
+			for (int symbol = 0; symbol < alphabetSize; symbol++) {
+				if (codeLengths[symbol] == codeLength) {
+					codes[symbol] = code++;
+				}
+			}
+			code <<= 1;
+		}
+		return codes;
+	}
+
+	/**
+	 * Writes the selectors move to front transformed, each as a unary number
+	 */
+	private void writeSelectors(BZip2BitWriter bitWriter, byte[] selectors, int numberOfTables) {
+		byte[] order = new byte[numberOfTables];
+		for (int i = 0; i < numberOfTables; i++) {
+			order[i] = (byte) i;
+		}
+
+		for (byte selector : selectors) {
+			int position = 0;
+			byte previous = order[0];
+			while (previous != selector) {
+				position++;
+				byte current = order[position];
+				order[position] = previous;
+				previous = current;
+			}
+			order[0] = selector;
+
+			for (int i = 0; i < position; i++) {
+				bitWriter.writeBits(1, 1);
+			}
+			bitWriter.writeBits(1, 0);
+		}
+	}
+
+	/**
+	 * Writes the code lengths of each table as the difference to the code length of the previous symbol
+	 */
+	private void writeCodeLengths(BZip2BitWriter bitWriter, int[][] codeLengths, int alphabetSize) {
+		for (int[] tableCodeLengths : codeLengths) {
+			int currentCodeLength = tableCodeLengths[0];
+			bitWriter.writeBits(5, currentCodeLength);
+			for (int symbol = 0; symbol < alphabetSize; symbol++) {
+				int codeLength = tableCodeLengths[symbol];
+				while (currentCodeLength < codeLength) {
+					bitWriter.writeBits(2, 2);
+					currentCodeLength++;
+				}
+				while (currentCodeLength > codeLength) {
+					bitWriter.writeBits(2, 3);
+					currentCodeLength--;
+				}
+				bitWriter.writeBits(1, 0);
+			}
+		}
+	}
+}
@@ -0,0 +1,199 @@
+package io.github.palexdev.zip4j.io.outputstream;
+
+import io.github.palexdev.zip4j.exception.ZipException;
+import io.github.palexdev.zip4j.model.enums.CompressionLevel;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static io.github.palexdev.zip4j.util.BZip2Constants.BASE_BLOCK_SIZE;
+import static io.github.palexdev.zip4j.util.BZip2Constants.END_OF_STREAM_MAGIC;
+import static io.github.palexdev.zip4j.util.BZip2Constants.MIN_BLOCK_SIZE_LEVEL;
+import static io.github.palexdev.zip4j.util.BZip2Constants.updateCrc;
+
+/**
+ * Compresses data with BZip2, which is compression method 12.
+ * <p>
+ * The data is run length encoded into blocks of up to 100 KB times the block size level, which is taken from the
+ * compression level. Blocks are compressed independently of each other by {@link BZip2BlockCompressor}, so when an
+ * executor service is given, several blocks are compressed at the same time and written in order as they complete.
+ * The output is the same with and without an executor service.
+ */
+class BZip2OutputStream extends CompressedOutputStream {
+
+	// Runs of 4 to 255 equal bytes are written as 4 bytes and the number of remaining bytes
+	private static final int MAX_RUN_LENGTH = 255;
+	// Room for the last run which is added to a block before it is ended
+	private static final int BLOCK_OVERHEAD = 19;
+
+	private final int bufferSize;
+	private final int maxBlockLength;
+	private final ExecutorService executorService;
+	private final int maxPendingBlocks;
+	private final Deque<Future<BZip2BitWriter>> pendingBlocks = new ArrayDeque<>();
+	private final BZip2BitWriter bitWriter;
+
+	private byte[] block;
+	private int blockLength;
+	private int blockCrc = -1;
+	private int combinedCrc;
+
+	private int runByte = -1;
+	private int runLength;
+
+	public BZip2OutputStream(CipherOutputStream<?> cipherOutputStream, CompressionLevel compressionLevel,
+	                         int bufferSize) {
+		this(cipherOutputStream, compressionLevel, bufferSize, null, 1);
+	}
+
+	/**
+	 * Creates a stream which compresses up to the given number of blocks at the same time with the given executor
+	 * service
+	 */
+	BZip2OutputStream(CipherOutputStream<?> cipherOutputStream, CompressionLevel compressionLevel, int bufferSize,
+	                  ExecutorService executorService, int maxPendingBlocks) {
+		super(cipherOutputStream);
+		int blockSizeLevel = Math.max(compressionLevel.getLevel(), MIN_BLOCK_SIZE_LEVEL);
+		this.bufferSize = bufferSize;
+		this.maxBlockLength = blockSizeLevel * BASE_BLOCK_SIZE - BLOCK_OVERHEAD;
+		this.executorService = executorService;
+		this.maxPendingBlocks = maxPendingBlocks;
+		this.block = new byte[Math.min(bufferSize, maxBlockLength) + BLOCK_OVERHEAD];
+
+		bitWriter = new BZip2BitWriter(bufferSize);
+		bitWriter.writeBits(8, 'B');
+		bitWriter.writeBits(8, 'Z');
+		bitWriter.writeBits(8, 'h');
+		bitWriter.writeBits(8, '0' + blockSizeLevel);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		for (int i = off; i < off + len; i++) {
+			int value = b[i] & 0xFF;
+			if (value == runByte && runLength < MAX_RUN_LENGTH) {
+				runLength++;
+				continue;
+			}
+
+			if (runLength > 0) {
+				addRunToBlock();
+			}
+			runByte = value;
+			runLength = 1;
+		}
+	}
+
+	private void addRunToBlock() throws IOException {
+		if (blockLength + 5 > block.length) {
+			block = Arrays.copyOf(block, Math.min(block.length * 2, maxBlockLength + BLOCK_OVERHEAD));
+		}
+
+		for (int i = 0; i < runLength; i++) {
+			blockCrc = updateCrc(blockCrc, runByte);
+		}
+
+		byte value = (byte) runByte;
+		block[blockLength++] = value;
+		if (runLength > 1) {
+			block[blockLength++] = value;
+			if (runLength > 2) {
+				block[blockLength++] = value;
+				if (runLength > 3) {
+					block[blockLength++] = value;
+					block[blockLength++] = (byte) (runLength - 4);
+				}
+			}
+		}
+		runLength = 0;
+
+		if (blockLength >= maxBlockLength) {
+			endBlock();
+		}
+	}
+
+	private void endBlock() throws IOException {
+		if (blockLength == 0) {
+			return;
+		}
+
+		int finalBlockCrc = ~blockCrc;
+		combinedCrc = Integer.rotateLeft(combinedCrc, 1) ^ finalBlockCrc;
+		BZip2BlockCompressor blockCompressor = new BZip2BlockCompressor(block, blockLength, finalBlockCrc);
+
+		if (executorService == null) {
+			long startTime = startTimer();
+			BZip2BitWriter compressedBlock = blockCompressor.compress();
+			stopTimer(startTime);
+			writeBlock(compressedBlock);
+		} else {
+			if (pendingBlocks.size() >= maxPendingBlocks) {
+				writeBlock(waitForBlock(pendingBlocks.poll()));
+			}
+			pendingBlocks.add(executorService.submit(blockCompressor::compress));
+			// The block is still read by the compressor
+			block = new byte[block.length];
+		}
+
+		blockLength = 0;
+		blockCrc = -1;
+	}
+
+	private BZip2BitWriter waitForBlock(Future<BZip2BitWriter> pendingBlock) throws IOException {
+		long startTime = startTimer();
+		try {
+			return pendingBlock.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ZipException("Interrupted while compressing a block", e);
+		} catch (ExecutionException e) {
+			throw new ZipException("Failed to compress a block", e);
+		} finally {
+			stopTimer(startTime);
+		}
+	}
+
+	private void writeBlock(BZip2BitWriter compressedBlock) throws IOException {
+		bitWriter.writeBits(compressedBlock);
+		if (bitWriter.getLength() >= bufferSize) {
+			flushBitWriter();
+		}
+	}
+
+	private void flushBitWriter() throws IOException {
+		super.write(bitWriter.getBuffer(), 0, bitWriter.getLength());
+		bitWriter.clear();
+	}
+
+	@Override
+	public void closeEntry() throws IOException {
+		if (runLength > 0) {
+			addRunToBlock();
+		}
+		endBlock();
+		while (!pendingBlocks.isEmpty()) {
+			writeBlock(waitForBlock(pendingBlocks.poll()));
+		}
+
+		bitWriter.writeBits(24, (int) (END_OF_STREAM_MAGIC >>> 24));
+		bitWriter.writeBits(24, (int) END_OF_STREAM_MAGIC);
+		bitWriter.writeBits(32, combinedCrc);
+		bitWriter.alignToByte();
+		flushBitWriter();
+		super.closeEntry();
+	}
+
+	@Override
+	public void close() throws IOException {
+		for (Future<BZip2BitWriter> pendingBlock : pendingBlocks) {
+			pendingBlock.cancel(true);
+		}
+		pendingBlocks.clear();
+		super.close();
+	}
+}
@@ -0,0 +1,163 @@
+package io.github.palexdev.zip4j.io.outputstream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * An output stream which writes directly to a {@link WritableByteChannel} without any intermediate copy of the data.
+ * <p>
+ * Small writes, like the zip headers, are staged and then written together with the data that follows them. When the
+ * channel is a {@link GatheringByteChannel} this is done with a single gathering write. Data from a {@link FileChannel}
+ * can be transferred to the channel without passing through the heap, see {@link #transferFrom(FileChannel, long, long)}.
+ * <p>
+ * Only blocking channels are supported, as every write waits until all the bytes are written. A
+ * {@link SelectableChannel} in non-blocking mode is rejected, and must not be switched to it while in use.
+ */
+public class ChannelOutputStream extends OutputStream {
+
+	private static final int STAGING_BUFF_SIZE = 1024;
+
+	private final WritableByteChannel channel;
+	private final ByteBuffer stagingBuffer = ByteBuffer.allocate(STAGING_BUFF_SIZE);
+	private final ByteBuffer[] gatheringBuffers = new ByteBuffer[2];
+	private boolean closed;
+
+	public ChannelOutputStream(WritableByteChannel channel) {
+		if (channel == null) {
+			throw new IllegalArgumentException("channel is null");
+		}
+
+		if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+			throw new IllegalArgumentException("channel is in non-blocking mode");
+		}
+
+		this.channel = channel;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[]{(byte) b});
+	}
+
+	@Override
+	public void write(byte[] b) throws IOException {
+		write(b, 0, b.length);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		write(ByteBuffer.wrap(b, off, len));
+	}
+
+	/**
+	 * Writes all the remaining bytes of the buffer to the channel
+	 *
+	 * @param src buffer to write
+	 * @throws IOException if the stream is closed or the channel throws an exception
+	 */
+	public void write(ByteBuffer src) throws IOException {
+		ensureOpen();
+
+		if (!src.hasRemaining()) {
+			return;
+		}
+
+		if (src.remaining() <= stagingBuffer.remaining()) {
+			stagingBuffer.put(src);
+			return;
+		}
+
+		if (stagingBuffer.position() == 0) {
+			writeFully(src);
+			return;
+		}
+
+		stagingBuffer.flip();
+		if (channel instanceof GatheringByteChannel) {
+			gatheringBuffers[0] = stagingBuffer;
+			gatheringBuffers[1] = src;
+			GatheringByteChannel gatheringByteChannel = (GatheringByteChannel) channel;
+			while (src.hasRemaining()) {
+				gatheringByteChannel.write(gatheringBuffers);
+			}
+			gatheringBuffers[0] = null;
+			gatheringBuffers[1] = null;
+		} else {
+			writeFully(stagingBuffer);
+			writeFully(src);
+		}
+		stagingBuffer.clear();
+	}
+
+	/**
+	 * Transfers count bytes starting at position from the source channel. Bytes are moved from the file to the target
+	 * channel by the operating system where possible, and are never copied to the java heap.
+	 *
+	 * @param source   file channel to read from
+	 * @param position position in the source file to start reading from
+	 * @param count    number of bytes to transfer
+	 * @return number of bytes transferred, which is always count
+	 * @throws IOException if the source has fewer than count bytes after position or the channel throws an exception
+	 */
+	public long transferFrom(FileChannel source, long position, long count) throws IOException {
+		ensureOpen();
+		flushStagingBuffer();
+
+		long transferred = 0;
+		while (transferred < count) {
+			long len = source.transferTo(position + transferred, count - transferred, channel);
+			if (len <= 0 && position + transferred >= source.size()) {
+				throw new IOException("Unexpected end of source channel after " + transferred + " bytes");
+			}
+			transferred += len;
+		}
+		return transferred;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		ensureOpen();
+		flushStagingBuffer();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+
+		try {
+			flushStagingBuffer();
+		} finally {
+			closed = true;
+			channel.close();
+		}
+	}
+
+	private void flushStagingBuffer() throws IOException {
+		if (stagingBuffer.position() == 0) {
+			return;
+		}
+
+		stagingBuffer.flip();
+		writeFully(stagingBuffer);
+		stagingBuffer.clear();
+	}
+
+	private void writeFully(ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException("Stream is closed");
+		}
+	}
+}
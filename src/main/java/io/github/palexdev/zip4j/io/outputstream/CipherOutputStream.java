@@ -21,11 +21,14 @@ import io.github.palexdev.zip4j.model.ZipParameters;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 
 abstract class CipherOutputStream<T extends Encrypter> extends OutputStream {
 
 	private ZipEntryOutputStream zipEntryOutputStream;
 	private T encrypter;
+	private boolean timed;
+	private long encryptionTime;
 
 	public CipherOutputStream(ZipEntryOutputStream zipEntryOutputStream, ZipParameters zipParameters, char[] password,
 	                          boolean useUtf8ForPassword) throws IOException {
@@ -45,10 +48,23 @@ abstract class CipherOutputStream<T extends Encrypter> extends OutputStream {
 
 	@Override
 	public void write(byte[] b, int off, int len) throws IOException {
-		encrypter.encryptData(b, off, len);
+		if (timed) {
+			long startTime = System.nanoTime();
+			encrypter.encryptData(b, off, len);
+			encryptionTime += System.nanoTime() - startTime;
+		} else {
+			encrypter.encryptData(b, off, len);
+		}
 		zipEntryOutputStream.write(b, off, len);
 	}
 
+	/**
+	 * Transfers the bytes as they are, without encrypting them. Only meant to be used for entries which are not encrypted
+	 */
+	public void transferFrom(FileChannel source, long position, long count) throws IOException {
+		zipEntryOutputStream.transferFrom(source, position, count);
+	}
+
 	public void writeHeaders(byte[] b) throws IOException {
 		zipEntryOutputStream.write(b);
 	}
@@ -66,6 +82,20 @@ abstract class CipherOutputStream<T extends Encrypter> extends OutputStream {
 		return zipEntryOutputStream.getNumberOfBytesWrittenForThisEntry();
 	}
 
+	/**
+	 * Enables measuring the time spent encrypting, see {@link #getEncryptionTime()}
+	 */
+	void setTimed(boolean timed) {
+		this.timed = timed;
+	}
+
+	/**
+	 * @return nanoseconds spent encrypting this entry, or 0 if timing is not enabled
+	 */
+	long getEncryptionTime() {
+		return encryptionTime;
+	}
+
 	protected T getEncrypter() {
 		return encrypter;
 	}
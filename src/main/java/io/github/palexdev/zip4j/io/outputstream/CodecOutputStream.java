@@ -0,0 +1,59 @@
+package io.github.palexdev.zip4j.io.outputstream;
+
+import io.github.palexdev.zip4j.codec.CompressionCodec;
+import io.github.palexdev.zip4j.model.ZipParameters;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Compresses data with a {@link CompressionCodec}. The compression time includes writing the compressed data.
+ */
+class CodecOutputStream extends CompressedOutputStream {
+
+	private final OutputStream compressor;
+
+	public CodecOutputStream(CipherOutputStream<?> cipherOutputStream, CompressionCodec compressionCodec,
+	                         ZipParameters zipParameters, ExecutorService executorService) throws IOException {
+		super(cipherOutputStream);
+		this.compressor = compressionCodec.createCompressor(new CompressedDataOutputStream(), zipParameters,
+				executorService);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		long startTime = startTimer();
+		compressor.write(b, off, len);
+		stopTimer(startTime);
+	}
+
+	@Override
+	public void closeEntry() throws IOException {
+		long startTime = startTimer();
+		compressor.close();
+		stopTimer(startTime);
+		super.closeEntry();
+	}
+
+	private void writeCompressedData(byte[] b, int off, int len) throws IOException {
+		super.write(b, off, len);
+	}
+
+	/**
+	 * The stream the codec writes the compressed data to. Closing it does nothing, the entry is closed by the zip
+	 * output stream
+	 */
+	private class CompressedDataOutputStream extends OutputStream {
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[]{(byte) b}, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			writeCompressedData(b, off, len);
+		}
+	}
+}
@@ -2,10 +2,13 @@ package io.github.palexdev.zip4j.io.outputstream;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 
 abstract class CompressedOutputStream extends OutputStream {
 
 	private CipherOutputStream<?> cipherOutputStream;
+	private boolean timed;
+	private long compressionTime;
 
 	public CompressedOutputStream(CipherOutputStream<?> cipherOutputStream) {
 		this.cipherOutputStream = cipherOutputStream;
@@ -26,6 +29,13 @@ abstract class CompressedOutputStream extends OutputStream {
 		cipherOutputStream.write(b, off, len);
 	}
 
+	/**
+	 * Transfers the bytes as they are, bypassing compression. Only meant to be used for entries which are stored
+	 */
+	public void transferFrom(FileChannel source, long position, long count) throws IOException {
+		cipherOutputStream.transferFrom(source, position, count);
+	}
+
 	protected void closeEntry() throws IOException {
 		cipherOutputStream.closeEntry();
 	}
@@ -38,4 +48,28 @@ abstract class CompressedOutputStream extends OutputStream {
 	public long getCompressedSize() {
 		return cipherOutputStream.getNumberOfBytesWrittenForThisEntry();
 	}
+
+	/**
+	 * Enables measuring the time spent compressing, see {@link #getCompressionTime()}
+	 */
+	void setTimed(boolean timed) {
+		this.timed = timed;
+	}
+
+	/**
+	 * @return nanoseconds spent compressing this entry, or 0 if timing is not enabled
+	 */
+	long getCompressionTime() {
+		return compressionTime;
+	}
+
+	protected long startTimer() {
+		return timed ? System.nanoTime() : 0;
+	}
+
+	protected void stopTimer(long startTime) {
+		if (timed) {
+			compressionTime += System.nanoTime() - startTime;
+		}
+	}
 }
@@ -1,9 +1,12 @@
 package io.github.palexdev.zip4j.io.outputstream;
 
 import io.github.palexdev.zip4j.exception.ZipException;
+import io.github.palexdev.zip4j.util.InternalZipConstants;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 public class CountingOutputStream extends OutputStream implements OutputStreamWithSplitZipSupport {
 
@@ -30,6 +33,36 @@ public class CountingOutputStream extends OutputStream implements OutputStreamWi
 		numberOfBytesWritten += len;
 	}
 
+	/**
+	 * @return true if bytes given to {@link #transferFrom(FileChannel, long, long)} are transferred by the operating
+	 * system, false if they are copied through the heap
+	 */
+	public boolean isTransferSupported() {
+		return outputStream instanceof ChannelOutputStream;
+	}
+
+	public long transferFrom(FileChannel source, long position, long count) throws IOException {
+		if (outputStream instanceof ChannelOutputStream) {
+			((ChannelOutputStream) outputStream).transferFrom(source, position, count);
+		} else {
+			ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(count, InternalZipConstants.BUFF_SIZE));
+			long transferred = 0;
+			while (transferred < count) {
+				buffer.clear();
+				buffer.limit((int) Math.min(buffer.capacity(), count - transferred));
+				int readLen = source.read(buffer, position + transferred);
+				if (readLen == -1) {
+					throw new IOException("Unexpected end of source channel after " + transferred + " bytes");
+				}
+				outputStream.write(buffer.array(), 0, readLen);
+				transferred += readLen;
+			}
+		}
+
+		numberOfBytesWritten += count;
+		return count;
+	}
+
 	@Override
 	public int getCurrentSplitFileCounter() {
 		if (isSplitZipFile()) {
@@ -68,6 +101,14 @@ public class CountingOutputStream extends OutputStream implements OutputStreamWi
 		return numberOfBytesWritten;
 	}
 
+	/**
+	 * @return number of bytes written through this stream, over all split files. Unlike
+	 * {@link #getNumberOfBytesWritten()}, this does not include data which was in the file before this stream was created
+	 */
+	public long getTotalNumberOfBytesWritten() {
+		return numberOfBytesWritten;
+	}
+
 	public boolean checkBuffSizeAndStartNextSplitFile(int bufferSize) throws ZipException {
 		if (!isSplitZipFile()) {
 			return false;
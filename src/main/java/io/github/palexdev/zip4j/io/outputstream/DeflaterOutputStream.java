@@ -25,6 +25,7 @@ class DeflaterOutputStream extends CompressedOutputStream {
 
 	private byte[] buff;
 	protected Deflater deflater;
+	private AdaptiveCompressionLevel adaptiveCompressionLevel;
 
 	public DeflaterOutputStream(CipherOutputStream<?> cipherOutputStream, CompressionLevel compressionLevel, int bufferSize) {
 		super(cipherOutputStream);
@@ -32,6 +33,16 @@ class DeflaterOutputStream extends CompressedOutputStream {
 		buff = new byte[bufferSize];
 	}
 
+	/**
+	 * Creates a stream which changes the compression level while the entry is written, as picked by the given
+	 * adaptive compression level
+	 */
+	DeflaterOutputStream(CipherOutputStream<?> cipherOutputStream, AdaptiveCompressionLevel adaptiveCompressionLevel,
+	                     int bufferSize) {
+		this(cipherOutputStream, adaptiveCompressionLevel.getCompressionLevel(), bufferSize);
+		this.adaptiveCompressionLevel = adaptiveCompressionLevel;
+	}
+
 	public void write(byte[] b) throws IOException {
 		write(b, 0, b.length);
 	}
@@ -43,14 +54,24 @@ class DeflaterOutputStream extends CompressedOutputStream {
 	}
 
 	public void write(byte[] buf, int off, int len) throws IOException {
+		long adaptiveStartTime = adaptiveCompressionLevel != null ? System.nanoTime() : 0;
+
 		deflater.setInput(buf, off, len);
 		while (!deflater.needsInput()) {
 			deflate();
 		}
+
+		if (adaptiveCompressionLevel != null) {
+			// Includes the time spent writing the compressed data, so that a slow output lowers the level as well
+			adaptiveCompressionLevel.update(len, System.nanoTime() - adaptiveStartTime);
+			deflater.setLevel(adaptiveCompressionLevel.getLevel());
+		}
 	}
 
 	private void deflate() throws IOException {
+		long startTime = startTimer();
 		int len = deflater.deflate(buff, 0, buff.length);
+		stopTimer(startTime);
 		if (len > 0) {
 			super.write(buff, 0, len);
 		}
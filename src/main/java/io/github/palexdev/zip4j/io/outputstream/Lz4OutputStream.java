@@ -0,0 +1,172 @@
+package io.github.palexdev.zip4j.io.outputstream;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static io.github.palexdev.zip4j.util.Lz4Constants.*;
+
+/**
+ * Compresses data with the LZ4 compression method of zip4j, which only finds matches through a hash table of the last
+ * positions of each 4 bytes and does no entropy coding, and so is several times faster than deflate at the cost of
+ * the compression ratio. The data is compressed in independent blocks of 64 KB.
+ * <p>
+ * Positions are skipped faster the longer no match is found, so that data which does not compress goes through quickly.
+ */
+class Lz4OutputStream extends CompressedOutputStream {
+
+	private static final int HASH_LOG = 14;
+	private static final int SKIP_STRENGTH = 6;
+	private static final VarHandle INT_LITTLE_ENDIAN = MethodHandles.byteArrayViewVarHandle(int[].class,
+			ByteOrder.LITTLE_ENDIAN);
+
+	private final byte[] block = new byte[1 << BLOCK_SIZE_LOG];
+	private int blockLength;
+	private final byte[] compressedBlock = new byte[BLOCK_HEADER_SIZE + getMaxCompressedBlockSize(block.length)];
+	// Positions in the block of the last bytes with each hash. Entries of previous blocks do not have to be cleared,
+	// as matches are always checked against the bytes of the current block
+	private final int[] hashTable = new int[1 << HASH_LOG];
+
+	public Lz4OutputStream(CipherOutputStream<?> cipherOutputStream) {
+		super(cipherOutputStream);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		while (len > 0) {
+			int count = Math.min(len, block.length - blockLength);
+			System.arraycopy(b, off, block, blockLength, count);
+			blockLength += count;
+			off += count;
+			len -= count;
+
+			if (blockLength == block.length) {
+				writeBlock();
+			}
+		}
+	}
+
+	private void writeBlock() throws IOException {
+		long startTime = startTimer();
+		int compressedLength = compressBlock(block, blockLength, compressedBlock, BLOCK_HEADER_SIZE, hashTable);
+		stopTimer(startTime);
+
+		if (compressedLength < blockLength) {
+			writeIntLittleEndian(compressedBlock, 0, compressedLength);
+			super.write(compressedBlock, 0, BLOCK_HEADER_SIZE + compressedLength);
+		} else {
+			writeIntLittleEndian(compressedBlock, 0, STORED_BLOCK_FLAG | blockLength);
+			super.write(compressedBlock, 0, BLOCK_HEADER_SIZE);
+			super.write(block, 0, blockLength);
+		}
+		blockLength = 0;
+	}
+
+	@Override
+	public void closeEntry() throws IOException {
+		if (blockLength > 0) {
+			writeBlock();
+		}
+		super.write(new byte[BLOCK_HEADER_SIZE], 0, BLOCK_HEADER_SIZE);
+		super.closeEntry();
+	}
+
+	/**
+	 * Compresses the given bytes in the LZ4 block format: a sequence of literals and matches, each with a token of the
+	 * literal length and the match length, and the offset of the match. The last sequence only has literals.
+	 *
+	 * @return length of the compressed data written to dst, which is longer than the input if nothing matches
+	 */
+	static int compressBlock(byte[] src, int length, byte[] dst, int dstOff, int[] hashTable) {
+		int op = dstOff;
+		int anchor = 0;
+		int pos = 0;
+		int matchLimit = length - MATCH_FIND_LIMIT;
+		int matchEndLimit = length - LAST_LITERALS;
+
+		while (pos < matchLimit) {
+			int sequence = readIntLittleEndian(src, pos);
+			int hash = hash(sequence);
+			int candidate = hashTable[hash];
+			hashTable[hash] = pos;
+
+			if (candidate >= pos || pos - candidate > MAX_OFFSET || readIntLittleEndian(src, candidate) != sequence) {
+				pos += 1 + ((pos - anchor) >>> SKIP_STRENGTH);
+				continue;
+			}
+
+			while (pos > anchor && candidate > 0 && src[pos - 1] == src[candidate - 1]) {
+				pos--;
+				candidate--;
+			}
+
+			int matchLength = MIN_MATCH + getMatchLength(src, candidate + MIN_MATCH, pos + MIN_MATCH, matchEndLimit);
+
+			op = writeSequence(src, anchor, pos - anchor, pos - candidate, matchLength, dst, op);
+			pos += matchLength;
+			anchor = pos;
+
+			if (pos < matchLimit) {
+				hashTable[hash(readIntLittleEndian(src, pos - 2))] = pos - 2;
+			}
+		}
+
+		op = writeLiterals(src, anchor, length - anchor, dst, op);
+		return op - dstOff;
+	}
+
+	private static int getMatchLength(byte[] src, int candidate, int pos, int limit) {
+		int mismatch = Arrays.mismatch(src, candidate, candidate + limit - pos, src, pos, limit);
+		return mismatch < 0 ? limit - pos : mismatch;
+	}
+
+	private static int writeSequence(byte[] src, int literalsStart, int literalLength, int offset, int matchLength,
+	                                 byte[] dst, int op) {
+		int matchLengthCode = matchLength - MIN_MATCH;
+		int tokenPosition = op;
+		op = writeLiterals(src, literalsStart, literalLength, dst, op);
+		dst[tokenPosition] |= (byte) Math.min(matchLengthCode, RUN_MASK);
+
+		dst[op++] = (byte) offset;
+		dst[op++] = (byte) (offset >>> 8);
+		if (matchLengthCode >= RUN_MASK) {
+			op = writeLengthBytes(matchLengthCode - RUN_MASK, dst, op);
+		}
+		return op;
+	}
+
+	private static int writeLiterals(byte[] src, int literalsStart, int literalLength, byte[] dst, int op) {
+		dst[op++] = (byte) (Math.min(literalLength, RUN_MASK) << 4);
+		if (literalLength >= RUN_MASK) {
+			op = writeLengthBytes(literalLength - RUN_MASK, dst, op);
+		}
+		System.arraycopy(src, literalsStart, dst, op, literalLength);
+		return op + literalLength;
+	}
+
+	private static int writeLengthBytes(int length, byte[] dst, int op) {
+		while (length >= 255) {
+			dst[op++] = (byte) 255;
+			length -= 255;
+		}
+		dst[op++] = (byte) length;
+		return op;
+	}
+
+	private static int hash(int sequence) {
+		return (sequence * -1640531535) >>> (32 - HASH_LOG);
+	}
+
+	private static int readIntLittleEndian(byte[] b, int pos) {
+		return (int) INT_LITTLE_ENDIAN.get(b, pos);
+	}
+
+	private static void writeIntLittleEndian(byte[] b, int pos, int value) {
+		b[pos] = (byte) value;
+		b[pos + 1] = (byte) (value >>> 8);
+		b[pos + 2] = (byte) (value >>> 16);
+		b[pos + 3] = (byte) (value >>> 24);
+	}
+}
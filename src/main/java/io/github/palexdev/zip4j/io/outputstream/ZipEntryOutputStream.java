@@ -2,14 +2,15 @@ package io.github.palexdev.zip4j.io.outputstream;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 
 class ZipEntryOutputStream extends OutputStream {
 
 	private long numberOfBytesWrittenForThisEntry = 0;
-	private OutputStream outputStream;
+	private CountingOutputStream outputStream;
 	private boolean entryClosed;
 
-	public ZipEntryOutputStream(OutputStream outputStream) {
+	public ZipEntryOutputStream(CountingOutputStream outputStream) {
 		this.outputStream = outputStream;
 		entryClosed = false;
 	}
@@ -34,6 +35,15 @@ class ZipEntryOutputStream extends OutputStream {
 		numberOfBytesWrittenForThisEntry += len;
 	}
 
+	public void transferFrom(FileChannel source, long position, long count) throws IOException {
+		if (entryClosed) {
+			throw new IllegalStateException("ZipEntryOutputStream is closed");
+		}
+
+		outputStream.transferFrom(source, position, count);
+		numberOfBytesWrittenForThisEntry += count;
+	}
+
 	public void closeEntry() throws IOException {
 		entryClosed = true;
 	}
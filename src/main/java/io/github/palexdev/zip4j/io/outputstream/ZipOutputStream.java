@@ -1,20 +1,31 @@
 package io.github.palexdev.zip4j.io.outputstream;
 
+import io.github.palexdev.zip4j.codec.CompressionCodec;
+import io.github.palexdev.zip4j.codec.CompressionCodecs;
 import io.github.palexdev.zip4j.exception.ZipException;
 import io.github.palexdev.zip4j.headers.FileHeaderFactory;
 import io.github.palexdev.zip4j.headers.HeaderSignature;
 import io.github.palexdev.zip4j.headers.HeaderWriter;
+import io.github.palexdev.zip4j.jfr.JfrSupport;
+import io.github.palexdev.zip4j.jfr.ZipEntryWriteEvent;
 import io.github.palexdev.zip4j.model.*;
 import io.github.palexdev.zip4j.model.enums.AesVersion;
 import io.github.palexdev.zip4j.model.enums.CompressionMethod;
 import io.github.palexdev.zip4j.model.enums.EncryptionMethod;
+import io.github.palexdev.zip4j.progress.Zip4jMetrics;
 import io.github.palexdev.zip4j.util.InternalZipConstants;
 import io.github.palexdev.zip4j.util.RawIO;
 import io.github.palexdev.zip4j.util.Zip4jUtil;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.zip.CRC32;
 
 import static io.github.palexdev.zip4j.util.FileUtils.isZipEntryDirectory;
@@ -26,6 +37,7 @@ public class ZipOutputStream extends OutputStream {
 	private char[] password;
 	private ZipModel zipModel;
 	private CompressedOutputStream compressedOutputStream;
+	private CipherOutputStream<?> cipherOutputStream;
 	private FileHeader fileHeader;
 	private LocalFileHeader localFileHeader;
 	private FileHeaderFactory fileHeaderFactory = new FileHeaderFactory();
@@ -33,7 +45,15 @@ public class ZipOutputStream extends OutputStream {
 	private CRC32 crc32 = new CRC32();
 	private RawIO rawIO = new RawIO();
 	private long uncompressedSizeForThisEntry = 0;
+	private ZipParameters zipParametersForThisEntry;
+	private byte[] byteBufferCopyBuff;
 	private Zip4jConfig zip4jConfig;
+	private Zip4jMetrics metrics;
+	private AdaptiveCompressionLevel adaptiveCompressionLevel;
+	private ExecutorService blockCompressionExecutorService;
+	private int blockCompressionThreads;
+	private ZipEntryWriteEvent zipEntryWriteEvent;
+	private long bytesWrittenReported;
 	private boolean streamClosed;
 	private boolean entryClosed = true;
 
@@ -56,6 +76,29 @@ public class ZipOutputStream extends OutputStream {
 				new ZipModel());
 	}
 
+	/**
+	 * Creates a zip output stream which writes directly to the given channel. This avoids the copies involved in
+	 * bridging a channel through an {@link OutputStream} and allows stored entries to be transferred from a
+	 * {@link FileChannel} without passing through the heap, see {@link #transferFrom(FileChannel, long, long)}
+	 *
+	 * @param channel channel to write the zip file to, which has to be in blocking mode
+	 */
+	public ZipOutputStream(WritableByteChannel channel) throws IOException {
+		this(channel, null);
+	}
+
+	public ZipOutputStream(WritableByteChannel channel, char[] password) throws IOException {
+		this(channel,
+				password,
+				new Zip4jConfig(null, BUFF_SIZE, USE_UTF8_FOR_PASSWORD_ENCODING_DECODING),
+				new ZipModel());
+	}
+
+	public ZipOutputStream(WritableByteChannel channel, char[] password, Zip4jConfig zip4jConfig,
+	                       ZipModel zipModel) throws IOException {
+		this(new ChannelOutputStream(channel), password, zip4jConfig, zipModel);
+	}
+
 	public ZipOutputStream(OutputStream outputStream, char[] password, Zip4jConfig zip4jConfig,
 	                       ZipModel zipModel) throws IOException {
 		if (zip4jConfig.getBufferSize() < InternalZipConstants.MIN_BUFF_SIZE) {
@@ -65,12 +108,18 @@ public class ZipOutputStream extends OutputStream {
 		this.countingOutputStream = new CountingOutputStream(outputStream);
 		this.password = password;
 		this.zip4jConfig = zip4jConfig;
+		this.metrics = zip4jConfig.getMetrics();
 		this.zipModel = initializeZipModel(zipModel, countingOutputStream);
 		this.streamClosed = false;
 		writeSplitZipHeaderIfApplicable();
 	}
 
 	public void putNextEntry(ZipParameters zipParameters) throws IOException {
+		zipEntryWriteEvent = JfrSupport.isAvailable() ? new ZipEntryWriteEvent() : null;
+		if (zipEntryWriteEvent != null) {
+			zipEntryWriteEvent.begin();
+		}
+
 		verifyZipParameters(zipParameters);
 		ZipParameters clonedZipParameters = cloneAndPrepareZipParameters(zipParameters);
 		initializeAndWriteFileHeader(clonedZipParameters);
@@ -79,6 +128,7 @@ public class ZipOutputStream extends OutputStream {
 		//because local header data should be written first and then the encryption header data
 		//and below initialisation writes encryption header data
 		compressedOutputStream = initializeCompressedOutputStream(clonedZipParameters);
+		zipParametersForThisEntry = clonedZipParameters;
 		this.entryClosed = false;
 	}
 
@@ -97,6 +147,57 @@ public class ZipOutputStream extends OutputStream {
 		uncompressedSizeForThisEntry += len;
 	}
 
+	/**
+	 * Writes all the remaining bytes of the buffer to the current entry
+	 *
+	 * @param src buffer to write
+	 * @throws IOException if the stream is closed or the underlying stream throws an exception
+	 */
+	public void write(ByteBuffer src) throws IOException {
+		if (src.hasArray()) {
+			int len = src.remaining();
+			write(src.array(), src.arrayOffset() + src.position(), len);
+			src.position(src.position() + len);
+			return;
+		}
+
+		if (byteBufferCopyBuff == null) {
+			byteBufferCopyBuff = new byte[zip4jConfig.getBufferSize()];
+		}
+
+		while (src.hasRemaining()) {
+			int len = Math.min(src.remaining(), byteBufferCopyBuff.length);
+			src.get(byteBufferCopyBuff, 0, len);
+			write(byteBufferCopyBuff, 0, len);
+		}
+	}
+
+	/**
+	 * Writes count bytes starting at position in the source file to the current entry. For entries which are stored
+	 * without encryption, and when this stream was created for a {@link WritableByteChannel}, the bytes are transferred
+	 * to the channel by the operating system and are never copied to the heap. The checksum of the entry is computed
+	 * on a memory mapped view of the file in that case. In any other case this behaves like reading the file and
+	 * calling {@link #write(byte[], int, int)}, so that the file is read only once.
+	 *
+	 * @param source   file channel to read from
+	 * @param position position in the source file to start reading from
+	 * @param count    number of bytes to write
+	 * @throws IOException if the source has fewer than count bytes after position or an I/O error occurs
+	 */
+	public void transferFrom(FileChannel source, long position, long count) throws IOException {
+		ensureStreamOpen();
+
+		if (zipParametersForThisEntry.getCompressionMethod() != CompressionMethod.STORE
+				|| zipParametersForThisEntry.isEncryptFiles() || !countingOutputStream.isTransferSupported()) {
+			copyFrom(source, position, count);
+			return;
+		}
+
+		updateCrc(source, position, count);
+		compressedOutputStream.transferFrom(source, position, count);
+		uncompressedSizeForThisEntry += count;
+	}
+
 	public FileHeader closeEntry() throws IOException {
 		compressedOutputStream.closeEntry();
 
@@ -118,6 +219,8 @@ public class ZipOutputStream extends OutputStream {
 		if (localFileHeader.isDataDescriptorExists()) {
 			headerWriter.writeExtendedLocalHeader(localFileHeader, countingOutputStream);
 		}
+		reportEntryMetrics();
+		commitZipEntryWriteEvent();
 		reset();
 		this.entryClosed = true;
 		return fileHeader;
@@ -131,7 +234,9 @@ public class ZipOutputStream extends OutputStream {
 
 		zipModel.getEndOfCentralDirectoryRecord().setOffsetOfStartOfCentralDirectory(countingOutputStream.getNumberOfBytesWritten());
 		headerWriter.finalizeZipFile(zipModel, countingOutputStream, zip4jConfig.getCharset());
+		reportBytesWritten();
 		countingOutputStream.close();
+		shutdownBlockCompressionExecutorService();
 		this.streamClosed = true;
 	}
 
@@ -168,8 +273,38 @@ public class ZipOutputStream extends OutputStream {
 		headerWriter.writeLocalFileHeader(zipModel, localFileHeader, countingOutputStream, zip4jConfig.getCharset());
 	}
 
+	private void copyFrom(FileChannel source, long position, long count) throws IOException {
+		if (byteBufferCopyBuff == null) {
+			byteBufferCopyBuff = new byte[zip4jConfig.getBufferSize()];
+		}
+
+		ByteBuffer buffer = ByteBuffer.wrap(byteBufferCopyBuff);
+		long copied = 0;
+		while (copied < count) {
+			buffer.clear();
+			buffer.limit((int) Math.min(buffer.capacity(), count - copied));
+			int readLen = source.read(buffer, position + copied);
+			if (readLen == -1) {
+				throw new IOException("Unexpected end of source channel after " + copied + " bytes");
+			}
+			write(byteBufferCopyBuff, 0, readLen);
+			copied += readLen;
+		}
+	}
+
+	private void updateCrc(FileChannel source, long position, long count) throws IOException {
+		long mapped = 0;
+		while (mapped < count) {
+			long len = Math.min(count - mapped, Integer.MAX_VALUE);
+			MappedByteBuffer mappedByteBuffer = source.map(FileChannel.MapMode.READ_ONLY, position + mapped, len);
+			crc32.update(mappedByteBuffer);
+			mapped += len;
+		}
+	}
+
 	private void reset() throws IOException {
 		uncompressedSizeForThisEntry = 0;
+		zipParametersForThisEntry = null;
 		crc32.reset();
 		compressedOutputStream.close();
 	}
@@ -183,9 +318,58 @@ public class ZipOutputStream extends OutputStream {
 	}
 
 	private CompressedOutputStream initializeCompressedOutputStream(ZipParameters zipParameters) throws IOException {
+		boolean timed = metrics != Zip4jMetrics.NO_OP;
+		long startTime = timed ? System.nanoTime() : 0;
+
 		ZipEntryOutputStream zipEntryOutputStream = new ZipEntryOutputStream(countingOutputStream);
-		CipherOutputStream<?> cipherOutputStream = initializeCipherOutputStream(zipEntryOutputStream, zipParameters);
-		return initializeCompressedOutputStream(cipherOutputStream, zipParameters);
+		cipherOutputStream = initializeCipherOutputStream(zipEntryOutputStream, zipParameters);
+		if (timed && zipParameters.isEncryptFiles() && zipParameters.getEncryptionMethod() == EncryptionMethod.AES) {
+			// The keys are derived from the password when the cipher stream is created
+			metrics.keyDerived(System.nanoTime() - startTime);
+		}
+		cipherOutputStream.setTimed(timed);
+
+		CompressedOutputStream compressedOutputStream = initializeCompressedOutputStream(cipherOutputStream, zipParameters);
+		compressedOutputStream.setTimed(timed);
+		return compressedOutputStream;
+	}
+
+	private void commitZipEntryWriteEvent() {
+		if (zipEntryWriteEvent == null || !zipEntryWriteEvent.shouldCommit()) {
+			return;
+		}
+
+		zipEntryWriteEvent.entryName = fileHeader.getFileName();
+		zipEntryWriteEvent.uncompressedSize = uncompressedSizeForThisEntry;
+		zipEntryWriteEvent.compressedSize = fileHeader.getCompressedSize();
+		zipEntryWriteEvent.compressionMethod = zipParametersForThisEntry.getCompressionMethod().name();
+		zipEntryWriteEvent.encryptionMethod = zipParametersForThisEntry.isEncryptFiles()
+				? zipParametersForThisEntry.getEncryptionMethod().name() : EncryptionMethod.NONE.name();
+		zipEntryWriteEvent.commit();
+	}
+
+	private void reportEntryMetrics() {
+		if (metrics == Zip4jMetrics.NO_OP) {
+			return;
+		}
+
+		if (zipParametersForThisEntry.getCompressionMethod() != CompressionMethod.STORE) {
+			metrics.entryCompressed(zipParametersForThisEntry.getCompressionMethod(), uncompressedSizeForThisEntry,
+					fileHeader.getCompressedSize(), compressedOutputStream.getCompressionTime());
+		}
+
+		if (zipParametersForThisEntry.isEncryptFiles()) {
+			metrics.entryEncrypted(zipParametersForThisEntry.getEncryptionMethod(), fileHeader.getCompressedSize(),
+					cipherOutputStream.getEncryptionTime());
+		}
+
+		reportBytesWritten();
+	}
+
+	private void reportBytesWritten() {
+		long bytesWritten = countingOutputStream.getTotalNumberOfBytesWritten();
+		metrics.bytesWritten(bytesWritten - bytesWrittenReported);
+		bytesWrittenReported = bytesWritten;
 	}
 
 	private CipherOutputStream<?> initializeCipherOutputStream(ZipEntryOutputStream zipEntryOutputStream,
@@ -210,19 +394,74 @@ public class ZipOutputStream extends OutputStream {
 	}
 
 	private CompressedOutputStream initializeCompressedOutputStream(CipherOutputStream<?> cipherOutputStream,
-	                                                                ZipParameters zipParameters) {
+	                                                                ZipParameters zipParameters) throws IOException {
+		CompressionCodec compressionCodec = CompressionCodecs.getCompressor(zipParameters.getCompressionMethod());
+		if (compressionCodec != null) {
+			return new CodecOutputStream(cipherOutputStream, compressionCodec, zipParameters,
+					zipParameters.getCompressionThreads() > 1 ? getBlockCompressionExecutorService(zipParameters) : null);
+		}
+
 		if (zipParameters.getCompressionMethod() == CompressionMethod.DEFLATE) {
+			if (zipParameters.getTargetThroughput() > 0) {
+				return new DeflaterOutputStream(cipherOutputStream, getAdaptiveCompressionLevel(zipParameters),
+						zip4jConfig.getBufferSize());
+			}
 			return new DeflaterOutputStream(cipherOutputStream, zipParameters.getCompressionLevel(), zip4jConfig.getBufferSize());
+		} else if (zipParameters.getCompressionMethod() == CompressionMethod.BZIP2) {
+			if (zipParameters.getCompressionThreads() > 1) {
+				return new BZip2OutputStream(cipherOutputStream, zipParameters.getCompressionLevel(),
+						zip4jConfig.getBufferSize(), getBlockCompressionExecutorService(zipParameters),
+						zipParameters.getCompressionThreads());
+			}
+			return new BZip2OutputStream(cipherOutputStream, zipParameters.getCompressionLevel(), zip4jConfig.getBufferSize());
+		} else if (zipParameters.getCompressionMethod() == CompressionMethod.LZ4) {
+			return new Lz4OutputStream(cipherOutputStream);
 		}
 
 		return new StoreOutputStream(cipherOutputStream);
 	}
 
+	private AdaptiveCompressionLevel getAdaptiveCompressionLevel(ZipParameters zipParameters) {
+		if (adaptiveCompressionLevel == null
+				|| adaptiveCompressionLevel.getTargetThroughput() != zipParameters.getTargetThroughput()) {
+			adaptiveCompressionLevel = new AdaptiveCompressionLevel(zipParameters.getTargetThroughput(),
+					zipParameters.getCompressionLevel());
+		}
+		return adaptiveCompressionLevel;
+	}
+
+	/**
+	 * The threads are kept for the next entries and stopped when this stream is closed
+	 */
+	private ExecutorService getBlockCompressionExecutorService(ZipParameters zipParameters) {
+		if (blockCompressionExecutorService == null || blockCompressionThreads != zipParameters.getCompressionThreads()) {
+			shutdownBlockCompressionExecutorService();
+			blockCompressionThreads = zipParameters.getCompressionThreads();
+			blockCompressionExecutorService = Executors.newFixedThreadPool(blockCompressionThreads, runnable -> {
+				Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return blockCompressionExecutorService;
+	}
+
+	private void shutdownBlockCompressionExecutorService() {
+		if (blockCompressionExecutorService != null) {
+			blockCompressionExecutorService.shutdownNow();
+			blockCompressionExecutorService = null;
+		}
+	}
+
 	private void verifyZipParameters(ZipParameters zipParameters) {
 		if (Zip4jUtil.isStringNullOrEmpty(zipParameters.getFileNameInZip())) {
 			throw new IllegalArgumentException("fileNameInZip is null or empty");
 		}
 
+		if (!CompressionCodecs.isCompressionSupported(zipParameters.getCompressionMethod())) {
+			throw new IllegalArgumentException("unsupported compression method: " + zipParameters.getCompressionMethod());
+		}
+
 		if (zipParameters.getCompressionMethod() == CompressionMethod.STORE
 				&& zipParameters.getEntrySize() < 0
 				&& !isZipEntryDirectory(zipParameters.getFileNameInZip())
@@ -255,6 +494,12 @@ public class ZipOutputStream extends OutputStream {
 			clonedZipParameters.setLastModifiedFileTime(System.currentTimeMillis());
 		}
 
+		if (clonedZipParameters.getCompressionMethod() == CompressionMethod.DEFLATE
+				&& zipParameters.getTargetThroughput() > 0) {
+			// The headers record the level the entry starts with
+			clonedZipParameters.setCompressionLevel(getAdaptiveCompressionLevel(zipParameters).getCompressionLevel());
+		}
+
 		return clonedZipParameters;
 	}
 }
@@ -0,0 +1,25 @@
+package io.github.palexdev.zip4j.jfr;
+
+/**
+ * Tells whether JFR events can be recorded. The {@code jdk.jfr} module is optional, so the event classes of this package
+ * cannot be loaded when it is not in the runtime, like in a jlink image without it. Events must only be created when
+ * {@link #isAvailable()} returns true, and their references are null otherwise.
+ */
+public final class JfrSupport {
+
+	private JfrSupport() {
+
+	}
+
+	/**
+	 * @return true if the {@code jdk.jfr} module is present and events can be created
+	 */
+	public static boolean isAvailable() {
+		return Holder.AVAILABLE;
+	}
+
+	private static class Holder {
+
+		private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+	}
+}
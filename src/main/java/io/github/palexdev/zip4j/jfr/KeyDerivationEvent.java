@@ -0,0 +1,23 @@
+package io.github.palexdev.zip4j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded for every derivation of AES keys from a password with PBKDF2
+ */
+@Name("io.github.palexdev.zip4j.KeyDerivation")
+@Label("AES Key Derivation")
+@Category("Zip4j")
+@Description("Derivation of AES keys from a password with PBKDF2")
+public class KeyDerivationEvent extends Event {
+
+	@Label("Key Strength")
+	public String aesKeyStrength;
+
+	@Label("Iterations")
+	public int iterations;
+}
@@ -0,0 +1,35 @@
+package io.github.palexdev.zip4j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded for every entry read by a ZipInputStream, from the local file header until the end of the entry data
+ */
+@Name("io.github.palexdev.zip4j.ZipEntryRead")
+@Label("Zip Entry Read")
+@Category("Zip4j")
+@Description("Reading, decryption and decompression of a zip entry")
+public class ZipEntryReadEvent extends Event {
+
+	@Label("Entry Name")
+	public String entryName;
+
+	@Label("Uncompressed Size")
+	@DataAmount
+	public long uncompressedSize;
+
+	@Label("Compressed Size")
+	@DataAmount
+	public long compressedSize;
+
+	@Label("Compression Method")
+	public String compressionMethod;
+
+	@Label("Encryption Method")
+	public String encryptionMethod;
+}
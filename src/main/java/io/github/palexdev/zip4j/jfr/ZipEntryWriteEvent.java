@@ -0,0 +1,35 @@
+package io.github.palexdev.zip4j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded for every entry written by a ZipOutputStream, from the start of the entry until it is closed
+ */
+@Name("io.github.palexdev.zip4j.ZipEntryWrite")
+@Label("Zip Entry Write")
+@Category("Zip4j")
+@Description("Compression, encryption and writing of a zip entry")
+public class ZipEntryWriteEvent extends Event {
+
+	@Label("Entry Name")
+	public String entryName;
+
+	@Label("Uncompressed Size")
+	@DataAmount
+	public long uncompressedSize;
+
+	@Label("Compressed Size")
+	@DataAmount
+	public long compressedSize;
+
+	@Label("Compression Method")
+	public String compressionMethod;
+
+	@Label("Encryption Method")
+	public String encryptionMethod;
+}
@@ -0,0 +1,28 @@
+package io.github.palexdev.zip4j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded when the headers of a zip file are read, which happens the first time a ZipFile instance needs them
+ */
+@Name("io.github.palexdev.zip4j.ZipFileOpen")
+@Label("Zip File Open")
+@Category("Zip4j")
+@Description("Reading of the central directory of a zip file")
+public class ZipFileOpenEvent extends Event {
+
+	@Label("Zip File")
+	public String zipFile;
+
+	@Label("Zip File Size")
+	@DataAmount
+	public long zipFileSize;
+
+	@Label("Number Of Entries")
+	public int numberOfEntries;
+}
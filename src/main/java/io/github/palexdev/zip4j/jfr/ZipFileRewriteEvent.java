@@ -0,0 +1,31 @@
+package io.github.palexdev.zip4j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded when a zip file is rewritten to a temporary file to remove or rename entries
+ */
+@Name("io.github.palexdev.zip4j.ZipFileRewrite")
+@Label("Zip File Rewrite")
+@Category("Zip4j")
+@Description("Rewriting of a zip file to remove or rename entries")
+public class ZipFileRewriteEvent extends Event {
+
+	@Label("Zip File")
+	public String zipFile;
+
+	@Label("Task")
+	public String task;
+
+	@Label("Bytes Written")
+	@DataAmount
+	public long bytesWritten;
+
+	@Label("Success")
+	public boolean success;
+}
@@ -0,0 +1,58 @@
+package io.github.palexdev.zip4j.model;
+
+import io.github.palexdev.zip4j.util.InternalZipConstants;
+
+/**
+ * An entry of a directory listing of a zip file. Besides the entries stored in the zip file, listings contain the
+ * directories which are not stored in the zip file, but implied by the names of the entries under them. Such implied
+ * directories have no file header.
+ */
+public class ArchiveEntry {
+
+	private final String name;
+	private final FileHeader fileHeader;
+
+	public ArchiveEntry(String name, FileHeader fileHeader) {
+		this.name = name;
+		this.fileHeader = fileHeader;
+	}
+
+	/**
+	 * @return full name of the entry in the zip file, which ends with a separator for directories
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return last element of the name of the entry, without the trailing separator of directories
+	 */
+	public String getSimpleName() {
+		String simpleName = name.endsWith(InternalZipConstants.ZIP_FILE_SEPARATOR)
+				? name.substring(0, name.length() - 1) : name;
+		return simpleName.substring(simpleName.lastIndexOf(InternalZipConstants.ZIP_FILE_SEPARATOR) + 1);
+	}
+
+	public boolean isDirectory() {
+		return fileHeader == null || fileHeader.isDirectory() || name.endsWith(InternalZipConstants.ZIP_FILE_SEPARATOR);
+	}
+
+	/**
+	 * @return true if this is a directory which is not stored in the zip file
+	 */
+	public boolean isImpliedDirectory() {
+		return fileHeader == null;
+	}
+
+	/**
+	 * @return file header of the entry, or null for implied directories
+	 */
+	public FileHeader getFileHeader() {
+		return fileHeader;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+}
@@ -3,6 +3,7 @@ package io.github.palexdev.zip4j.model;
 public class UnzipParameters {
 
 	private boolean extractSymbolicLinks = true;
+	private long asyncWriteThreshold = -1;
 
 	public boolean isExtractSymbolicLinks() {
 		return extractSymbolicLinks;
@@ -11,4 +12,20 @@ public class UnzipParameters {
 	public void setExtractSymbolicLinks(boolean extractSymbolicLinks) {
 		this.extractSymbolicLinks = extractSymbolicLinks;
 	}
+
+	public long getAsyncWriteThreshold() {
+		return asyncWriteThreshold;
+	}
+
+	/**
+	 * Files with an uncompressed size of at least this many bytes are written to disk in the background with an
+	 * {@link java.nio.channels.AsynchronousFileChannel}, so that writing overlaps with decompressing and checksumming
+	 * the rest of the entry. Small files are faster to write synchronously.
+	 *
+	 * @param asyncWriteThreshold minimum size of the files to write asynchronously, or a negative value, the default, to
+	 *                            write all files synchronously
+	 */
+	public void setAsyncWriteThreshold(long asyncWriteThreshold) {
+		this.asyncWriteThreshold = asyncWriteThreshold;
+	}
 }
@@ -0,0 +1,42 @@
+package io.github.palexdev.zip4j.model;
+
+import io.github.palexdev.zip4j.exception.ZipException;
+
+/**
+ * An entry of a zip file which failed verification, with the reason it failed. The type of the exception tells
+ * corrupt data ({@link ZipException.Type#CHECKSUM_MISMATCH}) from a wrong password
+ * ({@link ZipException.Type#WRONG_PASSWORD}) or an entry zip4j cannot extract.
+ */
+public class VerificationFailure {
+
+	private final FileHeader fileHeader;
+	private final ZipException exception;
+
+	public VerificationFailure(FileHeader fileHeader, ZipException exception) {
+		this.fileHeader = fileHeader;
+		this.exception = exception;
+	}
+
+	/**
+	 * @return file header of the entry, as read from the central directory
+	 */
+	public FileHeader getFileHeader() {
+		return fileHeader;
+	}
+
+	public String getFileName() {
+		return fileHeader.getFileName();
+	}
+
+	/**
+	 * @return the exception the verification of the entry failed with
+	 */
+	public ZipException getException() {
+		return exception;
+	}
+
+	@Override
+	public String toString() {
+		return fileHeader.getFileName() + ": " + exception.getMessage();
+	}
+}
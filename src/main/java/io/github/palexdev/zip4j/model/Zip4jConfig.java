@@ -1,5 +1,7 @@
 package io.github.palexdev.zip4j.model;
 
+import io.github.palexdev.zip4j.progress.Zip4jMetrics;
+
 import java.nio.charset.Charset;
 
 public class Zip4jConfig {
@@ -7,11 +9,17 @@ public class Zip4jConfig {
 	private final Charset charset;
 	private final int bufferSize;
 	private final boolean useUtf8CharsetForPasswords;
+	private final Zip4jMetrics metrics;
 
 	public Zip4jConfig(Charset charset, int bufferSize, boolean useUtf8CharsetForPasswords) {
+		this(charset, bufferSize, useUtf8CharsetForPasswords, Zip4jMetrics.NO_OP);
+	}
+
+	public Zip4jConfig(Charset charset, int bufferSize, boolean useUtf8CharsetForPasswords, Zip4jMetrics metrics) {
 		this.charset = charset;
 		this.bufferSize = bufferSize;
 		this.useUtf8CharsetForPasswords = useUtf8CharsetForPasswords;
+		this.metrics = metrics == null ? Zip4jMetrics.NO_OP : metrics;
 	}
 
 	public Charset getCharset() {
@@ -25,4 +33,8 @@ public class Zip4jConfig {
 	public boolean isUseUtf8CharsetForPasswords() {
 		return useUtf8CharsetForPasswords;
 	}
+
+	public Zip4jMetrics getMetrics() {
+		return metrics;
+	}
 }
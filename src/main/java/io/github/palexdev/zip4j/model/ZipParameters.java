@@ -43,6 +43,12 @@ public class ZipParameters {
 
 	;
 
+	/**
+	 * Default minimum gain of compression for {@link #setStoreIncompressibleFiles(boolean)}: files which deflate to more
+	 * than 95% of their size are stored
+	 */
+	public static final double DEFAULT_MINIMUM_COMPRESSION_GAIN = 0.05;
+
 	private CompressionMethod compressionMethod = CompressionMethod.DEFLATE;
 	private CompressionLevel compressionLevel = CompressionLevel.NORMAL;
 	private boolean encryptFiles = false;
@@ -64,6 +70,10 @@ public class ZipParameters {
 	private SymbolicLinkAction symbolicLinkAction = SymbolicLinkAction.INCLUDE_LINKED_FILE_ONLY;
 	private ExcludeFileFilter excludeFileFilter;
 	private boolean unixMode;
+	private boolean storeIncompressibleFiles;
+	private double minimumCompressionGain = DEFAULT_MINIMUM_COMPRESSION_GAIN;
+	private long targetThroughput;
+	private int compressionThreads = 1;
 
 	/**
 	 * Create a ZipParameters instance with default values;
@@ -102,6 +112,10 @@ public class ZipParameters {
 		this.symbolicLinkAction = zipParameters.getSymbolicLinkAction();
 		this.excludeFileFilter = zipParameters.getExcludeFileFilter();
 		this.unixMode = zipParameters.isUnixMode();
+		this.storeIncompressibleFiles = zipParameters.isStoreIncompressibleFiles();
+		this.minimumCompressionGain = zipParameters.getMinimumCompressionGain();
+		this.targetThroughput = zipParameters.getTargetThroughput();
+		this.compressionThreads = zipParameters.getCompressionThreads();
 	}
 
 	/**
@@ -437,4 +451,102 @@ public class ZipParameters {
 	public void setUnixMode(boolean unixMode) {
 		this.unixMode = unixMode;
 	}
+
+	/**
+	 * Returns true if files which would not get meaningfully smaller with the compression method of these parameters
+	 * are stored instead of being compressed.
+	 *
+	 * @return true if incompressible files are stored
+	 */
+	public boolean isStoreIncompressibleFiles() {
+		return storeIncompressibleFiles;
+	}
+
+	/**
+	 * When set to true, files added with {@link CompressionMethod#DEFLATE} are checked before they are compressed, and
+	 * are stored instead if they are already compressed. A file is considered already compressed if it starts with the
+	 * signature of a compressed format, like zip, gzip, zstd, jpeg, png or mp4, or if deflating a sample from the start
+	 * of the file gains less than the minimum compression gain. This saves the time spent deflating media and archives,
+	 * at the cost of reading the sample twice. Has no effect on entries added from streams.
+	 *
+	 * @param storeIncompressibleFiles true to store incompressible files
+	 */
+	public void setStoreIncompressibleFiles(boolean storeIncompressibleFiles) {
+		this.storeIncompressibleFiles = storeIncompressibleFiles;
+	}
+
+	/**
+	 * Get the minimum gain of compression for files to be compressed, when incompressible files are stored
+	 *
+	 * @return the minimum compression gain as a fraction of the size
+	 */
+	public double getMinimumCompressionGain() {
+		return minimumCompressionGain;
+	}
+
+	/**
+	 * Set the minimum gain of compression for files to be compressed, when incompressible files are stored. A gain of
+	 * 0.05 means that a file is stored unless the deflated sample is at least 5% smaller than the sample.
+	 *
+	 * @param minimumCompressionGain the minimum compression gain as a fraction of the size, between 0 and 1
+	 */
+	public void setMinimumCompressionGain(double minimumCompressionGain) {
+		if (minimumCompressionGain < 0 || minimumCompressionGain > 1) {
+			throw new IllegalArgumentException("minimum compression gain has to be between 0 and 1");
+		}
+		this.minimumCompressionGain = minimumCompressionGain;
+	}
+
+	/**
+	 * Get the throughput which the compression level is adapted to, when deflating entries
+	 *
+	 * @return the target throughput in bytes per second, or 0 if the compression level is not adapted
+	 */
+	public long getTargetThroughput() {
+		return targetThroughput;
+	}
+
+	/**
+	 * Set a throughput to adapt the compression level of deflated entries to, in bytes per second of uncompressed data.
+	 * While entries are written, the time spent deflating and writing the compressed data is measured, and the
+	 * compression level is lowered towards {@link CompressionLevel#FASTEST} when the throughput falls below the target,
+	 * and raised towards {@link CompressionLevel#ULTRA} when there is time to spare. The compression level of these
+	 * parameters is the level to start with. The level reached is carried over to the next entries written with the
+	 * same zip output stream, for example all the files added in one call of
+	 * {@link io.github.palexdev.zip4j.ZipFile#addFiles(java.util.List, ZipParameters)}.
+	 * <p>
+	 * For example, 50 * 1024 * 1024 aims at 50 MB/s. Time spent reading the data to add is not taken into account.
+	 *
+	 * @param targetThroughput the target throughput in bytes per second, or 0 to use the compression level as it is
+	 */
+	public void setTargetThroughput(long targetThroughput) {
+		if (targetThroughput < 0) {
+			throw new IllegalArgumentException("target throughput cannot be negative");
+		}
+		this.targetThroughput = targetThroughput;
+	}
+
+	/**
+	 * Get the number of threads which compress blocks of the same entry at the same time
+	 *
+	 * @return the number of compression threads
+	 */
+	public int getCompressionThreads() {
+		return compressionThreads;
+	}
+
+	/**
+	 * Set the number of threads which compress blocks of the same entry at the same time. This is only used by
+	 * {@link CompressionMethod#BZIP2}, which compresses the data in independent blocks, so that a single large entry can
+	 * use several cores. The compressed data is the same as with a single thread. Each thread needs memory for one
+	 * block in flight, up to about 15 MB with {@link CompressionLevel#ULTRA}.
+	 *
+	 * @param compressionThreads the number of compression threads, 1 to compress in the calling thread
+	 */
+	public void setCompressionThreads(int compressionThreads) {
+		if (compressionThreads < 1) {
+			throw new IllegalArgumentException("compression threads has to be at least 1");
+		}
+		this.compressionThreads = compressionThreads;
+	}
 }
@@ -17,6 +17,23 @@ public enum CompressionMethod {
 	 * @see java.util.zip.Deflater
 	 */
 	DEFLATE(8),
+	/**
+	 * The Deflate64 compression, also known as enhanced deflate, is used. This is only supported for extracting, as
+	 * there is no compressor for it.
+	 */
+	DEFLATE64(9),
+	/**
+	 * The BZip2 compression is used, which compresses better than Deflate but is slower. The block size is picked by
+	 * the compression level, from 100 KB for {@link CompressionLevel#FASTEST} to 900 KB for
+	 * {@link CompressionLevel#ULTRA}.
+	 */
+	BZIP2(12),
+	/**
+	 * The LZ4 compression of zip4j is used, which is several times faster than Deflate at {@link CompressionLevel#FASTEST}
+	 * but compresses less. It uses a private method id and can only be extracted by zip4j, so it is meant for archives
+	 * which are written and read by zip4j only, like temporary files. The compression level has no effect.
+	 */
+	LZ4(0x5A34),
 	/**
 	 * For internal use in Zip4J
 	 */
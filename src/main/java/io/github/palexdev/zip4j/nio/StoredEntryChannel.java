@@ -0,0 +1,106 @@
+package io.github.palexdev.zip4j.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * A read-only channel over an entry which is stored without compression and encryption. The content is read with
+ * positional reads of a {@link FileChannel} of the zip file straight into the buffers of the caller, so that any number
+ * of these channels can read from the same file channel at the same time, and seeking does not read anything.
+ * <p>
+ * As the content is not read through a {@link io.github.palexdev.zip4j.io.inputstream.ZipInputStream}, its CRC is not
+ * verified.
+ */
+class StoredEntryChannel implements SeekableByteChannel {
+
+	private final FileChannel fileChannel;
+	private final long dataOffset;
+	private final long size;
+	private long position;
+	private volatile boolean open = true;
+
+	StoredEntryChannel(FileChannel fileChannel, long dataOffset, long size) {
+		this.fileChannel = fileChannel;
+		this.dataOffset = dataOffset;
+		this.size = size;
+	}
+
+	@Override
+	public synchronized int read(ByteBuffer dst) throws IOException {
+		ensureOpen();
+
+		if (position >= size) {
+			return -1;
+		}
+
+		int limit = dst.limit();
+		if (dst.remaining() > size - position) {
+			dst.limit(dst.position() + (int) (size - position));
+		}
+
+		try {
+			int readLen = fileChannel.read(dst, dataOffset + position);
+			if (readLen > 0) {
+				position += readLen;
+			}
+			return readLen;
+		} finally {
+			dst.limit(limit);
+		}
+	}
+
+	@Override
+	public int write(ByteBuffer src) {
+		throw new NonWritableChannelException();
+	}
+
+	@Override
+	public synchronized long position() throws IOException {
+		ensureOpen();
+		return position;
+	}
+
+	@Override
+	public synchronized SeekableByteChannel position(long newPosition) throws IOException {
+		ensureOpen();
+
+		if (newPosition < 0) {
+			throw new IllegalArgumentException("position cannot be negative");
+		}
+
+		position = newPosition;
+		return this;
+	}
+
+	@Override
+	public long size() throws IOException {
+		ensureOpen();
+		return size;
+	}
+
+	@Override
+	public SeekableByteChannel truncate(long size) {
+		throw new NonWritableChannelException();
+	}
+
+	@Override
+	public boolean isOpen() {
+		return open && fileChannel.isOpen();
+	}
+
+	@Override
+	public void close() {
+		// The file channel is shared with the other channels of the file system, and is closed with the file system
+		open = false;
+	}
+
+	private void ensureOpen() throws ClosedChannelException {
+		if (!isOpen()) {
+			throw new ClosedChannelException();
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package io.github.palexdev.zip4j.nio;
+
+import io.github.palexdev.zip4j.model.ArchiveEntry;
+
+import java.io.IOException;
+import java.nio.file.ClosedDirectoryStreamException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A directory stream over the immediate children of a directory of a {@link ZipFileSystem}, including the directories
+ * which are only implied by the names of the entries under them.
+ */
+class ZipDirectoryStream implements DirectoryStream<Path> {
+
+	private final Path directory;
+	private final Iterator<ArchiveEntry> archiveEntries;
+	private final Filter<? super Path> filter;
+	private boolean iteratorReturned;
+	private volatile boolean open = true;
+
+	ZipDirectoryStream(Path directory, Iterator<ArchiveEntry> archiveEntries, Filter<? super Path> filter) {
+		this.directory = directory;
+		this.archiveEntries = archiveEntries;
+		this.filter = filter;
+	}
+
+	@Override
+	public synchronized Iterator<Path> iterator() {
+		if (!open) {
+			throw new ClosedDirectoryStreamException();
+		}
+
+		if (iteratorReturned) {
+			throw new IllegalStateException("Iterator has already been returned");
+		}
+
+		iteratorReturned = true;
+		return new Iterator<Path>() {
+			private Path next;
+
+			@Override
+			public boolean hasNext() {
+				while (next == null && open && archiveEntries.hasNext()) {
+					Path path = directory.resolve(archiveEntries.next().getSimpleName());
+					if (accept(path)) {
+						next = path;
+					}
+				}
+				return next != null;
+			}
+
+			@Override
+			public Path next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				Path path = next;
+				next = null;
+				return path;
+			}
+		};
+	}
+
+	@Override
+	public void close() {
+		open = false;
+	}
+
+	private boolean accept(Path path) {
+		if (filter == null) {
+			return true;
+		}
+
+		try {
+			return filter.accept(path);
+		} catch (IOException e) {
+			throw new DirectoryIteratorException(e);
+		}
+	}
+}
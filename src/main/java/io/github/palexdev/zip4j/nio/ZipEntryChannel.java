@@ -0,0 +1,125 @@
+package io.github.palexdev.zip4j.nio;
+
+import io.github.palexdev.zip4j.io.inputstream.ZipInputStream;
+import io.github.palexdev.zip4j.model.FileHeader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * A read-only channel over the uncompressed content of an entry, which reads the entry through its own
+ * {@link ZipInputStream}, so that it can be used for compressed and encrypted entries, and for entries of split zip
+ * files. Moving the position forward skips content of the entry, while moving it backwards reopens the entry and
+ * skips to the new position.
+ */
+class ZipEntryChannel implements SeekableByteChannel {
+
+	private final ZipFileSystem fileSystem;
+	private final FileHeader fileHeader;
+	private final byte[] buffer;
+	private ZipInputStream zipInputStream;
+	private long streamPosition;
+	private long position;
+	private boolean open = true;
+
+	ZipEntryChannel(ZipFileSystem fileSystem, FileHeader fileHeader, int bufferSize) throws IOException {
+		this.fileSystem = fileSystem;
+		this.fileHeader = fileHeader;
+		this.buffer = new byte[bufferSize];
+		this.zipInputStream = fileSystem.newZipInputStream(fileHeader);
+	}
+
+	@Override
+	public synchronized int read(ByteBuffer dst) throws IOException {
+		ensureOpen();
+
+		if (zipInputStream == null) {
+			zipInputStream = fileSystem.newZipInputStream(fileHeader);
+			streamPosition = 0;
+		}
+
+		while (streamPosition < position) {
+			int readLen = zipInputStream.read(buffer, 0, (int) Math.min(buffer.length, position - streamPosition));
+			if (readLen == -1) {
+				return -1;
+			}
+			streamPosition += readLen;
+		}
+
+		int readLen = zipInputStream.read(buffer, 0, Math.min(buffer.length, dst.remaining()));
+		if (readLen <= 0) {
+			return readLen;
+		}
+
+		dst.put(buffer, 0, readLen);
+		streamPosition += readLen;
+		position += readLen;
+		return readLen;
+	}
+
+	@Override
+	public int write(ByteBuffer src) {
+		throw new NonWritableChannelException();
+	}
+
+	@Override
+	public synchronized long position() throws IOException {
+		ensureOpen();
+		return position;
+	}
+
+	@Override
+	public synchronized SeekableByteChannel position(long newPosition) throws IOException {
+		ensureOpen();
+
+		if (newPosition < 0) {
+			throw new IllegalArgumentException("position cannot be negative");
+		}
+
+		if (newPosition < streamPosition && zipInputStream != null) {
+			zipInputStream.close();
+			zipInputStream = null;
+		}
+
+		position = newPosition;
+		return this;
+	}
+
+	@Override
+	public long size() throws IOException {
+		ensureOpen();
+		return fileHeader.getUncompressedSize();
+	}
+
+	@Override
+	public SeekableByteChannel truncate(long size) {
+		throw new NonWritableChannelException();
+	}
+
+	@Override
+	public synchronized boolean isOpen() {
+		return open;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (!open) {
+			return;
+		}
+
+		open = false;
+		if (zipInputStream != null) {
+			zipInputStream.close();
+			zipInputStream = null;
+		}
+	}
+
+	private void ensureOpen() throws ClosedChannelException {
+		if (!open) {
+			throw new ClosedChannelException();
+		}
+	}
+}
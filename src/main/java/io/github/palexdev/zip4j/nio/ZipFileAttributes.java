@@ -0,0 +1,77 @@
+package io.github.palexdev.zip4j.nio;
+
+import io.github.palexdev.zip4j.model.FileHeader;
+
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Attributes of an entry of a {@link ZipFileSystem}. Besides the basic attributes, gives access to the file header of
+ * the entry, which is null for the root of the zip file and for directories which are only implied by the names of the
+ * entries under them.
+ */
+public class ZipFileAttributes implements BasicFileAttributes {
+
+	private final FileHeader fileHeader;
+	private final boolean directory;
+	private final FileTime lastModifiedTime;
+
+	ZipFileAttributes(FileHeader fileHeader, boolean directory, long defaultLastModifiedTime) {
+		this.fileHeader = fileHeader;
+		this.directory = directory;
+		this.lastModifiedTime = FileTime.fromMillis(fileHeader == null
+				? defaultLastModifiedTime : fileHeader.getLastModifiedTimeEpoch());
+	}
+
+	/**
+	 * @return file header of the entry, or null if the entry is not stored in the zip file
+	 */
+	public FileHeader getFileHeader() {
+		return fileHeader;
+	}
+
+	@Override
+	public FileTime lastModifiedTime() {
+		return lastModifiedTime;
+	}
+
+	@Override
+	public FileTime lastAccessTime() {
+		return lastModifiedTime;
+	}
+
+	@Override
+	public FileTime creationTime() {
+		return lastModifiedTime;
+	}
+
+	@Override
+	public boolean isRegularFile() {
+		return !directory;
+	}
+
+	@Override
+	public boolean isDirectory() {
+		return directory;
+	}
+
+	@Override
+	public boolean isSymbolicLink() {
+		return false;
+	}
+
+	@Override
+	public boolean isOther() {
+		return false;
+	}
+
+	@Override
+	public long size() {
+		return fileHeader == null || directory ? 0 : fileHeader.getUncompressedSize();
+	}
+
+	@Override
+	public Object fileKey() {
+		return null;
+	}
+}
@@ -0,0 +1,453 @@
+package io.github.palexdev.zip4j.nio;
+
+import io.github.palexdev.zip4j.headers.FileNameIndex;
+import io.github.palexdev.zip4j.headers.HeaderReader;
+import io.github.palexdev.zip4j.headers.HeaderSignature;
+import io.github.palexdev.zip4j.headers.HeaderUtil;
+import io.github.palexdev.zip4j.io.inputstream.NumberedSplitRandomAccessFile;
+import io.github.palexdev.zip4j.io.inputstream.ZipInputStream;
+import io.github.palexdev.zip4j.model.FileHeader;
+import io.github.palexdev.zip4j.model.Zip4jConfig;
+import io.github.palexdev.zip4j.model.ZipModel;
+import io.github.palexdev.zip4j.model.enums.CompressionMethod;
+import io.github.palexdev.zip4j.model.enums.RandomAccessFileMode;
+import io.github.palexdev.zip4j.util.FileUtils;
+import io.github.palexdev.zip4j.util.InternalZipConstants;
+import io.github.palexdev.zip4j.util.UnzipUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedFileSystemException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileStore;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.FileAttributeView;
+import java.nio.file.attribute.FileStoreAttributeView;
+import java.nio.file.attribute.UserPrincipalLookupService;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A read-only file system over the entries of a zip file, which can be created with a {@link ZipFileSystemProvider}.
+ * <p>
+ * The central directory is read once when the file system is created, so the file system is a snapshot of the zip
+ * file, and does not see modifications made to the zip file afterwards. Split zip files, both in the zip standard
+ * format and numbered split files, and entries encrypted with zip standard encryption or AES are supported.
+ * Directories which are not stored in the zip file, but implied by the names of the entries under them, are listed and
+ * can be walked like any other directory.
+ * <p>
+ * All paths and channels of a file system can be used from multiple threads. Each channel on a compressed or
+ * encrypted entry reads the zip file through its own stream, while channels on entries which are stored without
+ * compression and encryption share a single {@link FileChannel} and read from it with positional reads.
+ */
+public class ZipFileSystem extends FileSystem {
+
+	private static final String SEPARATOR = "/";
+	private static final String GLOB_SYNTAX = "glob";
+	private static final String REGEX_SYNTAX = "regex";
+	private static final int LOCAL_FILE_HEADER_SIZE = 30;
+
+	private final ZipFileSystemProvider provider;
+	private final Path zipFile;
+	private final char[] password;
+	private final int bufferSize;
+	private final ZipModel zipModel;
+	private final FileNameIndex fileNameIndex;
+	private final long lastModifiedTime;
+	private final ZipFileStore fileStore;
+	private FileChannel fileChannel;
+	private volatile boolean open = true;
+
+	ZipFileSystem(ZipFileSystemProvider provider, Path zipFile, char[] password, Charset charset, int bufferSize)
+			throws IOException {
+		this.provider = provider;
+		this.zipFile = zipFile;
+		this.password = password == null ? null : Arrays.copyOf(password, password.length);
+		this.bufferSize = bufferSize;
+		this.zipModel = readZipModel(zipFile.toFile(), new Zip4jConfig(charset, bufferSize,
+				InternalZipConstants.USE_UTF8_FOR_PASSWORD_ENCODING_DECODING));
+		this.fileNameIndex = new FileNameIndex(zipModel.getCentralDirectory().getFileHeaders());
+		this.lastModifiedTime = zipFile.toFile().lastModified();
+		this.fileStore = new ZipFileStore();
+	}
+
+	/**
+	 * @return path of the zip file of this file system in the default file system
+	 */
+	public Path getZipFile() {
+		return zipFile;
+	}
+
+	@Override
+	public ZipFileSystemProvider provider() {
+		return provider;
+	}
+
+	@Override
+	public void close() throws IOException {
+		FileChannel fileChannelToClose;
+		synchronized (this) {
+			if (!open) {
+				return;
+			}
+			open = false;
+			fileChannelToClose = fileChannel;
+			fileChannel = null;
+		}
+
+		provider.removeFileSystem(this);
+		if (password != null) {
+			Arrays.fill(password, '\0');
+		}
+		if (fileChannelToClose != null) {
+			fileChannelToClose.close();
+		}
+	}
+
+	@Override
+	public boolean isOpen() {
+		return open;
+	}
+
+	@Override
+	public boolean isReadOnly() {
+		return true;
+	}
+
+	@Override
+	public String getSeparator() {
+		return SEPARATOR;
+	}
+
+	@Override
+	public Iterable<Path> getRootDirectories() {
+		ensureOpen();
+		return Collections.singletonList(new ZipPath(this, SEPARATOR));
+	}
+
+	@Override
+	public Iterable<FileStore> getFileStores() {
+		ensureOpen();
+		return Collections.singletonList(fileStore);
+	}
+
+	@Override
+	public Set<String> supportedFileAttributeViews() {
+		return Collections.singleton("basic");
+	}
+
+	@Override
+	public Path getPath(String first, String... more) {
+		StringBuilder path = new StringBuilder(first);
+		for (String name : more) {
+			if (!name.isEmpty()) {
+				if (path.length() > 0) {
+					path.append(SEPARATOR);
+				}
+				path.append(name);
+			}
+		}
+		return new ZipPath(this, path.toString());
+	}
+
+	/**
+	 * Returns a path matcher for the "glob" and "regex" syntaxes. Globs support "*" and "**", "?", bracket
+	 * expressions and groups of sub-patterns in braces, and are matched against the whole path.
+	 *
+	 * @param syntaxAndPattern the syntax and the pattern, separated by a colon
+	 * @return a path matcher for the pattern
+	 */
+	@Override
+	public PathMatcher getPathMatcher(String syntaxAndPattern) {
+		int colonIndex = syntaxAndPattern.indexOf(':');
+		if (colonIndex <= 0) {
+			throw new IllegalArgumentException("Syntax and pattern have to be separated by a colon: " + syntaxAndPattern);
+		}
+
+		String syntax = syntaxAndPattern.substring(0, colonIndex);
+		String pattern = syntaxAndPattern.substring(colonIndex + 1);
+		String regex;
+		if (syntax.equalsIgnoreCase(GLOB_SYNTAX)) {
+			regex = globToRegex(pattern);
+		} else if (syntax.equalsIgnoreCase(REGEX_SYNTAX)) {
+			regex = pattern;
+		} else {
+			throw new UnsupportedOperationException("Syntax is not supported: " + syntax);
+		}
+
+		Pattern compiledPattern = Pattern.compile(regex);
+		return path -> compiledPattern.matcher(path.toString()).matches();
+	}
+
+	@Override
+	public UserPrincipalLookupService getUserPrincipalLookupService() {
+		throw new UnsupportedOperationException("Zip file systems have no user principals");
+	}
+
+	@Override
+	public WatchService newWatchService() {
+		throw new UnsupportedOperationException("Watching a zip file system is not supported");
+	}
+
+	ZipFileAttributes readAttributes(ZipPath path) throws IOException {
+		ensureOpen();
+
+		String entryName = path.getEntryName();
+		if (entryName.isEmpty()) {
+			return new ZipFileAttributes(null, true, lastModifiedTime);
+		}
+
+		FileHeader fileHeader = HeaderUtil.getFileHeader(fileNameIndex, entryName);
+		if (fileHeader != null) {
+			return new ZipFileAttributes(fileHeader, fileHeader.isDirectory(), lastModifiedTime);
+		}
+
+		String directoryName = entryName + SEPARATOR;
+		fileHeader = HeaderUtil.getFileHeader(fileNameIndex, directoryName);
+		if (fileHeader != null || fileNameIndex.listDirectory(directoryName).hasNext()) {
+			return new ZipFileAttributes(fileHeader, true, lastModifiedTime);
+		}
+
+		throw new NoSuchFileException(path.toString());
+	}
+
+	DirectoryStream<Path> newDirectoryStream(ZipPath directory, DirectoryStream.Filter<? super Path> filter)
+			throws IOException {
+		if (!readAttributes(directory).isDirectory()) {
+			throw new NotDirectoryException(directory.toString());
+		}
+
+		String entryName = directory.getEntryName();
+		String directoryName = entryName.isEmpty() ? entryName : entryName + SEPARATOR;
+		return new ZipDirectoryStream(directory, fileNameIndex.listDirectory(directoryName), filter);
+	}
+
+	SeekableByteChannel newByteChannel(ZipPath path) throws IOException {
+		ZipFileAttributes attributes = readAttributes(path);
+		if (attributes.isDirectory()) {
+			throw new FileSystemException(path.toString(), null, "is a directory");
+		}
+
+		FileHeader fileHeader = attributes.getFileHeader();
+		if (canReadWithFileChannel(fileHeader)) {
+			FileChannel channel = getFileChannel();
+			return new StoredEntryChannel(channel, getOffsetOfData(channel, fileHeader), fileHeader.getUncompressedSize());
+		}
+
+		return new ZipEntryChannel(this, fileHeader, bufferSize);
+	}
+
+	ZipInputStream newZipInputStream(FileHeader fileHeader) throws IOException {
+		ensureOpen();
+		return UnzipUtil.createZipInputStream(zipModel, fileHeader, password);
+	}
+
+	FileStore getFileStore() {
+		ensureOpen();
+		return fileStore;
+	}
+
+	void ensureOpen() {
+		if (!open) {
+			throw new ClosedFileSystemException();
+		}
+	}
+
+	private boolean canReadWithFileChannel(FileHeader fileHeader) {
+		return !fileHeader.isEncrypted()
+				&& fileHeader.getCompressionMethod() == CompressionMethod.STORE
+				&& !zipModel.isSplitArchive()
+				&& !FileUtils.isNumberedSplitFile(zipFile.toFile());
+	}
+
+	private synchronized FileChannel getFileChannel() throws IOException {
+		ensureOpen();
+		if (fileChannel == null) {
+			fileChannel = FileChannel.open(zipFile, StandardOpenOption.READ);
+		}
+		return fileChannel;
+	}
+
+	private long getOffsetOfData(FileChannel channel, FileHeader fileHeader) throws IOException {
+		ByteBuffer localFileHeader = ByteBuffer.allocate(LOCAL_FILE_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		long offsetLocalHeader = fileHeader.getOffsetLocalHeader();
+		while (localFileHeader.hasRemaining()) {
+			if (channel.read(localFileHeader, offsetLocalHeader + localFileHeader.position()) == -1) {
+				throw new FileSystemException(fileHeader.getFileName(), null, "Unexpected end of zip file");
+			}
+		}
+
+		if ((localFileHeader.getInt(0) & 0xFFFFFFFFL) != HeaderSignature.LOCAL_FILE_HEADER.getValue()) {
+			throw new FileSystemException(fileHeader.getFileName(), null, "Invalid local file header signature");
+		}
+
+		int fileNameLength = localFileHeader.getShort(26) & 0xFFFF;
+		int extraFieldLength = localFileHeader.getShort(28) & 0xFFFF;
+		return offsetLocalHeader + LOCAL_FILE_HEADER_SIZE + fileNameLength + extraFieldLength;
+	}
+
+	private static ZipModel readZipModel(File zipFile, Zip4jConfig zip4jConfig) throws IOException {
+		try (RandomAccessFile randomAccessFile = initializeRandomAccessFileForHeaderReading(zipFile)) {
+			ZipModel zipModel = new HeaderReader().readAllHeaders(randomAccessFile, zip4jConfig);
+			zipModel.setZipFile(zipFile);
+			return zipModel;
+		}
+	}
+
+	private static RandomAccessFile initializeRandomAccessFileForHeaderReading(File zipFile) throws IOException {
+		if (FileUtils.isNumberedSplitFile(zipFile)) {
+			File[] allSplitFiles = FileUtils.getAllSortedNumberedSplitFiles(zipFile);
+			NumberedSplitRandomAccessFile numberedSplitRandomAccessFile = new NumberedSplitRandomAccessFile(zipFile,
+					RandomAccessFileMode.READ.getValue(), allSplitFiles);
+			numberedSplitRandomAccessFile.openLastSplitFileForReading();
+			return numberedSplitRandomAccessFile;
+		}
+
+		return new RandomAccessFile(zipFile, RandomAccessFileMode.READ.getValue());
+	}
+
+	private static String globToRegex(String glob) {
+		StringBuilder regex = new StringBuilder();
+		boolean inGroup = false;
+		boolean inBrackets = false;
+
+		for (int i = 0; i < glob.length(); i++) {
+			char character = glob.charAt(i);
+			if (inBrackets) {
+				if (character == ']') {
+					inBrackets = false;
+					regex.append(']');
+				} else if (character == '\\' || character == '[' || character == '&') {
+					regex.append('\\');
+				}
+				regex.append(character);
+				continue;
+			}
+
+			switch (character) {
+				case '*':
+					if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+						regex.append(".*");
+						i++;
+					} else {
+						regex.append("[^/]*");
+					}
+					break;
+				case '?':
+					regex.append("[^/]");
+					break;
+				case '[':
+					inBrackets = true;
+					regex.append("[[^/]&&[");
+					if (i + 1 < glob.length() && glob.charAt(i + 1) == '!') {
+						regex.append('^');
+						i++;
+					}
+					break;
+				case '{':
+					if (inGroup) {
+						throw new IllegalArgumentException("Groups cannot be nested: " + glob);
+					}
+					inGroup = true;
+					regex.append("(?:");
+					break;
+				case '}':
+					if (!inGroup) {
+						regex.append("\\}");
+						break;
+					}
+					inGroup = false;
+					regex.append(')');
+					break;
+				case ',':
+					regex.append(inGroup ? "|" : ",");
+					break;
+				case '\\':
+					if (++i >= glob.length()) {
+						throw new IllegalArgumentException("Escape character at the end of the glob: " + glob);
+					}
+					regex.append(Pattern.quote(String.valueOf(glob.charAt(i))));
+					break;
+				default:
+					if ("^$.|+()".indexOf(character) != -1) {
+						regex.append('\\');
+					}
+					regex.append(character);
+			}
+		}
+
+		if (inBrackets || inGroup) {
+			throw new IllegalArgumentException("Unclosed bracket expression or group: " + glob);
+		}
+		return regex.toString();
+	}
+
+	private class ZipFileStore extends FileStore {
+
+		@Override
+		public String name() {
+			return zipFile.toString();
+		}
+
+		@Override
+		public String type() {
+			return ZipFileSystemProvider.SCHEME;
+		}
+
+		@Override
+		public boolean isReadOnly() {
+			return true;
+		}
+
+		@Override
+		public long getTotalSpace() throws IOException {
+			return zipFile.toFile().length();
+		}
+
+		@Override
+		public long getUsableSpace() {
+			return 0;
+		}
+
+		@Override
+		public long getUnallocatedSpace() {
+			return 0;
+		}
+
+		@Override
+		public boolean supportsFileAttributeView(Class<? extends FileAttributeView> type) {
+			return type == BasicFileAttributeView.class;
+		}
+
+		@Override
+		public boolean supportsFileAttributeView(String name) {
+			return name.equals("basic");
+		}
+
+		@Override
+		public <V extends FileStoreAttributeView> V getFileStoreAttributeView(Class<V> type) {
+			return null;
+		}
+
+		@Override
+		public Object getAttribute(String attribute) {
+			throw new UnsupportedOperationException("File store attributes are not supported: " + attribute);
+		}
+	}
+}
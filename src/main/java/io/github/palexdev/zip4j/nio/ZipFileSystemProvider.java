@@ -0,0 +1,353 @@
+package io.github.palexdev.zip4j.nio;
+
+import io.github.palexdev.zip4j.util.InternalZipConstants;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.AccessMode;
+import java.nio.file.CopyOption;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileStore;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.LinkOption;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.ProviderMismatchException;
+import java.nio.file.ReadOnlyFileSystemException;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.FileAttributeView;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.spi.FileSystemProvider;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A provider of read-only {@link ZipFileSystem}s, which can read zip files that the zip file system of the JDK cannot
+ * read, like split zip files and zip files with AES encrypted entries.
+ * <p>
+ * The provider is not installed as a service, so that it does not compete with the zip file system provider of the JDK
+ * for zip files opened with {@link java.nio.file.FileSystems#newFileSystem(Path, ClassLoader)}. File systems are
+ * created directly with an instance of this class instead:
+ * <pre>
+ *   Map&lt;String, Object&gt; env = Collections.singletonMap(ZipFileSystemProvider.PASSWORD, password);
+ *   try (FileSystem fileSystem = new ZipFileSystemProvider().newFileSystem(zipFile, env)) {
+ *     Files.walk(fileSystem.getPath("/")).forEach(System.out::println);
+ *   }
+ * </pre>
+ * File systems created from a URI of the form {@code zip4j:file:///path/to/file.zip} are kept by the provider until they
+ * are closed, so that paths can be looked up by URI with {@link #getPath(URI)}, while file systems created from a path
+ * are not.
+ * <p>
+ * The following properties are supported in the environment map when creating a file system:
+ * <ul>
+ *   <li>{@link #PASSWORD}: password for encrypted entries, as a char[] or a String</li>
+ *   <li>{@link #CHARSET}: charset of the file names, as a {@link Charset} or the name of a charset</li>
+ *   <li>{@link #BUFFER_SIZE}: size of the buffers of the channels on compressed and encrypted entries</li>
+ * </ul>
+ */
+public class ZipFileSystemProvider extends FileSystemProvider {
+
+	public static final String SCHEME = "zip4j";
+	public static final String PASSWORD = "password";
+	public static final String CHARSET = "charset";
+	public static final String BUFFER_SIZE = "bufferSize";
+
+	private static final String ENTRY_SEPARATOR = "!/";
+
+	private final Map<Path, ZipFileSystem> fileSystems = new HashMap<>();
+
+	@Override
+	public String getScheme() {
+		return SCHEME;
+	}
+
+	@Override
+	public ZipFileSystem newFileSystem(URI uri, Map<String, ?> env) throws IOException {
+		Path zipFile = getZipFile(uri).toRealPath();
+		synchronized (fileSystems) {
+			if (fileSystems.containsKey(zipFile)) {
+				throw new FileSystemAlreadyExistsException(zipFile.toString());
+			}
+
+			ZipFileSystem fileSystem = createFileSystem(zipFile, env);
+			fileSystems.put(zipFile, fileSystem);
+			return fileSystem;
+		}
+	}
+
+	@Override
+	public ZipFileSystem newFileSystem(Path path, Map<String, ?> env) throws IOException {
+		return createFileSystem(path.toRealPath(), env);
+	}
+
+	@Override
+	public ZipFileSystem getFileSystem(URI uri) {
+		Path zipFile;
+		try {
+			zipFile = getZipFile(uri).toRealPath();
+		} catch (IOException e) {
+			throw new FileSystemNotFoundException(uri.toString());
+		}
+
+		synchronized (fileSystems) {
+			ZipFileSystem fileSystem = fileSystems.get(zipFile);
+			if (fileSystem == null) {
+				throw new FileSystemNotFoundException(uri.toString());
+			}
+			return fileSystem;
+		}
+	}
+
+	@Override
+	public Path getPath(URI uri) {
+		String schemeSpecificPart = uri.getSchemeSpecificPart();
+		int separatorIndex = schemeSpecificPart.indexOf(ENTRY_SEPARATOR);
+		String entryName = separatorIndex == -1 ? "/" : schemeSpecificPart.substring(separatorIndex + 1);
+		return getFileSystem(uri).getPath(entryName);
+	}
+
+	@Override
+	public SeekableByteChannel newByteChannel(Path path, Set<? extends OpenOption> options,
+	                                          FileAttribute<?>... attrs) throws IOException {
+		for (OpenOption option : options) {
+			if (option != StandardOpenOption.READ && option != LinkOption.NOFOLLOW_LINKS) {
+				throw new ReadOnlyFileSystemException();
+			}
+		}
+
+		if (attrs.length > 0) {
+			throw new ReadOnlyFileSystemException();
+		}
+
+		ZipPath zipPath = toZipPath(path);
+		return zipPath.getFileSystem().newByteChannel(zipPath);
+	}
+
+	@Override
+	public DirectoryStream<Path> newDirectoryStream(Path dir, DirectoryStream.Filter<? super Path> filter)
+			throws IOException {
+		ZipPath zipPath = toZipPath(dir);
+		return zipPath.getFileSystem().newDirectoryStream(zipPath, filter);
+	}
+
+	@Override
+	public void createDirectory(Path dir, FileAttribute<?>... attrs) {
+		throw new ReadOnlyFileSystemException();
+	}
+
+	@Override
+	public void delete(Path path) {
+		throw new ReadOnlyFileSystemException();
+	}
+
+	@Override
+	public void copy(Path source, Path target, CopyOption... options) {
+		throw new ReadOnlyFileSystemException();
+	}
+
+	@Override
+	public void move(Path source, Path target, CopyOption... options) {
+		throw new ReadOnlyFileSystemException();
+	}
+
+	@Override
+	public boolean isSameFile(Path path, Path path2) throws IOException {
+		if (path.equals(path2)) {
+			return true;
+		}
+
+		if (!(path2 instanceof ZipPath) || toZipPath(path).getFileSystem() != path2.getFileSystem()) {
+			return false;
+		}
+
+		return path.toAbsolutePath().normalize().equals(path2.toAbsolutePath().normalize());
+	}
+
+	@Override
+	public boolean isHidden(Path path) {
+		return false;
+	}
+
+	@Override
+	public FileStore getFileStore(Path path) {
+		return toZipPath(path).getFileSystem().getFileStore();
+	}
+
+	@Override
+	public void checkAccess(Path path, AccessMode... modes) throws IOException {
+		ZipPath zipPath = toZipPath(path);
+		zipPath.getFileSystem().readAttributes(zipPath);
+
+		for (AccessMode mode : modes) {
+			if (mode != AccessMode.READ) {
+				throw new AccessDeniedException(path.toString());
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <V extends FileAttributeView> V getFileAttributeView(Path path, Class<V> type, LinkOption... options) {
+		if (type != BasicFileAttributeView.class) {
+			return null;
+		}
+
+		ZipPath zipPath = toZipPath(path);
+		return (V) new BasicFileAttributeView() {
+			@Override
+			public String name() {
+				return "basic";
+			}
+
+			@Override
+			public BasicFileAttributes readAttributes() throws IOException {
+				return zipPath.getFileSystem().readAttributes(zipPath);
+			}
+
+			@Override
+			public void setTimes(FileTime lastModifiedTime, FileTime lastAccessTime, FileTime createTime) {
+				throw new ReadOnlyFileSystemException();
+			}
+		};
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <A extends BasicFileAttributes> A readAttributes(Path path, Class<A> type, LinkOption... options)
+			throws IOException {
+		if (type != BasicFileAttributes.class && type != ZipFileAttributes.class) {
+			throw new UnsupportedOperationException("Attributes are not supported: " + type.getName());
+		}
+
+		ZipPath zipPath = toZipPath(path);
+		return (A) zipPath.getFileSystem().readAttributes(zipPath);
+	}
+
+	@Override
+	public Map<String, Object> readAttributes(Path path, String attributes, LinkOption... options) throws IOException {
+		int colonIndex = attributes.indexOf(':');
+		if (colonIndex != -1) {
+			String view = attributes.substring(0, colonIndex);
+			if (!view.equals("basic")) {
+				throw new UnsupportedOperationException("Attribute view is not supported: " + view);
+			}
+			attributes = attributes.substring(colonIndex + 1);
+		}
+
+		ZipPath zipPath = toZipPath(path);
+		Map<String, Object> allAttributes = getAttributeMap(zipPath.getFileSystem().readAttributes(zipPath));
+		if (attributes.equals("*")) {
+			return allAttributes;
+		}
+
+		Map<String, Object> requestedAttributes = new LinkedHashMap<>();
+		for (String attribute : attributes.split(",")) {
+			if (!allAttributes.containsKey(attribute)) {
+				throw new IllegalArgumentException("Unknown attribute: " + attribute);
+			}
+			requestedAttributes.put(attribute, allAttributes.get(attribute));
+		}
+		return requestedAttributes;
+	}
+
+	@Override
+	public void setAttribute(Path path, String attribute, Object value, LinkOption... options) {
+		throw new ReadOnlyFileSystemException();
+	}
+
+	void removeFileSystem(ZipFileSystem fileSystem) {
+		synchronized (fileSystems) {
+			fileSystems.remove(fileSystem.getZipFile(), fileSystem);
+		}
+	}
+
+	private ZipFileSystem createFileSystem(Path zipFile, Map<String, ?> env) throws IOException {
+		return new ZipFileSystem(this, zipFile, getPassword(env), getCharset(env), getBufferSize(env));
+	}
+
+	private Path getZipFile(URI uri) {
+		if (!SCHEME.equalsIgnoreCase(uri.getScheme())) {
+			throw new IllegalArgumentException("URI scheme is not " + SCHEME + ": " + uri);
+		}
+
+		String schemeSpecificPart = uri.getSchemeSpecificPart();
+		int separatorIndex = schemeSpecificPart.indexOf(ENTRY_SEPARATOR);
+		if (separatorIndex != -1) {
+			schemeSpecificPart = schemeSpecificPart.substring(0, separatorIndex);
+		}
+
+		int colonIndex = schemeSpecificPart.indexOf(':');
+		if (colonIndex == -1) {
+			throw new IllegalArgumentException("URI does not contain the URI of a zip file: " + uri);
+		}
+
+		try {
+			return Paths.get(new URI(schemeSpecificPart.substring(0, colonIndex),
+					schemeSpecificPart.substring(colonIndex + 1), null));
+		} catch (URISyntaxException e) {
+			throw new IllegalArgumentException("URI does not contain the URI of a zip file: " + uri, e);
+		}
+	}
+
+	private static char[] getPassword(Map<String, ?> env) {
+		Object password = env.get(PASSWORD);
+		if (password == null || password instanceof char[]) {
+			return (char[]) password;
+		}
+		return password.toString().toCharArray();
+	}
+
+	private static Charset getCharset(Map<String, ?> env) {
+		Object charset = env.get(CHARSET);
+		if (charset == null || charset instanceof Charset) {
+			return charset == null ? InternalZipConstants.CHARSET_UTF_8 : (Charset) charset;
+		}
+		return Charset.forName(charset.toString());
+	}
+
+	private static int getBufferSize(Map<String, ?> env) {
+		Object bufferSize = env.get(BUFFER_SIZE);
+		if (bufferSize == null) {
+			return InternalZipConstants.BUFF_SIZE;
+		}
+
+		int size = bufferSize instanceof Number ? ((Number) bufferSize).intValue() : Integer.parseInt(bufferSize.toString());
+		if (size < InternalZipConstants.MIN_BUFF_SIZE) {
+			throw new IllegalArgumentException("Buffer size cannot be smaller than " + InternalZipConstants.MIN_BUFF_SIZE);
+		}
+		return size;
+	}
+
+	private static Map<String, Object> getAttributeMap(BasicFileAttributes attributes) {
+		Map<String, Object> attributeMap = new LinkedHashMap<>();
+		attributeMap.put("lastModifiedTime", attributes.lastModifiedTime());
+		attributeMap.put("lastAccessTime", attributes.lastAccessTime());
+		attributeMap.put("creationTime", attributes.creationTime());
+		attributeMap.put("size", attributes.size());
+		attributeMap.put("isRegularFile", attributes.isRegularFile());
+		attributeMap.put("isDirectory", attributes.isDirectory());
+		attributeMap.put("isSymbolicLink", attributes.isSymbolicLink());
+		attributeMap.put("isOther", attributes.isOther());
+		attributeMap.put("fileKey", attributes.fileKey());
+		return attributeMap;
+	}
+
+	private static ZipPath toZipPath(Path path) {
+		if (!(path instanceof ZipPath)) {
+			throw new ProviderMismatchException();
+		}
+		return (ZipPath) path;
+	}
+}
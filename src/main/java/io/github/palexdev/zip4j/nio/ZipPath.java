@@ -0,0 +1,308 @@
+package io.github.palexdev.zip4j.nio;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.ProviderMismatchException;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A path in a {@link ZipFileSystem}. Paths use "/" as separator and the root "/" stands for the root of the zip file,
+ * so that the absolute path of an entry is its name in the zip file with a leading separator.
+ */
+class ZipPath implements Path {
+
+	private static final String SEPARATOR = "/";
+
+	private final ZipFileSystem fileSystem;
+	private final String path;
+	private int[] offsets;
+
+	ZipPath(ZipFileSystem fileSystem, String path) {
+		this.fileSystem = fileSystem;
+		this.path = removeRedundantSeparators(path);
+	}
+
+	/**
+	 * @return name of the entry in the zip file this path stands for, without a trailing separator, or an empty string
+	 * for the root of the zip file
+	 */
+	String getEntryName() {
+		return ((ZipPath) toAbsolutePath().normalize()).path.substring(1);
+	}
+
+	@Override
+	public ZipFileSystem getFileSystem() {
+		return fileSystem;
+	}
+
+	@Override
+	public boolean isAbsolute() {
+		return path.startsWith(SEPARATOR);
+	}
+
+	@Override
+	public Path getRoot() {
+		return isAbsolute() ? new ZipPath(fileSystem, SEPARATOR) : null;
+	}
+
+	@Override
+	public Path getFileName() {
+		if (path.isEmpty()) {
+			return this;
+		}
+
+		int nameCount = getNameCount();
+		return nameCount == 0 ? null : getName(nameCount - 1);
+	}
+
+	@Override
+	public Path getParent() {
+		int nameCount = getNameCount();
+		if (path.isEmpty() || nameCount == 0) {
+			return null;
+		}
+
+		if (nameCount == 1) {
+			return getRoot();
+		}
+
+		return new ZipPath(fileSystem, path.substring(0, getOffsets()[nameCount - 1] - 1));
+	}
+
+	@Override
+	public int getNameCount() {
+		return path.isEmpty() ? 1 : getOffsets().length;
+	}
+
+	@Override
+	public Path getName(int index) {
+		return subpath(index, index + 1);
+	}
+
+	@Override
+	public Path subpath(int beginIndex, int endIndex) {
+		int nameCount = getNameCount();
+		if (beginIndex < 0 || beginIndex >= nameCount || endIndex > nameCount || beginIndex >= endIndex) {
+			throw new IllegalArgumentException("Invalid subpath range: " + beginIndex + " - " + endIndex);
+		}
+
+		if (path.isEmpty()) {
+			return this;
+		}
+
+		int[] offsets = getOffsets();
+		int end = endIndex == nameCount ? path.length() : offsets[endIndex] - 1;
+		return new ZipPath(fileSystem, path.substring(offsets[beginIndex], end));
+	}
+
+	@Override
+	public boolean startsWith(Path other) {
+		ZipPath otherPath = toZipPath(other);
+		if (isAbsolute() != otherPath.isAbsolute() || otherPath.fileSystem != fileSystem) {
+			return false;
+		}
+
+		List<String> names = getNames();
+		List<String> otherNames = otherPath.getNames();
+		return otherNames.size() <= names.size() && names.subList(0, otherNames.size()).equals(otherNames);
+	}
+
+	@Override
+	public boolean endsWith(Path other) {
+		ZipPath otherPath = toZipPath(other);
+		if (otherPath.fileSystem != fileSystem) {
+			return false;
+		}
+
+		if (otherPath.isAbsolute()) {
+			return equals(otherPath);
+		}
+
+		List<String> names = getNames();
+		List<String> otherNames = otherPath.getNames();
+		return otherNames.size() <= names.size()
+				&& names.subList(names.size() - otherNames.size(), names.size()).equals(otherNames);
+	}
+
+	@Override
+	public Path normalize() {
+		List<String> normalizedNames = new ArrayList<>();
+		for (String name : getNames()) {
+			if (name.equals(".")) {
+				continue;
+			}
+
+			if (name.equals("..")) {
+				int last = normalizedNames.size() - 1;
+				if (last >= 0 && !normalizedNames.get(last).equals("..")) {
+					normalizedNames.remove(last);
+					continue;
+				}
+				if (isAbsolute()) {
+					// The parent of the root is the root itself
+					continue;
+				}
+			}
+
+			normalizedNames.add(name);
+		}
+
+		String normalizedPath = String.join(SEPARATOR, normalizedNames);
+		return new ZipPath(fileSystem, isAbsolute() ? SEPARATOR + normalizedPath : normalizedPath);
+	}
+
+	@Override
+	public Path resolve(Path other) {
+		ZipPath otherPath = toZipPath(other);
+		if (otherPath.isAbsolute()) {
+			return otherPath;
+		}
+
+		if (otherPath.path.isEmpty()) {
+			return this;
+		}
+
+		if (path.isEmpty()) {
+			return otherPath;
+		}
+
+		return new ZipPath(fileSystem, path + SEPARATOR + otherPath.path);
+	}
+
+	@Override
+	public Path relativize(Path other) {
+		ZipPath otherPath = toZipPath(other);
+		if (isAbsolute() != otherPath.isAbsolute()) {
+			throw new IllegalArgumentException("Cannot relativize an absolute and a relative path");
+		}
+
+		if (path.isEmpty()) {
+			return otherPath;
+		}
+
+		List<String> names = getNames();
+		List<String> otherNames = otherPath.getNames();
+		int commonNames = 0;
+		while (commonNames < names.size() && commonNames < otherNames.size()
+				&& names.get(commonNames).equals(otherNames.get(commonNames))) {
+			commonNames++;
+		}
+
+		List<String> relativeNames = new ArrayList<>();
+		for (int i = commonNames; i < names.size(); i++) {
+			relativeNames.add("..");
+		}
+		relativeNames.addAll(otherNames.subList(commonNames, otherNames.size()));
+		return new ZipPath(fileSystem, String.join(SEPARATOR, relativeNames));
+	}
+
+	@Override
+	public URI toUri() {
+		URI zipFileUri = fileSystem.getZipFile().toUri();
+		try {
+			return new URI(ZipFileSystemProvider.SCHEME, zipFileUri.getScheme() + ":"
+					+ zipFileUri.getSchemeSpecificPart() + "!" + toAbsolutePath(), null);
+		} catch (URISyntaxException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public Path toAbsolutePath() {
+		return isAbsolute() ? this : new ZipPath(fileSystem, SEPARATOR + path);
+	}
+
+	@Override
+	public Path toRealPath(LinkOption... options) throws IOException {
+		Path realPath = toAbsolutePath().normalize();
+		fileSystem.readAttributes((ZipPath) realPath);
+		return realPath;
+	}
+
+	@Override
+	public WatchKey register(WatchService watcher, WatchEvent.Kind<?>[] events, WatchEvent.Modifier... modifiers) {
+		throw new UnsupportedOperationException("Watching paths of a zip file system is not supported");
+	}
+
+	@Override
+	public int compareTo(Path other) {
+		return path.compareTo(toZipPath(other).path);
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof ZipPath && ((ZipPath) other).fileSystem == fileSystem && ((ZipPath) other).path.equals(path);
+	}
+
+	@Override
+	public int hashCode() {
+		return path.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return path;
+	}
+
+	private List<String> getNames() {
+		if (path.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		int nameCount = getNameCount();
+		List<String> names = new ArrayList<>(nameCount);
+		for (int i = 0; i < nameCount; i++) {
+			names.add(getName(i).toString());
+		}
+		return names;
+	}
+
+	private int[] getOffsets() {
+		if (offsets == null) {
+			int[] nameOffsets = new int[path.length()];
+			int nameCount = 0;
+			for (int i = 0; i < path.length(); i++) {
+				if (path.charAt(i) != '/' && (i == 0 || path.charAt(i - 1) == '/')) {
+					nameOffsets[nameCount++] = i;
+				}
+			}
+			offsets = Arrays.copyOf(nameOffsets, nameCount);
+		}
+		return offsets;
+	}
+
+	private static ZipPath toZipPath(Path path) {
+		if (path == null) {
+			throw new NullPointerException("path is null");
+		}
+
+		if (!(path instanceof ZipPath)) {
+			throw new ProviderMismatchException();
+		}
+		return (ZipPath) path;
+	}
+
+	private static String removeRedundantSeparators(String path) {
+		StringBuilder stringBuilder = new StringBuilder(path.length());
+		for (int i = 0; i < path.length(); i++) {
+			char character = path.charAt(i);
+			if (character == '/' && stringBuilder.length() > 0 && stringBuilder.charAt(stringBuilder.length() - 1) == '/') {
+				continue;
+			}
+			stringBuilder.append(character);
+		}
+
+		if (stringBuilder.length() > 1 && stringBuilder.charAt(stringBuilder.length() - 1) == '/') {
+			stringBuilder.setLength(stringBuilder.length() - 1);
+		}
+		return stringBuilder.toString();
+	}
+}
@@ -0,0 +1,181 @@
+package io.github.palexdev.zip4j.progress;
+
+import io.github.palexdev.zip4j.model.enums.CompressionMethod;
+import io.github.palexdev.zip4j.model.enums.EncryptionMethod;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link Zip4jMetrics} which keeps all timings in memory, in histograms with power of two buckets, and all byte
+ * counts in counters. Instances are thread safe and can be shared by several zip files and streams.
+ */
+public class HistogramZip4jMetrics implements Zip4jMetrics {
+
+	private final Histogram headerReadTime = new Histogram();
+	private final Histogram compressionTime = new Histogram();
+	private final Histogram decompressionTime = new Histogram();
+	private final Histogram encryptionTime = new Histogram();
+	private final Histogram decryptionTime = new Histogram();
+	private final Histogram keyDerivationTime = new Histogram();
+	private final Histogram tempFileRewriteTime = new Histogram();
+	private final LongAdder bytesRead = new LongAdder();
+	private final LongAdder bytesWritten = new LongAdder();
+	private final LongAdder tempFileRewriteBytes = new LongAdder();
+
+	@Override
+	public void headersRead(int numberOfEntries, long duration) {
+		headerReadTime.record(duration);
+	}
+
+	@Override
+	public void entryCompressed(CompressionMethod compressionMethod, long uncompressedSize, long compressedSize,
+	                            long duration) {
+		compressionTime.record(duration);
+	}
+
+	@Override
+	public void entryDecompressed(CompressionMethod compressionMethod, long compressedSize, long uncompressedSize,
+	                              long duration) {
+		decompressionTime.record(duration);
+	}
+
+	@Override
+	public void entryEncrypted(EncryptionMethod encryptionMethod, long size, long duration) {
+		encryptionTime.record(duration);
+	}
+
+	@Override
+	public void entryDecrypted(EncryptionMethod encryptionMethod, long size, long duration) {
+		decryptionTime.record(duration);
+	}
+
+	@Override
+	public void keyDerived(long duration) {
+		keyDerivationTime.record(duration);
+	}
+
+	@Override
+	public void bytesRead(long bytes) {
+		bytesRead.add(bytes);
+	}
+
+	@Override
+	public void bytesWritten(long bytes) {
+		bytesWritten.add(bytes);
+	}
+
+	@Override
+	public void tempFileRewritten(long bytes, long duration) {
+		tempFileRewriteBytes.add(bytes);
+		tempFileRewriteTime.record(duration);
+	}
+
+	public Histogram getHeaderReadTime() {
+		return headerReadTime;
+	}
+
+	public Histogram getCompressionTime() {
+		return compressionTime;
+	}
+
+	public Histogram getDecompressionTime() {
+		return decompressionTime;
+	}
+
+	public Histogram getEncryptionTime() {
+		return encryptionTime;
+	}
+
+	public Histogram getDecryptionTime() {
+		return decryptionTime;
+	}
+
+	public Histogram getKeyDerivationTime() {
+		return keyDerivationTime;
+	}
+
+	public Histogram getTempFileRewriteTime() {
+		return tempFileRewriteTime;
+	}
+
+	public long getBytesRead() {
+		return bytesRead.sum();
+	}
+
+	public long getBytesWritten() {
+		return bytesWritten.sum();
+	}
+
+	public long getTempFileRewriteBytes() {
+		return tempFileRewriteBytes.sum();
+	}
+
+	/**
+	 * A histogram of durations in nanoseconds. Bucket i holds the values v with 2^(i-1) &lt;= v &lt; 2^i, so that
+	 * percentiles are accurate to within a factor of two, which is enough to tell apart where time is spent.
+	 */
+	public static class Histogram {
+
+		private static final int NUMBER_OF_BUCKETS = 64;
+
+		private final AtomicLongArray buckets = new AtomicLongArray(NUMBER_OF_BUCKETS);
+		private final LongAdder count = new LongAdder();
+		private final LongAdder total = new LongAdder();
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+		public void record(long value) {
+			if (value < 0) {
+				value = 0;
+			}
+
+			buckets.incrementAndGet(Math.min(NUMBER_OF_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value)));
+			count.increment();
+			total.add(value);
+			max.accumulate(value);
+		}
+
+		public long getCount() {
+			return count.sum();
+		}
+
+		public long getTotal() {
+			return total.sum();
+		}
+
+		public long getMax() {
+			return max.get();
+		}
+
+		public double getMean() {
+			long count = getCount();
+			return count == 0 ? 0 : (double) getTotal() / count;
+		}
+
+		/**
+		 * @param percentile percentile between 0 and 100
+		 * @return upper bound of the bucket which contains the given percentile, or 0 if nothing was recorded
+		 */
+		public long getPercentile(double percentile) {
+			if (percentile < 0 || percentile > 100) {
+				throw new IllegalArgumentException("percentile has to be between 0 and 100");
+			}
+
+			long count = getCount();
+			if (count == 0) {
+				return 0;
+			}
+
+			long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+			long seen = 0;
+			for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+				seen += buckets.get(i);
+				if (seen >= rank) {
+					return Math.min(getMax(), i == 0 ? 0 : (i >= 63 ? Long.MAX_VALUE : (1L << i) - 1));
+				}
+			}
+			return getMax();
+		}
+	}
+}
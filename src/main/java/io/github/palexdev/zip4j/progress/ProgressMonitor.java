@@ -16,8 +16,16 @@
 
 package io.github.palexdev.zip4j.progress;
 
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * If Zip4j is set to run in thread mode, this class helps retrieve current progress
+ * <p>
+ * Progress can be updated from several threads at the same time and read from any thread. Counters are striped
+ * (see {@link LongAdder}) so that concurrent updates do not contend, and derived values like the percentage done or
+ * the throughput are only computed when they are read.
  */
 public class ProgressMonitor {
 
@@ -25,51 +33,79 @@ public class ProgressMonitor {
 
 	public enum Result {SUCCESS, WORK_IN_PROGRESS, ERROR, CANCELLED}
 
-	public enum Task {NONE, ADD_ENTRY, REMOVE_ENTRY, CALCULATE_CRC, EXTRACT_ENTRY, MERGE_ZIP_FILES, SET_COMMENT, RENAME_FILE}
-
-	private State state;
-	private long totalWork;
-	private long workCompleted;
-	private int percentDone;
-	private Task currentTask;
-	private String fileName;
-	private Result result;
-	private Exception exception;
-	private boolean cancelAllTasks;
-	private boolean pause;
+	public enum Task {NONE, ADD_ENTRY, REMOVE_ENTRY, CALCULATE_CRC, EXTRACT_ENTRY, MERGE_ZIP_FILES, SET_COMMENT, RENAME_FILE, VERIFY_ENTRY}
+
+	private static final int PERCENT_DONE_NOT_SET = -1;
+
+	private volatile State state;
+	private volatile long totalWork;
+	private final LongAdder workCompleted = new LongAdder();
+	private final LongAdder entriesCompleted = new LongAdder();
+	private final LongAdder compressedBytes = new LongAdder();
+	private final LongAdder uncompressedBytes = new LongAdder();
+	private volatile int percentDone = PERCENT_DONE_NOT_SET;
+	private volatile long startTime = System.nanoTime();
+	private volatile long endTime;
+	private volatile Task currentTask;
+	private volatile String fileName;
+	private volatile Result result;
+	private volatile Exception exception;
+	private volatile boolean cancelAllTasks;
+	private volatile boolean pause;
+	private final ReentrantLock pauseLock = new ReentrantLock();
+	private final Condition resumed = pauseLock.newCondition();
 
 	public ProgressMonitor() {
 		reset();
 	}
 
 	public void updateWorkCompleted(long workCompleted) {
-		this.workCompleted += workCompleted;
+		this.workCompleted.add(workCompleted);
 
-		if (totalWork > 0) {
-			percentDone = (int) ((this.workCompleted * 100 / totalWork));
-			if (percentDone > 100) {
-				percentDone = 100;
-			}
+		if (pause) {
+			awaitResume();
 		}
+	}
+
+	/**
+	 * Records that an entry was completely added or extracted
+	 *
+	 * @param compressedSize   compressed size of the entry
+	 * @param uncompressedSize uncompressed size of the entry
+	 */
+	public void updateEntryCompleted(long compressedSize, long uncompressedSize) {
+		entriesCompleted.increment();
+		compressedBytes.add(compressedSize);
+		uncompressedBytes.add(uncompressedSize);
+	}
 
-		while (pause) {
-			try {
-				Thread.sleep(150);
-			} catch (InterruptedException e) {
-				//Do nothing
+	/**
+	 * Parks the calling thread until the monitor is no longer paused. Parking on a lock condition, rather than
+	 * sleeping in a loop or waiting on a monitor, does not pin the carrier thread of a virtual thread. As before,
+	 * interrupts do not end the pause, but the interrupt status of the thread is preserved.
+	 */
+	private void awaitResume() {
+		pauseLock.lock();
+		try {
+			while (pause) {
+				resumed.awaitUninterruptibly();
 			}
+		} finally {
+			pauseLock.unlock();
 		}
 	}
 
 	public void endProgressMonitor() {
 		result = Result.SUCCESS;
 		percentDone = 100;
+		endTime = System.nanoTime();
 		reset();
 	}
 
 	public void endProgressMonitor(Exception e) {
 		result = Result.ERROR;
 		exception = e;
+		endTime = System.nanoTime();
 		reset();
 	}
 
@@ -77,8 +113,13 @@ public class ProgressMonitor {
 		reset();
 		fileName = null;
 		totalWork = 0;
-		workCompleted = 0;
-		percentDone = 0;
+		workCompleted.reset();
+		entriesCompleted.reset();
+		compressedBytes.reset();
+		uncompressedBytes.reset();
+		percentDone = PERCENT_DONE_NOT_SET;
+		startTime = System.nanoTime();
+		endTime = 0;
 	}
 
 	private void reset() {
@@ -103,17 +144,112 @@ public class ProgressMonitor {
 	}
 
 	public long getWorkCompleted() {
-		return workCompleted;
+		return workCompleted.sum();
 	}
 
 	public int getPercentDone() {
-		return percentDone;
+		int percentDone = this.percentDone;
+		if (percentDone != PERCENT_DONE_NOT_SET) {
+			return percentDone;
+		}
+
+		long totalWork = this.totalWork;
+		if (totalWork <= 0) {
+			return 0;
+		}
+
+		return (int) Math.min(100, getWorkCompleted() * 100 / totalWork);
 	}
 
 	public void setPercentDone(int percentDone) {
 		this.percentDone = percentDone;
 	}
 
+	/**
+	 * @return number of entries completely added or extracted since the start of the current task
+	 */
+	public long getEntriesCompleted() {
+		return entriesCompleted.sum();
+	}
+
+	/**
+	 * @return sum of the compressed sizes of the entries completed since the start of the current task
+	 */
+	public long getCompressedBytes() {
+		return compressedBytes.sum();
+	}
+
+	/**
+	 * @return sum of the uncompressed sizes of the entries completed since the start of the current task
+	 */
+	public long getUncompressedBytes() {
+		return uncompressedBytes.sum();
+	}
+
+	/**
+	 * @return time elapsed since the start of the current task, or the duration of the last task if it has ended,
+	 * in milliseconds
+	 */
+	public long getElapsedTimeMillis() {
+		long endTime = this.endTime;
+		return ((endTime == 0 ? System.nanoTime() : endTime) - startTime) / 1_000_000;
+	}
+
+	/**
+	 * @return average work completed per second, which is bytes per second for tasks that add or extract entries
+	 */
+	public double getBytesPerSecond() {
+		return perSecond(getWorkCompleted());
+	}
+
+	/**
+	 * @return average number of entries completed per second
+	 */
+	public double getEntriesPerSecond() {
+		return perSecond(getEntriesCompleted());
+	}
+
+	/**
+	 * @return estimated time in milliseconds until the current task is done, based on the average throughput so far,
+	 * or -1 if it cannot be estimated yet
+	 */
+	public long getEstimatedTimeRemainingMillis() {
+		if (endTime != 0) {
+			return 0;
+		}
+
+		long totalWork = this.totalWork;
+		long workCompleted = getWorkCompleted();
+		if (totalWork <= 0 || workCompleted <= 0) {
+			return -1;
+		}
+
+		if (workCompleted >= totalWork) {
+			return 0;
+		}
+
+		return (long) ((totalWork - workCompleted) * ((double) getElapsedTimeMillis() / workCompleted));
+	}
+
+	/**
+	 * @return ratio of compressed to uncompressed bytes of the entries completed so far, or 0 if no data was processed
+	 */
+	public double getCompressionRatio() {
+		long uncompressedBytes = getUncompressedBytes();
+		if (uncompressedBytes <= 0) {
+			return 0;
+		}
+		return (double) getCompressedBytes() / uncompressedBytes;
+	}
+
+	private double perSecond(long count) {
+		long elapsedTimeMillis = getElapsedTimeMillis();
+		if (elapsedTimeMillis <= 0) {
+			return 0;
+		}
+		return count * 1000d / elapsedTimeMillis;
+	}
+
 	public Task getCurrentTask() {
 		return currentTask;
 	}
@@ -159,6 +295,14 @@ public class ProgressMonitor {
 	}
 
 	public void setPause(boolean pause) {
-		this.pause = pause;
+		pauseLock.lock();
+		try {
+			this.pause = pause;
+			if (!pause) {
+				resumed.signalAll();
+			}
+		} finally {
+			pauseLock.unlock();
+		}
 	}
 }
@@ -0,0 +1,110 @@
+package io.github.palexdev.zip4j.progress;
+
+import io.github.palexdev.zip4j.model.enums.CompressionMethod;
+import io.github.palexdev.zip4j.model.enums.EncryptionMethod;
+
+/**
+ * Listener for timings and byte counts of the hot paths of zip4j, which can be set with
+ * {@link io.github.palexdev.zip4j.ZipFile#setMetrics(Zip4jMetrics)} or passed to the streams in a
+ * {@link io.github.palexdev.zip4j.model.Zip4jConfig}.
+ * <p>
+ * All durations are in nanoseconds. Timings are only taken when a listener other than {@link #NO_OP} is configured, so
+ * that there is no overhead otherwise. Callbacks are invoked on the thread doing the work, and implementations have to
+ * be thread safe if the same instance is used for concurrent operations. All methods do nothing by default.
+ *
+ * @see HistogramZip4jMetrics
+ */
+public interface Zip4jMetrics {
+
+	/**
+	 * Listener which ignores all callbacks, used when no listener is configured
+	 */
+	Zip4jMetrics NO_OP = new Zip4jMetrics() {
+	};
+
+	/**
+	 * Called when the headers of a zip file, up to and including the central directory, have been read
+	 *
+	 * @param numberOfEntries number of entries in the central directory
+	 * @param duration        time taken to read the headers
+	 */
+	default void headersRead(int numberOfEntries, long duration) {
+	}
+
+	/**
+	 * Called when an entry which is not stored has been compressed
+	 *
+	 * @param compressionMethod compression method of the entry
+	 * @param uncompressedSize  size of the entry before compression
+	 * @param compressedSize    size of the entry after compression, including any encryption overhead
+	 * @param duration          time spent in the compressor
+	 */
+	default void entryCompressed(CompressionMethod compressionMethod, long uncompressedSize, long compressedSize,
+	                             long duration) {
+	}
+
+	/**
+	 * Called when an entry which is not stored has been decompressed
+	 *
+	 * @param compressionMethod compression method of the entry
+	 * @param compressedSize    size of the entry before decompression, including any encryption overhead
+	 * @param uncompressedSize  size of the entry after decompression
+	 * @param duration          time spent in the decompressor
+	 */
+	default void entryDecompressed(CompressionMethod compressionMethod, long compressedSize, long uncompressedSize,
+	                               long duration) {
+	}
+
+	/**
+	 * Called when an encrypted entry has been written
+	 *
+	 * @param encryptionMethod encryption method of the entry
+	 * @param size             number of bytes encrypted
+	 * @param duration         time spent encrypting
+	 */
+	default void entryEncrypted(EncryptionMethod encryptionMethod, long size, long duration) {
+	}
+
+	/**
+	 * Called when an encrypted entry has been read
+	 *
+	 * @param encryptionMethod encryption method of the entry
+	 * @param size             number of bytes decrypted
+	 * @param duration         time spent decrypting
+	 */
+	default void entryDecrypted(EncryptionMethod encryptionMethod, long size, long duration) {
+	}
+
+	/**
+	 * Called when the keys for an AES encrypted entry have been derived from the password
+	 *
+	 * @param duration time taken by the key derivation
+	 */
+	default void keyDerived(long duration) {
+	}
+
+	/**
+	 * Called when the data of an entry has been read from the zip file
+	 *
+	 * @param bytes number of bytes read
+	 */
+	default void bytesRead(long bytes) {
+	}
+
+	/**
+	 * Called when data has been written to the zip file, once per entry and once for the central directory
+	 *
+	 * @param bytes number of bytes written
+	 */
+	default void bytesWritten(long bytes) {
+	}
+
+	/**
+	 * Called when a zip file has been rewritten to a temporary file to remove or rename entries
+	 *
+	 * @param bytes    size of the rewritten zip file
+	 * @param duration time taken to rewrite the zip file
+	 */
+	default void tempFileRewritten(long bytes, long duration) {
+	}
+}
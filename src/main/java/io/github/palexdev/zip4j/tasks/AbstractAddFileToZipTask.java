@@ -1,5 +1,6 @@
 package io.github.palexdev.zip4j.tasks;
 
+import io.github.palexdev.zip4j.codec.CompressionCodecs;
 import io.github.palexdev.zip4j.exception.ZipException;
 import io.github.palexdev.zip4j.headers.HeaderUtil;
 import io.github.palexdev.zip4j.headers.HeaderWriter;
@@ -9,13 +10,11 @@ import io.github.palexdev.zip4j.model.FileHeader;
 import io.github.palexdev.zip4j.model.Zip4jConfig;
 import io.github.palexdev.zip4j.model.ZipModel;
 import io.github.palexdev.zip4j.model.ZipParameters;
-import io.github.palexdev.zip4j.model.enums.CompressionMethod;
-import io.github.palexdev.zip4j.model.enums.EncryptionMethod;
 import io.github.palexdev.zip4j.progress.ProgressMonitor;
 import io.github.palexdev.zip4j.tasks.RemoveFilesFromZipTask.RemoveFilesFromZipTaskParameters;
 import io.github.palexdev.zip4j.util.BitUtils;
+import io.github.palexdev.zip4j.util.CompressibilityUtil;
 import io.github.palexdev.zip4j.util.FileUtils;
-import io.github.palexdev.zip4j.util.InternalZipConstants;
 import io.github.palexdev.zip4j.util.Zip4jUtil;
 
 import java.io.File;
@@ -27,14 +26,12 @@ import java.util.Collections;
 import java.util.List;
 
 import static io.github.palexdev.zip4j.headers.HeaderUtil.getFileHeader;
-import static io.github.palexdev.zip4j.model.ZipParameters.SymbolicLinkAction.INCLUDE_LINK_AND_LINKED_FILE;
 import static io.github.palexdev.zip4j.model.ZipParameters.SymbolicLinkAction.INCLUDE_LINK_ONLY;
 import static io.github.palexdev.zip4j.model.enums.CompressionMethod.DEFLATE;
 import static io.github.palexdev.zip4j.model.enums.CompressionMethod.STORE;
 import static io.github.palexdev.zip4j.model.enums.EncryptionMethod.NONE;
 import static io.github.palexdev.zip4j.model.enums.EncryptionMethod.ZIP_STANDARD;
 import static io.github.palexdev.zip4j.progress.ProgressMonitor.Task.*;
-import static io.github.palexdev.zip4j.util.CrcUtil.computeFileCrc;
 import static io.github.palexdev.zip4j.util.FileUtils.assertFilesExist;
 import static io.github.palexdev.zip4j.util.FileUtils.getRelativeFileName;
 
@@ -66,12 +63,12 @@ public abstract class AbstractAddFileToZipTask<T> extends AsyncZipTask<T> {
 
 			for (File fileToAdd : updatedFilesToAdd) {
 				verifyIfTaskIsCancelled();
-				ZipParameters clonedZipParameters = cloneAndAdjustZipParameters(zipParameters, fileToAdd, progressMonitor);
+				ZipParameters clonedZipParameters = cloneAndAdjustZipParameters(zipParameters, fileToAdd);
 				progressMonitor.setFileName(fileToAdd.getAbsolutePath());
 
 				if (FileUtils.isSymbolicLink(fileToAdd)) {
-					if (addSymlink(clonedZipParameters)) {
-						addSymlinkToZip(fileToAdd, zipOutputStream, clonedZipParameters, splitOutputStream);
+					if (FileUtils.isSymbolicLinkAdded(clonedZipParameters)) {
+						addSymlinkToZip(fileToAdd, zipOutputStream, clonedZipParameters, splitOutputStream, progressMonitor);
 
 						if (INCLUDE_LINK_ONLY.equals(clonedZipParameters.getSymbolicLinkAction())) {
 							continue;
@@ -85,19 +82,13 @@ public abstract class AbstractAddFileToZipTask<T> extends AsyncZipTask<T> {
 	}
 
 	private void addSymlinkToZip(File fileToAdd, ZipOutputStream zipOutputStream, ZipParameters zipParameters,
-	                             SplitOutputStream splitOutputStream) throws IOException {
+	                             SplitOutputStream splitOutputStream, ProgressMonitor progressMonitor) throws IOException {
 
-		ZipParameters clonedZipParameters = new ZipParameters(zipParameters);
-		clonedZipParameters.setFileNameInZip(replaceFileNameInZip(zipParameters.getFileNameInZip(), fileToAdd.getName()));
-		clonedZipParameters.setEncryptFiles(false);
-		clonedZipParameters.setCompressionMethod(CompressionMethod.STORE);
-
-		zipOutputStream.putNextEntry(clonedZipParameters);
+		byte[] symLinkTarget = FileUtils.readSymbolicLink(fileToAdd).getBytes();
+		zipOutputStream.putNextEntry(FileUtils.buildSymbolicLinkZipParameters(zipParameters, fileToAdd, symLinkTarget));
+		zipOutputStream.write(symLinkTarget);
 
-		String symLinkTarget = FileUtils.readSymbolicLink(fileToAdd);
-		zipOutputStream.write(symLinkTarget.getBytes());
-
-		closeEntry(zipOutputStream, splitOutputStream, fileToAdd, true);
+		closeEntry(zipOutputStream, splitOutputStream, fileToAdd, true, progressMonitor);
 	}
 
 	private void addFileToZip(File fileToAdd, ZipOutputStream zipOutputStream, ZipParameters zipParameters,
@@ -116,11 +107,11 @@ public abstract class AbstractAddFileToZipTask<T> extends AsyncZipTask<T> {
 			}
 		}
 
-		closeEntry(zipOutputStream, splitOutputStream, fileToAdd, false);
+		closeEntry(zipOutputStream, splitOutputStream, fileToAdd, false, progressMonitor);
 	}
 
 	private void closeEntry(ZipOutputStream zipOutputStream, SplitOutputStream splitOutputStream, File fileToAdd,
-	                        boolean isSymlink) throws IOException {
+	                        boolean isSymlink, ProgressMonitor progressMonitor) throws IOException {
 		FileHeader fileHeader = zipOutputStream.closeEntry();
 		byte[] fileAttributes = FileUtils.getFileAttributes(fileToAdd);
 
@@ -132,6 +123,7 @@ public abstract class AbstractAddFileToZipTask<T> extends AsyncZipTask<T> {
 		fileHeader.setExternalFileAttributes(fileAttributes);
 
 		updateLocalFileHeader(fileHeader, splitOutputStream);
+		progressMonitor.updateEntryCompleted(fileHeader.getCompressedSize(), fileHeader.getUncompressedSize());
 	}
 
 	long calculateWorkForFiles(List<File> filesToAdd, ZipParameters zipParameters) throws ZipException {
@@ -142,11 +134,7 @@ public abstract class AbstractAddFileToZipTask<T> extends AsyncZipTask<T> {
 				continue;
 			}
 
-			if (zipParameters.isEncryptFiles() && zipParameters.getEncryptionMethod() == EncryptionMethod.ZIP_STANDARD) {
-				totalWork += (fileToAdd.length() * 2); // for CRC calculation
-			} else {
-				totalWork += fileToAdd.length();
-			}
+			totalWork += fileToAdd.length();
 
 			//If an entry already exists, we have to remove that entry first and then add content again.
 			//In this case, add corresponding work
@@ -173,7 +161,7 @@ public abstract class AbstractAddFileToZipTask<T> extends AsyncZipTask<T> {
 			throw new ZipException("cannot validate zip parameters");
 		}
 
-		if (parameters.getCompressionMethod() != STORE && parameters.getCompressionMethod() != DEFLATE) {
+		if (!CompressionCodecs.isCompressionSupported(parameters.getCompressionMethod())) {
 			throw new ZipException("unsupported compression type");
 		}
 
@@ -196,8 +184,7 @@ public abstract class AbstractAddFileToZipTask<T> extends AsyncZipTask<T> {
 
 	// Suppressing warning to use BasicFileAttributes as this has trouble reading symlink's attributes
 	@SuppressWarnings("BulkFileAttributesRead")
-	private ZipParameters cloneAndAdjustZipParameters(ZipParameters zipParameters, File fileToAdd,
-	                                                  ProgressMonitor progressMonitor) throws IOException {
+	private ZipParameters cloneAndAdjustZipParameters(ZipParameters zipParameters, File fileToAdd) throws IOException {
 		ZipParameters clonedZipParameters = new ZipParameters(zipParameters);
 
 		if (fileToAdd.isDirectory()) {
@@ -223,12 +210,12 @@ public abstract class AbstractAddFileToZipTask<T> extends AsyncZipTask<T> {
 			clonedZipParameters.setEncryptFiles(false);
 		} else {
 			if (clonedZipParameters.isEncryptFiles() && clonedZipParameters.getEncryptionMethod() == ZIP_STANDARD) {
-				progressMonitor.setCurrentTask(CALCULATE_CRC);
-				clonedZipParameters.setEntryCRC(computeFileCrc(fileToAdd, progressMonitor));
-				progressMonitor.setCurrentTask(ADD_ENTRY);
+				// With a data descriptor the encryption header check byte is derived from the last modified time
+				// instead of the CRC, which avoids reading the whole file once just to compute its CRC up front
+				clonedZipParameters.setWriteExtendedLocalFileHeader(true);
 			}
 
-			if (fileToAdd.length() == 0) {
+			if (fileToAdd.length() == 0 || isIncompressible(clonedZipParameters, fileToAdd)) {
 				clonedZipParameters.setCompressionMethod(STORE);
 			}
 		}
@@ -236,6 +223,12 @@ public abstract class AbstractAddFileToZipTask<T> extends AsyncZipTask<T> {
 		return clonedZipParameters;
 	}
 
+	private boolean isIncompressible(ZipParameters zipParameters, File fileToAdd) throws IOException {
+		return zipParameters.isStoreIncompressibleFiles() && zipParameters.getCompressionMethod() == DEFLATE
+				&& CompressibilityUtil.isIncompressible(fileToAdd, zipParameters.getCompressionLevel(),
+				zipParameters.getMinimumCompressionGain());
+	}
+
 	private List<File> removeFilesIfExists(List<File> files, ZipParameters zipParameters, ProgressMonitor progressMonitor,
 	                                       Zip4jConfig zip4jConfig)
 			throws ZipException {
@@ -278,20 +271,6 @@ public abstract class AbstractAddFileToZipTask<T> extends AsyncZipTask<T> {
 		removeFilesFromZipTask.execute(parameters);
 	}
 
-	private String replaceFileNameInZip(String fileInZipWithPath, String newFileName) {
-		if (fileInZipWithPath.contains(InternalZipConstants.ZIP_FILE_SEPARATOR)) {
-			return fileInZipWithPath.substring(0, fileInZipWithPath.lastIndexOf(InternalZipConstants.ZIP_FILE_SEPARATOR) + 1) + newFileName;
-		}
-
-		return newFileName;
-	}
-
-
-	private boolean addSymlink(ZipParameters zipParameters) {
-		return INCLUDE_LINK_ONLY.equals(zipParameters.getSymbolicLinkAction()) ||
-				INCLUDE_LINK_AND_LINKED_FILE.equals(zipParameters.getSymbolicLinkAction());
-	}
-
 	@Override
 	protected ProgressMonitor.Task getTask() {
 		return ProgressMonitor.Task.ADD_ENTRY;
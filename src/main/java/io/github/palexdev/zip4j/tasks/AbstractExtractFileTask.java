@@ -2,6 +2,7 @@ package io.github.palexdev.zip4j.tasks;
 
 import io.github.palexdev.zip4j.exception.ZipException;
 import io.github.palexdev.zip4j.io.inputstream.ZipInputStream;
+import io.github.palexdev.zip4j.io.outputstream.AsynchronousChannelOutputStream;
 import io.github.palexdev.zip4j.model.FileHeader;
 import io.github.palexdev.zip4j.model.LocalFileHeader;
 import io.github.palexdev.zip4j.model.UnzipParameters;
@@ -15,17 +16,22 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.AsynchronousFileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.regex.Matcher;
 
+import static io.github.palexdev.zip4j.util.InternalZipConstants.ASYNC_WRITE_BUFF_SIZE;
+import static io.github.palexdev.zip4j.util.InternalZipConstants.ASYNC_WRITE_MAX_BUFFERS_IN_FLIGHT;
 import static io.github.palexdev.zip4j.util.InternalZipConstants.FILE_SEPARATOR;
 
 public abstract class AbstractExtractFileTask<T> extends AsyncZipTask<T> {
 
 	private final ZipModel zipModel;
 	private final UnzipParameters unzipParameters;
+	private AsynchronousChannelOutputStream.BufferPool asyncWriteBufferPool;
 
 	public AbstractExtractFileTask(ZipModel zipModel, UnzipParameters unzipParameters,
 	                               AsyncTaskParameters asyncTaskParameters) {
@@ -63,10 +69,11 @@ public abstract class AbstractExtractFileTask<T> extends AsyncZipTask<T> {
 			createSymLink(zipInputStream, fileHeader, outputFile, progressMonitor);
 		} else {
 			checkOutputDirectoryStructure(outputFile);
-			unzipFile(zipInputStream, outputFile, progressMonitor, readBuff);
+			unzipFile(zipInputStream, fileHeader, outputFile, progressMonitor, readBuff);
 		}
 
 		UnzipUtil.applyFileAttributes(fileHeader, outputFile);
+		progressMonitor.updateEntryCompleted(fileHeader.getCompressedSize(), fileHeader.getUncompressedSize());
 	}
 
 	private void assertCanonicalPathsAreSame(File outputFile, String outputPath, FileHeader fileHeader)
@@ -99,11 +106,27 @@ public abstract class AbstractExtractFileTask<T> extends AsyncZipTask<T> {
 		return BitUtils.isBitSet(externalFileAttributes[3], 5);
 	}
 
-	private void unzipFile(ZipInputStream inputStream, File outputFile, ProgressMonitor progressMonitor, byte[] buff)
-			throws IOException {
+	private OutputStream openOutputStream(FileHeader fileHeader, File outputFile) throws IOException {
+		long asyncWriteThreshold = unzipParameters.getAsyncWriteThreshold();
+		if (asyncWriteThreshold < 0 || fileHeader.getUncompressedSize() < asyncWriteThreshold) {
+			return new FileOutputStream(outputFile);
+		}
+
+		AsynchronousFileChannel channel = AsynchronousFileChannel.open(outputFile.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		// Files are extracted one after the other, so they share the direct buffers instead of allocating new ones
+		if (asyncWriteBufferPool == null) {
+			asyncWriteBufferPool = new AsynchronousChannelOutputStream.BufferPool(ASYNC_WRITE_BUFF_SIZE,
+					ASYNC_WRITE_MAX_BUFFERS_IN_FLIGHT);
+		}
+		return new AsynchronousChannelOutputStream(channel, 0, asyncWriteBufferPool);
+	}
+
+	private void unzipFile(ZipInputStream inputStream, FileHeader fileHeader, File outputFile,
+	                       ProgressMonitor progressMonitor, byte[] buff) throws IOException {
 
 		int readLength;
-		try (OutputStream outputStream = new FileOutputStream(outputFile)) {
+		try (OutputStream outputStream = openOutputStream(fileHeader, outputFile)) {
 			while ((readLength = inputStream.read(buff)) != -1) {
 				outputStream.write(buff, 0, readLength);
 				progressMonitor.updateWorkCompleted(readLength);
@@ -2,9 +2,12 @@ package io.github.palexdev.zip4j.tasks;
 
 import io.github.palexdev.zip4j.exception.ZipException;
 import io.github.palexdev.zip4j.headers.HeaderUtil;
+import io.github.palexdev.zip4j.jfr.JfrSupport;
+import io.github.palexdev.zip4j.jfr.ZipFileRewriteEvent;
 import io.github.palexdev.zip4j.model.FileHeader;
 import io.github.palexdev.zip4j.model.ZipModel;
 import io.github.palexdev.zip4j.progress.ProgressMonitor;
+import io.github.palexdev.zip4j.progress.Zip4jMetrics;
 import io.github.palexdev.zip4j.util.FileUtils;
 
 import java.io.File;
@@ -19,10 +22,25 @@ import java.util.List;
 
 abstract class AbstractModifyFileTask<T> extends AsyncZipTask<T> {
 
+	private long rewriteStartTime;
+	private ZipFileRewriteEvent zipFileRewriteEvent;
+
 	AbstractModifyFileTask(AsyncTaskParameters asyncTaskParameters) {
 		super(asyncTaskParameters);
 	}
 
+	/**
+	 * Marks the start of the rewrite of the zip file to a temporary file, which is timed for the metrics and recorded
+	 * as a JFR event
+	 */
+	void startRewrite() {
+		rewriteStartTime = System.nanoTime();
+		zipFileRewriteEvent = JfrSupport.isAvailable() ? new ZipFileRewriteEvent() : null;
+		if (zipFileRewriteEvent != null) {
+			zipFileRewriteEvent.begin();
+		}
+	}
+
 	File getTemporaryFile(String zipPathWithName) {
 		SecureRandom random = new SecureRandom();
 		File tmpFile = new File(zipPathWithName + random.nextInt(10000));
@@ -34,31 +52,35 @@ abstract class AbstractModifyFileTask<T> extends AsyncZipTask<T> {
 		return tmpFile;
 	}
 
-	void updateOffsetsForAllSubsequentFileHeaders(List<FileHeader> sortedFileHeaders, ZipModel zipModel,
-	                                              FileHeader fileHeaderModified, long offsetToAdd) throws ZipException {
-		int indexOfFileHeader = getIndexOfFileHeader(sortedFileHeaders, fileHeaderModified);
-
-		if (indexOfFileHeader == -1) {
-			throw new ZipException("Could not locate modified file header in zipModel");
+	void updateOffsetOfLocalFileHeader(FileHeader fileHeader, ZipModel zipModel, long offsetToAdd) {
+		if (offsetToAdd == 0) {
+			return;
 		}
 
-		for (int i = indexOfFileHeader + 1; i < sortedFileHeaders.size(); i++) {
-			FileHeader fileHeaderToUpdate = sortedFileHeaders.get(i);
-			fileHeaderToUpdate.setOffsetLocalHeader(fileHeaderToUpdate.getOffsetLocalHeader() + offsetToAdd);
+		fileHeader.setOffsetLocalHeader(fileHeader.getOffsetLocalHeader() + offsetToAdd);
 
-			if (zipModel.isZip64Format()
-					&& fileHeaderToUpdate.getZip64ExtendedInfo() != null
-					&& fileHeaderToUpdate.getZip64ExtendedInfo().getOffsetLocalHeader() != -1) {
+		if (zipModel.isZip64Format()
+				&& fileHeader.getZip64ExtendedInfo() != null
+				&& fileHeader.getZip64ExtendedInfo().getOffsetLocalHeader() != -1) {
 
-				fileHeaderToUpdate.getZip64ExtendedInfo().setOffsetLocalHeader(
-						fileHeaderToUpdate.getZip64ExtendedInfo().getOffsetLocalHeader() + offsetToAdd
-				);
-			}
+			fileHeader.getZip64ExtendedInfo().setOffsetLocalHeader(
+					fileHeader.getZip64ExtendedInfo().getOffsetLocalHeader() + offsetToAdd
+			);
 		}
 	}
 
-	void cleanupFile(boolean successFlag, File zipFile, File temporaryZipFile) throws ZipException {
+	void cleanupFile(boolean successFlag, File zipFile, File temporaryZipFile, Zip4jMetrics metrics)
+			throws ZipException {
+		if (zipFileRewriteEvent != null && zipFileRewriteEvent.shouldCommit()) {
+			zipFileRewriteEvent.zipFile = zipFile.getPath();
+			zipFileRewriteEvent.task = getTask().name();
+			zipFileRewriteEvent.bytesWritten = temporaryZipFile.length();
+			zipFileRewriteEvent.success = successFlag;
+			zipFileRewriteEvent.commit();
+		}
+
 		if (successFlag) {
+			metrics.tempFileRewritten(temporaryZipFile.length(), System.nanoTime() - rewriteStartTime);
 			restoreFileName(zipFile, temporaryZipFile);
 		} else {
 			if (!temporaryZipFile.delete()) {
@@ -90,10 +112,7 @@ abstract class AbstractModifyFileTask<T> extends AsyncZipTask<T> {
 		return clonedFileHeaders;
 	}
 
-	long getOffsetOfNextEntry(List<FileHeader> sortedFileHeaders, FileHeader fileHeader,
-	                          ZipModel zipModel) throws ZipException {
-		int indexOfFileHeader = getIndexOfFileHeader(sortedFileHeaders, fileHeader);
-
+	long getOffsetOfNextEntry(List<FileHeader> sortedFileHeaders, int indexOfFileHeader, ZipModel zipModel) {
 		if (indexOfFileHeader == sortedFileHeaders.size() - 1) {
 			return HeaderUtil.getOffsetStartOfCentralDirectory(zipModel);
 		} else {
@@ -110,15 +129,4 @@ abstract class AbstractModifyFileTask<T> extends AsyncZipTask<T> {
 			throw new ZipException("cannot delete old zip file");
 		}
 	}
-
-	private int getIndexOfFileHeader(List<FileHeader> allFileHeaders, FileHeader fileHeaderForIndex) throws ZipException {
-		for (int i = 0; i < allFileHeaders.size(); i++) {
-			FileHeader fileHeader = allFileHeaders.get(i);
-			if (fileHeader.equals(fileHeaderForIndex)) {
-				return i;
-			}
-		}
-
-		throw new ZipException("Could not find file header in list of central directory file headers");
-	}
 }
@@ -11,12 +11,8 @@ import io.github.palexdev.zip4j.util.FileUtils;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
-import static io.github.palexdev.zip4j.model.ZipParameters.SymbolicLinkAction.INCLUDE_LINK_ONLY;
-import static io.github.palexdev.zip4j.util.FileUtils.isSymbolicLink;
-
 public class AddFilesToZipTask extends AbstractAddFileToZipTask<AddFilesToZipTaskParameters> {
 
 	public AddFilesToZipTask(ZipModel zipModel, char[] password, HeaderWriter headerWriter,
@@ -29,7 +25,7 @@ public class AddFilesToZipTask extends AbstractAddFileToZipTask<AddFilesToZipTas
 			throws IOException {
 
 		verifyZipParameters(taskParameters.zipParameters);
-		List<File> filesToAdd = determineActualFilesToAdd(taskParameters);
+		List<File> filesToAdd = FileUtils.getFilesToAdd(taskParameters.filesToAdd, taskParameters.zipParameters);
 		addFilesToZip(filesToAdd, progressMonitor, taskParameters.zipParameters, taskParameters.zip4jConfig);
 	}
 
@@ -38,22 +34,6 @@ public class AddFilesToZipTask extends AbstractAddFileToZipTask<AddFilesToZipTas
 		return calculateWorkForFiles(taskParameters.filesToAdd, taskParameters.zipParameters);
 	}
 
-	private List<File> determineActualFilesToAdd(AddFilesToZipTaskParameters taskParameters) throws ZipException {
-		List<File> filesToAdd = new ArrayList<>();
-
-		for (File inputFile : taskParameters.filesToAdd) {
-			filesToAdd.add(inputFile);
-			boolean isSymLink = isSymbolicLink(inputFile);
-			ZipParameters.SymbolicLinkAction symbolicLinkAction = taskParameters.zipParameters.getSymbolicLinkAction();
-			if (isSymLink && !INCLUDE_LINK_ONLY.equals(symbolicLinkAction)) {
-				filesToAdd.addAll(FileUtils.getFilesInDirectoryRecursive(inputFile, taskParameters.zipParameters));
-			}
-
-		}
-
-		return filesToAdd;
-	}
-
 	@Override
 	protected ProgressMonitor.Task getTask() {
 		return super.getTask();
@@ -71,6 +71,8 @@ public class AddStreamToZipTask extends AbstractAddFileToZipTask<AddStreamToZipT
 			if (CompressionMethod.STORE.equals(getCompressionMethod(fileHeader))) {
 				updateLocalFileHeader(fileHeader, splitOutputStream);
 			}
+
+			progressMonitor.updateEntryCompleted(fileHeader.getCompressedSize(), fileHeader.getUncompressedSize());
 		}
 	}
 
@@ -4,6 +4,7 @@ import io.github.palexdev.zip4j.exception.ZipException;
 import io.github.palexdev.zip4j.progress.ProgressMonitor;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 
 public abstract class AsyncZipTask<T> {
@@ -11,14 +12,25 @@ public abstract class AsyncZipTask<T> {
 	private final ProgressMonitor progressMonitor;
 	private final boolean runInThread;
 	private final ExecutorService executorService;
+	private final boolean shutdownExecutorServiceAfterTask;
 
 	public AsyncZipTask(AsyncTaskParameters asyncTaskParameters) {
 		this.progressMonitor = asyncTaskParameters.progressMonitor;
 		this.runInThread = asyncTaskParameters.runInThread;
 		this.executorService = asyncTaskParameters.executorService;
+		this.shutdownExecutorServiceAfterTask = asyncTaskParameters.shutdownExecutorServiceAfterTask;
 	}
 
-	public void execute(final T taskParameters) throws ZipException {
+	/**
+	 * Executes the task, either in the calling thread or, if running in thread mode, on the executor service.
+	 *
+	 * @param taskParameters parameters of the task
+	 * @return a future which completes when the task is done. If the task runs in the calling thread, the returned
+	 * future is already completed. If the task fails, the future completes exceptionally with a ZipException, or with
+	 * the error thrown by the task
+	 * @throws ZipException if the task runs in the calling thread and fails, or if the progress monitor is busy
+	 */
+	public CompletableFuture<Void> execute(final T taskParameters) throws ZipException {
 		if (runInThread && ProgressMonitor.State.BUSY.equals(progressMonitor.getState())) {
 			throw new ZipException("invalid operation - Zip4j is in busy state");
 		}
@@ -29,21 +41,29 @@ public abstract class AsyncZipTask<T> {
 			long totalWorkToBeDone = calculateTotalWork(taskParameters);
 			progressMonitor.setTotalWork(totalWorkToBeDone);
 
+			final CompletableFuture<Void> future = new CompletableFuture<>();
 			executorService.execute(new Runnable() {
 				@Override
 				public void run() {
 					try {
 						AsyncZipTask.this.performTaskWithErrorHandling(taskParameters, progressMonitor);
-					} catch (ZipException e) {
-						//Do nothing. Exception will be passed through progress monitor
+						future.complete(null);
+					} catch (Throwable t) {
+						//Exception is also passed through progress monitor. Errors have to complete the future as well,
+						//or callers waiting for it would never return
+						future.completeExceptionally(t);
 					} finally {
-						executorService.shutdown();
+						if (shutdownExecutorServiceAfterTask) {
+							executorService.shutdown();
+						}
 					}
 				}
 			});
-		} else {
-			performTaskWithErrorHandling(taskParameters, progressMonitor);
+			return future;
 		}
+
+		performTaskWithErrorHandling(taskParameters, progressMonitor);
+		return CompletableFuture.completedFuture(null);
 	}
 
 	private void performTaskWithErrorHandling(T taskParameters, ProgressMonitor progressMonitor) throws ZipException {
@@ -56,6 +76,9 @@ public abstract class AsyncZipTask<T> {
 		} catch (Exception e) {
 			progressMonitor.endProgressMonitor(e);
 			throw new ZipException(e);
+		} catch (Error e) {
+			progressMonitor.endProgressMonitor(new ZipException(e.toString(), e, ZipException.Type.UNKNOWN));
+			throw e;
 		}
 	}
 
@@ -85,11 +108,22 @@ public abstract class AsyncZipTask<T> {
 		private final ProgressMonitor progressMonitor;
 		private final boolean runInThread;
 		private final ExecutorService executorService;
+		private final boolean shutdownExecutorServiceAfterTask;
 
 		public AsyncTaskParameters(ExecutorService executorService, boolean runInThread, ProgressMonitor progressMonitor) {
+			this(executorService, runInThread, progressMonitor, true);
+		}
+
+		/**
+		 * @param shutdownExecutorServiceAfterTask if false, the executor service is left running after the task, so
+		 *                                         that it can be shared by several tasks
+		 */
+		public AsyncTaskParameters(ExecutorService executorService, boolean runInThread, ProgressMonitor progressMonitor,
+		                           boolean shutdownExecutorServiceAfterTask) {
 			this.executorService = executorService;
 			this.runInThread = runInThread;
 			this.progressMonitor = progressMonitor;
+			this.shutdownExecutorServiceAfterTask = shutdownExecutorServiceAfterTask;
 		}
 	}
 }
@@ -1,6 +1,7 @@
 package io.github.palexdev.zip4j.tasks;
 
 import io.github.palexdev.zip4j.exception.ZipException;
+import io.github.palexdev.zip4j.headers.FileNameIndex;
 import io.github.palexdev.zip4j.headers.HeaderUtil;
 import io.github.palexdev.zip4j.headers.HeaderWriter;
 import io.github.palexdev.zip4j.io.outputstream.SplitOutputStream;
@@ -17,7 +18,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 public class RemoveFilesFromZipTask extends AbstractModifyFileTask<RemoveFilesFromZipTaskParameters> {
 
@@ -37,12 +41,16 @@ public class RemoveFilesFromZipTask extends AbstractModifyFileTask<RemoveFilesFr
 			throw new ZipException("This is a split archive. Zip file format does not allow updating split/spanned files");
 		}
 
-		List<String> entriesToRemove = filterNonExistingEntries(taskParameters.filesToRemove);
+		List<FileHeader> allFileHeaders = zipModel.getCentralDirectory().getFileHeaders();
+		FileNameIndex fileNameIndex = new FileNameIndex(allFileHeaders);
+		List<String> entriesToRemove = filterNonExistingEntries(taskParameters.filesToRemove, fileNameIndex);
 
 		if (entriesToRemove.isEmpty()) {
 			return;
 		}
 
+		Set<FileHeader> fileHeadersToRemove = getFileHeadersToRemove(entriesToRemove, fileNameIndex);
+		startRewrite();
 		File temporaryZipFile = getTemporaryFile(zipModel.getZipFile().getPath());
 		boolean successFlag = false;
 
@@ -50,19 +58,22 @@ public class RemoveFilesFromZipTask extends AbstractModifyFileTask<RemoveFilesFr
 		     RandomAccessFile inputStream = new RandomAccessFile(zipModel.getZipFile(), RandomAccessFileMode.READ.getValue())) {
 
 			long currentFileCopyPointer = 0;
-			List<FileHeader> sortedFileHeaders = cloneAndSortFileHeadersByOffset(zipModel.getCentralDirectory().getFileHeaders());
-
-			for (FileHeader fileHeader : sortedFileHeaders) {
-				long lengthOfCurrentEntry = getOffsetOfNextEntry(sortedFileHeaders, fileHeader, zipModel) - outputStream.getFilePointer();
-				if (shouldEntryBeRemoved(fileHeader, entriesToRemove)) {
-					updateHeaders(sortedFileHeaders, fileHeader, lengthOfCurrentEntry);
-
-					if (!zipModel.getCentralDirectory().getFileHeaders().remove(fileHeader)) {
-						throw new ZipException("Could not remove entry from list of central directory headers");
-					}
-
+			long totalLengthOfRemovedEntries = 0;
+			int numberOfRemovedEntries = 0;
+			List<FileHeader> sortedFileHeaders = cloneAndSortFileHeadersByOffset(allFileHeaders);
+
+			// Offsets are shifted by the length of all entries removed before them, so that the offsets of entries which
+			// are not yet copied still refer to the input zip file
+			for (int i = 0; i < sortedFileHeaders.size(); i++) {
+				FileHeader fileHeader = sortedFileHeaders.get(i);
+				long lengthOfCurrentEntry = getOffsetOfNextEntry(sortedFileHeaders, i, zipModel)
+						- totalLengthOfRemovedEntries - outputStream.getFilePointer();
+				if (fileHeadersToRemove.contains(fileHeader)) {
+					totalLengthOfRemovedEntries += lengthOfCurrentEntry;
+					numberOfRemovedEntries++;
 					currentFileCopyPointer += lengthOfCurrentEntry;
 				} else {
+					updateOffsetOfLocalFileHeader(fileHeader, zipModel, negate(totalLengthOfRemovedEntries));
 					// copy complete entry without any changes
 					currentFileCopyPointer += super.copyFile(inputStream, outputStream, currentFileCopyPointer,
 							lengthOfCurrentEntry, progressMonitor, taskParameters.zip4jConfig.getBufferSize());
@@ -70,10 +81,13 @@ public class RemoveFilesFromZipTask extends AbstractModifyFileTask<RemoveFilesFr
 				verifyIfTaskIsCancelled();
 			}
 
+			updateHeaders(totalLengthOfRemovedEntries, numberOfRemovedEntries);
+			allFileHeaders.removeIf(fileHeadersToRemove::contains);
+
 			headerWriter.finalizeZipFile(zipModel, outputStream, taskParameters.zip4jConfig.getCharset());
 			successFlag = true;
 		} finally {
-			cleanupFile(successFlag, zipModel.getZipFile(), temporaryZipFile);
+			cleanupFile(successFlag, zipModel.getZipFile(), temporaryZipFile, taskParameters.zip4jConfig.getMetrics());
 		}
 	}
 
@@ -82,11 +96,12 @@ public class RemoveFilesFromZipTask extends AbstractModifyFileTask<RemoveFilesFr
 		return zipModel.getZipFile().length();
 	}
 
-	private List<String> filterNonExistingEntries(List<String> filesToRemove) throws ZipException {
+	private List<String> filterNonExistingEntries(List<String> filesToRemove, FileNameIndex fileNameIndex)
+			throws ZipException {
 		List<String> filteredFilesToRemove = new ArrayList<>();
 
 		for (String fileToRemove : filesToRemove) {
-			if (HeaderUtil.getFileHeader(zipModel, fileToRemove) != null) {
+			if (HeaderUtil.getFileHeader(fileNameIndex, fileToRemove) != null) {
 				filteredFilesToRemove.add(fileToRemove);
 			}
 		}
@@ -94,34 +109,32 @@ public class RemoveFilesFromZipTask extends AbstractModifyFileTask<RemoveFilesFr
 		return filteredFilesToRemove;
 	}
 
-	private boolean shouldEntryBeRemoved(FileHeader fileHeaderToBeChecked, List<String> fileNamesToBeRemoved) {
+	private Set<FileHeader> getFileHeadersToRemove(List<String> fileNamesToBeRemoved, FileNameIndex fileNameIndex) {
+		// File headers are compared by identity, as their hash code changes when their offsets are updated
+		Set<FileHeader> fileHeadersToRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+
 		for (String fileNameToBeRemoved : fileNamesToBeRemoved) {
-			// If any of the files to be removed is a directory, check if the fileHeaderToBeChecked is a sub-file or
-			// a sub-directory of that directory
-			if (fileNameToBeRemoved.endsWith(InternalZipConstants.ZIP_FILE_SEPARATOR) &&
-					fileHeaderToBeChecked.getFileName().startsWith(fileNameToBeRemoved)) {
-				return true;
-			} else if (fileHeaderToBeChecked.getFileName().equals(fileNameToBeRemoved)) {
-				return true;
+			// If any of the files to be removed is a directory, all its sub-files and sub-directories are removed as well
+			if (fileNameToBeRemoved.endsWith(InternalZipConstants.ZIP_FILE_SEPARATOR)) {
+				fileHeadersToRemove.addAll(HeaderUtil.getFileHeadersUnderDirectory(fileNameIndex, fileNameToBeRemoved));
+			} else {
+				fileHeadersToRemove.addAll(fileNameIndex.getFileHeadersWithName(fileNameToBeRemoved));
 			}
 		}
 
-		return false;
+		return fileHeadersToRemove;
 	}
 
-	private void updateHeaders(List<FileHeader> sortedFileHeaders, FileHeader fileHeaderThatWasRemoved,
-	                           long offsetToSubtract) throws ZipException {
-		updateOffsetsForAllSubsequentFileHeaders(sortedFileHeaders, zipModel, fileHeaderThatWasRemoved, negate(offsetToSubtract));
-
+	private void updateHeaders(long offsetToSubtract, int numberOfRemovedEntries) {
 		EndOfCentralDirectoryRecord endOfCentralDirectoryRecord = zipModel.getEndOfCentralDirectoryRecord();
 		endOfCentralDirectoryRecord.setOffsetOfStartOfCentralDirectory(
 				endOfCentralDirectoryRecord.getOffsetOfStartOfCentralDirectory() - offsetToSubtract);
 		endOfCentralDirectoryRecord.setTotalNumberOfEntriesInCentralDirectory(
-				endOfCentralDirectoryRecord.getTotalNumberOfEntriesInCentralDirectory() - 1);
+				endOfCentralDirectoryRecord.getTotalNumberOfEntriesInCentralDirectory() - numberOfRemovedEntries);
 
 		if (endOfCentralDirectoryRecord.getTotalNumberOfEntriesInCentralDirectoryOnThisDisk() > 0) {
 			endOfCentralDirectoryRecord.setTotalNumberOfEntriesInCentralDirectoryOnThisDisk(
-					endOfCentralDirectoryRecord.getTotalNumberOfEntriesInCentralDirectoryOnThisDisk() - 1);
+					endOfCentralDirectoryRecord.getTotalNumberOfEntriesInCentralDirectoryOnThisDisk() - numberOfRemovedEntries);
 		}
 
 		if (zipModel.isZip64Format()) {
@@ -129,7 +142,7 @@ public class RemoveFilesFromZipTask extends AbstractModifyFileTask<RemoveFilesFr
 					zipModel.getZip64EndOfCentralDirectoryRecord().getOffsetStartCentralDirectoryWRTStartDiskNumber() - offsetToSubtract);
 
 			zipModel.getZip64EndOfCentralDirectoryRecord().setTotalNumberOfEntriesInCentralDirectoryOnThisDisk(
-					zipModel.getZip64EndOfCentralDirectoryRecord().getTotalNumberOfEntriesInCentralDirectory() - 1);
+					zipModel.getZip64EndOfCentralDirectoryRecord().getTotalNumberOfEntriesInCentralDirectory() - numberOfRemovedEntries);
 
 			zipModel.getZip64EndOfCentralDirectoryLocator().setOffsetZip64EndOfCentralDirectoryRecord(
 					zipModel.getZip64EndOfCentralDirectoryLocator().getOffsetZip64EndOfCentralDirectoryRecord() - offsetToSubtract);
@@ -1,6 +1,7 @@
 package io.github.palexdev.zip4j.tasks;
 
 import io.github.palexdev.zip4j.exception.ZipException;
+import io.github.palexdev.zip4j.headers.FileNameIndex;
 import io.github.palexdev.zip4j.headers.HeaderUtil;
 import io.github.palexdev.zip4j.headers.HeaderWriter;
 import io.github.palexdev.zip4j.io.outputstream.SplitOutputStream;
@@ -19,6 +20,7 @@ import java.io.OutputStream;
 import java.io.RandomAccessFile;
 import java.nio.charset.Charset;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -37,17 +39,21 @@ public class RenameFilesTask extends AbstractModifyFileTask<RenameFilesTask.Rena
 
 	@Override
 	protected void executeTask(RenameFilesTaskParameters taskParameters, ProgressMonitor progressMonitor) throws IOException {
-		Map<String, String> fileNamesMap = filterNonExistingEntriesAndAddSeparatorIfNeeded(taskParameters.fileNamesMap);
+		FileNameIndex fileNameIndex = new FileNameIndex(zipModel.getCentralDirectory().getFileHeaders());
+		Map<String, String> fileNamesMap = filterNonExistingEntriesAndAddSeparatorIfNeeded(taskParameters.fileNamesMap,
+				fileNameIndex);
 		if (fileNamesMap.size() == 0) {
 			return;
 		}
 
+		startRewrite();
 		File temporaryFile = getTemporaryFile(zipModel.getZipFile().getPath());
 		boolean successFlag = false;
 		try (RandomAccessFile inputStream = new RandomAccessFile(zipModel.getZipFile(), RandomAccessFileMode.WRITE.getValue());
 		     SplitOutputStream outputStream = new SplitOutputStream(temporaryFile)) {
 
 			long currentFileCopyPointer = 0;
+			long totalHeadersOffset = 0;
 			Charset charset = taskParameters.zip4jConfig.getCharset();
 
 			// Maintain a different list to iterate, so that when the file name is changed in the central directory
@@ -56,12 +62,20 @@ public class RenameFilesTask extends AbstractModifyFileTask<RenameFilesTask.Rena
 			// and the file is part of that directory, by the time the file has to be changed, its name might have changed
 			// when changing the name of the directory. There is some overhead with this approach, but is safer.
 			List<FileHeader> sortedFileHeaders = cloneAndSortFileHeadersByOffset(zipModel.getCentralDirectory().getFileHeaders());
-
-			for (FileHeader fileHeader : sortedFileHeaders) {
-				Map.Entry<String, String> fileNameMapForThisEntry = getCorrespondingEntryFromMap(fileHeader, fileNamesMap);
+			Map<FileHeader, Map.Entry<String, String>> fileNameMapForFileHeaders = getCorrespondingEntriesFromMap(
+					fileNameIndex, fileNamesMap);
+
+			// Offsets are shifted by the change in length of all file names changed before them, so that the offsets of
+			// entries which are not yet copied still refer to the input zip file
+			for (int i = 0; i < sortedFileHeaders.size(); i++) {
+				FileHeader fileHeader = sortedFileHeaders.get(i);
+				Map.Entry<String, String> fileNameMapForThisEntry = fileNameMapForFileHeaders.get(fileHeader);
 				progressMonitor.setFileName(fileHeader.getFileName());
 
-				long lengthToCopy = getOffsetOfNextEntry(sortedFileHeaders, fileHeader, zipModel) - outputStream.getFilePointer();
+				long lengthToCopy = getOffsetOfNextEntry(sortedFileHeaders, i, zipModel) + totalHeadersOffset
+						- outputStream.getFilePointer();
+				updateOffsetOfLocalFileHeader(fileHeader, zipModel, totalHeadersOffset);
+
 				if (fileNameMapForThisEntry == null) {
 					// copy complete entry without any changes
 					currentFileCopyPointer += copyFile(inputStream, outputStream, currentFileCopyPointer, lengthToCopy,
@@ -74,16 +88,20 @@ public class RenameFilesTask extends AbstractModifyFileTask<RenameFilesTask.Rena
 					currentFileCopyPointer = copyEntryAndChangeFileName(newFileNameBytes, fileHeader, currentFileCopyPointer, lengthToCopy,
 							inputStream, outputStream, progressMonitor, taskParameters.zip4jConfig.getBufferSize());
 
-					updateHeadersInZipModel(sortedFileHeaders, fileHeader, newFileName, newFileNameBytes, headersOffset);
+					fileHeader.setFileName(newFileName);
+					fileHeader.setFileNameLength(newFileNameBytes.length);
+					totalHeadersOffset += headersOffset;
 				}
 
 				verifyIfTaskIsCancelled();
 			}
 
+			updateHeadersInZipModel(totalHeadersOffset);
+
 			headerWriter.finalizeZipFile(zipModel, outputStream, charset);
 			successFlag = true;
 		} finally {
-			cleanupFile(successFlag, zipModel.getZipFile(), temporaryFile);
+			cleanupFile(successFlag, zipModel.getZipFile(), temporaryFile, taskParameters.zip4jConfig.getMetrics());
 		}
 
 	}
@@ -121,34 +139,25 @@ public class RenameFilesTask extends AbstractModifyFileTask<RenameFilesTask.Rena
 		return currentFileCopyPointer;
 	}
 
-	private Map.Entry<String, String> getCorrespondingEntryFromMap(FileHeader fileHeaderToBeChecked, Map<String,
-			String> fileNamesMap) {
+	private Map<FileHeader, Map.Entry<String, String>> getCorrespondingEntriesFromMap(FileNameIndex fileNameIndex,
+	                                                                                  Map<String, String> fileNamesMap) {
+		// File headers are compared by identity, as their hash code changes when they are renamed
+		Map<FileHeader, Map.Entry<String, String>> fileNameMapForFileHeaders = new IdentityHashMap<>();
 
 		for (Map.Entry<String, String> fileHeaderToBeRenamed : fileNamesMap.entrySet()) {
-			if (fileHeaderToBeChecked.getFileName().startsWith(fileHeaderToBeRenamed.getKey())) {
-				return fileHeaderToBeRenamed;
+			for (FileHeader fileHeader : fileNameIndex.getFileHeadersWithPrefix(fileHeaderToBeRenamed.getKey())) {
+				fileNameMapForFileHeaders.putIfAbsent(fileHeader, fileHeaderToBeRenamed);
 			}
 		}
 
-		return null;
+		return fileNameMapForFileHeaders;
 	}
 
-	private void updateHeadersInZipModel(List<FileHeader> sortedFileHeaders, FileHeader fileHeader, String newFileName,
-	                                     byte[] newFileNameBytes, int headersOffset) throws ZipException {
-
-		FileHeader fileHeaderToBeChanged = HeaderUtil.getFileHeader(zipModel, fileHeader.getFileName());
-
-		if (fileHeaderToBeChanged == null) {
-			// If this is the case, then the file name in the header that was passed to this method was already changed.
-			// In theory, should never be here.
-			throw new ZipException("could not find any header with name: " + fileHeader.getFileName());
+	private void updateHeadersInZipModel(long headersOffset) {
+		if (headersOffset == 0) {
+			return;
 		}
 
-		fileHeaderToBeChanged.setFileName(newFileName);
-		fileHeaderToBeChanged.setFileNameLength(newFileNameBytes.length);
-
-		updateOffsetsForAllSubsequentFileHeaders(sortedFileHeaders, zipModel, fileHeaderToBeChanged, headersOffset);
-
 		zipModel.getEndOfCentralDirectoryRecord().setOffsetOfStartOfCentralDirectory(
 				zipModel.getEndOfCentralDirectoryRecord().getOffsetOfStartOfCentralDirectory() + headersOffset);
 
@@ -163,14 +172,15 @@ public class RenameFilesTask extends AbstractModifyFileTask<RenameFilesTask.Rena
 		}
 	}
 
-	private Map<String, String> filterNonExistingEntriesAndAddSeparatorIfNeeded(Map<String, String> inputFileNamesMap) throws ZipException {
+	private Map<String, String> filterNonExistingEntriesAndAddSeparatorIfNeeded(Map<String, String> inputFileNamesMap,
+	                                                                            FileNameIndex fileNameIndex) throws ZipException {
 		Map<String, String> fileNamesMapToBeChanged = new HashMap<>();
 		for (Map.Entry<String, String> allNamesToBeChanged : inputFileNamesMap.entrySet()) {
 			if (!Zip4jUtil.isStringNotNullAndNotEmpty(allNamesToBeChanged.getKey())) {
 				continue;
 			}
 
-			FileHeader fileHeaderToBeChanged = HeaderUtil.getFileHeader(zipModel, allNamesToBeChanged.getKey());
+			FileHeader fileHeaderToBeChanged = HeaderUtil.getFileHeader(fileNameIndex, allNamesToBeChanged.getKey());
 			if (fileHeaderToBeChanged != null) {
 				if (fileHeaderToBeChanged.isDirectory() && !allNamesToBeChanged.getValue().endsWith(InternalZipConstants.ZIP_FILE_SEPARATOR)) {
 					fileNamesMapToBeChanged.put(allNamesToBeChanged.getKey(), allNamesToBeChanged.getValue() + InternalZipConstants.ZIP_FILE_SEPARATOR);
@@ -192,7 +202,7 @@ public class RenameFilesTask extends AbstractModifyFileTask<RenameFilesTask.Rena
 
 		// Should never be here.
 		// If here by any chance, it means that the file header was marked as to-be-modified, even when the file names do not
-		// match. Logic in the method getCorrespondingEntryFromMap() has to be checked
+		// match. Logic in the method getCorrespondingEntriesFromMap() has to be checked
 		throw new ZipException("old file name was neither an exact match nor a partial match");
 	}
 
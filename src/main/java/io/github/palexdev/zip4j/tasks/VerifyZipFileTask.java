@@ -0,0 +1,270 @@
+package io.github.palexdev.zip4j.tasks;
+
+import io.github.palexdev.zip4j.exception.ZipException;
+import io.github.palexdev.zip4j.headers.HeaderReader;
+import io.github.palexdev.zip4j.io.inputstream.SplitFileInputStream;
+import io.github.palexdev.zip4j.io.inputstream.ZipInputStream;
+import io.github.palexdev.zip4j.model.FileHeader;
+import io.github.palexdev.zip4j.model.LocalFileHeader;
+import io.github.palexdev.zip4j.model.VerificationFailure;
+import io.github.palexdev.zip4j.model.Zip4jConfig;
+import io.github.palexdev.zip4j.model.ZipModel;
+import io.github.palexdev.zip4j.progress.ProgressMonitor;
+import io.github.palexdev.zip4j.tasks.VerifyZipFileTask.VerifyZipFileTaskParameters;
+import io.github.palexdev.zip4j.util.BitUtils;
+import io.github.palexdev.zip4j.util.UnzipUtil;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.palexdev.zip4j.headers.HeaderUtil.getTotalUncompressedSizeOfAllFileHeaders;
+
+/**
+ * Verifies every entry of a zip file without extracting it. The data of each entry is decrypted and decompressed and
+ * then discarded, which checks its CRC, or its authentication code for AES, and the local file header of each entry
+ * is compared to its file header in the central directory.
+ * <p>
+ * A failed entry does not stop the task, the failures of all entries are collected instead. Entries are verified
+ * concurrently by the given number of threads, each reading the zip file with its own stream, and every entry is read
+ * with a new zip input stream so that a corrupt entry cannot affect the next one. The threads are taken from the given
+ * executor service, which is left running, or from a thread pool created for the task.
+ */
+public class VerifyZipFileTask extends AsyncZipTask<VerifyZipFileTaskParameters> {
+
+	private final ZipModel zipModel;
+	private final char[] password;
+	private List<VerificationFailure> failures = Collections.emptyList();
+
+	public VerifyZipFileTask(ZipModel zipModel, char[] password, AsyncTaskParameters asyncTaskParameters) {
+		super(asyncTaskParameters);
+		this.zipModel = zipModel;
+		this.password = password;
+	}
+
+	@Override
+	protected void executeTask(VerifyZipFileTaskParameters taskParameters, ProgressMonitor progressMonitor)
+			throws IOException {
+		List<FileHeader> fileHeaders = zipModel.getCentralDirectory().getFileHeaders();
+		VerificationFailure[] entryFailures = new VerificationFailure[fileHeaders.size()];
+		AtomicInteger nextEntry = new AtomicInteger();
+		int numberOfThreads = Math.min(taskParameters.numberOfThreads, fileHeaders.size());
+
+		if (numberOfThreads <= 1) {
+			verifyEntries(fileHeaders, nextEntry, entryFailures, taskParameters.zip4jConfig, progressMonitor);
+		} else {
+			ExecutorService executorService = taskParameters.executorService;
+			if (executorService == null) {
+				executorService = Executors.newFixedThreadPool(numberOfThreads, runnable -> {
+					Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
+
+			try {
+				List<Future<Void>> workers = new ArrayList<>();
+				for (int i = 0; i < numberOfThreads; i++) {
+					workers.add(executorService.submit(() -> {
+						verifyEntries(fileHeaders, nextEntry, entryFailures, taskParameters.zip4jConfig, progressMonitor);
+						return null;
+					}));
+				}
+
+				for (Future<Void> worker : workers) {
+					waitForWorker(worker);
+				}
+			} finally {
+				// Stops the other workers if one of them failed to read the zip file
+				nextEntry.set(fileHeaders.size());
+				if (taskParameters.executorService == null) {
+					executorService.shutdown();
+				}
+			}
+		}
+
+		verifyIfTaskIsCancelled();
+
+		List<VerificationFailure> failures = new ArrayList<>();
+		for (VerificationFailure failure : entryFailures) {
+			if (failure != null) {
+				failures.add(failure);
+			}
+		}
+		this.failures = failures;
+	}
+
+	/**
+	 * @return the entries which failed verification, in the order of the central directory, or an empty list if all
+	 * the entries are valid
+	 */
+	public List<VerificationFailure> getFailures() {
+		return failures;
+	}
+
+	@Override
+	protected long calculateTotalWork(VerifyZipFileTaskParameters taskParameters) {
+		return getTotalUncompressedSizeOfAllFileHeaders(zipModel.getCentralDirectory().getFileHeaders());
+	}
+
+	@Override
+	protected ProgressMonitor.Task getTask() {
+		return ProgressMonitor.Task.VERIFY_ENTRY;
+	}
+
+	private void verifyEntries(List<FileHeader> fileHeaders, AtomicInteger nextEntry,
+	                           VerificationFailure[] entryFailures, Zip4jConfig zip4jConfig,
+	                           ProgressMonitor progressMonitor) throws IOException {
+		// Workers of a shared executor service can start after the others are done or stopped
+		if (nextEntry.get() >= fileHeaders.size()) {
+			return;
+		}
+
+		HeaderReader headerReader = new HeaderReader();
+		byte[] readBuff = new byte[zip4jConfig.getBufferSize()];
+
+		try (SplitFileInputStream splitInputStream = UnzipUtil.createSplitInputStream(zipModel)) {
+			InputStream entryInputStream = new UnclosableInputStream(splitInputStream);
+
+			int index;
+			while ((index = nextEntry.getAndIncrement()) < fileHeaders.size()) {
+				if (progressMonitor.isCancelAllTasks()) {
+					return;
+				}
+
+				FileHeader fileHeader = fileHeaders.get(index);
+				try {
+					verifyEntry(splitInputStream, entryInputStream, headerReader, fileHeader, zip4jConfig,
+							progressMonitor, readBuff);
+					progressMonitor.updateEntryCompleted(fileHeader.getCompressedSize(), fileHeader.getUncompressedSize());
+				} catch (ZipException e) {
+					entryFailures[index] = new VerificationFailure(fileHeader, e);
+				} catch (Exception e) {
+					entryFailures[index] = new VerificationFailure(fileHeader, new ZipException(e.getMessage(), e));
+				}
+			}
+		}
+	}
+
+	private void verifyEntry(SplitFileInputStream splitInputStream, InputStream entryInputStream,
+	                         HeaderReader headerReader, FileHeader fileHeader, Zip4jConfig zip4jConfig,
+	                         ProgressMonitor progressMonitor, byte[] readBuff) throws IOException {
+		if (BitUtils.isBitSet(fileHeader.getGeneralPurposeFlag()[0], 6)) {
+			throw new ZipException("Entry with name " + fileHeader.getFileName() + " is encrypted with Strong " +
+					"Encryption, which zip4j does not support", ZipException.Type.UNSUPPORTED_ENCRYPTION);
+		}
+
+		// The zip input stream replaces the sizes and CRC of the local file header with the ones of the file header,
+		// so the local file header is read on its own first
+		splitInputStream.prepareExtractionForFileHeader(fileHeader);
+		LocalFileHeader localFileHeader = headerReader.readLocalFileHeader(splitInputStream, zip4jConfig.getCharset());
+		if (localFileHeader == null) {
+			throw new ZipException("Could not read corresponding local file header for file header: "
+					+ fileHeader.getFileName());
+		}
+		verifyLocalFileHeader(localFileHeader, fileHeader);
+
+		splitInputStream.prepareExtractionForFileHeader(fileHeader);
+		try (ZipInputStream zipInputStream = new ZipInputStream(entryInputStream, password, zip4jConfig)) {
+			zipInputStream.getNextEntry(fileHeader, false);
+
+			long uncompressedSize = 0;
+			int readLen;
+			while ((readLen = zipInputStream.read(readBuff)) != -1) {
+				uncompressedSize += readLen;
+				progressMonitor.updateWorkCompleted(readLen);
+				if (progressMonitor.isCancelAllTasks()) {
+					return;
+				}
+			}
+
+			if (uncompressedSize != fileHeader.getUncompressedSize()) {
+				throw new ZipException("Uncompressed size of " + fileHeader.getFileName() + " is " + uncompressedSize
+						+ ", but " + fileHeader.getUncompressedSize() + " in the central directory",
+						ZipException.Type.CHECKSUM_MISMATCH);
+			}
+		}
+	}
+
+	private void verifyLocalFileHeader(LocalFileHeader localFileHeader, FileHeader fileHeader) throws ZipException {
+		String fileName = fileHeader.getFileName();
+
+		if (!fileName.equals(localFileHeader.getFileName())) {
+			throw new ZipException("Local file header of " + fileName + " has a different file name: "
+					+ localFileHeader.getFileName());
+		}
+
+		if (localFileHeader.getCompressionMethod() != fileHeader.getCompressionMethod()) {
+			throw new ZipException("Local file header of " + fileName + " has a different compression method: "
+					+ localFileHeader.getCompressionMethod());
+		}
+
+		if (localFileHeader.isEncrypted() != fileHeader.isEncrypted()
+				|| localFileHeader.getEncryptionMethod() != fileHeader.getEncryptionMethod()) {
+			throw new ZipException("Local file header of " + fileName + " has a different encryption method: "
+					+ localFileHeader.getEncryptionMethod());
+		}
+
+		// With a data descriptor, the CRC and sizes of the local file header are usually not set
+		if (!localFileHeader.isDataDescriptorExists()
+				&& (localFileHeader.getCrc() != fileHeader.getCrc()
+				|| localFileHeader.getCompressedSize() != fileHeader.getCompressedSize()
+				|| localFileHeader.getUncompressedSize() != fileHeader.getUncompressedSize())) {
+			throw new ZipException("Local file header of " + fileName + " has a different CRC or size than the central "
+					+ "directory", ZipException.Type.CHECKSUM_MISMATCH);
+		}
+	}
+
+	private void waitForWorker(Future<Void> worker) throws IOException {
+		try {
+			worker.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while verifying zip file");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException(e.getCause());
+		}
+	}
+
+	/**
+	 * Keeps the stream of a thread open when the zip input stream of an entry is closed
+	 */
+	private static class UnclosableInputStream extends FilterInputStream {
+
+		private UnclosableInputStream(InputStream inputStream) {
+			super(inputStream);
+		}
+
+		@Override
+		public void close() {
+
+		}
+	}
+
+	public static class VerifyZipFileTaskParameters extends AbstractZipTaskParameters {
+		private final int numberOfThreads;
+		private final ExecutorService executorService;
+
+		/**
+		 * @param executorService executor service to verify entries on, which is not shut down by the task, or null to
+		 *                        create a thread pool for the task
+		 */
+		public VerifyZipFileTaskParameters(int numberOfThreads, ExecutorService executorService, Zip4jConfig zip4jConfig) {
+			super(zip4jConfig);
+			this.numberOfThreads = numberOfThreads;
+			this.executorService = executorService;
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package io.github.palexdev.zip4j.util;
+
+/**
+ * Constants of the BZip2 format shared by the compressor and the decompressor
+ */
+public final class BZip2Constants {
+
+	private BZip2Constants() {
+
+	}
+
+	public static final int BASE_BLOCK_SIZE = 100000;
+	public static final int MIN_BLOCK_SIZE_LEVEL = 1;
+	public static final int MAX_BLOCK_SIZE_LEVEL = 9;
+
+	public static final long BLOCK_HEADER_MAGIC = 0x314159265359L;
+	public static final long END_OF_STREAM_MAGIC = 0x177245385090L;
+
+	// Symbols of the run lengths of zeros after the move to front transform
+	public static final int RUN_A = 0;
+	public static final int RUN_B = 1;
+
+	public static final int MAX_ALPHABET_SIZE = 258;
+	public static final int MAX_CODE_LENGTH = 20;
+	public static final int MIN_HUFFMAN_TABLES = 2;
+	public static final int MAX_HUFFMAN_TABLES = 6;
+	// Number of symbols coded with the same huffman table
+	public static final int GROUP_SIZE = 50;
+	public static final int MAX_SELECTORS = 2 + (900000 / GROUP_SIZE);
+
+	/**
+	 * Table of the CRC-32 used by BZip2, which is not bit reversed unlike the CRC-32 of zip files
+	 */
+	private static final int[] CRC_TABLE = new int[256];
+
+	static {
+		for (int i = 0; i < CRC_TABLE.length; i++) {
+			int crc = i << 24;
+			for (int j = 0; j < 8; j++) {
+				crc = (crc & 0x80000000) != 0 ? (crc << 1) ^ 0x04C11DB7 : crc << 1;
+			}
+			CRC_TABLE[i] = crc;
+		}
+	}
+
+	public static int updateCrc(int crc, int b) {
+		return (crc << 8) ^ CRC_TABLE[((crc >>> 24) ^ b) & 0xFF];
+	}
+}
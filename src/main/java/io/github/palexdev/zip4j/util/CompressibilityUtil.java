@@ -0,0 +1,127 @@
+package io.github.palexdev.zip4j.util;
+
+import io.github.palexdev.zip4j.model.enums.CompressionLevel;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+
+/**
+ * Detects files which are already compressed, so that they can be stored instead of being deflated for next to no
+ * gain.
+ */
+public class CompressibilityUtil {
+
+	/**
+	 * Size of the sample from the start of a file which is deflated to estimate the gain of compression
+	 */
+	public static final int SAMPLE_SIZE = 64 * 1024;
+
+	private static final byte[][] COMPRESSED_FORMAT_SIGNATURES = {
+			{0x50, 0x4B, 0x03, 0x04},                                     // zip, and formats based on it like jar, docx
+			{0x1F, (byte) 0x8B},                                          // gzip
+			{0x28, (byte) 0xB5, 0x2F, (byte) 0xFD},                       // zstd
+			{(byte) 0xFD, 0x37, 0x7A, 0x58, 0x5A, 0x00},                  // xz
+			{0x42, 0x5A, 0x68},                                           // bzip2
+			{0x37, 0x7A, (byte) 0xBC, (byte) 0xAF, 0x27, 0x1C},           // 7z
+			{0x52, 0x61, 0x72, 0x21, 0x1A, 0x07},                         // rar
+			{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF},                      // jpeg
+			{(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A},      // png
+			{0x47, 0x49, 0x46, 0x38},                                     // gif
+	};
+
+	// The size of the box is in front of the "ftyp" type of mp4, mov and other ISO base media files
+	private static final byte[] ISO_BASE_MEDIA_FILE_TYPE = {0x66, 0x74, 0x79, 0x70};
+	private static final int ISO_BASE_MEDIA_FILE_TYPE_OFFSET = 4;
+
+	/**
+	 * Reads a sample from the start of the file and checks if it is incompressible, see
+	 * {@link #isIncompressible(byte[], int, CompressionLevel, double)}.
+	 *
+	 * @param file                   file to check
+	 * @param compressionLevel       level to deflate the sample with
+	 * @param minimumCompressionGain minimum gain of compression as a fraction of the size
+	 * @return true if the file is not worth compressing
+	 * @throws IOException if the file cannot be read
+	 */
+	public static boolean isIncompressible(File file, CompressionLevel compressionLevel, double minimumCompressionGain)
+			throws IOException {
+		byte[] sample = new byte[(int) Math.min(SAMPLE_SIZE, file.length())];
+		int sampleLength = 0;
+		try (InputStream inputStream = new FileInputStream(file)) {
+			int readLen;
+			while (sampleLength < sample.length
+					&& (readLen = inputStream.read(sample, sampleLength, sample.length - sampleLength)) != -1) {
+				sampleLength += readLen;
+			}
+		}
+
+		return isIncompressible(sample, sampleLength, compressionLevel, minimumCompressionGain);
+	}
+
+	/**
+	 * Checks if data starting with the given sample is not worth compressing. This is the case if the sample starts
+	 * with the signature of a compressed format, or if deflating the sample makes it smaller by less than the minimum
+	 * compression gain.
+	 *
+	 * @param sample                 sample from the start of the data
+	 * @param sampleLength           number of bytes of the sample
+	 * @param compressionLevel       level to deflate the sample with
+	 * @param minimumCompressionGain minimum gain of compression as a fraction of the size
+	 * @return true if the data is not worth compressing
+	 */
+	public static boolean isIncompressible(byte[] sample, int sampleLength, CompressionLevel compressionLevel,
+	                                       double minimumCompressionGain) {
+		if (sampleLength <= 0) {
+			return false;
+		}
+
+		if (hasCompressedFormatSignature(sample, sampleLength)) {
+			return true;
+		}
+
+		long deflatedLength = getDeflatedLength(sample, sampleLength, compressionLevel);
+		return deflatedLength > sampleLength * (1 - minimumCompressionGain);
+	}
+
+	static boolean hasCompressedFormatSignature(byte[] sample, int sampleLength) {
+		for (byte[] signature : COMPRESSED_FORMAT_SIGNATURES) {
+			if (startsWith(sample, sampleLength, 0, signature)) {
+				return true;
+			}
+		}
+
+		return startsWith(sample, sampleLength, ISO_BASE_MEDIA_FILE_TYPE_OFFSET, ISO_BASE_MEDIA_FILE_TYPE);
+	}
+
+	private static long getDeflatedLength(byte[] sample, int sampleLength, CompressionLevel compressionLevel) {
+		Deflater deflater = new Deflater(compressionLevel.getLevel(), true);
+		try {
+			deflater.setInput(sample, 0, sampleLength);
+			deflater.finish();
+
+			byte[] buffer = new byte[InternalZipConstants.BUFF_SIZE];
+			while (!deflater.finished()) {
+				deflater.deflate(buffer);
+			}
+			return deflater.getBytesWritten();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private static boolean startsWith(byte[] sample, int sampleLength, int offset, byte[] signature) {
+		if (sampleLength < offset + signature.length) {
+			return false;
+		}
+
+		for (int i = 0; i < signature.length; i++) {
+			if (sample[offset + i] != signature[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
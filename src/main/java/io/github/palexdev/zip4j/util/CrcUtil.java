@@ -23,18 +23,40 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.zip.CRC32;
 
 public class CrcUtil {
 
 	private static final int BUF_SIZE = 1 << 14; //16384
+	private static final int SEGMENT_BUF_SIZE = 1 << 16;
+	private static final long SEGMENT_SIZE = 1 << 23;
+	private static final int CRC32_POLYNOMIAL = 0xedb88320;
+	// x^(2^n) modulo the CRC-32 polynomial, for n from 0 to 31
+	private static final int[] X2N_TABLE = new int[32];
 
-	public static long computeFileCrc(File inputFile, ProgressMonitor progressMonitor) throws IOException {
-
-		if (inputFile == null || !inputFile.exists() || !inputFile.canRead()) {
-			throw new ZipException("input file is null or does not exist or cannot read. " +
-					"Cannot calculate CRC for the file");
+	static {
+		int p = 1 << 30;
+		X2N_TABLE[0] = p;
+		for (int n = 1; n < X2N_TABLE.length; n++) {
+			X2N_TABLE[n] = p = multiplyModP(p, p);
 		}
+	}
+
+	public static long computeFileCrc(File inputFile, ProgressMonitor progressMonitor) throws IOException {
+		assertFileCanBeRead(inputFile);
 
 		byte[] buff = new byte[BUF_SIZE];
 		CRC32 crc32 = new CRC32();
@@ -57,4 +79,181 @@ public class CrcUtil {
 		}
 	}
 
+	/**
+	 * Computes the CRC of a file like {@link #computeFileCrc(File, ProgressMonitor)}, but reads segments of 8 MB of the
+	 * file concurrently on the given executor service and combines their CRCs. Files smaller than two segments are read
+	 * on the calling thread. The executor service must not be the one running the caller when it has a bounded number of
+	 * threads, as the caller waits for the segments.
+	 *
+	 * @param inputFile       file to compute the CRC of
+	 * @param progressMonitor progress monitor to report the bytes read to, or null
+	 * @param executorService executor service to read the segments on, or null to read the file on the calling thread
+	 * @return CRC of the file, or 0 if the task was cancelled through the progress monitor
+	 * @throws IOException if the file cannot be read
+	 */
+	public static long computeFileCrc(File inputFile, ProgressMonitor progressMonitor, ExecutorService executorService)
+			throws IOException {
+		assertFileCanBeRead(inputFile);
+
+		long length = inputFile.length();
+		if (executorService == null || length < 2 * SEGMENT_SIZE) {
+			return computeFileCrc(inputFile, progressMonitor);
+		}
+
+		// Segments read the channel while holding the read lock, and it is only closed with the write lock held once they
+		// are stopped, so a segment still running after a failed one never reads a closed channel
+		ReadWriteLock channelLock = new ReentrantReadWriteLock();
+		AtomicBoolean stopped = new AtomicBoolean();
+		FileChannel fileChannel = FileChannel.open(inputFile.toPath(), StandardOpenOption.READ);
+		List<Future<Long>> segmentCrcs = new ArrayList<>();
+
+		long crc = 0;
+		try {
+			for (long position = 0; position < length; position += SEGMENT_SIZE) {
+				long segmentPosition = position;
+				long segmentLength = Math.min(SEGMENT_SIZE, length - position);
+				segmentCrcs.add(executorService.submit(() -> computeSegmentCrc(fileChannel, channelLock.readLock(),
+						stopped, segmentPosition, segmentLength, progressMonitor)));
+			}
+
+			for (int i = 0; i < segmentCrcs.size(); i++) {
+				long segmentLength = Math.min(SEGMENT_SIZE, length - i * SEGMENT_SIZE);
+				crc = combineCrc(crc, getSegmentCrc(segmentCrcs.get(i)), segmentLength);
+			}
+		} finally {
+			stopped.set(true);
+			for (Future<Long> segmentCrc : segmentCrcs) {
+				segmentCrc.cancel(false);
+			}
+
+			channelLock.writeLock().lock();
+			try {
+				fileChannel.close();
+			} finally {
+				channelLock.writeLock().unlock();
+			}
+		}
+
+		if (progressMonitor != null && progressMonitor.isCancelAllTasks()) {
+			progressMonitor.setResult(ProgressMonitor.Result.CANCELLED);
+			progressMonitor.setState(ProgressMonitor.State.READY);
+			return 0;
+		}
+		return crc;
+	}
+
+	/**
+	 * Combines the CRCs of two consecutive blocks of data into the CRC of both blocks, without reading the data again
+	 *
+	 * @param crc1    CRC of the first block
+	 * @param crc2    CRC of the second block
+	 * @param length2 length of the second block
+	 * @return CRC of the first block followed by the second block
+	 */
+	public static long combineCrc(long crc1, long crc2, long length2) {
+		if (length2 < 0) {
+			throw new IllegalArgumentException("length of the second block cannot be negative");
+		}
+
+		// Appending length2 bytes multiplies the CRC of the first block by x^(8 * length2) modulo the polynomial
+		int crc = multiplyModP(x2nModP(length2, 3), (int) crc1) ^ (int) crc2;
+		return crc & 0xffffffffL;
+	}
+
+	private static long computeSegmentCrc(FileChannel fileChannel, Lock channelLock, AtomicBoolean stopped, long position,
+	                                      long length, ProgressMonitor progressMonitor) throws IOException {
+		channelLock.lock();
+		try {
+			return stopped.get() ? 0 : readSegmentCrc(fileChannel, stopped, position, length, progressMonitor);
+		} finally {
+			channelLock.unlock();
+		}
+	}
+
+	private static long readSegmentCrc(FileChannel fileChannel, AtomicBoolean stopped, long position, long length,
+	                                   ProgressMonitor progressMonitor) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(SEGMENT_BUF_SIZE);
+		CRC32 crc32 = new CRC32();
+		long end = position + length;
+
+		while (position < end) {
+			if (stopped.get()) {
+				return 0;
+			}
+
+			buffer.clear();
+			buffer.limit((int) Math.min(buffer.capacity(), end - position));
+			int readLen = fileChannel.read(buffer, position);
+			if (readLen == -1) {
+				throw new ZipException("Unexpected end of file while calculating CRC. The file was changed");
+			}
+
+			buffer.flip();
+			crc32.update(buffer);
+			position += readLen;
+
+			if (progressMonitor != null) {
+				progressMonitor.updateWorkCompleted(readLen);
+				if (progressMonitor.isCancelAllTasks()) {
+					return 0;
+				}
+			}
+		}
+
+		return crc32.getValue();
+	}
+
+	private static long getSegmentCrc(Future<Long> segmentCrc) throws IOException {
+		try {
+			return segmentCrc.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while calculating CRC");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException(e.getCause());
+		}
+	}
+
+	/**
+	 * Multiplies two polynomials modulo the CRC-32 polynomial, in the reflected bit order of the CRC
+	 */
+	private static int multiplyModP(int a, int b) {
+		int m = 1 << 31;
+		int p = 0;
+		while (true) {
+			if ((a & m) != 0) {
+				p ^= b;
+				if ((a & (m - 1)) == 0) {
+					return p;
+				}
+			}
+			m >>>= 1;
+			b = (b & 1) != 0 ? (b >>> 1) ^ CRC32_POLYNOMIAL : b >>> 1;
+		}
+	}
+
+	/**
+	 * @return x^(n * 2^k) modulo the CRC-32 polynomial
+	 */
+	private static int x2nModP(long n, int k) {
+		int p = 1 << 31;
+		while (n != 0) {
+			if ((n & 1) != 0) {
+				p = multiplyModP(X2N_TABLE[k & 31], p);
+			}
+			n >>>= 1;
+			k++;
+		}
+		return p;
+	}
+
+	private static void assertFileCanBeRead(File inputFile) throws ZipException {
+		if (inputFile == null || !inputFile.exists() || !inputFile.canRead()) {
+			throw new ZipException("input file is null or does not exist or cannot read. " +
+					"Cannot calculate CRC for the file");
+		}
+	}
 }
@@ -3,6 +3,7 @@ package io.github.palexdev.zip4j.util;
 import io.github.palexdev.zip4j.exception.ZipException;
 import io.github.palexdev.zip4j.model.ZipModel;
 import io.github.palexdev.zip4j.model.ZipParameters;
+import io.github.palexdev.zip4j.model.enums.CompressionMethod;
 import io.github.palexdev.zip4j.progress.ProgressMonitor;
 
 import java.io.File;
@@ -114,6 +115,65 @@ public class FileUtils {
 		return result;
 	}
 
+	/**
+	 * Determines the files added to a zip file for the given input files. Symbolic links are followed into the
+	 * directories they link to, unless only links are included, and the files found there are filtered like in
+	 * {@link #getFilesInDirectoryRecursive(File, ZipParameters)}.
+	 *
+	 * @param inputFiles    files to add to the zip file
+	 * @param zipParameters parameters with the symbolic link action and the file filters
+	 * @return the input files, each followed by the files found through it if it is a symbolic link
+	 * @throws ZipException if the files linked to cannot be listed
+	 */
+	public static List<File> getFilesToAdd(List<File> inputFiles, ZipParameters zipParameters) throws ZipException {
+		List<File> filesToAdd = new ArrayList<>();
+
+		for (File inputFile : inputFiles) {
+			filesToAdd.add(inputFile);
+			if (isSymbolicLink(inputFile) && !INCLUDE_LINK_ONLY.equals(zipParameters.getSymbolicLinkAction())) {
+				filesToAdd.addAll(getFilesInDirectoryRecursive(inputFile, zipParameters));
+			}
+		}
+
+		return filesToAdd;
+	}
+
+	/**
+	 * @return true if symbolic links are added to the zip file as links, with or without the files they link to
+	 */
+	public static boolean isSymbolicLinkAdded(ZipParameters zipParameters) {
+		return INCLUDE_LINK_ONLY.equals(zipParameters.getSymbolicLinkAction())
+				|| INCLUDE_LINK_AND_LINKED_FILE.equals(zipParameters.getSymbolicLinkAction());
+	}
+
+	/**
+	 * Builds the parameters of the entry of a symbolic link. The entry is named after the link, and the target of the
+	 * link is its content, which is stored without encryption.
+	 *
+	 * @param zipParameters      parameters of the file the link points to
+	 * @param symbolicLink       the symbolic link
+	 * @param symbolicLinkTarget target of the link, as written to the entry
+	 * @return parameters for the entry of the link
+	 */
+	public static ZipParameters buildSymbolicLinkZipParameters(ZipParameters zipParameters, File symbolicLink,
+	                                                           byte[] symbolicLinkTarget) {
+		ZipParameters clonedZipParameters = new ZipParameters(zipParameters);
+		clonedZipParameters.setFileNameInZip(replaceFileNameInZip(zipParameters.getFileNameInZip(),
+				symbolicLink.getName()));
+		clonedZipParameters.setEncryptFiles(false);
+		clonedZipParameters.setCompressionMethod(CompressionMethod.STORE);
+		clonedZipParameters.setEntrySize(symbolicLinkTarget.length);
+		return clonedZipParameters;
+	}
+
+	private static String replaceFileNameInZip(String fileInZipWithPath, String newFileName) {
+		if (fileInZipWithPath.contains(ZIP_FILE_SEPARATOR)) {
+			return fileInZipWithPath.substring(0, fileInZipWithPath.lastIndexOf(ZIP_FILE_SEPARATOR) + 1) + newFileName;
+		}
+
+		return newFileName;
+	}
+
 	public static String getFileNameWithoutExtension(String fileName) {
 		int pos = fileName.lastIndexOf(".");
 		if (pos == -1) {
@@ -44,6 +44,8 @@ public final class InternalZipConstants {
 
 	public static final int BUFF_SIZE = 1024 * 4;
 	public static final int MIN_BUFF_SIZE = 512;
+	public static final int ASYNC_WRITE_BUFF_SIZE = 1024 * 256;
+	public static final int ASYNC_WRITE_MAX_BUFFERS_IN_FLIGHT = 4;
 
 	// Update local file header constants
 	// This value holds the number of bytes to skip from
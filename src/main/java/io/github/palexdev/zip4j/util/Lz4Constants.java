@@ -0,0 +1,42 @@
+package io.github.palexdev.zip4j.util;
+
+/**
+ * Constants of the LZ4 compression method of zip4j, shared by the compressor and the decompressor.
+ * <p>
+ * The compressed data is a sequence of blocks, each starting with its length as a 4 byte little endian integer, and
+ * ends with a length of 0. Blocks are compressed independently in the LZ4 block format, or stored as they are when
+ * they do not compress, which is marked by {@link #STORED_BLOCK_FLAG} in the length.
+ */
+public final class Lz4Constants {
+
+	private Lz4Constants() {
+
+	}
+
+	/**
+	 * Version of the format, written to the extra data record of each entry together with the block size
+	 */
+	public static final int FORMAT_VERSION = 1;
+	public static final int EXTRA_DATA_RECORD_SIZE = 2;
+
+	public static final int BLOCK_SIZE_LOG = 16;
+	public static final int MAX_BLOCK_SIZE_LOG = 22;
+	public static final int BLOCK_HEADER_SIZE = 4;
+	public static final int STORED_BLOCK_FLAG = 0x80000000;
+
+	public static final int MIN_MATCH = 4;
+	public static final int MAX_OFFSET = 0xFFFF;
+	// Last bytes of a block, which are always literals
+	public static final int LAST_LITERALS = 5;
+	// Matches do not start in the last bytes of a block
+	public static final int MATCH_FIND_LIMIT = 12;
+	// Literal and match lengths up to this are stored in the token of a sequence
+	public static final int RUN_MASK = 15;
+
+	/**
+	 * @return the largest size of a compressed block of the given size, when nothing matches
+	 */
+	public static int getMaxCompressedBlockSize(int blockSize) {
+		return blockSize + blockSize / 255 + 16;
+	}
+}
@@ -24,12 +24,18 @@ public class ZipVersionUtils {
 
 		if (zipParameters.getCompressionMethod() == CompressionMethod.DEFLATE) {
 			versionRequired = VersionNeededToExtract.DEFLATE_COMPRESSED;
+		} else if (zipParameters.getCompressionMethod() == CompressionMethod.DEFLATE64) {
+			versionRequired = VersionNeededToExtract.DEFLATE64_COMPRESSED;
 		}
 
 		if (zipParameters.getEntrySize() > InternalZipConstants.ZIP_64_SIZE_LIMIT) {
 			versionRequired = VersionNeededToExtract.ZIP_64_FORMAT;
 		}
 
+		if (zipParameters.getCompressionMethod() == CompressionMethod.BZIP2) {
+			versionRequired = VersionNeededToExtract.BZIP2_COMPRESSED;
+		}
+
 		if (zipParameters.isEncryptFiles() && zipParameters.getEncryptionMethod().equals(EncryptionMethod.AES)) {
 			versionRequired = VersionNeededToExtract.AES_ENCRYPTED;
 		}
@@ -1,5 +1,11 @@
 module zip4j {
 
+	requires static jdk.jfr;
+
+	uses io.github.palexdev.zip4j.codec.CompressionCodec;
+
+	exports io.github.palexdev.zip4j.codec;
+
 	exports io.github.palexdev.zip4j.crypto;
 	exports io.github.palexdev.zip4j.crypto.engine;
 	exports io.github.palexdev.zip4j.crypto.PBKDF2;
@@ -14,6 +20,8 @@ module zip4j {
 	exports io.github.palexdev.zip4j.model;
 	exports io.github.palexdev.zip4j.model.enums;
 
+	exports io.github.palexdev.zip4j.nio;
+
 	exports io.github.palexdev.zip4j.progress;
 
 	exports io.github.palexdev.zip4j.tasks;
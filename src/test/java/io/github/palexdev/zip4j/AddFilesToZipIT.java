@@ -1,13 +1,18 @@
 package io.github.palexdev.zip4j;
 
 import io.github.palexdev.zip4j.exception.ZipException;
+import io.github.palexdev.zip4j.headers.HeaderSignature;
 import io.github.palexdev.zip4j.io.inputstream.ZipInputStream;
+import io.github.palexdev.zip4j.io.outputstream.ZipOutputStream;
 import io.github.palexdev.zip4j.model.*;
 import io.github.palexdev.zip4j.model.enums.AesKeyStrength;
 import io.github.palexdev.zip4j.model.enums.AesVersion;
+import io.github.palexdev.zip4j.model.enums.CompressionLevel;
 import io.github.palexdev.zip4j.model.enums.CompressionMethod;
 import io.github.palexdev.zip4j.model.enums.EncryptionMethod;
 import io.github.palexdev.zip4j.progress.ProgressMonitor;
+import io.github.palexdev.zip4j.progress.Zip4jMetrics;
+import io.github.palexdev.zip4j.testutils.StoredDeflate64CompressionCodec;
 import io.github.palexdev.zip4j.testutils.TestUtils;
 import io.github.palexdev.zip4j.testutils.ZipFileVerifier;
 import io.github.palexdev.zip4j.util.BitUtils;
@@ -29,6 +34,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static io.github.palexdev.zip4j.testutils.HeaderVerifier.verifyLocalFileHeaderUncompressedSize;
 import static io.github.palexdev.zip4j.testutils.TestUtils.*;
@@ -143,6 +153,30 @@ public class AddFilesToZipIT extends AbstractIT {
 				EncryptionMethod.ZIP_STANDARD, null);
 	}
 
+	@Test
+	public void testAddFileWithStandardEncryptionWritesDataDescriptorAndCanBeExtractedAsStream() throws IOException {
+		ZipParameters zipParameters = createZipParameters(EncryptionMethod.ZIP_STANDARD, null);
+		ZipFile zipFile = new ZipFile(generatedZipFile, PASSWORD);
+
+		zipFile.addFiles(FILES_TO_ADD, zipParameters);
+
+		ZipFileVerifier.verifyZipFileByExtractingAllFiles(generatedZipFile, PASSWORD, outputFolder, FILES_TO_ADD.size());
+		for (FileHeader fileHeader : zipFile.getFileHeaders()) {
+			assertThat(fileHeader.isDataDescriptorExists()).isTrue();
+		}
+
+		try (ZipInputStream zipInputStream = new ZipInputStream(new FileInputStream(generatedZipFile), PASSWORD)) {
+			byte[] readBuffer = new byte[InternalZipConstants.BUFF_SIZE];
+			int numberOfEntries = 0;
+			while (zipInputStream.getNextEntry() != null) {
+				//noinspection StatementWithEmptyBody
+				while (zipInputStream.read(readBuffer) != -1) ;
+				numberOfEntries++;
+			}
+			assertThat(numberOfEntries).isEqualTo(FILES_TO_ADD.size());
+		}
+	}
+
 	@Test
 	public void testAddFileWithZipParametersStoreAndAes128Encryption() throws IOException {
 		ZipParameters zipParameters = createZipParameters(EncryptionMethod.AES, AesKeyStrength.KEY_STRENGTH_128);
@@ -316,6 +350,84 @@ public class AddFilesToZipIT extends AbstractIT {
 		ZipFileVerifier.verifyZipFileByExtractingAllFiles(generatedZipFile, PASSWORD, outputFolder, 1);
 	}
 
+	@Test
+	public void testAddFilesInThreadModeCompletesTaskFutureWhenTaskThrowsError() throws Exception {
+		ZipFile zipFile = new ZipFile(generatedZipFile);
+		zipFile.setRunInThread(true);
+		zipFile.setMetrics(new Zip4jMetrics() {
+			@Override
+			public void bytesWritten(long bytes) {
+				throw new AssertionError("Error in metrics");
+			}
+		});
+
+		zipFile.addFiles(FILES_TO_ADD);
+
+		ExecutionException exception = assertThrows(ExecutionException.class,
+				() -> zipFile.getTaskFuture().get(10, TimeUnit.SECONDS));
+		assertThat(exception.getCause()).isInstanceOf(AssertionError.class).hasMessage("Error in metrics");
+		ProgressMonitor progressMonitor = zipFile.getProgressMonitor();
+		assertThat(progressMonitor.getState()).isEqualTo(ProgressMonitor.State.READY);
+		assertThat(progressMonitor.getResult()).isEqualTo(ProgressMonitor.Result.ERROR);
+		assertThat(progressMonitor.getException().getCause()).isSameAs(exception.getCause());
+	}
+
+	@Test
+	public void testAddFilesWithSharedExecutorServiceAndPause() throws Exception {
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			ZipFile zipFile = new ZipFile(generatedZipFile, PASSWORD);
+			zipFile.setRunInThread(true);
+			zipFile.setExecutorService(executorService);
+			ProgressMonitor progressMonitor = zipFile.getProgressMonitor();
+			progressMonitor.setPause(true);
+
+			zipFile.addFile(TestUtils.getTestFileFromResources("file_PDF_1MB.pdf"),
+					createZipParameters(EncryptionMethod.AES, AesKeyStrength.KEY_STRENGTH_256));
+			CompletableFuture<Void> firstTaskFuture = zipFile.getTaskFuture();
+
+			Thread.sleep(100);
+			assertThat(firstTaskFuture.isDone()).isFalse();
+			assertThat(progressMonitor.getState()).isEqualTo(ProgressMonitor.State.BUSY);
+
+			progressMonitor.setPause(false);
+			firstTaskFuture.get(10, TimeUnit.SECONDS);
+
+			zipFile.addFile(TestUtils.getTestFileFromResources("sample.pdf"),
+					createZipParameters(EncryptionMethod.AES, AesKeyStrength.KEY_STRENGTH_256));
+			zipFile.getTaskFuture().get(10, TimeUnit.SECONDS);
+
+			assertThat(executorService.isShutdown()).isFalse();
+			assertThat(zipFile.getExecutorService()).isSameAs(executorService);
+			assertThat(progressMonitor.getResult()).isEqualTo(ProgressMonitor.Result.SUCCESS);
+			ZipFileVerifier.verifyZipFileByExtractingAllFiles(generatedZipFile, PASSWORD, outputFolder, 2);
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void testAddFilesReportsThroughputMetricsInProgressMonitor() throws IOException {
+		ZipFile zipFile = new ZipFile(generatedZipFile);
+		ProgressMonitor progressMonitor = zipFile.getProgressMonitor();
+
+		zipFile.addFiles(FILES_TO_ADD);
+
+		long totalSize = 0;
+		for (File fileToAdd : FILES_TO_ADD) {
+			totalSize += fileToAdd.length();
+		}
+		assertThat(progressMonitor.getResult()).isEqualTo(ProgressMonitor.Result.SUCCESS);
+		assertThat(progressMonitor.getPercentDone()).isEqualTo(100);
+		assertThat(progressMonitor.getWorkCompleted()).isEqualTo(totalSize);
+		assertThat(progressMonitor.getEntriesCompleted()).isEqualTo(FILES_TO_ADD.size());
+		assertThat(progressMonitor.getUncompressedBytes()).isEqualTo(totalSize);
+		assertThat(progressMonitor.getCompressedBytes()).isPositive().isLessThan(totalSize);
+		assertThat(progressMonitor.getCompressionRatio()).isBetween(0d, 1d);
+		assertThat(progressMonitor.getEstimatedTimeRemainingMillis()).isZero();
+		assertThat(progressMonitor.getBytesPerSecond()).isNotNegative();
+	}
+
 	@Test
 	public void testAddFileWithFileEntryCommentAndUtf8Charset() throws IOException {
 		testCreateZipFileWithFileEntryComment("FILE_COMMET_", StandardCharsets.UTF_8);
@@ -1189,6 +1301,119 @@ public class AddFilesToZipIT extends AbstractIT {
 		testAddFolderSymlinkWithTargetFolder(ZipParameters.SymbolicLinkAction.INCLUDE_LINK_AND_LINKED_FILE, 5);
 	}
 
+	@Test
+	public void testAddFilesWithStoreIncompressibleFilesStoresAlreadyCompressedFiles() throws IOException {
+		ZipParameters zipParameters = new ZipParameters();
+		zipParameters.setStoreIncompressibleFiles(true);
+		ZipFile zipFile = new ZipFile(generatedZipFile);
+
+		zipFile.addFiles(asList(getTestArchiveFromResources("strong_encrypted.zip"),
+				getTestFileFromResources("sample_text_large.txt")), zipParameters);
+
+		assertThat(zipFile.getFileHeader("strong_encrypted.zip").getCompressionMethod()).isEqualTo(CompressionMethod.STORE);
+		assertThat(zipFile.getFileHeader("sample_text_large.txt").getCompressionMethod())
+				.isEqualTo(CompressionMethod.DEFLATE);
+		verifyZipFileByExtractingAllFiles(generatedZipFile, outputFolder, 2);
+	}
+
+	@Test
+	public void testAddFilesWithBZip2CompressionInMultipleThreadsAndAesEncryption() throws IOException {
+		ZipParameters zipParameters = createZipParameters(EncryptionMethod.AES, AesKeyStrength.KEY_STRENGTH_256);
+		zipParameters.setCompressionMethod(CompressionMethod.BZIP2);
+		zipParameters.setCompressionLevel(CompressionLevel.FASTEST);
+		zipParameters.setCompressionThreads(4);
+		List<File> filesToAdd = new ArrayList<>(FILES_TO_ADD);
+		filesToAdd.add(getTestFileFromResources("file_PDF_1MB.pdf"));
+		ZipFile zipFile = new ZipFile(generatedZipFile, PASSWORD);
+
+		zipFile.addFiles(filesToAdd, zipParameters);
+
+		assertThat(zipFile.getFileHeaders())
+				.extracting(fileHeader -> fileHeader.getAesExtraDataRecord().getCompressionMethod())
+				.containsOnly(CompressionMethod.BZIP2);
+		verifyZipFileByExtractingAllFiles(generatedZipFile, PASSWORD, outputFolder, filesToAdd.size());
+	}
+
+	@Test
+	public void testAddFilesWithLz4CompressionAndZipStandardEncryption() throws IOException {
+		ZipParameters zipParameters = createZipParameters(EncryptionMethod.ZIP_STANDARD, null);
+		zipParameters.setCompressionMethod(CompressionMethod.LZ4);
+		ZipFile zipFile = new ZipFile(generatedZipFile, PASSWORD);
+
+		zipFile.addFiles(FILES_TO_ADD, zipParameters);
+
+		assertThat(zipFile.getFileHeaders()).extracting(FileHeader::getCompressionMethod)
+				.containsOnly(CompressionMethod.LZ4);
+		assertThat(zipFile.getFileHeaders()).allSatisfy(fileHeader -> assertThat(fileHeader.getExtraDataRecords())
+				.extracting(ExtraDataRecord::getHeader)
+				.contains(HeaderSignature.LZ4_EXTRA_DATA_RECORD.getValue()));
+		verifyZipFileByExtractingAllFiles(generatedZipFile, PASSWORD, outputFolder, FILES_TO_ADD.size());
+	}
+
+	@Test
+	public void testAddFilesWithCompressionMethodOfCodec() throws IOException {
+		ZipParameters zipParameters = createZipParameters(EncryptionMethod.AES, AesKeyStrength.KEY_STRENGTH_256);
+		zipParameters.setCompressionMethod(CompressionMethod.DEFLATE64);
+		ZipFile zipFile = new ZipFile(generatedZipFile, PASSWORD);
+
+		zipFile.addFiles(FILES_TO_ADD, zipParameters);
+
+		assertThat(zipFile.getFileHeaders())
+				.extracting(fileHeader -> fileHeader.getAesExtraDataRecord().getCompressionMethod())
+				.containsOnly(CompressionMethod.DEFLATE64);
+		verifyZipFileByExtractingAllFiles(generatedZipFile, PASSWORD, outputFolder, FILES_TO_ADD.size());
+	}
+
+	@Test
+	public void testExtractFilesWithDecompressorOfCodec() throws IOException {
+		ZipParameters zipParameters = createZipParameters(EncryptionMethod.AES, AesKeyStrength.KEY_STRENGTH_256);
+		zipParameters.setCompressionMethod(CompressionMethod.DEFLATE64);
+		zipParameters.setRootFolderNameInZip(StoredDeflate64CompressionCodec.FILE_NAME_PREFIX);
+		ZipFile zipFile = new ZipFile(generatedZipFile, PASSWORD);
+		zipFile.addFiles(FILES_TO_ADD, zipParameters);
+		int numberOfDecompressors = StoredDeflate64CompressionCodec.getNumberOfDecompressors();
+
+		zipFile.extractAll(outputFolder.getPath());
+
+		assertThat(StoredDeflate64CompressionCodec.getNumberOfDecompressors() - numberOfDecompressors)
+				.isEqualTo(FILES_TO_ADD.size());
+		for (File fileToAdd : FILES_TO_ADD) {
+			ZipFileVerifier.verifyFileContent(fileToAdd, Paths.get(outputFolder.getPath(),
+					StoredDeflate64CompressionCodec.FILE_NAME_PREFIX, fileToAdd.getName()).toFile());
+		}
+	}
+
+	@Test
+	public void testReadEntriesWithDataDescriptorWithDecompressorOfCodec() throws IOException {
+		try (ZipOutputStream zipOutputStream = new ZipOutputStream(Files.newOutputStream(generatedZipFile.toPath()))) {
+			for (File fileToAdd : FILES_TO_ADD) {
+				ZipParameters zipParameters = new ZipParameters();
+				zipParameters.setCompressionMethod(CompressionMethod.DEFLATE64);
+				zipParameters.setFileNameInZip(StoredDeflate64CompressionCodec.FILE_NAME_PREFIX + fileToAdd.getName());
+				zipOutputStream.putNextEntry(zipParameters);
+				zipOutputStream.write(Files.readAllBytes(fileToAdd.toPath()));
+				zipOutputStream.closeEntry();
+			}
+		}
+		int numberOfDecompressors = StoredDeflate64CompressionCodec.getNumberOfDecompressors();
+
+		// Without the central directory the compressed sizes are not known, so the data descriptor after each entry is
+		// read from the bytes the decompressor did not use
+		try (ZipInputStream zipInputStream = new ZipInputStream(Files.newInputStream(generatedZipFile.toPath()))) {
+			for (File fileToAdd : FILES_TO_ADD) {
+				LocalFileHeader localFileHeader = zipInputStream.getNextEntry();
+				assertThat(localFileHeader.getFileName())
+						.isEqualTo(StoredDeflate64CompressionCodec.FILE_NAME_PREFIX + fileToAdd.getName());
+				assertThat(localFileHeader.isDataDescriptorExists()).isTrue();
+				assertThat(zipInputStream.readAllBytes()).isEqualTo(Files.readAllBytes(fileToAdd.toPath()));
+			}
+			assertThat(zipInputStream.getNextEntry()).isNull();
+		}
+
+		assertThat(StoredDeflate64CompressionCodec.getNumberOfDecompressors() - numberOfDecompressors)
+				.isEqualTo(FILES_TO_ADD.size());
+	}
+
 	private void testAddSymlinkThrowsExceptionForMissingTarget(ZipParameters.SymbolicLinkAction symbolicLinkAction)
 			throws IOException {
 		File targetFile = Paths.get(temporaryFolder.toAbsolutePath().toString(), "foo").toFile();
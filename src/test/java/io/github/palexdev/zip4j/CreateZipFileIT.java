@@ -8,6 +8,7 @@ import io.github.palexdev.zip4j.model.enums.AesKeyStrength;
 import io.github.palexdev.zip4j.model.enums.CompressionLevel;
 import io.github.palexdev.zip4j.model.enums.CompressionMethod;
 import io.github.palexdev.zip4j.model.enums.EncryptionMethod;
+import io.github.palexdev.zip4j.progress.ProgressMonitor;
 import io.github.palexdev.zip4j.testutils.ZipFileVerifier;
 import io.github.palexdev.zip4j.util.FileUtils;
 import io.github.palexdev.zip4j.util.InternalZipConstants;
@@ -18,8 +19,10 @@ import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import static io.github.palexdev.zip4j.testutils.TestUtils.createSymlink;
 import static io.github.palexdev.zip4j.testutils.TestUtils.getTestFileFromResources;
 import static io.github.palexdev.zip4j.testutils.ZipFileVerifier.verifyZipFileByExtractingAllFiles;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -280,6 +283,48 @@ public class CreateZipFileIT extends AbstractIT {
 		verifyZipFileByExtractingAllFiles(generatedZipFile, outputFolder, 3);
 	}
 
+	@Test
+	public void testCreateZipFileAsyncWithAesEncryption() throws Exception {
+		ZipParameters zipParameters = createZipParameters(EncryptionMethod.AES, AesKeyStrength.KEY_STRENGTH_256);
+		ZipFile zipFile = new ZipFile(generatedZipFile, PASSWORD);
+		zipFile.setBufferSize(InternalZipConstants.MIN_BUFF_SIZE);
+
+		zipFile.createZipFileAsync(FILES_TO_ADD, zipParameters).get();
+
+		assertThat(zipFile.getProgressMonitor().getResult()).isEqualTo(ProgressMonitor.Result.SUCCESS);
+		verifyZipFileByExtractingAllFiles(generatedZipFile, PASSWORD, outputFolder, FILES_TO_ADD.size());
+		verifyFileHeadersEncrypted(zipFile.getFileHeaders(), EncryptionMethod.AES, AesKeyStrength.KEY_STRENGTH_256,
+				CompressionMethod.DEFLATE);
+	}
+
+	@Test
+	public void testCreateZipFileAsyncThrowsExceptionWhenZipFileExists() throws IOException {
+		ZipFile zipFile = new ZipFile(generatedZipFile);
+		zipFile.addFiles(FILES_TO_ADD);
+
+		assertThrows(
+				ZipException.class,
+				() -> zipFile.createZipFileAsync(FILES_TO_ADD, new ZipParameters()),
+				"already exists"
+		);
+	}
+
+	@Test
+	public void testCreateZipFileAsyncWithSymlinkCreatesSameEntriesAsAddFiles() throws Exception {
+		File symlink = createSymlink(getTestFileFromResources("sample.pdf"), temporaryFolder.toFile());
+		List<File> filesToAdd = new ArrayList<>(FILES_TO_ADD);
+		filesToAdd.add(symlink);
+		ZipParameters zipParameters = new ZipParameters();
+		zipParameters.setSymbolicLinkAction(ZipParameters.SymbolicLinkAction.INCLUDE_LINK_AND_LINKED_FILE);
+		File zipFileFromAddFiles = temporaryFolder.resolve("add_files.zip").toFile();
+
+		new ZipFile(generatedZipFile).createZipFileAsync(filesToAdd, zipParameters).get();
+		new ZipFile(zipFileFromAddFiles).addFiles(filesToAdd, zipParameters);
+
+		assertThat(getEntryDescriptions(generatedZipFile)).hasSize(FILES_TO_ADD.size() + 2)
+				.isEqualTo(getEntryDescriptions(zipFileFromAddFiles));
+	}
+
 	private void verifySplitZip(File zipFile, int numberOfExpectedSplitFiles, long splitLength) throws ZipException {
 		assertNumberOfSplitFile(zipFile, numberOfExpectedSplitFiles);
 		assertSplitFileSizes(zipFile, numberOfExpectedSplitFiles, splitLength);
@@ -350,4 +395,13 @@ public class CreateZipFileIT extends AbstractIT {
 		zipFile.addFiles(FILES_TO_ADD, zipParameters);
 		return zipFile;
 	}
+
+	private List<String> getEntryDescriptions(File zipFile) throws ZipException {
+		List<String> entryDescriptions = new ArrayList<>();
+		for (FileHeader fileHeader : new ZipFile(zipFile).getFileHeaders()) {
+			entryDescriptions.add(fileHeader.getFileName() + " " + fileHeader.getUncompressedSize() + " "
+					+ Arrays.toString(fileHeader.getExternalFileAttributes()));
+		}
+		return entryDescriptions;
+	}
 }
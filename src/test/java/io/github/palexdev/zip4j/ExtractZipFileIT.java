@@ -130,6 +130,19 @@ public class ExtractZipFileIT extends AbstractIT {
 		verifyNumberOfFilesInOutputFolder(outputFolder, 3);
 	}
 
+	@Test
+	public void testExtractAllWithAsyncWriteOfLargeFilesExtractsSuccessfully() throws IOException {
+		ZipFile zipFile = new ZipFile(generatedZipFile);
+		zipFile.addFiles(FILES_TO_ADD);
+		UnzipParameters unzipParameters = new UnzipParameters();
+		unzipParameters.setAsyncWriteThreshold(3000);
+
+		zipFile.extractAll(outputFolder.getPath(), unzipParameters);
+
+		ZipFileVerifier.verifyFolderContentsSameAsSourceFiles(outputFolder);
+		verifyNumberOfFilesInOutputFolder(outputFolder, 3);
+	}
+
 	@Test
 	public void testExtractAllSkipsSymlinksWhenSymlinkExtractionSetToFalse() throws IOException {
 		ZipFile zipFile = createZipFileWithASymlink(createSymlink());
@@ -422,6 +435,47 @@ public class ExtractZipFileIT extends AbstractIT {
 		assertThat(getRegularFilesFromFolder(outputFolder)).hasSize(1);
 	}
 
+	@Test
+	@SuppressWarnings("StatementWithEmptyBody")
+	public void testExtractZipFileWithDeflate64Compression() throws IOException {
+		// The second entry uses lengths and distances only Deflate64 has, and a data descriptor
+		File zipArchiveToTest = getTestArchiveFromResources("deflate64.zip");
+		ZipFile zipFile = new ZipFile(zipArchiveToTest);
+
+		zipFile.extractAll(outputFolder.getPath());
+
+		assertThat(zipFile.getFileHeaders()).extracting(FileHeader::getCompressionMethod)
+				.containsOnly(CompressionMethod.DEFLATE64);
+		ZipFileVerifier.verifyFileContent(getTestFileFromResources("sample_text_large.txt"),
+				new File(outputFolder, "sample_text_large.txt"));
+		assertThat(new File(outputFolder, "far_references.bin")).hasSize(180000);
+
+		try (ZipInputStream zipInputStream = new ZipInputStream(Files.newInputStream(zipArchiveToTest.toPath()))) {
+			byte[] buffer = new byte[100 * 1024];
+			int numberOfEntries = 0;
+			while (zipInputStream.getNextEntry() != null) {
+				while (zipInputStream.read(buffer) != -1) {
+				}
+				numberOfEntries++;
+			}
+			assertThat(numberOfEntries).isEqualTo(2);
+		}
+	}
+
+	@Test
+	public void testExtractZipFileWithBZip2Compression() throws IOException {
+		// Created with compression level 1, which splits the large file in two blocks
+		ZipFile zipFile = new ZipFile(getTestArchiveFromResources("bzip2.zip"));
+
+		zipFile.extractAll(outputFolder.getPath());
+
+		assertThat(zipFile.getFileHeaders()).extracting(FileHeader::getCompressionMethod)
+				.containsOnly(CompressionMethod.BZIP2);
+		ZipFileVerifier.verifyFileContent(getTestFileFromResources("sample_text_large.txt"),
+				new File(outputFolder, "sample_text_large.txt"));
+		assertThat(new File(outputFolder, "zero_byte_file.txt")).hasSize(0);
+	}
+
 	@Test
 	public void testExtractZipFileWithChineseCharsetGBK() throws IOException {
 		String expectedFileName = "fff - 副本.txt";
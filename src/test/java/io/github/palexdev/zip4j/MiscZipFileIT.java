@@ -1,32 +1,50 @@
 package io.github.palexdev.zip4j;
 
 import io.github.palexdev.zip4j.exception.ZipException;
+import io.github.palexdev.zip4j.headers.ZipIndex;
+import io.github.palexdev.zip4j.model.ArchiveEntry;
 import io.github.palexdev.zip4j.model.FileHeader;
+import io.github.palexdev.zip4j.model.VerificationFailure;
 import io.github.palexdev.zip4j.model.ZipParameters;
 import io.github.palexdev.zip4j.model.enums.AesKeyStrength;
 import io.github.palexdev.zip4j.model.enums.CompressionMethod;
 import io.github.palexdev.zip4j.model.enums.EncryptionMethod;
+import io.github.palexdev.zip4j.progress.HistogramZip4jMetrics;
 import io.github.palexdev.zip4j.testutils.TestUtils;
 import io.github.palexdev.zip4j.testutils.ZipFileVerifier;
 import io.github.palexdev.zip4j.util.FileUtils;
 import io.github.palexdev.zip4j.util.InternalZipConstants;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
 
 import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static io.github.palexdev.zip4j.testutils.TestUtils.getFileNamesOfFiles;
 import static io.github.palexdev.zip4j.testutils.TestUtils.getTestFileFromResources;
 import static io.github.palexdev.zip4j.util.Zip4jUtil.epochToExtendedDosTime;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
@@ -372,6 +390,73 @@ public class MiscZipFileIT extends AbstractIT {
 		assertThat(zipFile.isValidZipFile()).isTrue();
 	}
 
+	@Test
+	public void testVerifyReturnsNoFailuresForAValidZip() throws ZipException {
+		ZipParameters zipParameters = createZipParameters(EncryptionMethod.AES, AesKeyStrength.KEY_STRENGTH_256);
+		ZipFile zipFile = new ZipFile(generatedZipFile, PASSWORD);
+		zipFile.addFiles(FILES_TO_ADD, zipParameters);
+
+		assertThat(new ZipFile(generatedZipFile, PASSWORD).verify()).isEmpty();
+		assertThat(new ZipFile(generatedZipFile, PASSWORD).verify(1)).isEmpty();
+	}
+
+	@Test
+	public void testVerifyUsesSharedExecutorServiceAndSetsTaskFuture() throws Exception {
+		ZipParameters zipParameters = createZipParameters(EncryptionMethod.AES, AesKeyStrength.KEY_STRENGTH_256);
+		ZipFile zipFile = new ZipFile(generatedZipFile, PASSWORD);
+		zipFile.addFiles(FILES_TO_ADD, zipParameters);
+		CompletableFuture<Void> addFilesTaskFuture = zipFile.getTaskFuture();
+		AtomicInteger numberOfThreads = new AtomicInteger();
+		ExecutorService executorService = Executors.newFixedThreadPool(2, runnable -> {
+			numberOfThreads.incrementAndGet();
+			return new Thread(runnable);
+		});
+
+		try {
+			zipFile.setExecutorService(executorService);
+
+			assertThat(zipFile.verify(2)).isEmpty();
+
+			assertThat(zipFile.getTaskFuture()).isNotSameAs(addFilesTaskFuture).isCompleted();
+			assertThat(numberOfThreads.get()).isPositive();
+			assertThat(executorService.isShutdown()).isFalse();
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void testVerifyWithWrongPasswordReportsAllEntries() throws ZipException {
+		ZipParameters zipParameters = createZipParameters(EncryptionMethod.ZIP_STANDARD, null);
+		ZipFile zipFile = new ZipFile(generatedZipFile, PASSWORD);
+		zipFile.addFiles(FILES_TO_ADD, zipParameters);
+
+		List<VerificationFailure> failures = new ZipFile(generatedZipFile, "WRONG".toCharArray()).verify();
+
+		assertThat(failures).extracting(VerificationFailure::getFileName)
+				.containsExactlyElementsOf(getFileNamesOfFiles(FILES_TO_ADD));
+		assertThat(failures).allMatch(failure -> failure.getException().getType() == ZipException.Type.WRONG_PASSWORD);
+	}
+
+	@Test
+	public void testVerifyReportsCorruptEntryAndVerifiesTheOthers() throws IOException {
+		ZipParameters zipParameters = new ZipParameters();
+		zipParameters.setCompressionMethod(CompressionMethod.STORE);
+		ZipFile zipFile = new ZipFile(generatedZipFile);
+		zipFile.addFiles(FILES_TO_ADD, zipParameters);
+
+		// sample_text_large.txt takes most of the zip file, so its data is in the middle
+		byte[] zipBytes = Files.readAllBytes(generatedZipFile.toPath());
+		zipBytes[zipBytes.length / 2] ^= 0x55;
+		Files.write(generatedZipFile.toPath(), zipBytes);
+
+		List<VerificationFailure> failures = new ZipFile(generatedZipFile).verify();
+
+		assertThat(failures).hasSize(1);
+		assertThat(failures.get(0).getFileName()).isEqualTo("sample_text_large.txt");
+		assertThat(failures.get(0).getException().getType()).isEqualTo(ZipException.Type.CHECKSUM_MISMATCH);
+	}
+
 	@Test
 	public void testGetSplitZipFilesReturnsJustZipFileForNonSplit() throws ZipException {
 		ZipFile zipFile = new ZipFile(generatedZipFile);
@@ -650,6 +735,143 @@ public class MiscZipFileIT extends AbstractIT {
 		testAddFilesWithUt8PasswordAndExtractFilesWithoutUtf8PasswordFails(false, true);
 	}
 
+	@Test
+	public void testMetricsAreReportedForAddExtractAndRemove() throws IOException {
+		HistogramZip4jMetrics metrics = new HistogramZip4jMetrics();
+		ZipFile zipFile = new ZipFile(generatedZipFile, PASSWORD);
+		zipFile.setMetrics(metrics);
+
+		zipFile.addFiles(FILES_TO_ADD, createZipParameters(EncryptionMethod.AES, AesKeyStrength.KEY_STRENGTH_256));
+
+		assertThat(metrics.getBytesWritten()).isEqualTo(generatedZipFile.length());
+		assertThat(metrics.getCompressionTime().getCount()).isEqualTo(FILES_TO_ADD.size());
+		assertThat(metrics.getEncryptionTime().getCount()).isEqualTo(FILES_TO_ADD.size());
+		assertThat(metrics.getKeyDerivationTime().getCount()).isEqualTo(FILES_TO_ADD.size());
+		assertThat(metrics.getKeyDerivationTime().getPercentile(50)).isPositive();
+
+		zipFile = new ZipFile(generatedZipFile, PASSWORD);
+		zipFile.setMetrics(metrics);
+		zipFile.extractAll(outputFolder.getPath());
+
+		assertThat(metrics.getHeaderReadTime().getCount()).isEqualTo(1);
+		assertThat(metrics.getDecompressionTime().getCount()).isEqualTo(FILES_TO_ADD.size());
+		assertThat(metrics.getDecryptionTime().getCount()).isEqualTo(FILES_TO_ADD.size());
+		assertThat(metrics.getBytesRead()).isPositive();
+
+		zipFile.removeFile(FILES_TO_ADD.get(0).getName());
+
+		assertThat(metrics.getTempFileRewriteTime().getCount()).isEqualTo(1);
+		assertThat(metrics.getTempFileRewriteBytes()).isEqualTo(generatedZipFile.length());
+	}
+
+	@Test
+	public void testFlightRecorderEventsAreRecordedForAddExtractAndRemove() throws IOException {
+		Path recordingFile = temporaryFolder.resolve("zip4j.jfr");
+		try (Recording recording = new Recording()) {
+			for (String eventName : asList("ZipFileOpen", "ZipEntryWrite", "ZipEntryRead", "KeyDerivation", "ZipFileRewrite")) {
+				recording.enable("io.github.palexdev.zip4j." + eventName).withThreshold(Duration.ZERO);
+			}
+			recording.start();
+
+			ZipFile zipFile = new ZipFile(generatedZipFile, PASSWORD);
+			zipFile.addFiles(FILES_TO_ADD, createZipParameters(EncryptionMethod.AES, AesKeyStrength.KEY_STRENGTH_256));
+			zipFile = new ZipFile(generatedZipFile, PASSWORD);
+			zipFile.extractAll(outputFolder.getPath());
+			zipFile.removeFile(FILES_TO_ADD.get(0).getName());
+
+			recording.stop();
+			recording.dump(recordingFile);
+		}
+
+		Map<String, Integer> eventCounts = new HashMap<>();
+		for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile)) {
+			eventCounts.merge(event.getEventType().getName(), 1, Integer::sum);
+		}
+
+		assertThat(eventCounts).containsEntry("io.github.palexdev.zip4j.ZipFileOpen", 1);
+		assertThat(eventCounts).containsEntry("io.github.palexdev.zip4j.ZipEntryWrite", FILES_TO_ADD.size());
+		assertThat(eventCounts).containsEntry("io.github.palexdev.zip4j.ZipEntryRead", FILES_TO_ADD.size());
+		assertThat(eventCounts).containsEntry("io.github.palexdev.zip4j.KeyDerivation", FILES_TO_ADD.size() * 2);
+		assertThat(eventCounts).containsEntry("io.github.palexdev.zip4j.ZipFileRewrite", 1);
+	}
+
+	@Test
+	public void testIndexFileIsUsedForLookupsUntilZipFileIsModifiedByAnotherInstance() throws IOException {
+		ZipFile zipFile = new ZipFile(generatedZipFile, PASSWORD);
+		zipFile.setUseIndexFile(true);
+		zipFile.addFiles(FILES_TO_ADD, createZipParameters(EncryptionMethod.AES, AesKeyStrength.KEY_STRENGTH_256));
+		assertThat(ZipIndex.getIndexFile(generatedZipFile)).exists();
+
+		HistogramZip4jMetrics metrics = new HistogramZip4jMetrics();
+		zipFile = new ZipFile(generatedZipFile, PASSWORD);
+		zipFile.setUseIndexFile(true);
+		zipFile.setMetrics(metrics);
+		FileHeader fileHeader = zipFile.getFileHeader("sample.pdf");
+		try (InputStream inputStream = zipFile.getInputStream(fileHeader)) {
+			assertThat(inputStream.readAllBytes()).isEqualTo(Files.readAllBytes(getTestFileFromResources("sample.pdf").toPath()));
+		}
+		assertThat(fileHeader.getEncryptionMethod()).isEqualTo(EncryptionMethod.AES);
+		assertThat(zipFile.getFileHeader("non_existing_file.txt")).isNull();
+		assertThat(metrics.getHeaderReadTime().getCount()).isZero();
+
+		new ZipFile(generatedZipFile, PASSWORD).removeFile("sample.pdf");
+
+		zipFile = new ZipFile(generatedZipFile, PASSWORD);
+		zipFile.setUseIndexFile(true);
+		zipFile.setMetrics(metrics);
+		assertThat(zipFile.getFileHeader("sample.pdf")).isNull();
+		assertThat(metrics.getHeaderReadTime().getCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testRewritingIndexFileReplacesItWithoutAffectingOpenIndex() throws IOException {
+		ZipFile zipFile = new ZipFile(generatedZipFile);
+		zipFile.setUseIndexFile(true);
+		zipFile.addFiles(FILES_TO_ADD);
+		File indexFile = ZipIndex.getIndexFile(generatedZipFile);
+
+		zipFile = new ZipFile(generatedZipFile);
+		zipFile.setUseIndexFile(true);
+		assertThat(zipFile.getFileHeader("sample.pdf")).isNotNull();
+
+		new ZipFile(generatedZipFile).writeIndexFile();
+
+		FileHeader fileHeader = zipFile.getFileHeader("sample.pdf");
+		try (InputStream inputStream = zipFile.getInputStream(fileHeader)) {
+			assertThat(inputStream.readAllBytes()).isEqualTo(Files.readAllBytes(getTestFileFromResources("sample.pdf").toPath()));
+		}
+		try (Stream<Path> files = Files.list(temporaryFolder)) {
+			assertThat(files.map(path -> path.getFileName().toString()))
+					.containsExactlyInAnyOrder(generatedZipFile.getName(), indexFile.getName(), outputFolder.getName());
+		}
+	}
+
+	@Test
+	public void testListAndWalkIncludeImpliedDirectoriesAndReflectModifications() throws IOException {
+		ZipFile zipFile = new ZipFile(generatedZipFile);
+		for (String fileName : asList("a/", "a/b/c.txt", "a/b.txt", "a/b/d/e.txt", "x.txt")) {
+			ZipParameters zipParameters = new ZipParameters();
+			zipParameters.setFileNameInZip(fileName);
+			zipFile.addStream(new ByteArrayInputStream(new byte[fileName.endsWith("/") ? 0 : 10]), zipParameters);
+		}
+
+		assertThat(zipFile.list(null).map(ArchiveEntry::getName)).containsExactly("a/", "x.txt");
+		assertThat(zipFile.list("a").map(ArchiveEntry::getName)).containsExactly("a/b.txt", "a/b/");
+		assertThat(zipFile.list("a/b/").map(ArchiveEntry::getName)).containsExactly("a/b/c.txt", "a/b/d/");
+		assertThat(zipFile.list("non_existing_directory")).isEmpty();
+
+		List<ArchiveEntry> allEntries = zipFile.walk("").collect(Collectors.toList());
+		assertThat(allEntries).extracting(ArchiveEntry::getName)
+				.containsExactly("a/", "a/b.txt", "a/b/", "a/b/c.txt", "a/b/d/", "a/b/d/e.txt", "x.txt");
+		assertThat(allEntries).filteredOn(ArchiveEntry::isImpliedDirectory).extracting(ArchiveEntry::getName)
+				.containsExactly("a/b/", "a/b/d/");
+		assertThat(allEntries.get(3).getFileHeader()).isEqualTo(zipFile.getFileHeader("a/b/c.txt"));
+
+		zipFile.removeFile("a/b/d/e.txt");
+
+		assertThat(zipFile.walk("a/b").map(ArchiveEntry::getName)).containsExactly("a/b/c.txt");
+	}
+
 	@Test
 	public void testAddFileWithCustomLastModifiedFileTimeSetsInputTime() throws IOException, ParseException {
 		ZipFile zipFile = new ZipFile(generatedZipFile);
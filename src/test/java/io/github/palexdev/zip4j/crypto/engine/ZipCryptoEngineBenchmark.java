@@ -0,0 +1,58 @@
+package io.github.palexdev.zip4j.crypto.engine;
+
+import java.util.Random;
+
+/**
+ * Measures the throughput of {@link ZipCryptoEngine#encryptData(byte[], int, int)} and
+ * {@link ZipCryptoEngine#decryptData(byte[], int, int)} against encrypting and decrypting each byte with
+ * {@link ZipCryptoEngine#decryptByte()} and {@link ZipCryptoEngine#updateKeys(byte)}. This is not a test, it is run
+ * with the test classpath as a plain java program, for example
+ * {@code java -cp build/classes/java/main:build/classes/java/test io.github.palexdev.zip4j.crypto.engine.ZipCryptoEngineBenchmark}.
+ * <p>
+ * Each variant processes buffers of 4 KB, which is the default buffer size of zip4j, for a few warm-up rounds
+ * before the measured rounds, and the result of every round is printed in MB/s.
+ */
+public class ZipCryptoEngineBenchmark {
+
+	private static final int BUFF_SIZE = 4096;
+	private static final long BYTES_PER_ROUND = 256L * 1024 * 1024;
+	private static final int WARM_UP_ROUNDS = 3;
+	private static final int MEASURED_ROUNDS = 5;
+
+	public static void main(String[] args) {
+		byte[] buff = new byte[BUFF_SIZE];
+		new Random(42).nextBytes(buff);
+
+		run("encrypt each byte", buff, zipCryptoEngine ->
+				ZipCryptoEngineTest.encryptEachByte(zipCryptoEngine, buff, 0, buff.length));
+		run("encryptData", buff, zipCryptoEngine -> zipCryptoEngine.encryptData(buff, 0, buff.length));
+		run("decrypt each byte", buff, zipCryptoEngine ->
+				ZipCryptoEngineTest.decryptEachByte(zipCryptoEngine, buff, 0, buff.length));
+		run("decryptData", buff, zipCryptoEngine -> zipCryptoEngine.decryptData(buff, 0, buff.length));
+	}
+
+	private static void run(String name, byte[] buff, BufferOperation operation) {
+		ZipCryptoEngine zipCryptoEngine = new ZipCryptoEngine();
+		zipCryptoEngine.initKeys("password".toCharArray(), true);
+		int buffersPerRound = (int) (BYTES_PER_ROUND / buff.length);
+
+		for (int round = 0; round < WARM_UP_ROUNDS + MEASURED_ROUNDS; round++) {
+			long startTime = System.nanoTime();
+			for (int i = 0; i < buffersPerRound; i++) {
+				operation.process(zipCryptoEngine);
+			}
+			long duration = System.nanoTime() - startTime;
+
+			if (round >= WARM_UP_ROUNDS) {
+				double megabytesPerSecond = BYTES_PER_ROUND / (1024.0 * 1024.0) / (duration / 1e9);
+				System.out.printf("%-20s round %d: %8.1f MB/s%n", name, round - WARM_UP_ROUNDS + 1, megabytesPerSecond);
+			}
+		}
+		// Keeps the buffer observable, so that the work is not optimized away
+		System.out.println(name + " checksum: " + buff[buff.length - 1]);
+	}
+
+	private interface BufferOperation {
+		void process(ZipCryptoEngine zipCryptoEngine);
+	}
+}
@@ -0,0 +1,116 @@
+package io.github.palexdev.zip4j.crypto.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ZipCryptoEngineTest {
+
+	private static final char[] PASSWORD = "test123".toCharArray();
+	// Ranges of the buffer processed one after the other, with odd offsets and lengths and empty ranges
+	private static final int[][] RANGES = {{0, 0}, {1, 1}, {3, 17}, {20, 0}, {21, 4095}, {4117, 1}, {4119, 3}};
+
+	@Test
+	public void testEncryptDataIsSameAsEncryptingEachByte() {
+		byte[] data = createRandomData();
+		byte[] expected = data.clone();
+		byte[] actual = data.clone();
+		ZipCryptoEngine referenceEngine = createZipCryptoEngine();
+		ZipCryptoEngine zipCryptoEngine = createZipCryptoEngine();
+
+		for (int[] range : RANGES) {
+			encryptEachByte(referenceEngine, expected, range[0], range[1]);
+			zipCryptoEngine.encryptData(actual, range[0], range[1]);
+
+			assertThat(actual).isEqualTo(expected);
+		}
+		assertThat(actual).isNotEqualTo(data);
+	}
+
+	@Test
+	public void testDecryptDataIsSameAsDecryptingEachByte() {
+		byte[] data = createRandomData();
+		byte[] expected = data.clone();
+		byte[] actual = data.clone();
+		ZipCryptoEngine referenceEngine = createZipCryptoEngine();
+		ZipCryptoEngine zipCryptoEngine = createZipCryptoEngine();
+
+		for (int[] range : RANGES) {
+			decryptEachByte(referenceEngine, expected, range[0], range[1]);
+			zipCryptoEngine.decryptData(actual, range[0], range[1]);
+
+			assertThat(actual).isEqualTo(expected);
+		}
+		assertThat(actual).isNotEqualTo(data);
+	}
+
+	@Test
+	public void testDecryptDataRestoresEncryptedData() {
+		byte[] data = createRandomData();
+		byte[] buff = data.clone();
+
+		createZipCryptoEngine().encryptData(buff, 1, buff.length - 2);
+		createZipCryptoEngine().decryptData(buff, 1, buff.length - 2);
+
+		assertThat(buff).isEqualTo(data);
+	}
+
+	@Test
+	public void testEncryptDataWithZeroLengthDoesNotChangeKeys() {
+		byte[] expected = createRandomData();
+		byte[] actual = expected.clone();
+		ZipCryptoEngine referenceEngine = createZipCryptoEngine();
+		ZipCryptoEngine zipCryptoEngine = createZipCryptoEngine();
+
+		zipCryptoEngine.encryptData(actual, actual.length, 0);
+		zipCryptoEngine.decryptData(actual, 0, 0);
+		encryptEachByte(referenceEngine, expected, 0, expected.length);
+		zipCryptoEngine.encryptData(actual, 0, actual.length);
+
+		assertThat(actual).isEqualTo(expected);
+	}
+
+	@Test
+	public void testEncryptAndDecryptDataThrowExceptionForRangeOutsideBuffer() {
+		ZipCryptoEngine zipCryptoEngine = createZipCryptoEngine();
+		byte[] buff = new byte[10];
+
+		assertThrows(IndexOutOfBoundsException.class, () -> zipCryptoEngine.encryptData(buff, 5, 6));
+		assertThrows(IndexOutOfBoundsException.class, () -> zipCryptoEngine.decryptData(buff, -1, 2));
+		assertThrows(IndexOutOfBoundsException.class, () -> zipCryptoEngine.decryptData(buff, 0, -1));
+	}
+
+	static void encryptEachByte(ZipCryptoEngine zipCryptoEngine, byte[] buff, int start, int len) {
+		for (int i = start; i < start + len; i++) {
+			byte val = buff[i];
+			buff[i] = (byte) (val ^ zipCryptoEngine.decryptByte());
+			zipCryptoEngine.updateKeys(val);
+		}
+	}
+
+	static void decryptEachByte(ZipCryptoEngine zipCryptoEngine, byte[] buff, int start, int len) {
+		for (int i = start; i < start + len; i++) {
+			byte val = (byte) (buff[i] ^ zipCryptoEngine.decryptByte());
+			buff[i] = val;
+			zipCryptoEngine.updateKeys(val);
+		}
+	}
+
+	private byte[] createRandomData() {
+		byte[] data = new byte[4123];
+		new Random(42).nextBytes(data);
+		// A run of equal bytes, so that the keys are tested with a repeated plain byte as well
+		Arrays.fill(data, 100, 200, (byte) 0);
+		return data;
+	}
+
+	private ZipCryptoEngine createZipCryptoEngine() {
+		ZipCryptoEngine zipCryptoEngine = new ZipCryptoEngine();
+		zipCryptoEngine.initKeys(PASSWORD, true);
+		return zipCryptoEngine;
+	}
+}
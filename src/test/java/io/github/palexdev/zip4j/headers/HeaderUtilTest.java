@@ -242,6 +242,35 @@ public class HeaderUtilTest {
 		}
 	}
 
+	@Test
+	public void testGetFileHeadersUnderDirectoryWithIndexReturnsFileHeadersInOriginalOrder() {
+		List<FileHeader> allFileHeaders = new ArrayList<>();
+		allFileHeaders.add(generateFileHeader("some_name/z.txt"));
+		allFileHeaders.add(generateFileHeader("some_name_without_separator.txt"));
+		allFileHeaders.add(generateFileHeader("some_name/"));
+		allFileHeaders.add(generateFileHeader("some_name/sub/a.txt"));
+		allFileHeaders.add(generateFileHeader("a.txt"));
+		FileNameIndex fileNameIndex = new FileNameIndex(allFileHeaders);
+
+		assertThat(HeaderUtil.getFileHeadersUnderDirectory(fileNameIndex, "some_name/"))
+				.containsExactly(allFileHeaders.get(0), allFileHeaders.get(2), allFileHeaders.get(3));
+		assertThat(HeaderUtil.getFileHeadersUnderDirectory(fileNameIndex, "other_name/")).isEmpty();
+	}
+
+	@Test
+	public void testGetFileHeaderWithIndexReturnsFirstExactMatchAndConvertsSeparators() throws ZipException {
+		List<FileHeader> allFileHeaders = generateFileHeaderWithFileNames("some_name/header", 5);
+		FileHeader duplicateFileHeader = generateFileHeader("some_name/header2");
+		allFileHeaders.add(duplicateFileHeader);
+		FileNameIndex fileNameIndex = new FileNameIndex(allFileHeaders);
+
+		assertThat(HeaderUtil.getFileHeader(fileNameIndex, "some_name/header2")).isSameAs(allFileHeaders.get(2));
+		assertThat(HeaderUtil.getFileHeader(fileNameIndex, "some_name\\header3")).isSameAs(allFileHeaders.get(3));
+		assertThat(HeaderUtil.getFileHeader(fileNameIndex, "some_name/header")).isNull();
+		assertThat(fileNameIndex.getFileHeadersWithName("some_name/header2"))
+				.containsExactly(allFileHeaders.get(2), duplicateFileHeader);
+	}
+
 	@Test
 	public void testGetUncompressedSizeOfAllFileHeaders() {
 		FileHeader fileHeader1 = generateFileHeader("1");
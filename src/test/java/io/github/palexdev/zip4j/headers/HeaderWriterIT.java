@@ -215,6 +215,31 @@ public class HeaderWriterIT extends AbstractIT {
 		}
 	}
 
+	@Test
+	public void testFinalizeZipFileWritesLargeCentralDirectoryInBoundedChunks() throws IOException {
+		ZipModel zipModel = createZipModel(10000);
+		File headersFile = Files.createTempFile(temporaryFolder, "zip4j_test", "").toFile();
+		long[] largestWrite = new long[1];
+
+		try (OutputStream outputStream = new FilterOutputStream(new FileOutputStream(headersFile)) {
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				largestWrite[0] = Math.max(largestWrite[0], len);
+				out.write(b, off, len);
+			}
+		}) {
+			headerWriter.finalizeZipFile(zipModel, outputStream, InternalZipConstants.CHARSET_UTF_8);
+		}
+
+		assertThat(largestWrite[0]).isLessThan(128 * 1024);
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(headersFile, RandomAccessFileMode.READ.getValue())) {
+			ZipModel readZipModel = headerReader.readAllHeaders(randomAccessFile, buildDefaultConfig());
+			verifyZipModel(readZipModel, 10000);
+			assertThat(readZipModel.getEndOfCentralDirectoryRecord().getSizeOfCentralDirectory())
+					.isEqualTo((int) (headersFile.length() - 22));
+		}
+	}
+
 	@Test
 	public void testFinalizeZipFileWithNullExtraDataWritesSuccessfully() throws IOException {
 		testFinalizeZipFileWhenExtraDataRecordIsNullOrEmpty(null);
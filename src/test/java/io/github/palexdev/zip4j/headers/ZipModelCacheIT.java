@@ -0,0 +1,114 @@
+package io.github.palexdev.zip4j.headers;
+
+import io.github.palexdev.zip4j.AbstractIT;
+import io.github.palexdev.zip4j.ZipFile;
+import io.github.palexdev.zip4j.model.FileHeader;
+import io.github.palexdev.zip4j.model.ZipParameters;
+import io.github.palexdev.zip4j.model.enums.AesKeyStrength;
+import io.github.palexdev.zip4j.model.enums.EncryptionMethod;
+import io.github.palexdev.zip4j.testutils.ZipFileVerifier;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static io.github.palexdev.zip4j.testutils.TestUtils.getTestFileFromResources;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ZipModelCacheIT extends AbstractIT {
+
+	@Test
+	public void testZipModelIsSharedBetweenZipFileInstances() throws IOException {
+		new ZipFile(generatedZipFile).addFiles(FILES_TO_ADD);
+		ZipModelCache zipModelCache = new ZipModelCache(100);
+
+		List<FileHeader> firstFileHeaders = openWithCache(generatedZipFile, zipModelCache).getFileHeaders();
+		List<FileHeader> secondFileHeaders = openWithCache(generatedZipFile, zipModelCache).getFileHeaders();
+
+		assertThat(secondFileHeaders).isSameAs(firstFileHeaders).hasSize(FILES_TO_ADD.size());
+		assertThat(zipModelCache.size()).isEqualTo(1);
+		assertThat(zipModelCache.getNumberOfEntries()).isEqualTo(FILES_TO_ADD.size());
+	}
+
+	@Test
+	public void testModifyingZipFileDoesNotChangeCachedModelAndInvalidatesIt() throws IOException {
+		new ZipFile(generatedZipFile).addFiles(FILES_TO_ADD);
+		ZipModelCache zipModelCache = new ZipModelCache(100);
+		List<FileHeader> cachedFileHeaders = openWithCache(generatedZipFile, zipModelCache).getFileHeaders();
+
+		ZipFile zipFile = openWithCache(generatedZipFile, zipModelCache);
+		zipFile.getFileHeaders();
+		zipFile.removeFile(FILES_TO_ADD.get(0).getName());
+		// Make sure the modification is detected even on file systems with a coarse modification time
+		assertThat(generatedZipFile.setLastModified(generatedZipFile.lastModified() + 2000)).isTrue();
+
+		assertThat(cachedFileHeaders).hasSize(FILES_TO_ADD.size());
+		assertThat(openWithCache(generatedZipFile, zipModelCache).getFileHeaders()).hasSize(FILES_TO_ADD.size() - 1);
+		assertThat(zipModelCache.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void testModifyingZipFileInPlaceInvalidatesCachedModel() throws IOException {
+		ZipFile zipFile = new ZipFile(generatedZipFile);
+		zipFile.addFiles(FILES_TO_ADD);
+		zipFile.setComment("FIRST");
+		// Whole seconds, as on a file system with a coarse modification time
+		long lastModified = generatedZipFile.lastModified() / 1000 * 1000;
+		assertThat(generatedZipFile.setLastModified(lastModified)).isTrue();
+		ZipModelCache zipModelCache = new ZipModelCache(100);
+		assertThat(openWithCache(generatedZipFile, zipModelCache).getComment()).isEqualTo("FIRST");
+
+		openWithCache(generatedZipFile, zipModelCache).setComment("OTHER");
+		// The comment has the same length and is written in place, so size, file key and modification time are the same
+		assertThat(generatedZipFile.setLastModified(lastModified)).isTrue();
+
+		assertThat(openWithCache(generatedZipFile, zipModelCache).getComment()).isEqualTo("OTHER");
+	}
+
+	@Test
+	public void testLeastRecentlyUsedZipModelIsEvictedWhenMaxNumberOfEntriesIsExceeded() throws IOException {
+		File firstZipFile = temporaryFolder.resolve("first.zip").toFile();
+		File secondZipFile = temporaryFolder.resolve("second.zip").toFile();
+		new ZipFile(firstZipFile).addFiles(FILES_TO_ADD);
+		new ZipFile(secondZipFile).addFiles(singletonList(getTestFileFromResources("sample.pdf")));
+		ZipModelCache zipModelCache = new ZipModelCache(FILES_TO_ADD.size());
+
+		openWithCache(firstZipFile, zipModelCache).getFileHeaders();
+		openWithCache(secondZipFile, zipModelCache).getFileHeaders();
+
+		assertThat(zipModelCache.size()).isEqualTo(1);
+		assertThat(zipModelCache.getNumberOfEntries()).isEqualTo(1);
+
+		zipModelCache.invalidate(secondZipFile);
+		assertThat(zipModelCache.size()).isZero();
+	}
+
+	@Test
+	public void testCompactFileHeadersOfCachedModelAreEqualToReadFileHeaders() throws IOException {
+		ZipParameters zipParameters = createZipParameters(EncryptionMethod.AES, AesKeyStrength.KEY_STRENGTH_256);
+		new ZipFile(generatedZipFile, PASSWORD).addFiles(FILES_TO_ADD, zipParameters);
+		ZipModelCache zipModelCache = new ZipModelCache(100, true);
+
+		ZipFile zipFile = openWithCache(generatedZipFile, zipModelCache);
+		zipFile.setPassword(PASSWORD);
+		List<FileHeader> compactFileHeaders = zipFile.getFileHeaders();
+
+		assertThat(compactFileHeaders).usingRecursiveFieldByFieldElementComparator()
+				.containsExactlyElementsOf(new ZipFile(generatedZipFile).getFileHeaders());
+		assertThatThrownBy(() -> compactFileHeaders.remove(0)).isInstanceOf(UnsupportedOperationException.class);
+
+		zipFile.extractAll(outputFolder.getPath());
+		for (File fileToAdd : FILES_TO_ADD) {
+			ZipFileVerifier.verifyFileContent(fileToAdd, new File(outputFolder, fileToAdd.getName()));
+		}
+	}
+
+	private ZipFile openWithCache(File file, ZipModelCache zipModelCache) {
+		ZipFile zipFile = new ZipFile(file);
+		zipFile.setZipModelCache(zipModelCache);
+		return zipFile;
+	}
+}
@@ -15,12 +15,11 @@ import io.github.palexdev.zip4j.util.InternalZipConstants;
 import org.junit.jupiter.api.Test;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.security.SecureRandom;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -353,6 +352,59 @@ public class ZipInputStreamIT extends AbstractIT {
 		}
 	}
 
+	@Test
+	public void testZipInputStreamPublisherEmitsAllEntriesWithBackPressure() throws Exception {
+		File createdZipFile = createZipFile(CompressionMethod.DEFLATE, true, EncryptionMethod.AES,
+				AesKeyStrength.KEY_STRENGTH_256, PASSWORD);
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		Map<String, ByteArrayOutputStream> extractedContents = new LinkedHashMap<>();
+		CompletableFuture<Void> completion = new CompletableFuture<>();
+
+		try {
+			ZipInputStream zipInputStream = new ZipInputStream(new FileInputStream(createdZipFile), PASSWORD);
+			new ZipInputStreamPublisher(zipInputStream, executorService, 1024).subscribe(new Flow.Subscriber<>() {
+				private Flow.Subscription subscription;
+
+				@Override
+				public void onSubscribe(Flow.Subscription subscription) {
+					this.subscription = subscription;
+					subscription.request(1);
+				}
+
+				@Override
+				public void onNext(ZipInputStreamPublisher.Chunk chunk) {
+					String fileName = chunk.getLocalFileHeader().getFileName();
+					if (chunk.isFirstChunkOfEntry()) {
+						extractedContents.put(fileName, new ByteArrayOutputStream());
+					}
+					ByteBuffer data = chunk.getData();
+					extractedContents.get(fileName).write(data.array(), data.arrayOffset() + data.position(), data.remaining());
+					subscription.request(1);
+				}
+
+				@Override
+				public void onError(Throwable throwable) {
+					completion.completeExceptionally(throwable);
+				}
+
+				@Override
+				public void onComplete() {
+					completion.complete(null);
+				}
+			});
+
+			completion.get(30, TimeUnit.SECONDS);
+		} finally {
+			executorService.shutdown();
+		}
+
+		assertThat(extractedContents).hasSize(FILES_TO_ADD.size());
+		for (File fileToAdd : FILES_TO_ADD) {
+			assertThat(extractedContents.get(fileToAdd.getName()).toByteArray())
+					.isEqualTo(Files.readAllBytes(fileToAdd.toPath()));
+		}
+	}
+
 	private void extractZipFileWithInputStreams(File zipFile, char[] password) throws IOException {
 		extractZipFileWithInputStreams(zipFile, password, InternalZipConstants.BUFF_SIZE);
 	}
@@ -0,0 +1,41 @@
+package io.github.palexdev.zip4j.io.outputstream;
+
+import io.github.palexdev.zip4j.model.enums.CompressionLevel;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveCompressionLevelTest {
+
+	private static final long ONE_SECOND = 1_000_000_000L;
+
+	@Test
+	public void testLevelIsLoweredWhenThroughputIsBelowTargetUntilFastest() {
+		AdaptiveCompressionLevel adaptiveCompressionLevel = new AdaptiveCompressionLevel(
+				10 * AdaptiveCompressionLevel.WINDOW_SIZE, CompressionLevel.FAST);
+
+		adaptiveCompressionLevel.update(AdaptiveCompressionLevel.WINDOW_SIZE, ONE_SECOND);
+		assertThat(adaptiveCompressionLevel.getCompressionLevel()).isEqualTo(CompressionLevel.FASTER);
+
+		for (int i = 0; i < 5; i++) {
+			adaptiveCompressionLevel.update(AdaptiveCompressionLevel.WINDOW_SIZE, ONE_SECOND);
+		}
+		assertThat(adaptiveCompressionLevel.getCompressionLevel()).isEqualTo(CompressionLevel.FASTEST);
+	}
+
+	@Test
+	public void testLevelIsRaisedOnlyWhenThroughputIsWellAboveTarget() {
+		AdaptiveCompressionLevel adaptiveCompressionLevel = new AdaptiveCompressionLevel(
+				AdaptiveCompressionLevel.WINDOW_SIZE, CompressionLevel.PRE_ULTRA);
+
+		adaptiveCompressionLevel.update(AdaptiveCompressionLevel.WINDOW_SIZE, ONE_SECOND * 9 / 10);
+		assertThat(adaptiveCompressionLevel.getCompressionLevel()).isEqualTo(CompressionLevel.PRE_ULTRA);
+
+		adaptiveCompressionLevel.update(AdaptiveCompressionLevel.WINDOW_SIZE / 2, ONE_SECOND / 10);
+		assertThat(adaptiveCompressionLevel.getCompressionLevel()).isEqualTo(CompressionLevel.PRE_ULTRA);
+
+		adaptiveCompressionLevel.update(AdaptiveCompressionLevel.WINDOW_SIZE / 2, ONE_SECOND / 10);
+		adaptiveCompressionLevel.update(AdaptiveCompressionLevel.WINDOW_SIZE, ONE_SECOND / 10);
+		assertThat(adaptiveCompressionLevel.getCompressionLevel()).isEqualTo(CompressionLevel.ULTRA);
+	}
+}
@@ -19,8 +19,11 @@ import io.github.palexdev.zip4j.util.InternalZipConstants;
 import org.junit.jupiter.api.Test;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -304,6 +307,101 @@ public class ZipOutputStreamIT extends AbstractIT {
 		}
 	}
 
+	@Test
+	public void testZipOutputStreamOverChannelWithTransferFromFileChannel() throws IOException {
+		testZipOutputStreamOverChannel(CompressionMethod.STORE, false);
+	}
+
+	@Test
+	public void testZipOutputStreamOverChannelWithTransferFromFileChannelAndDeflate() throws IOException {
+		testZipOutputStreamOverChannel(CompressionMethod.DEFLATE, false);
+	}
+
+	@Test
+	public void testZipOutputStreamOverChannelWithTransferFromFileChannelAndEncryption() throws IOException {
+		testZipOutputStreamOverChannel(CompressionMethod.STORE, true);
+	}
+
+	@Test
+	public void testTransferFromFileChannelToZipOutputStreamOverOutputStream() throws IOException {
+		ZipParameters zipParameters = new ZipParameters();
+		zipParameters.setCompressionMethod(CompressionMethod.STORE);
+
+		try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(generatedZipFile))) {
+			for (File fileToAdd : FILES_TO_ADD) {
+				zipParameters.setEntrySize(fileToAdd.length());
+				zipParameters.setFileNameInZip(fileToAdd.getName());
+				zos.putNextEntry(zipParameters);
+
+				try (FileChannel source = FileChannel.open(fileToAdd.toPath())) {
+					zos.transferFrom(source, 0, source.size());
+				}
+				zos.closeEntry();
+			}
+		}
+
+		verifyZipFileByExtractingAllFiles(generatedZipFile, null, outputFolder, FILES_TO_ADD.size());
+	}
+
+	@Test
+	public void testZipOutputStreamOverNonBlockingChannelThrowsException() throws IOException {
+		Pipe pipe = Pipe.open();
+		try {
+			pipe.sink().configureBlocking(false);
+
+			assertThrows(IllegalArgumentException.class, () -> new ZipOutputStream(pipe.sink()));
+		} finally {
+			pipe.sink().close();
+			pipe.source().close();
+		}
+	}
+
+	private void testZipOutputStreamOverChannel(CompressionMethod compressionMethod, boolean encrypt) throws IOException {
+		ZipParameters zipParameters = buildZipParameters(compressionMethod, encrypt, EncryptionMethod.AES,
+				AesKeyStrength.KEY_STRENGTH_256);
+
+		try (FileChannel channel = FileChannel.open(generatedZipFile.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		     ZipOutputStream zos = new ZipOutputStream(channel, PASSWORD)) {
+			for (File fileToAdd : FILES_TO_ADD) {
+				zipParameters.setEntrySize(fileToAdd.length());
+				zipParameters.setFileNameInZip(fileToAdd.getName());
+				zos.putNextEntry(zipParameters);
+
+				try (FileChannel source = FileChannel.open(fileToAdd.toPath())) {
+					zos.transferFrom(source, 0, source.size());
+				}
+				zos.closeEntry();
+			}
+		}
+
+		verifyZipFileByExtractingAllFiles(generatedZipFile, PASSWORD, outputFolder, FILES_TO_ADD.size());
+	}
+
+	@Test
+	public void testZipOutputStreamWithTargetThroughputCreatesValidZipFile() throws IOException {
+		ZipParameters zipParameters = new ZipParameters();
+		// Unreachable target, so that the compression level is lowered while the entries are written
+		zipParameters.setTargetThroughput(Long.MAX_VALUE);
+		byte[] buff = new byte[4096];
+		int readLen;
+
+		try (ZipOutputStream zos = initializeZipOutputStream(false, InternalZipConstants.CHARSET_UTF_8)) {
+			for (File fileToAdd : FILES_TO_ADD) {
+				zipParameters.setFileNameInZip(fileToAdd.getName());
+				zos.putNextEntry(zipParameters);
+				try (InputStream inputStream = new FileInputStream(fileToAdd)) {
+					while ((readLen = inputStream.read(buff)) != -1) {
+						zos.write(buff, 0, readLen);
+					}
+				}
+				zos.closeEntry();
+			}
+		}
+
+		verifyZipFileByExtractingAllFiles(generatedZipFile, outputFolder, FILES_TO_ADD.size());
+	}
+
 	private void testZipOutputStream(CompressionMethod compressionMethod, boolean encrypt,
 	                                 EncryptionMethod encryptionMethod, AesKeyStrength aesKeyStrength,
 	                                 AesVersion aesVersion)
@@ -0,0 +1,106 @@
+package io.github.palexdev.zip4j.nio;
+
+import io.github.palexdev.zip4j.AbstractIT;
+import io.github.palexdev.zip4j.ZipFile;
+import io.github.palexdev.zip4j.model.ZipParameters;
+import io.github.palexdev.zip4j.model.enums.AesKeyStrength;
+import io.github.palexdev.zip4j.model.enums.CompressionMethod;
+import io.github.palexdev.zip4j.model.enums.EncryptionMethod;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.ReadOnlyFileSystemException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.github.palexdev.zip4j.testutils.TestUtils.getTestFileFromResources;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ZipFileSystemIT extends AbstractIT {
+
+	@Test
+	public void testWalkAndReadAesEncryptedSplitZipFile() throws Exception {
+		ZipParameters zipParameters = createZipParameters(EncryptionMethod.AES, AesKeyStrength.KEY_STRENGTH_256);
+		zipParameters.setRootFolderNameInZip("a/b");
+		new ZipFile(generatedZipFile, PASSWORD).createSplitZipFile(FILES_TO_ADD, zipParameters, true, 100 * 1024);
+
+		try (FileSystem fileSystem = new ZipFileSystemProvider().newFileSystem(generatedZipFile.toPath(),
+				Collections.singletonMap(ZipFileSystemProvider.PASSWORD, PASSWORD))) {
+			try (Stream<Path> paths = Files.walk(fileSystem.getPath("/"))) {
+				assertThat(paths.map(Path::toString)).containsExactly("/", "/a", "/a/b", "/a/b/sample.pdf",
+						"/a/b/sample_text1.txt", "/a/b/sample_text_large.txt");
+			}
+			assertThat(Files.isDirectory(fileSystem.getPath("a"))).isTrue();
+			assertThat(Files.exists(fileSystem.getPath("/a/non_existing_file"))).isFalse();
+
+			ExecutorService executorService = Executors.newFixedThreadPool(4);
+			try {
+				List<Future<byte[]>> futures = new ArrayList<>();
+				for (int i = 0; i < 8; i++) {
+					futures.add(executorService.submit(() -> Files.readAllBytes(fileSystem.getPath("/a/b/sample.pdf"))));
+				}
+				byte[] expectedContent = Files.readAllBytes(getTestFileFromResources("sample.pdf").toPath());
+				for (Future<byte[]> future : futures) {
+					assertThat(future.get()).isEqualTo(expectedContent);
+				}
+			} finally {
+				executorService.shutdown();
+			}
+
+			assertThatThrownBy(() -> Files.delete(fileSystem.getPath("/a/b/sample.pdf")))
+					.isInstanceOf(ReadOnlyFileSystemException.class);
+		}
+	}
+
+	@Test
+	public void testByteChannelPositionOnStoredAndCompressedEntries() throws IOException {
+		File fileToAdd = getTestFileFromResources("sample_text_large.txt");
+		byte[] expectedContent = Files.readAllBytes(fileToAdd.toPath());
+		ZipFile zipFile = new ZipFile(generatedZipFile);
+		ZipParameters zipParameters = new ZipParameters();
+		zipParameters.setFileNameInZip("deflated.txt");
+		zipFile.addFile(fileToAdd, zipParameters);
+		zipParameters.setFileNameInZip("stored.txt");
+		zipParameters.setCompressionMethod(CompressionMethod.STORE);
+		zipFile.addFile(fileToAdd, zipParameters);
+
+		try (FileSystem fileSystem = new ZipFileSystemProvider().newFileSystem(generatedZipFile.toPath(),
+				Collections.emptyMap())) {
+			for (String fileName : Arrays.asList("deflated.txt", "stored.txt")) {
+				try (SeekableByteChannel channel = Files.newByteChannel(fileSystem.getPath(fileName))) {
+					assertThat(channel.size()).isEqualTo(expectedContent.length);
+					verifyReadAtPosition(channel, expectedContent, 1000);
+					verifyReadAtPosition(channel, expectedContent, 10);
+				}
+			}
+
+			assertThat(Files.list(fileSystem.getPath("/")).map(Path::toString).collect(Collectors.toList()))
+					.containsExactly("/deflated.txt", "/stored.txt");
+		}
+	}
+
+	private void verifyReadAtPosition(SeekableByteChannel channel, byte[] expectedContent, int position)
+			throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(100);
+		channel.position(position);
+		while (buffer.hasRemaining()) {
+			assertThat(channel.read(buffer)).isPositive();
+		}
+		assertThat(buffer.array()).isEqualTo(Arrays.copyOfRange(expectedContent, position, position + 100));
+		assertThat(channel.position()).isEqualTo(position + 100);
+	}
+}
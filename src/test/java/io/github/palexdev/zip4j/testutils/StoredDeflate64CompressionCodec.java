@@ -0,0 +1,86 @@
+package io.github.palexdev.zip4j.testutils;
+
+import io.github.palexdev.zip4j.codec.CompressionCodec;
+import io.github.palexdev.zip4j.model.LocalFileHeader;
+import io.github.palexdev.zip4j.model.ZipParameters;
+import io.github.palexdev.zip4j.model.enums.CompressionMethod;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compresses entries with Deflate64 by writing stored deflate blocks, which Deflate64 reads the same way. Registered
+ * for the tests in META-INF/services. As real Deflate64 data cannot be read with an {@link Inflater}, only entries
+ * whose name starts with {@link #FILE_NAME_PREFIX} are extracted by this codec, the others are left to the built-in
+ * decompressor.
+ */
+public class StoredDeflate64CompressionCodec implements CompressionCodec {
+
+	public static final String FILE_NAME_PREFIX = "stored_deflate64/";
+
+	private static final AtomicInteger NUMBER_OF_DECOMPRESSORS = new AtomicInteger();
+
+	/**
+	 * @return number of decompressors created by all instances of this codec
+	 */
+	public static int getNumberOfDecompressors() {
+		return NUMBER_OF_DECOMPRESSORS.get();
+	}
+
+	@Override
+	public CompressionMethod getCompressionMethod() {
+		return CompressionMethod.DEFLATE64;
+	}
+
+	@Override
+	public boolean canDecompress(LocalFileHeader localFileHeader) {
+		return localFileHeader.getFileName().startsWith(FILE_NAME_PREFIX);
+	}
+
+	@Override
+	public OutputStream createCompressor(OutputStream outputStream, ZipParameters zipParameters,
+	                                     ExecutorService executorService) {
+		Deflater deflater = new Deflater(Deflater.NO_COMPRESSION, true);
+		return new DeflaterOutputStream(outputStream, deflater) {
+			@Override
+			public void close() throws IOException {
+				finish();
+				deflater.end();
+			}
+		};
+	}
+
+	@Override
+	public InputStream createDecompressor(InputStream inputStream, LocalFileHeader localFileHeader) {
+		NUMBER_OF_DECOMPRESSORS.incrementAndGet();
+		return new StoredDeflate64InputStream(inputStream);
+	}
+
+	@Override
+	public int getUnusedInputLength(InputStream decompressor) {
+		return ((StoredDeflate64InputStream) decompressor).getRemaining();
+	}
+
+	private static class StoredDeflate64InputStream extends InflaterInputStream {
+
+		private StoredDeflate64InputStream(InputStream inputStream) {
+			super(inputStream, new Inflater(true));
+		}
+
+		private int getRemaining() {
+			return inf.getRemaining();
+		}
+
+		@Override
+		public void close() {
+			inf.end();
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package io.github.palexdev.zip4j.util;
+
+import io.github.palexdev.zip4j.model.enums.CompressionLevel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompressibilityUtilTest {
+
+	@Test
+	public void testIsIncompressibleReturnsTrueForSignatureOfCompressedFormat() {
+		byte[] sample = new byte[1024];
+		sample[0] = 0x1F;
+		sample[1] = (byte) 0x8B;
+
+		assertThat(CompressibilityUtil.isIncompressible(sample, sample.length, CompressionLevel.NORMAL, 0.05)).isTrue();
+	}
+
+	@Test
+	public void testIsIncompressibleReturnsTrueForRandomData() {
+		byte[] sample = new byte[CompressibilityUtil.SAMPLE_SIZE];
+		new Random(42).nextBytes(sample);
+
+		assertThat(CompressibilityUtil.isIncompressible(sample, sample.length, CompressionLevel.NORMAL, 0.05)).isTrue();
+	}
+
+	@Test
+	public void testIsIncompressibleReturnsFalseForRepetitiveDataAndEmptySample() {
+		byte[] sample = new byte[CompressibilityUtil.SAMPLE_SIZE];
+		Arrays.fill(sample, (byte) 'a');
+
+		assertThat(CompressibilityUtil.isIncompressible(sample, sample.length, CompressionLevel.FASTEST, 0.9)).isFalse();
+		assertThat(CompressibilityUtil.isIncompressible(sample, 0, CompressionLevel.NORMAL, 0.05)).isFalse();
+	}
+}
@@ -9,6 +9,18 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.CRC32;
 
 import static io.github.palexdev.zip4j.testutils.TestUtils.getTestFileFromResources;
@@ -64,6 +76,82 @@ public class CrcUtilIT extends AbstractIT {
 		testComputeFileCrcForFile(getTestFileFromResources("sample_text_large.txt"));
 	}
 
+	@Test
+	public void testComputeFileCrcWithExecutorServiceGetsValueSuccessfully() throws IOException {
+		File file = temporaryFolder.resolve("large_file.bin").toFile();
+		byte[] content = new byte[20 * 1024 * 1024 + 123];
+		new Random(42).nextBytes(content);
+		Files.write(file.toPath(), content);
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+		try {
+			assertThat(CrcUtil.computeFileCrc(file, progressMonitor, executorService)).isEqualTo(calculateFileCrc(file));
+			assertThat(progressMonitor.getWorkCompleted()).isEqualTo(content.length);
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void testComputeFileCrcWithExecutorServiceWaitsForRunningSegmentsWhenOneFails() throws Exception {
+		File file = temporaryFolder.resolve("large_file.bin").toFile();
+		byte[] content = new byte[30 * 1024 * 1024];
+		new Random(42).nextBytes(content);
+		Files.write(file.toPath(), content);
+		List<Exception> segmentExceptions = new CopyOnWriteArrayList<>();
+		AtomicInteger numberOfSegments = new AtomicInteger();
+		// Fails the first segment, while the second one is reading the file on the other thread
+		ThreadPoolExecutor executorService = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>()) {
+			@Override
+			protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+				boolean failSegment = numberOfSegments.getAndIncrement() == 0;
+				return super.newTaskFor(() -> {
+					if (failSegment) {
+						throw new IOException("Segment failed");
+					}
+
+					try {
+						return callable.call();
+					} catch (Exception e) {
+						segmentExceptions.add(e);
+						throw e;
+					}
+				});
+			}
+		};
+
+		try {
+			IOException exception = assertThrows(IOException.class,
+					() -> CrcUtil.computeFileCrc(file, progressMonitor, executorService));
+			assertThat(exception).hasMessage("Segment failed");
+		} finally {
+			executorService.shutdown();
+		}
+
+		assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(segmentExceptions).isEmpty();
+	}
+
+	@Test
+	public void testCombineCrcGetsCrcOfConcatenatedData() {
+		byte[] content = new byte[10000];
+		new Random(42).nextBytes(content);
+
+		for (int split : new int[]{0, 1, 4999, 9999, 10000}) {
+			long crc1 = calculateCrc(content, 0, split);
+			long crc2 = calculateCrc(content, split, content.length - split);
+			assertThat(CrcUtil.combineCrc(crc1, crc2, content.length - split))
+					.isEqualTo(calculateCrc(content, 0, content.length));
+		}
+	}
+
+	private long calculateCrc(byte[] content, int offset, int length) {
+		CRC32 crc32 = new CRC32();
+		crc32.update(content, offset, length);
+		return crc32.getValue();
+	}
+
 	private void testComputeFileCrcForFile(File file) throws IOException {
 		long actualFileCrc = calculateFileCrc(file);
 		assertThat(CrcUtil.computeFileCrc(file, progressMonitor)).isEqualTo(actualFileCrc);